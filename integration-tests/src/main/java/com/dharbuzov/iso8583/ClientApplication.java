@@ -59,8 +59,10 @@ public class ClientApplication {
     });
     client.connect();
     final ISOMessage request = ISOMessage.builder().type(
-        MessageType.from(MessageVersion.V1993, MessageClass.NETWORK_MANAGEMENT,
+        MessageType.from(MessageVersion.V1987, MessageClass.NETWORK_MANAGEMENT,
             MessageFunction.REQUEST, MessageOrigin.ACQUIRER)).build();
+    request.setField(11, "000001");
+    request.setField(70, "301");
     final ISOMessage response = client.send(request);
     log.info("Message response from client: {}", response);
   }
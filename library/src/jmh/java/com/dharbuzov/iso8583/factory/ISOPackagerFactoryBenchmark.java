@@ -0,0 +1,193 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.factory;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dharbuzov.iso8583.client.config.ISOClientProperties;
+import com.dharbuzov.iso8583.config.ISOMessageProperties;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.schema.ISOKnownSchema;
+import com.dharbuzov.iso8583.model.schema.ISOSchemas;
+import com.dharbuzov.iso8583.packager.ASCIIMessagePackager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Compares packing and unpacking of the typical authorization request on the ISO 8583:1987 ASCII
+ * schema by the interpreted and the specialized message codecs. The mixed benchmarks alternate the
+ * request and the response bitmaps and the bitmaps which differ only in the high fields, as the
+ * channel traffic does.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ISOPackagerFactoryBenchmark {
+
+  @Param({"false", "true"})
+  private boolean specializedCodecs;
+
+  private ISOPackagerFactory packagerFactory;
+
+  private ISOMessage message;
+
+  private ByteBuf packed;
+
+  private ByteBuf out;
+
+  private ISOMessage[] mixedMessages;
+
+  private ByteBuf[] mixedPacked;
+
+  private int mixedIndex;
+
+  @Setup
+  public void setup() {
+    packagerFactory = new ISODefaultPackagerFactory(ISOClientProperties.builder()
+        .schema(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII))
+        .messages(ISOMessageProperties.builder().specializedCodecs(specializedCodecs).build())
+        .build());
+    packagerFactory.addMessagePackager(new ASCIIMessagePackager());
+    message = ISOMessage.builder().type(MessageType.fromMTIString("0200")).build();
+    message.setField(2, "4111111111111111");
+    message.setField(3, "000000");
+    message.setLong(4, 12_550L);
+    message.setField(7, "1018103000");
+    message.setLong(11, 123_456L);
+    message.setField(12, "103000");
+    message.setField(13, "1018");
+    message.setField(14, "2812");
+    message.setField(18, "5411");
+    message.setField(22, "051");
+    message.setField(25, "00");
+    message.setField(32, "123456");
+    message.setField(37, "000000123456");
+    message.setField(41, "TERM0001");
+    message.setField(42, "MERCHANT0000001");
+    message.setField(43, "ACME STORE               KYIV         UA");
+    message.setField(49, "980");
+    packed = PooledByteBufAllocator.DEFAULT.buffer();
+    packagerFactory.writeTo(message, packed);
+    out = PooledByteBufAllocator.DEFAULT.buffer();
+    mixedMessages = createMixedMessages();
+    mixedPacked = new ByteBuf[mixedMessages.length];
+    for (int i = 0; i < mixedMessages.length; i++) {
+      mixedPacked[i] = PooledByteBufAllocator.DEFAULT.buffer();
+      packagerFactory.writeTo(mixedMessages[i], mixedPacked[i]);
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    packed.release();
+    out.release();
+    for (ByteBuf mixed : mixedPacked) {
+      mixed.release();
+    }
+  }
+
+  @Benchmark
+  public ByteBuf pack() {
+    out.clear();
+    packagerFactory.writeTo(message, out);
+    return out;
+  }
+
+  @Benchmark
+  public ISOMessage unpack() {
+    packed.readerIndex(0);
+    return packagerFactory.readFrom(packed);
+  }
+
+  @Benchmark
+  public ByteBuf packMixed() {
+    out.clear();
+    packagerFactory.writeTo(mixedMessages[nextMixedIndex()], out);
+    return out;
+  }
+
+  @Benchmark
+  public ISOMessage unpackMixed() {
+    final ByteBuf mixed = mixedPacked[nextMixedIndex()];
+    mixed.readerIndex(0);
+    return packagerFactory.readFrom(mixed);
+  }
+
+  private int nextMixedIndex() {
+    mixedIndex = mixedIndex + 1 == mixedMessages.length ? 0 : mixedIndex + 1;
+    return mixedIndex;
+  }
+
+  /**
+   * Creates the requests and the responses of the request above, the responses are approved and
+   * declined ones, some of them have the additional response data and the private fields.
+   */
+  private ISOMessage[] createMixedMessages() {
+    final ISOMessage[] messages = new ISOMessage[24];
+    for (int i = 0; i < messages.length; i++) {
+      final boolean request = i % 2 == 0;
+      final ISOMessage mixed =
+          ISOMessage.builder().type(MessageType.fromMTIString(request ? "0200" : "0210")).build();
+      for (int position = 2; position <= 49; position++) {
+        if (!message.hasField(position) || !request && (position == 2 || position == 14)) {
+          continue;
+        }
+        if (message.isLongField(position)) {
+          mixed.setLong(position, message.getLong(position));
+        } else {
+          mixed.setField(position, (String) message.getField(position).getValue());
+        }
+      }
+      if (!request) {
+        if (i % 4 == 1) {
+          mixed.setField(38, "A1B2C3");
+        }
+        mixed.setField(39, i % 4 == 1 ? "00" : "05");
+        if (i % 3 == 0) {
+          mixed.setField(44, "R");
+        }
+      }
+      if (i % 6 >= 3) {
+        mixed.setField(48, "PRIVATE" + i);
+      }
+      if (i % 8 >= 4) {
+        mixed.setField(63, "NETWORK" + i);
+      }
+      messages[i] = mixed;
+    }
+    return messages;
+  }
+}
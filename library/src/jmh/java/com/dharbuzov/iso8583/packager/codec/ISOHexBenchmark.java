@@ -0,0 +1,124 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+
+/**
+ * Compares the table driven hex conversion of {@link ISOBinaryEncoding#HEX} against the naive
+ * {@link Integer#toHexString(int)} and {@link Integer#parseInt(String, int)} per byte conversion.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ISOHexBenchmark {
+
+  @Param({"8", "64", "999"})
+  private int length;
+
+  private byte[] value;
+
+  private ByteBuf encoded;
+
+  private ByteBuf out;
+
+  @Setup
+  public void setup() {
+    value = new byte[length];
+    new Random(length).nextBytes(value);
+    encoded = PooledByteBufAllocator.DEFAULT.buffer(length << 1);
+    ISOBinaryEncoding.HEX.write(value, encoded);
+    out = PooledByteBufAllocator.DEFAULT.buffer(length << 1);
+  }
+
+  @TearDown
+  public void tearDown() {
+    encoded.release();
+    out.release();
+  }
+
+  @Benchmark
+  public ByteBuf encodeTable() {
+    out.clear();
+    ISOBinaryEncoding.HEX.write(value, out);
+    return out;
+  }
+
+  @Benchmark
+  public ByteBuf encodeNaive() {
+    out.clear();
+    for (byte b : value) {
+      final String hex = Integer.toHexString(b & 0xFF).toUpperCase();
+      if (hex.length() == 1) {
+        out.writeByte('0');
+      }
+      out.writeCharSequence(hex, US_ASCII);
+    }
+    return out;
+  }
+
+  @Benchmark
+  public byte[] decodeTable() {
+    encoded.readerIndex(0);
+    return ISOBinaryEncoding.HEX.read(encoded, length);
+  }
+
+  @Benchmark
+  public byte[] decodeNaive() {
+    encoded.readerIndex(0);
+    final byte[] decoded = new byte[length];
+    for (int i = 0; i < length; i++) {
+      decoded[i] = (byte) Integer.parseInt(encoded.readCharSequence(2, US_ASCII).toString(), 16);
+    }
+    return decoded;
+  }
+
+  @Benchmark
+  public long decodeLongTable() {
+    encoded.readerIndex(0);
+    return ISOBinaryEncoding.HEX.readLong(encoded);
+  }
+
+  @Benchmark
+  public long decodeLongNaive() {
+    encoded.readerIndex(0);
+    return Long.parseUnsignedLong(encoded.readCharSequence(16, US_ASCII).toString(), 16);
+  }
+}
@@ -37,7 +37,7 @@ public class DefaultMessageBinder implements MessageBinder {
    * {@inheritDoc}
    */
   @Override
-  public boolean isBind(MessageType reqMsgType, String reqMsgKey, ISOMessage resMsg) {
+  public boolean isBind(MessageType reqMsgType, ISOMessageKey reqMsgKey, ISOMessage resMsg) {
     final MessageType resMsgType = resMsg.getType();
     if (!(reqMsgType.getVersion() == resMsgType.getVersion())) {
       return false;
@@ -55,4 +55,12 @@ public class DefaultMessageBinder implements MessageBinder {
     }
     return reqMsgKey.equals(messageKeyGenerator.generate(resMsg));
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isKeyBased() {
+    return true;
+  }
 }
@@ -15,25 +15,252 @@
  */
 package com.dharbuzov.iso8583.binder;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 import com.dharbuzov.iso8583.config.ISOMessageProperties;
+import com.dharbuzov.iso8583.model.ISOField;
 import com.dharbuzov.iso8583.model.ISOMessage;
-
-import lombok.RequiredArgsConstructor;
+import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageFunction;
+import com.dharbuzov.iso8583.model.MessageOrigin;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.MessageVersion;
 
 /**
+ * Default implementation of the message key generator based on the key fields configured in
+ * {@link ISOMessageProperties#getFieldKeys()}. Configured message types could be generic ones, the
+ * missing parts match any value. Request and response (or acknowledgement) functions are matched
+ * as the same one, so the request and its response have the same key fields, e.g. fields
+ * configured for '0200' are used for '0210' as well. The most specific message type wins.
+ *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
-@RequiredArgsConstructor
 public class DefaultMessageKeyGenerator implements MessageKeyGenerator {
 
-  private final ISOMessageProperties messageProperties;
+  private static final int[] NO_FIELDS = new int[0];
+
+  /* Tags of the values written into the key */
+  private static final int ABSENT = 0;
+  private static final int NUMERIC = 'N';
+  private static final int ALPHA = 'A';
+  private static final int BINARY = 'B';
+
+  /* Positions of the key fields indexed by message type indicator */
+  private final int[][] keyFields = new int[MessageType.MTI_COUNT][];
+
+  /**
+   * Constructor based on message properties.
+   *
+   * @param messageProperties message properties with the key fields, could be {@code null}
+   */
+  public DefaultMessageKeyGenerator(ISOMessageProperties messageProperties) {
+    final Map<MessageType, List<Integer>> fieldKeys =
+        messageProperties == null ? null : messageProperties.getFieldKeys();
+    for (MessageVersion version : MessageVersion.values()) {
+      for (MessageClass clazz : MessageClass.values()) {
+        for (MessageFunction function : MessageFunction.values()) {
+          for (MessageOrigin origin : MessageOrigin.values()) {
+            final MessageType type = MessageType.from(version, clazz, function, origin);
+            keyFields[type.getIndex()] = fieldKeys == null ? NO_FIELDS : resolve(fieldKeys, type);
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Values of the key fields are written in the canonical form, so the request and its response
+   * have the same key even if the values are set in a different way: trailing spaces of the
+   * alphanumeric values are ignored, numeric values are written without leading zeros (e.g.
+   * {@code 1L} and {@code "000001"} are the same). Missing key fields are part of the key as well.
+   */
+  @Override
+  public ISOMessageKey generate(ISOMessage msg) {
+    final int[] fields = getKeyFields(msg.getType());
+    if (fields.length == 0) {
+      return ISOMessageKey.EMPTY;
+    }
+    final KeyBytes bytes = new KeyBytes();
+    for (int position : fields) {
+      bytes.write(position);
+      if (msg.isLongField(position)) {
+        bytes.writeNumber(msg.getLong(position));
+        continue;
+      }
+      final ISOField field = msg.getField(position);
+      final Object value = field == null ? null : field.getValue();
+      if (value == null) {
+        bytes.write(ABSENT);
+      } else if (value instanceof byte[]) {
+        bytes.writeBinary((byte[]) value);
+      } else if (value instanceof Long || value instanceof Integer) {
+        bytes.writeNumber(((Number) value).longValue());
+      } else {
+        bytes.writeChars(value.toString());
+      }
+    }
+    return new ISOMessageKey(bytes.toArray());
+  }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public String generate(ISOMessage msg) {
-    //TODO: implement proper generation of message keys.
-    return "";
+  public int[] getKeyFields(MessageType type) {
+    return type.isGeneric() ? NO_FIELDS : keyFields[type.getIndex()];
+  }
+
+  private static int[] resolve(Map<MessageType, List<Integer>> fieldKeys, MessageType type) {
+    List<Integer> fields = null;
+    int bestScore = -1;
+    for (Map.Entry<MessageType, List<Integer>> entry : fieldKeys.entrySet()) {
+      final int score = score(entry.getKey(), type);
+      if (score > bestScore) {
+        bestScore = score;
+        fields = entry.getValue();
+      }
+    }
+    return fields == null ? NO_FIELDS : fields.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  /**
+   * Returns how specific the configured message type is for the message type, every matched part
+   * scores 2 points and exactly matched function 1 more point.
+   *
+   * @param configured configured message type, could be generic
+   * @param type       message type to match
+   * @return score or {@code -1} if configured message type doesn't match the message type
+   */
+  private static int score(MessageType configured, MessageType type) {
+    int score = 0;
+    if (configured.getVersion() != null) {
+      if (configured.getVersion() != type.getVersion()) {
+        return -1;
+      }
+      score += 2;
+    }
+    if (configured.getClazz() != null) {
+      if (configured.getClazz() != type.getClazz()) {
+        return -1;
+      }
+      score += 2;
+    }
+    if (configured.getFunction() != null) {
+      if (requestOf(configured.getFunction()) != requestOf(type.getFunction())) {
+        return -1;
+      }
+      score += configured.getFunction() == type.getFunction() ? 3 : 2;
+    }
+    if (configured.getOrigin() != null) {
+      if (configured.getOrigin() != type.getOrigin()) {
+        return -1;
+      }
+      score += 2;
+    }
+    return score;
+  }
+
+  private static MessageFunction requestOf(MessageFunction function) {
+    switch (function) {
+      case REQUEST_RESPONSE:
+        return MessageFunction.REQUEST;
+      case ADVICE_RESPONSE:
+        return MessageFunction.ADVICE;
+      case NOTIFICATION_ACK:
+        return MessageFunction.NOTIFICATION;
+      case INSTRUCTION_ACK:
+        return MessageFunction.INSTRUCTION;
+      default:
+        return function;
+    }
+  }
+
+  /**
+   * Growable buffer of the canonical key bytes. Every value is written as the tag, the length and
+   * the content, so the values of the different fields can't be confused.
+   */
+  private static final class KeyBytes {
+
+    private byte[] bytes = new byte[32];
+    private int size;
+
+    void write(int value) {
+      ensureCapacity(1);
+      bytes[size++] = (byte) value;
+    }
+
+    void writeLength(int length) {
+      write(length >>> 8);
+      write(length);
+    }
+
+    void writeNumber(long value) {
+      if (value < 0) {
+        writeChars(Long.toString(value));
+        return;
+      }
+      int length = 1;
+      for (long rest = value / 10; rest > 0; rest /= 10) {
+        length++;
+      }
+      write(NUMERIC);
+      writeLength(length);
+      ensureCapacity(length);
+      long rest = value;
+      for (int i = size + length - 1; i >= size; i--) {
+        bytes[i] = (byte) ('0' + rest % 10);
+        rest /= 10;
+      }
+      size += length;
+    }
+
+    void writeBinary(byte[] value) {
+      write(BINARY);
+      writeLength(value.length);
+      for (byte b : value) {
+        write(b);
+      }
+    }
+
+    void writeChars(String value) {
+      int end = value.length();
+      while (end > 0 && value.charAt(end - 1) == ' ') {
+        end--;
+      }
+      int start = 0;
+      boolean numeric = end > 0;
+      for (int i = 0; i < end && numeric; i++) {
+        numeric = value.charAt(i) >= '0' && value.charAt(i) <= '9';
+      }
+      if (numeric) {
+        while (start < end - 1 && value.charAt(start) == '0') {
+          start++;
+        }
+      }
+      write(numeric ? NUMERIC : ALPHA);
+      writeLength(end - start);
+      for (int i = start; i < end; i++) {
+        final char ch = value.charAt(i);
+        if (ch >= 0xFF) {
+          write(0xFF);
+          write(ch >>> 8);
+        }
+        write(ch);
+      }
+    }
+
+    private void ensureCapacity(int length) {
+      if (size + length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + length));
+      }
+    }
+
+    byte[] toArray() {
+      return Arrays.copyOf(bytes, size);
+    }
   }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.binder;
+
+import java.util.Arrays;
+
+/**
+ * The key of the message which binds the request and response messages. The key holds the
+ * canonical bytes of the key fields and their 128-bit hash, so the keys of the different messages
+ * are told apart by comparison of two {@code long} values, the bytes are compared only to confirm
+ * the match.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ * @see MessageKeyGenerator
+ */
+public final class ISOMessageKey {
+
+  /* Key of the messages which don't have the key fields, equal to every other empty key */
+  public static final ISOMessageKey EMPTY = new ISOMessageKey(new byte[0]);
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+  private final byte[] bytes;
+  private final long high;
+  private final long low;
+
+  /**
+   * Constructor based on the canonical bytes of the key fields.
+   *
+   * @param bytes canonical bytes of the key fields, not copied
+   */
+  public ISOMessageKey(byte[] bytes) {
+    this.bytes = bytes;
+    long high = FNV_OFFSET;
+    long low = GOLDEN_GAMMA;
+    for (byte b : bytes) {
+      high = (high ^ (b & 0xFF)) * FNV_PRIME;
+      low = Long.rotateLeft(low ^ (b & 0xFF), 23) * GOLDEN_GAMMA;
+    }
+    this.high = mix(high ^ bytes.length);
+    this.low = mix(low);
+  }
+
+  /**
+   * Returns the high 64 bits of the key hash.
+   *
+   * @return high bits of the hash
+   */
+  public long getHigh() {
+    return high;
+  }
+
+  /**
+   * Returns the low 64 bits of the key hash.
+   *
+   * @return low bits of the hash
+   */
+  public long getLow() {
+    return low;
+  }
+
+  /**
+   * Returns flag which indicates that the key doesn't have the key fields.
+   *
+   * @return {@code true} if key is empty, otherwise {@code false}
+   */
+  public boolean isEmpty() {
+    return bytes.length == 0;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof ISOMessageKey)) {
+      return false;
+    }
+    final ISOMessageKey key = (ISOMessageKey) other;
+    return high == key.high && low == key.low && Arrays.equals(bytes, key.bytes);
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) (high ^ high >>> 32);
+  }
+
+  @Override
+  public String toString() {
+    return String.format("ISOMessageKey(%016x%016x)", high, low);
+  }
+
+  /* Finalizer of the 64-bit hash, spreads the bits of the hash across the whole word */
+  private static long mix(long hash) {
+    hash = (hash ^ hash >>> 33) * 0xff51afd7ed558ccdL;
+    hash = (hash ^ hash >>> 33) * 0xc4ceb9fe1a85ec53L;
+    return hash ^ hash >>> 33;
+  }
+}
@@ -41,5 +41,15 @@ public interface MessageBinder {
    *                   {@link ISOChannel}
    * @return {@code true} if request message is bind to incoming message, otherwise {@code false}
    */
-  boolean isBind(MessageType reqMsgType, String reqMsgKey, ISOMessage inMsg);
+  boolean isBind(MessageType reqMsgType, ISOMessageKey reqMsgKey, ISOMessage inMsg);
+
+  /**
+   * Returns flag which indicates that the request message is bound only to the incoming messages
+   * which have the same key generated by the {@link MessageKeyGenerator}. Requests of such binder
+   * are looked up by the key of the incoming message, otherwise every waiting request has to be
+   * checked with {@link #isBind(MessageType, ISOMessageKey, ISOMessage)}.
+   *
+   * @return {@code true} if binding requires the equal message keys, otherwise {@code false}
+   */
+  boolean isKeyBased();
 }
@@ -18,6 +18,7 @@ package com.dharbuzov.iso8583.binder;
 import com.dharbuzov.iso8583.client.ISOSyncClient;
 import com.dharbuzov.iso8583.config.ISOMessageProperties;
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
 
 /**
  * Interface which represents message key generator, the key is used to bind the request and
@@ -31,11 +32,20 @@ public interface MessageKeyGenerator {
 
   /**
    * Generates the unique key for a message which could be used to bind the request and response
-   * messages.
+   * messages. The request and its response must have the same key.
    *
    * @param msg msg to generate the key
-   * @return generated key
+   * @return generated key, {@link ISOMessageKey#EMPTY} if message type doesn't have the key fields
    */
-  String generate(ISOMessage msg);
+  ISOMessageKey generate(ISOMessage msg);
 
+  /**
+   * Returns positions of the fields the key of the message type is generated from. Only these
+   * fields have to be decoded to generate the key, so the incoming message could be bound to the
+   * request before it's unpacked completely.
+   *
+   * @param type message type
+   * @return positions of the key fields, empty if key doesn't depend on the fields
+   */
+  int[] getKeyFields(MessageType type);
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+/**
+ * The enum which represents the threads which invoke the message listeners for the incoming
+ * messages.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public enum DispatchMode {
+
+  /**
+   * The listeners are invoked directly by the I/O thread which has decoded the message.
+   */
+  IO_THREAD,
+
+  /**
+   * The decoded messages are handed to the bounded worker pool, see {@link ISOWorkerPool}, the I/O
+   * threads only frame, decode and write the messages.
+   */
+  WORKER,
+
+  /**
+   * The decoded messages are handed to the shared worker pool, but the messages of the same
+   * connection or the same key are handled one by one in the order they were received, see
+   * {@link ISOOrderedExecutor}.
+   */
+  ORDERED;
+
+  /**
+   * Returns the default dispatch mode.
+   *
+   * @return {@link DispatchMode#IO_THREAD}
+   */
+  public static DispatchMode defaultDispatchMode() {
+    return DispatchMode.IO_THREAD;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The enum which represents supported length headers of the frames sent over the channel. The
+ * length header precedes every message and holds the number of bytes that follow it (including
+ * the optional TPDU header), so the receiver is able to split the stream of bytes into messages.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Getter
+@AllArgsConstructor
+public enum FrameLengthType {
+
+  /**
+   * No length header, every network read is treated as exactly one message.
+   */
+  NONE(0, Integer.MAX_VALUE),
+
+  /**
+   * 2-byte unsigned binary length header in network byte order (big-endian).
+   */
+  BINARY_2(2, 0xFFFF),
+
+  /**
+   * 4-byte ASCII decimal length header, e.g. '0123'.
+   */
+  ASCII_4(4, 9999),
+
+  /**
+   * 2-byte packed BCD length header, e.g. '0x01 0x23'.
+   */
+  BCD_2(2, 9999);
+
+  /* Number of bytes occupied by the length header */
+  private final int headerLength;
+
+  /* Maximum frame length which could be expressed by the length header */
+  private final int maxFrameLength;
+
+  /**
+   * Returns the default frame length type.
+   *
+   * @return {@link FrameLengthType#NONE}
+   */
+  public static FrameLengthType defaultFrameLengthType() {
+    return FrameLengthType.NONE;
+  }
+}
@@ -81,6 +81,14 @@ public interface ISOClientChannel extends ISOChannel {
    */
   Future<ISOMessage> sendFuture(ISOMessage msg) throws ISOException;
 
+  /**
+   * Returns the window of the requests waiting for the response, it could be used to monitor the
+   * number of the requests in flight.
+   *
+   * @return in-flight window of the channel
+   */
+  ISOInFlightWindow getInFlightWindow();
+
   /**
    * {@inheritDoc}
    */
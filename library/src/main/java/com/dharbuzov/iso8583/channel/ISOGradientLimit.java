@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The adaptive limit of the requests in flight based on the gradient of the request round-trip
+ * time. The long term average of the round-trip time approximates the latency of the unloaded
+ * server, the short term average reflects the current latency. While the current latency grows
+ * above the long term one the limit is reduced proportionally, otherwise it grows by the square
+ * root of the limit. The requests which are timed out reduce the limit multiplicatively.
+ * <p>
+ * The limit isn't increased while less than a half of it is used, so the idle channel doesn't
+ * inflate the limit up to the maximum.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOGradientLimit {
+
+  /* Number of samples of the short and long term averages */
+  private static final int SHORT_WINDOW = 10;
+  private static final int LONG_WINDOW = 600;
+  /* Current latency which is considered as not degraded, relative to the long term latency */
+  private static final double RTT_TOLERANCE = 1.5;
+  /* Weight of the new limit in the smoothed limit */
+  private static final double SMOOTHING = 0.2;
+  /* Multiplier of the limit on the request timeout */
+  private static final double BACKOFF_RATIO = 0.9;
+
+  private final int minLimit;
+  private final int maxLimit;
+  private double limit;
+  private double shortRttNanos;
+  private double longRttNanos;
+  private long samples;
+
+  /**
+   * Constructor based on the bounds and the initial value of the limit.
+   *
+   * @param minLimit     minimum limit
+   * @param maxLimit     maximum limit
+   * @param initialLimit initial limit
+   */
+  public ISOGradientLimit(int minLimit, int maxLimit, int initialLimit) {
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = clamp(initialLimit);
+  }
+
+  /**
+   * Updates the limit based on the round-trip time of the responded request.
+   *
+   * @param rttNanos round-trip time of the request in nanoseconds
+   * @param inFlight number of the requests in flight including the responded one
+   * @return updated limit
+   */
+  public synchronized int onSample(long rttNanos, int inFlight) {
+    samples++;
+    shortRttNanos = average(shortRttNanos, rttNanos, SHORT_WINDOW);
+    longRttNanos = average(longRttNanos, rttNanos, LONG_WINDOW);
+    if (longRttNanos > 2 * shortRttNanos) {
+      // Latency of the server is improved, the long term average catches up faster
+      longRttNanos *= 0.95;
+    }
+    if (inFlight < limit / 2) {
+      return getLimit();
+    }
+    final double gradient =
+        Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / shortRttNanos));
+    final double newLimit = limit * gradient + Math.sqrt(limit);
+    limit = clamp(limit * (1 - SMOOTHING) + newLimit * SMOOTHING);
+    return getLimit();
+  }
+
+  /**
+   * Reduces the limit because the request is timed out.
+   *
+   * @return updated limit
+   */
+  public synchronized int onTimeout() {
+    limit = clamp(limit * BACKOFF_RATIO);
+    return getLimit();
+  }
+
+  /**
+   * Returns the current limit of the requests in flight.
+   *
+   * @return current limit
+   */
+  public synchronized int getLimit() {
+    return (int) limit;
+  }
+
+  /**
+   * Returns the short term average of the request round-trip time.
+   *
+   * @return current round-trip time in milliseconds
+   */
+  public synchronized double getRttMs() {
+    return shortRttNanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  /**
+   * Returns the long term average of the request round-trip time, which approximates the latency
+   * of the unloaded server.
+   *
+   * @return round-trip time without load in milliseconds
+   */
+  public synchronized double getRttNoLoadMs() {
+    return longRttNanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  private double average(double average, long sample, int window) {
+    // Simple average until the window is filled, exponential one afterwards
+    final long weight = Math.min(samples, window);
+    return average + (sample - average) / weight;
+  }
+
+  private double clamp(double value) {
+    return Math.max(minLimit, Math.min(maxLimit, value));
+  }
+}
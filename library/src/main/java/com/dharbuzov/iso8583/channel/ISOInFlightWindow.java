@@ -0,0 +1,373 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.dharbuzov.iso8583.client.config.ISOInFlightProperties;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISORejectedException;
+import com.dharbuzov.iso8583.exception.ISOTimeoutException;
+
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+
+/**
+ * The window of the requests which are sent by the client channel and wait for the response. Each
+ * request takes a slot of the window until its future is completed in any way (response, timeout,
+ * connection loss or cancellation). When the window is full the request is rejected, waits for a
+ * free slot or is queued depending on the {@link InFlightPolicy}.
+ * <p>
+ * The window without the maximum number of the requests doesn't limit anything and sends the
+ * requests immediately. The adaptive window resizes itself between the minimum and the maximum
+ * number of the requests based on the round-trip time of the requests, see
+ * {@link ISOGradientLimit}.
+ * <p>
+ * Queued requests are expired by the {@link Timer} from the moment they are queued, and are sent
+ * by the queue executor once a slot is free, so the thread which completes another request
+ * doesn't send them itself.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOInFlightWindow {
+
+  private final int maxInFlight;
+  private final InFlightPolicy policy;
+  private final long waitTimeoutMs;
+  /* Free slots of the window, null if the window is unlimited */
+  private final WindowSemaphore permits;
+  /* Adaptive limit of the window, null if the window size is fixed */
+  private final ISOGradientLimit adaptiveLimit;
+  /* Current size of the window */
+  private volatile int limit;
+  /* Requests waiting for a free slot, present only for the queue policy */
+  private final Queue<QueuedRequest> queue;
+  /* Executor which sends the queued requests */
+  private final Executor queueExecutor;
+  /* Timer which expires the queued requests, null if they wait with no limit */
+  private final Timer timer;
+
+  /**
+   * Constructor based on in-flight properties. Queued requests wait for a slot with no limit and
+   * are sent by the thread which frees the slot.
+   *
+   * @param properties in-flight properties, could be {@code null} for the unlimited window
+   */
+  public ISOInFlightWindow(ISOInFlightProperties properties) {
+    this(properties, Runnable::run, null);
+  }
+
+  /**
+   * Constructor based on in-flight properties, the executor which sends the queued requests and
+   * the timer which expires them.
+   *
+   * @param properties    in-flight properties, could be {@code null} for the unlimited window
+   * @param queueExecutor executor which sends the queued requests once a slot is free
+   * @param timer         timer which expires the queued requests, could be {@code null}
+   */
+  public ISOInFlightWindow(ISOInFlightProperties properties, Executor queueExecutor,
+      Timer timer) {
+    this.queueExecutor = queueExecutor;
+    this.timer = timer;
+    this.maxInFlight = properties == null ? 0 : properties.getMaxInFlight();
+    if (maxInFlight < 0) {
+      throw new ISOException("Maximum number of requests in flight can't be negative: '%d'",
+          maxInFlight);
+    }
+    this.policy = properties == null ? InFlightPolicy.defaultInFlightPolicy()
+        : properties.getPolicyOrDefault();
+    this.waitTimeoutMs = properties == null ? 0L : properties.getWaitTimeoutMsOrDefault();
+    this.adaptiveLimit = isLimited() && properties.isAdaptive() ? new ISOGradientLimit(
+        properties.getMinInFlightOrDefault(), maxInFlight,
+        properties.getInitialInFlightOrDefault()) : null;
+    this.limit = adaptiveLimit == null ? maxInFlight : adaptiveLimit.getLimit();
+    this.permits = isLimited() ? new WindowSemaphore(limit) : null;
+    this.queue = isLimited() && policy == InFlightPolicy.QUEUE ? new ArrayBlockingQueue<>(
+        Math.max(1, properties.getMaxQueuedOrDefault())) : null;
+  }
+
+  /**
+   * Sends the request within a slot of the window, the slot is released as soon as the future of
+   * the request is completed. Queued request waits for a slot with no limit.
+   *
+   * @param future future of the request response
+   * @param send   action which sends the request
+   * @throws ISORejectedException if the window is full and the request can't be queued or the wait
+   *                              timeout is elapsed
+   * @throws ISOException         if the request can't be sent
+   */
+  public void execute(CompletableFuture<?> future, Runnable send) throws ISOException {
+    execute(future, send, 0L);
+  }
+
+  /**
+   * Sends the request within a slot of the window, the slot is released as soon as the future of
+   * the request is completed. Queued request which isn't sent within the request timeout completes
+   * its future exceptionally with {@link ISOTimeoutException}.
+   *
+   * @param future           future of the request response
+   * @param send             action which sends the request
+   * @param requestTimeoutMs request timeout counted from the moment the request is queued,
+   *                         {@code 0} to wait for a slot with no limit
+   * @throws ISORejectedException if the window is full and the request can't be queued or the wait
+   *                              timeout is elapsed
+   * @throws ISOException         if the request can't be sent
+   */
+  public void execute(CompletableFuture<?> future, Runnable send, long requestTimeoutMs)
+      throws ISOException {
+    if (!isLimited()) {
+      send.run();
+      return;
+    }
+    if (permits.tryAcquire()) {
+      runAcquired(future, send);
+      return;
+    }
+    switch (policy) {
+      case WAIT:
+        acquire();
+        runAcquired(future, send);
+        return;
+      case QUEUE:
+        final QueuedRequest request = new QueuedRequest(future, send);
+        // Expiry is set before the request is queued, so it's always cancelled by the send
+        expire(request, requestTimeoutMs);
+        if (queue.offer(request)) {
+          // The slot could be released before the request is queued
+          drainQueue();
+          return;
+        }
+        request.cancelTimeout();
+        throw rejected();
+      default:
+        throw rejected();
+    }
+  }
+
+  /**
+   * Returns flag which indicates that the window limits the number of the requests.
+   *
+   * @return {@code true} if the maximum number of the requests is set, otherwise {@code false}
+   */
+  public boolean isLimited() {
+    return maxInFlight > 0;
+  }
+
+  /**
+   * Returns the maximum number of the requests in flight.
+   *
+   * @return maximum number of the requests or {@code 0} if the window is unlimited
+   */
+  public int getMaxInFlight() {
+    return maxInFlight;
+  }
+
+  /**
+   * Returns the current size of the window, which is less or equal to the maximum number of the
+   * requests in flight.
+   *
+   * @return current size of the window or {@code 0} if the window is unlimited
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * Returns the adaptive limit of the window with the round-trip time estimates.
+   *
+   * @return adaptive limit or empty if the window size is fixed
+   */
+  public Optional<ISOGradientLimit> getAdaptiveLimit() {
+    return Optional.ofNullable(adaptiveLimit);
+  }
+
+  /**
+   * Returns the number of the requests which occupy the window at the moment.
+   *
+   * @return number of the requests in flight or {@code 0} if the window is unlimited
+   */
+  public int getInFlight() {
+    return isLimited() ? limit - permits.availablePermits() : 0;
+  }
+
+  /**
+   * Returns the number of the requests waiting in the queue for a free slot.
+   *
+   * @return number of the queued requests
+   */
+  public int getQueued() {
+    return queue == null ? 0 : queue.size();
+  }
+
+  private void acquire() {
+    try {
+      if (!permits.tryAcquire(waitTimeoutMs, TimeUnit.MILLISECONDS)) {
+        throw new ISORejectedException("No free slot within %d ms, %d requests are in flight",
+            waitTimeoutMs, getInFlight());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ISOException(e);
+    }
+  }
+
+  private void runAcquired(CompletableFuture<?> future, Runnable send) {
+    final long startNanos = adaptiveLimit == null ? 0L : System.nanoTime();
+    try {
+      send.run();
+    } catch (RuntimeException ex) {
+      release();
+      throw ex;
+    }
+    future.whenComplete((result, ex) -> complete(startNanos, ex));
+  }
+
+  private void expire(QueuedRequest request, long requestTimeoutMs) {
+    if (timer == null || requestTimeoutMs <= 0) {
+      return;
+    }
+    request.timeout = timer.newTimeout((timeout) -> {
+      // Request which is taken from the queue already holds a slot and is sent anyway
+      if (queue.remove(request)) {
+        request.future.completeExceptionally(new ISOTimeoutException(
+            "Request isn't sent within %d ms, %d requests are in flight", requestTimeoutMs,
+            getInFlight()));
+      }
+    }, requestTimeoutMs, TimeUnit.MILLISECONDS);
+  }
+
+  private void runQueued(QueuedRequest request) {
+    request.cancelTimeout();
+    final CompletableFuture<?> future = request.future;
+    // Request could be run by the queue executor, so the released slot is passed to the next one
+    if (future.isDone()) {
+      // The request is cancelled while it's waiting in the queue
+      release();
+      return;
+    }
+    final long startNanos = adaptiveLimit == null ? 0L : System.nanoTime();
+    try {
+      request.send.run();
+    } catch (RuntimeException ex) {
+      release();
+      future.completeExceptionally(ex);
+      return;
+    }
+    future.whenComplete((result, ex) -> complete(startNanos, ex));
+  }
+
+  private void complete(long startNanos, Throwable ex) {
+    if (adaptiveLimit != null) {
+      if (ex == null) {
+        synchronized (this) {
+          resize(adaptiveLimit.onSample(System.nanoTime() - startNanos, getInFlight()));
+        }
+      } else if (ex instanceof ISOTimeoutException) {
+        synchronized (this) {
+          resize(adaptiveLimit.onTimeout());
+        }
+      }
+    }
+    release();
+  }
+
+  private void resize(int newLimit) {
+    if (newLimit > limit) {
+      permits.release(newLimit - limit);
+    } else if (newLimit < limit) {
+      // Requests above the new limit keep their slots, the new ones wait until they are completed
+      permits.reducePermits(limit - newLimit);
+    }
+    limit = newLimit;
+  }
+
+  private void release() {
+    permits.release();
+    if (queue != null) {
+      drainQueue();
+    }
+  }
+
+  private void drainQueue() {
+    while (!queue.isEmpty() && permits.tryAcquire()) {
+      final QueuedRequest queued = queue.poll();
+      if (queued == null) {
+        permits.release();
+        return;
+      }
+      try {
+        queueExecutor.execute(queued);
+      } catch (RejectedExecutionException ex) {
+        // The slot is released by the send which fails on the closed channel
+        queued.run();
+      }
+    }
+  }
+
+  private ISORejectedException rejected() {
+    return new ISORejectedException("Request is rejected, %d requests are in flight",
+        getInFlight());
+  }
+
+  /**
+   * The queued request with its expiry.
+   */
+  private class QueuedRequest implements Runnable {
+
+    private final CompletableFuture<?> future;
+    private final Runnable send;
+    private volatile Timeout timeout;
+
+    QueuedRequest(CompletableFuture<?> future, Runnable send) {
+      this.future = future;
+      this.send = send;
+    }
+
+    @Override
+    public void run() {
+      runQueued(this);
+    }
+
+    void cancelTimeout() {
+      final Timeout current = timeout;
+      if (current != null) {
+        current.cancel();
+      }
+    }
+  }
+
+  /**
+   * The semaphore which number of permits could be reduced when the window shrinks.
+   */
+  private static class WindowSemaphore extends Semaphore {
+
+    WindowSemaphore(int permits) {
+      super(permits);
+    }
+
+    @Override
+    protected void reducePermits(int reduction) {
+      super.reducePermits(reduction);
+    }
+  }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISORejectedException;
+import com.dharbuzov.iso8583.model.ISOField;
+import com.dharbuzov.iso8583.model.ISOMessage;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The executor which runs the tasks of the same key one by one in the order they were submitted,
+ * while the tasks of the different keys run in parallel on the shared {@link ISOWorkerPool}. The
+ * key is the connection of the message or the hash of the configured fields, e.g. terminal id or
+ * PAN, so the reversal can't overtake its original authorization.
+ * <p>
+ * No thread is dedicated to a key, the key holds only the queue of its tasks while it has any and
+ * occupies a single slot of the worker pool queue while it waits for a worker. A worker runs a
+ * limited batch of the key tasks and then puts the key back to the pool queue, so a busy key
+ * doesn't starve the others. The total number of the pending tasks is limited, the task over the
+ * limit is rejected, it can't be run by the calling thread without breaking the order of its key.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Slf4j
+public class ISOOrderedExecutor {
+
+  private static final int BATCH_SIZE = 16;
+
+  private final ISOWorkerPool workerPool;
+  private final int maxPending;
+  /* Positions of the fields which define the key, empty if the key is the connection */
+  private final int[] orderingFields;
+  private final ConcurrentMap<Object, SerialQueue> queues = new ConcurrentHashMap<>();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Constructor based on the worker pool and the ordering parameters.
+   *
+   * @param workerPool     shared worker pool with {@link RejectionPolicy#REJECT} policy, its queue
+   *                       capacity shouldn't be less than the maximum number of the pending tasks
+   *                       plus the number of its threads, as every worker could put its key back
+   * @param maxPending     maximum number of the submitted tasks which aren't started yet
+   * @param orderingFields positions of the fields which define the key of the message, could be
+   *                       {@code null} or empty to order the messages per connection
+   */
+  public ISOOrderedExecutor(ISOWorkerPool workerPool, int maxPending, int... orderingFields) {
+    if (maxPending < 1) {
+      throw new ISOException("Maximum number of pending tasks should be positive: '%d'",
+          maxPending);
+    }
+    this.workerPool = workerPool;
+    this.maxPending = maxPending;
+    this.orderingFields = orderingFields == null ? new int[0] : orderingFields.clone();
+  }
+
+  /**
+   * Returns the key of the message. If the ordering fields are configured and the message has any
+   * of them, the key is the hash of the field values, the values themselves aren't kept. The hash
+   * collision only serializes the messages of the different keys. Otherwise, the key is the
+   * connection of the message.
+   *
+   * @param connection connection which the message is received from
+   * @param message    incoming message
+   * @return key of the message
+   */
+  public Object getKey(Object connection, ISOMessage message) {
+    boolean present = false;
+    int hash = 1;
+    for (int position : orderingFields) {
+      final ISOField field = message.hasField(position) ? message.getField(position) : null;
+      final Object value = field == null ? null : field.getValue();
+      present |= value != null;
+      hash = 31 * hash + (value instanceof byte[] ? Arrays.hashCode((byte[]) value)
+          : value == null ? 0 : value.hashCode());
+    }
+    return present ? Integer.valueOf(hash) : connection;
+  }
+
+  /**
+   * Executes the task after all the previously submitted tasks of the same key.
+   *
+   * @param key  key of the task
+   * @param task task to execute
+   * @throws ISORejectedException if the maximum number of the pending tasks is reached or the
+   *                              worker pool is shut down
+   */
+  public void execute(Object key, Runnable task) throws ISORejectedException {
+    if (pending.incrementAndGet() > maxPending) {
+      pending.decrementAndGet();
+      rejected.increment();
+      throw new ISORejectedException("Ordered executor is full, maximum pending tasks: '%d'",
+          maxPending);
+    }
+    final SerialQueue[] scheduled = new SerialQueue[1];
+    queues.compute(key, (k, queue) -> {
+      final SerialQueue serialQueue = queue == null ? new SerialQueue(k) : queue;
+      serialQueue.tasks.add(task);
+      if (!serialQueue.running) {
+        serialQueue.running = true;
+        scheduled[0] = serialQueue;
+      }
+      return serialQueue;
+    });
+    if (scheduled[0] != null) {
+      try {
+        workerPool.execute(scheduled[0]);
+      } catch (ISORejectedException e) {
+        rejected.increment();
+        if (scheduled[0].cancel(task)) {
+          // The tasks of the key accepted meanwhile are run by the caller, as the pool rejects them
+          scheduled[0].run();
+        }
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of the submitted tasks which aren't started yet.
+   *
+   * @return number of the pending tasks
+   */
+  public int getPending() {
+    return pending.get();
+  }
+
+  /**
+   * Returns the maximum number of the pending tasks.
+   *
+   * @return maximum number of the pending tasks
+   */
+  public int getMaxPending() {
+    return maxPending;
+  }
+
+  /**
+   * Returns the number of the keys which have the pending or running tasks.
+   *
+   * @return number of the active keys
+   */
+  public int getKeys() {
+    return queues.size();
+  }
+
+  /**
+   * Returns the number of the rejected tasks.
+   *
+   * @return number of the rejected tasks
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * The queue of the key tasks. The queue is changed only within the atomic operations of the map,
+   * the queue without tasks is removed from the map.
+   */
+  private final class SerialQueue implements Runnable {
+
+    private final Object key;
+    private final Queue<Runnable> tasks = new ArrayDeque<>();
+    /* Flag which indicates that the queue is scheduled to or run by the worker */
+    private boolean running;
+
+    private SerialQueue(Object key) {
+      this.key = key;
+    }
+
+    @Override
+    public void run() {
+      while (true) {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+          final Runnable task = poll();
+          if (task == null) {
+            return;
+          }
+          try {
+            task.run();
+          } catch (Throwable e) {
+            log.warn("Ordered task is failed, key: '{}'", key, e);
+          }
+        }
+        try {
+          // Gives the worker to the other keys
+          workerPool.execute(this);
+          return;
+        } catch (ISORejectedException e) {
+          // The pool is shut down, the key keeps the current worker
+        }
+      }
+    }
+
+    private Runnable poll() {
+      final Runnable[] next = new Runnable[1];
+      queues.computeIfPresent(key, (k, queue) -> {
+        next[0] = tasks.poll();
+        if (next[0] == null) {
+          running = false;
+          return null;
+        }
+        return queue;
+      });
+      if (next[0] != null) {
+        pending.decrementAndGet();
+      }
+      return next[0];
+    }
+
+    /**
+     * Removes the task which the queue couldn't be scheduled for. The tasks of the key could be
+     * added by the other threads in the meantime, then the queue is kept running for them.
+     *
+     * @param task task to remove
+     * @return {@code true} if the queue still has tasks to run, otherwise {@code false}
+     */
+    private boolean cancel(Runnable task) {
+      final boolean[] remaining = new boolean[1];
+      queues.computeIfPresent(key, (k, queue) -> {
+        tasks.remove(task);
+        if (tasks.isEmpty()) {
+          running = false;
+          return null;
+        }
+        remaining[0] = true;
+        return queue;
+      });
+      pending.decrementAndGet();
+      return remaining[0];
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISORejectedException;
+
+/**
+ * The bounded pool of the worker threads which invoke the message listeners, so the slow listener
+ * doesn't stall the I/O threads of the channel. The messages waiting for a free worker are kept in
+ * the bounded queue, when the queue is full the message is rejected or handled by the calling
+ * thread depending on the {@link RejectionPolicy}. The idle worker threads are stopped after the
+ * keep alive time and started again on demand.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOWorkerPool {
+
+  private static final long KEEP_ALIVE_MS = 60_000L;
+
+  private final ThreadPoolExecutor executor;
+  private final RejectionPolicy rejectionPolicy;
+  private final int queueCapacity;
+  private final LongAdder rejected = new LongAdder();
+
+  /**
+   * Constructor based on the worker pool parameters.
+   *
+   * @param name            prefix of the worker thread names
+   * @param numberOfThreads number of the worker threads
+   * @param queueCapacity   maximum number of the tasks waiting for a free worker thread
+   * @param rejectionPolicy behaviour of the pool when the queue is full
+   */
+  public ISOWorkerPool(String name, int numberOfThreads, int queueCapacity,
+      RejectionPolicy rejectionPolicy) {
+    if (numberOfThreads < 1 || queueCapacity < 1) {
+      throw new ISOException("Number of threads '%d' and queue capacity '%d' should be positive",
+          numberOfThreads, queueCapacity);
+    }
+    this.rejectionPolicy = rejectionPolicy;
+    this.queueCapacity = queueCapacity;
+    this.executor = new ThreadPoolExecutor(numberOfThreads, numberOfThreads, KEEP_ALIVE_MS,
+        TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), new WorkerFactory(name),
+        new ThreadPoolExecutor.AbortPolicy());
+    this.executor.allowCoreThreadTimeOut(true);
+  }
+
+  /**
+   * Executes the task by the worker thread. If the queue is full, the task is executed by the
+   * calling thread for the {@link RejectionPolicy#CALLER_RUNS} policy.
+   *
+   * @param task task to execute
+   * @throws ISORejectedException if the queue is full for the {@link RejectionPolicy#REJECT}
+   *                              policy or the pool is shut down
+   */
+  public void execute(Runnable task) throws ISORejectedException {
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      rejected.increment();
+      if (rejectionPolicy == RejectionPolicy.CALLER_RUNS && !executor.isShutdown()) {
+        task.run();
+        return;
+      }
+      throw new ISORejectedException("Worker pool queue is full, capacity: '%d'", queueCapacity);
+    }
+  }
+
+  /**
+   * Returns the number of the worker threads.
+   *
+   * @return number of the worker threads
+   */
+  public int getNumberOfThreads() {
+    return executor.getMaximumPoolSize();
+  }
+
+  /**
+   * Returns the number of the threads which are executing the tasks.
+   *
+   * @return number of the active threads
+   */
+  public int getActive() {
+    return executor.getActiveCount();
+  }
+
+  /**
+   * Returns the number of the tasks waiting for a free worker thread.
+   *
+   * @return number of the queued tasks
+   */
+  public int getQueued() {
+    return executor.getQueue().size();
+  }
+
+  /**
+   * Returns the maximum number of the tasks waiting for a free worker thread.
+   *
+   * @return queue capacity
+   */
+  public int getQueueCapacity() {
+    return queueCapacity;
+  }
+
+  /**
+   * Returns the approximate number of the completed tasks.
+   *
+   * @return number of the completed tasks
+   */
+  public long getCompleted() {
+    return executor.getCompletedTaskCount();
+  }
+
+  /**
+   * Returns the number of the tasks which didn't fit the queue, including the tasks executed by the
+   * calling thread.
+   *
+   * @return number of the rejected tasks
+   */
+  public long getRejected() {
+    return rejected.sum();
+  }
+
+  /**
+   * Shuts down the pool, the queued tasks are still executed, the new tasks are rejected.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  /**
+   * Returns flag which indicates that the pool is shut down.
+   *
+   * @return {@code true} if the pool is shut down, otherwise {@code false}
+   */
+  public boolean isShutdown() {
+    return executor.isShutdown();
+  }
+
+  /**
+   * The factory of the daemon worker threads with the names based on the pool name.
+   */
+  private static final class WorkerFactory implements ThreadFactory {
+
+    private final String name;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private WorkerFactory(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      final Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+/**
+ * The enum which represents the behaviour of the client channel when the maximum number of the
+ * requests waiting for the response is reached, see {@link ISOInFlightWindow}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public enum InFlightPolicy {
+
+  /**
+   * The request is rejected immediately.
+   */
+  REJECT,
+
+  /**
+   * The sending thread is blocked until the window has a free slot or the wait timeout is elapsed.
+   */
+  WAIT,
+
+  /**
+   * The request is queued and sent as soon as the window has a free slot, it's rejected only if
+   * the queue is full.
+   */
+  QUEUE;
+
+  /**
+   * Returns the default in-flight policy.
+   *
+   * @return {@link InFlightPolicy#REJECT}
+   */
+  public static InFlightPolicy defaultInFlightPolicy() {
+    return InFlightPolicy.REJECT;
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+/**
+ * The enum which represents the behaviour of the worker pool when all the worker threads are busy
+ * and the queue of the messages is full, see {@link ISOWorkerPool}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public enum RejectionPolicy {
+
+  /**
+   * The message is rejected and isn't passed to the listeners.
+   */
+  REJECT,
+
+  /**
+   * The message is handled by the I/O thread itself, which stops reading the channel until the
+   * listeners are done and so slows down the remote side. Applicable only for the
+   * {@link DispatchMode#WORKER} mode, the ordered messages are always rejected.
+   */
+  CALLER_RUNS;
+
+  /**
+   * Returns the default rejection policy.
+   *
+   * @return {@link RejectionPolicy#REJECT}
+   */
+  public static RejectionPolicy defaultRejectionPolicy() {
+    return RejectionPolicy.REJECT;
+  }
+}
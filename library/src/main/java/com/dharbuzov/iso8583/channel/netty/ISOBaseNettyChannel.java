@@ -15,8 +15,16 @@
  */
 package com.dharbuzov.iso8583.channel.netty;
 
+import java.util.Optional;
+
+import com.dharbuzov.iso8583.channel.DispatchMode;
+import com.dharbuzov.iso8583.channel.ISOOrderedExecutor;
+import com.dharbuzov.iso8583.channel.ISOWorkerPool;
+import com.dharbuzov.iso8583.channel.RejectionPolicy;
+import com.dharbuzov.iso8583.channel.netty.handler.NettyMessageHandler;
 import com.dharbuzov.iso8583.config.ISOBaseProperties;
 import com.dharbuzov.iso8583.config.ISOConnProperties;
+import com.dharbuzov.iso8583.config.ISOThreadProperties;
 import com.dharbuzov.iso8583.factory.ISOMessageListenerFactory;
 import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
 
@@ -35,6 +43,10 @@ public abstract class ISOBaseNettyChannel<T extends ISOBaseProperties> {
   protected final ISOConnProperties connProperties;
   protected final ISOPackagerFactory packagerFactory;
   protected final ISOMessageListenerFactory listenerFactory;
+  /* Worker pool of the listeners, null if the listeners are invoked by the I/O threads */
+  protected final ISOWorkerPool workerPool;
+  /* Ordered executor of the listeners, present only for the ordered dispatch mode */
+  protected final ISOOrderedExecutor orderedExecutor;
   protected Channel nettyChannel;
 
   /**
@@ -50,5 +62,79 @@ public abstract class ISOBaseNettyChannel<T extends ISOBaseProperties> {
     this.connProperties = properties.getConnection();
     this.packagerFactory = packagerFactory;
     this.listenerFactory = listenerFactory;
+    this.workerPool = createWorkerPool(properties);
+    this.orderedExecutor = createOrderedExecutor(properties, workerPool);
+  }
+
+  /**
+   * Returns the worker pool of the message listeners, could be used to monitor the pool queue.
+   *
+   * @return worker pool or empty if the listeners are invoked by the I/O threads
+   */
+  public Optional<ISOWorkerPool> getWorkerPool() {
+    return Optional.ofNullable(workerPool);
+  }
+
+  /**
+   * Returns the ordered executor of the message listeners, could be used to monitor the pending
+   * messages.
+   *
+   * @return ordered executor or empty if the dispatch mode isn't {@link DispatchMode#ORDERED}
+   */
+  public Optional<ISOOrderedExecutor> getOrderedExecutor() {
+    return Optional.ofNullable(orderedExecutor);
+  }
+
+  /**
+   * Creates the netty message handler which invokes the message listeners according to the
+   * dispatch mode.
+   *
+   * @return netty message handler
+   */
+  protected NettyMessageHandler createMessageHandler() {
+    return new NettyMessageHandler(listenerFactory, workerPool, orderedExecutor);
+  }
+
+  /**
+   * Shuts the worker pool down once the channel is stopped, the messages which are queued already
+   * are still handled by the listeners.
+   */
+  protected void shutdownWorkerPool() {
+    if (workerPool != null) {
+      workerPool.shutdown();
+    }
+  }
+
+  private static ISOWorkerPool createWorkerPool(ISOBaseProperties properties) {
+    final DispatchMode dispatchMode = getDispatchMode(properties);
+    if (dispatchMode == DispatchMode.IO_THREAD) {
+      return null;
+    }
+    final ISOThreadProperties threadProperties = properties.getThread();
+    final int numberOfThreads = properties.getNumberOfThreadsOrDefault();
+    if (dispatchMode == DispatchMode.ORDERED) {
+      // The pool queue fits the keys of all the pending tasks and the keys put back by the workers,
+      // so only the shut down pool rejects. The ordered tasks are never run by the caller policy.
+      return new ISOWorkerPool("iso-worker", numberOfThreads,
+          threadProperties.getQueueCapacityOrDefault() + numberOfThreads, RejectionPolicy.REJECT);
+    }
+    return new ISOWorkerPool("iso-worker", numberOfThreads,
+        threadProperties.getQueueCapacityOrDefault(),
+        threadProperties.getRejectionPolicyOrDefault());
+  }
+
+  private static ISOOrderedExecutor createOrderedExecutor(ISOBaseProperties properties,
+      ISOWorkerPool workerPool) {
+    if (getDispatchMode(properties) != DispatchMode.ORDERED) {
+      return null;
+    }
+    final ISOThreadProperties threadProperties = properties.getThread();
+    return new ISOOrderedExecutor(workerPool, threadProperties.getQueueCapacityOrDefault(),
+        threadProperties.getOrderingFields());
+  }
+
+  private static DispatchMode getDispatchMode(ISOBaseProperties properties) {
+    return properties.getThread() == null ? DispatchMode.IO_THREAD
+        : properties.getThread().getDispatchModeOrDefault();
   }
 }
@@ -24,24 +24,30 @@ import java.util.concurrent.TimeoutException;
 import com.dharbuzov.iso8583.binder.MessageBinder;
 import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
 import com.dharbuzov.iso8583.channel.ISOClientChannel;
+import com.dharbuzov.iso8583.channel.ISOInFlightWindow;
 import com.dharbuzov.iso8583.channel.netty.handler.NettyChannelInitializer;
-import com.dharbuzov.iso8583.channel.netty.handler.NettySyncMessageHandler;
+import com.dharbuzov.iso8583.channel.netty.observer.ISONettyExpiryMessageObserver;
 import com.dharbuzov.iso8583.channel.netty.observer.ISONettyMessageObservable;
 import com.dharbuzov.iso8583.channel.netty.observer.ISONettyMessageObserver;
 import com.dharbuzov.iso8583.client.config.ISOClientProperties;
 import com.dharbuzov.iso8583.client.config.ISOReconnectProperties;
 import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.factory.ISOEventFactory;
 import com.dharbuzov.iso8583.factory.ISOMessageListenerFactory;
 import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
 import com.dharbuzov.iso8583.model.ISOMessage;
 import com.dharbuzov.iso8583.model.MessageSource;
 
 import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -54,10 +60,16 @@ import lombok.extern.slf4j.Slf4j;
 public class ISOClientNettyChannel extends ISOBaseNettyChannel<ISOClientProperties>
     implements ISOClientChannel {
 
+  /* Timer wheel which expires the requests of all client channels */
+  private static final Timer REQUEST_TIMER =
+      new HashedWheelTimer(new DefaultThreadFactory("iso-request-timer", true), 10,
+          TimeUnit.MILLISECONDS);
+
   private final MessageBinder messageBinder;
   private final MessageKeyGenerator messageKeyGenerator;
   private final ISOReconnectProperties reconnectProperties;
   private final ISONettyMessageObservable messageObservable;
+  private final ISOInFlightWindow inFlightWindow;
   private final long requestTimeoutMs;
 
   /**
@@ -68,16 +80,21 @@ public class ISOClientNettyChannel extends ISOBaseNettyChannel<ISOClientProperti
    * @param listenerFactory     message listener factor
    * @param messageBinder       message binder
    * @param messageKeyGenerator message key generator
+   * @param eventFactory        event factory
    */
   public ISOClientNettyChannel(ISOClientProperties clientProperties,
       ISOPackagerFactory packagerFactory, ISOMessageListenerFactory listenerFactory,
-      MessageBinder messageBinder, MessageKeyGenerator messageKeyGenerator) {
+      MessageBinder messageBinder, MessageKeyGenerator messageKeyGenerator,
+      ISOEventFactory eventFactory) {
     super(clientProperties, packagerFactory, listenerFactory);
     this.messageBinder = messageBinder;
     this.messageKeyGenerator = messageKeyGenerator;
     this.reconnectProperties = clientProperties.getReconnect();
-    this.messageObservable = new ISONettyMessageObservable();
+    this.messageObservable =
+        new ISONettyMessageObservable(messageKeyGenerator, eventFactory, REQUEST_TIMER);
     this.requestTimeoutMs = clientProperties.getRequestTimeoutMsOrDefault();
+    this.inFlightWindow =
+        new ISOInFlightWindow(clientProperties.getInFlight(), this::sendQueued, REQUEST_TIMER);
   }
 
   /**
@@ -100,9 +117,11 @@ public class ISOClientNettyChannel extends ISOBaseNettyChannel<ISOClientProperti
               .option(ChannelOption.TCP_NODELAY, properties.getConnection().isNoDelayOrDefault())
               .option(ChannelOption.SO_KEEPALIVE, properties.getConnection().isKeepAliveOrDefault())
               .handler(NettyChannelInitializer.builder()
+                  .connProperties(connProperties)
                   .packagerFactory(packagerFactory)
-                  .nettyMessageHandler(
-                      new NettySyncMessageHandler(listenerFactory, messageObservable)).build());
+                  .messageObservable(messageObservable)
+                  .messageKeyGenerator(messageKeyGenerator)
+                  .nettyMessageHandler(createMessageHandler()).build());
       try {
         bootstrap.validate();
         log.info("Connecting client-netty-channel to '{}'", connProperties.getInetSocketAddress());
@@ -124,6 +143,8 @@ public class ISOClientNettyChannel extends ISOBaseNettyChannel<ISOClientProperti
       nettyChannel.disconnect().sync();
     } catch (InterruptedException e) {
       throw new ISOException(e);
+    } finally {
+      shutdownWorkerPool();
     }
   }
 
@@ -140,9 +161,17 @@ public class ISOClientNettyChannel extends ISOBaseNettyChannel<ISOClientProperti
    */
   @Override
   public ISOMessage send(ISOMessage msg, long requestTimeoutMs) {
+    final Future<ISOMessage> responseFuture = sendFuture(msg, requestTimeoutMs);
     try {
-      return sendFuture(msg).get(requestTimeoutMs, TimeUnit.MILLISECONDS);
-    } catch (InterruptedException | TimeoutException | ExecutionException e) {
+      return responseFuture.get(requestTimeoutMs, TimeUnit.MILLISECONDS);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof ISOException) {
+        throw (ISOException) e.getCause();
+      }
+      throw new ISOException(e);
+    } catch (InterruptedException | TimeoutException e) {
+      // Frees the slot of the in-flight window
+      responseFuture.cancel(false);
       throw new ISOException(e);
     }
   }
@@ -152,30 +181,80 @@ public class ISOClientNettyChannel extends ISOBaseNettyChannel<ISOClientProperti
    */
   @Override
   public Future<ISOMessage> sendFuture(ISOMessage msg) {
+    return sendFuture(msg, requestTimeoutMs);
+  }
+
+  /**
+   * Sends the message within the in-flight window and returns the future which is completed by the
+   * response message, or completed exceptionally with
+   * {@link com.dharbuzov.iso8583.exception.ISOTimeoutException} when the request timeout is
+   * elapsed. The queued message is sent by the event loop of the channel as soon as the window
+   * has a free slot, the time spent in the queue counts towards the request timeout.
+   *
+   * @param msg              request message
+   * @param requestTimeoutMs message request timeout
+   * @return future of the response message
+   */
+  protected Future<ISOMessage> sendFuture(ISOMessage msg, long requestTimeoutMs) {
     final CompletableFuture<ISOMessage> awaitFuture = new CompletableFuture<>();
-    final ISONettyMessageObserver messageObserver = ISONettyMessageObserver.builder()
-        .messageBinder(messageBinder)
-        .keyGenerator(messageKeyGenerator)
-        .awaitFuture(awaitFuture)
-        .reqMsg(msg)
-        .build();
-    sendAsync(msg);
-    messageObservable.addObserver(messageObserver, requestTimeoutMs);
+    final long startNanos = System.nanoTime();
+    inFlightWindow.execute(awaitFuture, () -> {
+      checkConnected();
+      final long remainingMs = Math.max(1L, requestTimeoutMs - TimeUnit.NANOSECONDS.toMillis(
+          System.nanoTime() - startNanos));
+      final ISONettyMessageObserver messageObserver = ISONettyMessageObserver.builder()
+          .messageBinder(messageBinder)
+          .keyGenerator(messageKeyGenerator)
+          .awaitFuture(awaitFuture)
+          .reqMsg(msg)
+          .build();
+      // Observer is registered before the request is written, so a fast response isn't missed
+      final ISONettyExpiryMessageObserver expiryObserver =
+          messageObservable.addObserver(nettyChannel, messageObserver, remainingMs);
+      try {
+        sendAsync(msg);
+      } catch (RuntimeException e) {
+        messageObservable.removeObserver(expiryObserver, e);
+        throw e;
+      }
+    }, requestTimeoutMs);
     return awaitFuture;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ISOInFlightWindow getInFlightWindow() {
+    return inFlightWindow;
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void sendAsync(ISOMessage msg) {
-    if (!isConnected()) {
-      throw new ISOException("Channel is not connected!");
-    }
+    checkConnected();
     if (!nettyChannel.isWritable()) {
       throw new ISOException("Channel is not writable!");
     }
     msg.setSource(MessageSource.OUT);
     nettyChannel.writeAndFlush(msg);
   }
+
+  private void sendQueued(Runnable send) {
+    final Channel channel = nettyChannel;
+    if (channel == null) {
+      // Send fails as the channel isn't connected and releases its slot
+      send.run();
+      return;
+    }
+    channel.eventLoop().execute(send);
+  }
+
+  private void checkConnected() {
+    if (!isConnected()) {
+      throw new ISOException("Channel is not connected!");
+    }
+  }
 }
@@ -22,7 +22,8 @@ import io.netty.channel.ChannelHandlerContext;
 import lombok.RequiredArgsConstructor;
 
 /**
- * Netty based reply channel, which writes to the channel message and flushes.
+ * Netty based reply channel, which writes to the channel message and flushes. The reply message
+ * without its own TPDU gets the reply TPDU of the incoming message.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
@@ -30,12 +31,27 @@ import lombok.RequiredArgsConstructor;
 public class ISONettyReplyChannel implements ISOReplyChannel {
 
   private final ChannelHandlerContext ctx;
+  /* TPDU of the incoming message frame, null if the frames have no TPDU */
+  private final byte[] replyTpdu;
+
+  /**
+   * Constructor based on the channel handler context, the replies are written without TPDU or with
+   * the configured one.
+   *
+   * @param ctx netty channel handler context
+   */
+  public ISONettyReplyChannel(ChannelHandlerContext ctx) {
+    this(ctx, null);
+  }
 
   /**
    * {@inheritDoc}
    */
   @Override
   public void reply(ISOMessage message) {
+    if (replyTpdu != null && message.getTpdu() == null) {
+      message.setTpdu(replyTpdu);
+    }
     ctx.writeAndFlush(message);
   }
 }
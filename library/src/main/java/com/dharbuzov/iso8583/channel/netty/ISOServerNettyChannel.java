@@ -17,7 +17,6 @@ package com.dharbuzov.iso8583.channel.netty;
 
 import com.dharbuzov.iso8583.channel.ISOServerChannel;
 import com.dharbuzov.iso8583.channel.netty.handler.NettyChannelInitializer;
-import com.dharbuzov.iso8583.channel.netty.handler.NettyMessageHandler;
 import com.dharbuzov.iso8583.exception.ISOException;
 import com.dharbuzov.iso8583.factory.ISOMessageListenerFactory;
 import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
@@ -68,8 +67,9 @@ public class ISOServerNettyChannel extends ISOBaseNettyChannel<ISOServerProperti
                   properties.getConnection().isNoDelayOrDefault())
               .childOption(ChannelOption.SO_KEEPALIVE,
                   properties.getConnection().isKeepAliveOrDefault()).childHandler(
-                  NettyChannelInitializer.builder().packagerFactory(packagerFactory)
-                      .nettyMessageHandler(new NettyMessageHandler(listenerFactory)).build());
+                  NettyChannelInitializer.builder().connProperties(connProperties)
+                      .packagerFactory(packagerFactory)
+                      .nettyMessageHandler(createMessageHandler()).build());
       try {
         bootstrap.validate();
         log.info("Starting netty-server, on port: '{}'", connProperties.getPort());
@@ -82,6 +82,7 @@ public class ISOServerNettyChannel extends ISOBaseNettyChannel<ISOServerProperti
       } finally {
         parentGroup.shutdownGracefully();
         childGroup.shutdownGracefully();
+        shutdownWorkerPool();
       }
     }
   }
@@ -95,6 +96,7 @@ public class ISOServerNettyChannel extends ISOBaseNettyChannel<ISOServerProperti
       nettyChannel.deregister();
       nettyChannel.close();
     }
+    shutdownWorkerPool();
   }
 
   /**
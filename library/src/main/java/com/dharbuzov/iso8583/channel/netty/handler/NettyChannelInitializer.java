@@ -15,6 +15,10 @@
  */
 package com.dharbuzov.iso8583.channel.netty.handler;
 
+import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
+import com.dharbuzov.iso8583.channel.FrameLengthType;
+import com.dharbuzov.iso8583.channel.netty.observer.ISONettyMessageObservable;
+import com.dharbuzov.iso8583.config.ISOConnProperties;
 import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
 
 import io.netty.channel.Channel;
@@ -33,8 +37,12 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NettyChannelInitializer extends ChannelInitializer<Channel> {
 
+  protected final ISOConnProperties connProperties;
   protected final ISOPackagerFactory packagerFactory;
   protected final NettyMessageHandler nettyMessageHandler;
+  /* Observable of the waiting requests, present only for the client channels */
+  protected final ISONettyMessageObservable messageObservable;
+  protected final MessageKeyGenerator messageKeyGenerator;
 
   /**
    * Inits the pipeline of the channel.
@@ -45,17 +53,44 @@ public class NettyChannelInitializer extends ChannelInitializer<Channel> {
   @Override
   protected void initChannel(Channel ch) throws Exception {
     final ChannelPipeline pipeline = ch.pipeline();
+    if (isFramed()) {
+      pipeline.addLast(createFrameDecoder());
+    }
     pipeline.addLast(createMessageDecoder());
     pipeline.addLast(createMessageEncoder());
     pipeline.addLast(nettyMessageHandler);
   }
 
   /**
-   * Creates message decoder new instance per channel.
+   * Returns flag which indicates that the messages are framed by the length header or TPDU header.
+   *
+   * @return {@code true} if frame decoder is needed, otherwise {@code false}
+   */
+  protected boolean isFramed() {
+    return connProperties.getFrameLengthTypeOrDefault() != FrameLengthType.NONE
+           || connProperties.getTpduLength() > 0;
+  }
+
+  /**
+   * Creates frame decoder new instance per channel.
+   *
+   * @return netty frame decoder
+   */
+  protected NettyFrameDecoder createFrameDecoder() {
+    return new NettyFrameDecoder(connProperties);
+  }
+
+  /**
+   * Creates message decoder new instance per channel. If the message observable is present, the
+   * decoder binds incoming messages to the waiting requests before they are unpacked completely,
+   * see {@link NettySyncMessageDecoder}.
    *
    * @return netty message decoder
    */
   protected NettyMessageDecoder createMessageDecoder() {
+    if (messageObservable != null) {
+      return new NettySyncMessageDecoder(packagerFactory, messageObservable, messageKeyGenerator);
+    }
     return new NettyMessageDecoder(packagerFactory);
   }
 
@@ -65,7 +100,7 @@ public class NettyChannelInitializer extends ChannelInitializer<Channel> {
    * @return netty message encoder
    */
   protected NettyMessageEncoder createMessageEncoder() {
-    return new NettyMessageEncoder(packagerFactory);
+    return new NettyMessageEncoder(packagerFactory, connProperties);
   }
 }
 
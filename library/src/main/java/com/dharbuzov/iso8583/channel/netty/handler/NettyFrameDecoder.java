@@ -0,0 +1,157 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.handler;
+
+import java.util.List;
+
+import com.dharbuzov.iso8583.channel.FrameLengthType;
+import com.dharbuzov.iso8583.config.ISOConnProperties;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+
+/**
+ * The frame decoder class, the main responsibility of this class is to split the incoming stream
+ * of bytes into frames based on the {@link FrameLengthType} length header and the optional TPDU
+ * header defined in {@link ISOConnProperties}. TCP may coalesce several messages into one read or
+ * split one message across reads, so the bytes are accumulated until the whole frame is available
+ * and every complete frame of the read is emitted. Frames are emitted as zero-copy slices of the
+ * accumulated buffer, the frames with the TPDU header are wrapped into {@link NettyTpduFrame}.
+ * Empty frames, normally sent as keep-alive, are skipped. The frame too short for the TPDU header
+ * is skipped as well, while the malformed length header closes the connection.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class NettyFrameDecoder extends ByteToMessageDecoder {
+
+  /* Standard TPDU length: 1 byte id, 2 bytes destination address, 2 bytes source address */
+  private static final int SWAPPABLE_TPDU_LENGTH = 5;
+
+  private final FrameLengthType frameLengthType;
+  private final int headerLength;
+  private final int tpduLength;
+  /* Reply TPDU of the last incoming frame, shared by the frames with the same TPDU */
+  private byte[] replyTpdu;
+
+  /**
+   * Constructor based on connection properties.
+   *
+   * @param connProperties connection properties
+   */
+  public NettyFrameDecoder(ISOConnProperties connProperties) {
+    this.frameLengthType = connProperties.getFrameLengthTypeOrDefault();
+    this.headerLength = frameLengthType.getHeaderLength();
+    this.tpduLength = connProperties.getTpduLength();
+  }
+
+  /**
+   * Decodes all complete frames from the accumulated bytes.
+   *
+   * @param ctx the {@link ChannelHandlerContext} which this {@link ByteToMessageDecoder} belongs
+   *            to
+   * @param in  the {@link ByteBuf} from which to read data
+   * @param out the {@link List} to which decoded frames should be added
+   * @throws Exception if the length header of the frame is malformed, then the channel is closed
+   */
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out)
+      throws Exception {
+    while (in.isReadable() && in.readableBytes() >= headerLength) {
+      final int frameLength;
+      if (headerLength == 0) {
+        frameLength = in.readableBytes();
+      } else {
+        try {
+          frameLength = NettyFrameLengths.getLength(frameLengthType, in, in.readerIndex());
+        } catch (ISOPackageException e) {
+          // The frame boundaries are lost, the rest of the stream can't be trusted
+          in.skipBytes(in.readableBytes());
+          ctx.close();
+          throw e;
+        }
+      }
+      if (frameLength == 0) {
+        // Empty frame is sent as keep-alive
+        in.skipBytes(headerLength);
+        continue;
+      }
+      if (in.readableBytes() - headerLength < frameLength) {
+        // Partial frame, waiting for the rest of bytes
+        return;
+      }
+      in.skipBytes(headerLength);
+      if (frameLength <= tpduLength) {
+        // The frame is skipped as a whole, so the next frames are still decoded
+        in.skipBytes(frameLength);
+        ctx.fireExceptionCaught(
+            new ISOPackageException("Frame length '%s' is too short!", frameLength));
+        continue;
+      }
+      if (tpduLength > 0) {
+        final byte[] frameReplyTpdu = getReplyTpdu(in, in.readerIndex());
+        in.skipBytes(tpduLength);
+        out.add(new NettyTpduFrame(in.readRetainedSlice(frameLength - tpduLength),
+            frameReplyTpdu));
+      } else {
+        out.add(in.readRetainedSlice(frameLength));
+      }
+    }
+  }
+
+  /**
+   * Returns the TPDU which should be used to reply to the incoming message. The destination and
+   * source addresses of the incoming TPDU are swapped. The reply TPDU is allocated only when the
+   * incoming TPDU differs from the previous one, the reply TPDU is never modified once created.
+   *
+   * @param in    buffer with the incoming TPDU
+   * @param index index of the incoming TPDU
+   * @return reply TPDU
+   */
+  protected byte[] getReplyTpdu(ByteBuf in, int index) {
+    if (replyTpdu != null && isReplyTpdu(replyTpdu, in, index)) {
+      return replyTpdu;
+    }
+    final byte[] newReplyTpdu = new byte[tpduLength];
+    in.getBytes(index, newReplyTpdu);
+    if (tpduLength == SWAPPABLE_TPDU_LENGTH) {
+      swapAddresses(newReplyTpdu);
+    }
+    replyTpdu = newReplyTpdu;
+    return newReplyTpdu;
+  }
+
+  private boolean isReplyTpdu(byte[] replyTpdu, ByteBuf in, int index) {
+    final boolean swapped = tpduLength == SWAPPABLE_TPDU_LENGTH;
+    for (int i = 0; i < tpduLength; i++) {
+      // Destination (1..2) and source (3..4) addresses are swapped in the reply TPDU
+      final int replyIndex = swapped && i > 0 ? (i < 3 ? i + 2 : i - 2) : i;
+      if (replyTpdu[replyIndex] != in.getByte(index + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void swapAddresses(byte[] tpdu) {
+    for (int i = 1; i < 3; i++) {
+      final byte b = tpdu[i];
+      tpdu[i] = tpdu[i + 2];
+      tpdu[i + 2] = b;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.handler;
+
+import com.dharbuzov.iso8583.channel.FrameLengthType;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Miscellaneous methods to read and write the frame length headers defined by
+ * {@link FrameLengthType}. Mainly for internal use within the netty handlers.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class NettyFrameLengths {
+
+  /**
+   * Gets the frame length from the length header at the specific index, the reader index of the
+   * buffer is not modified.
+   *
+   * @param type  frame length type
+   * @param in    buffer to read from
+   * @param index index of the first byte of the length header
+   * @return frame length
+   * @throws ISOPackageException if the length header is malformed
+   */
+  static int getLength(FrameLengthType type, ByteBuf in, int index) throws ISOPackageException {
+    switch (type) {
+      case BINARY_2:
+        return in.getUnsignedShort(index);
+      case ASCII_4:
+        return getAsciiDigit(in, index) * 1000 + getAsciiDigit(in, index + 1) * 100
+               + getAsciiDigit(in, index + 2) * 10 + getAsciiDigit(in, index + 3);
+      case BCD_2:
+        return getBcdByte(in, index) * 100 + getBcdByte(in, index + 1);
+      default:
+        throw new ISOPackageException("Frame length type '%s' doesn't have a length header!",
+            type);
+    }
+  }
+
+  /**
+   * Sets the frame length into the length header at the specific index, the writer index of the
+   * buffer is not modified.
+   *
+   * @param type   frame length type
+   * @param out    buffer to write into
+   * @param index  index of the first byte of the length header
+   * @param length frame length to set
+   * @throws ISOPackageException if the length can't be expressed by the length header
+   */
+  static void setLength(FrameLengthType type, ByteBuf out, int index, int length)
+      throws ISOPackageException {
+    if (length > type.getMaxFrameLength()) {
+      throw new ISOPackageException("Frame length '%s' exceeds the maximum '%s' of type '%s'!",
+          length, type.getMaxFrameLength(), type);
+    }
+    switch (type) {
+      case BINARY_2:
+        out.setShort(index, length);
+        break;
+      case ASCII_4:
+        out.setByte(index, '0' + length / 1000);
+        out.setByte(index + 1, '0' + length / 100 % 10);
+        out.setByte(index + 2, '0' + length / 10 % 10);
+        out.setByte(index + 3, '0' + length % 10);
+        break;
+      case BCD_2:
+        out.setByte(index, (length / 1000) << 4 | length / 100 % 10);
+        out.setByte(index + 1, (length / 10 % 10) << 4 | length % 10);
+        break;
+      default:
+        throw new ISOPackageException("Frame length type '%s' doesn't have a length header!",
+            type);
+    }
+  }
+
+  private static int getAsciiDigit(ByteBuf in, int index) {
+    final int digit = in.getByte(index) - '0';
+    if (digit < 0 || digit > 9) {
+      throw new ISOPackageException("Malformed ASCII length header at index '%s'!", index);
+    }
+    return digit;
+  }
+
+  private static int getBcdByte(ByteBuf in, int index) {
+    final int value = in.getUnsignedByte(index);
+    final int high = value >>> 4;
+    final int low = value & 0x0F;
+    if (high > 9 || low > 9) {
+      throw new ISOPackageException("Malformed BCD length header at index '%s'!", index);
+    }
+    return high * 10 + low;
+  }
+}
@@ -23,29 +23,57 @@ import com.dharbuzov.iso8583.model.ISOMessage;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.MessageToMessageDecoder;
 
 /**
  * The byte decoder class, the main responsibility of this class is to decode of readable bytes from
  * {@link ByteBuf} buffer into {@link ISOMessage} class and put the message into out list for future
- * processing by the next handlers.
+ * processing by the next handlers. Every incoming buffer is treated as exactly one message, the
+ * buffers are expected to be split into the frames by {@link NettyFrameDecoder}. The reply TPDU of
+ * the {@link NettyTpduFrame} frame is kept in the decoded message, see
+ * {@link ISOMessage#getTpdu()}.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
-public class NettyMessageDecoder extends ByteToMessageDecoder {
+public class NettyMessageDecoder extends MessageToMessageDecoder<ByteBuf> {
 
-  private final ISOPackagerFactory packagerFactory;
+  protected final ISOPackagerFactory packagerFactory;
+  /* Reply TPDU of the frame which is being decoded, the decoder is bound to the channel thread */
+  private byte[] replyTpdu;
 
   public NettyMessageDecoder(ISOPackagerFactory packagerFactory) {
     this.packagerFactory = packagerFactory;
   }
 
+  /**
+   * Unwraps the frame with the TPDU header and decodes its bytes.
+   *
+   * @param ctx the {@link ChannelHandlerContext} which this decoder belongs to
+   * @param msg incoming frame
+   * @throws Exception if the exception occurred during message parsing
+   */
+  @Override
+  public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
+    if (!(msg instanceof NettyTpduFrame)) {
+      super.channelRead(ctx, msg);
+      return;
+    }
+    final NettyTpduFrame frame = (NettyTpduFrame) msg;
+    replyTpdu = frame.getReplyTpdu();
+    try {
+      // The frame is released together with its content
+      super.channelRead(ctx, frame.content());
+    } finally {
+      replyTpdu = null;
+    }
+  }
+
   /**
    * Decodes the incoming bytes into the {@link ISOMessage} message.
    *
-   * @param ctx the {@link ChannelHandlerContext} which this {@link ByteToMessageDecoder} belongs
-   *            to
-   * @param in  the {@link ByteBuf} from which to read data
+   * @param ctx the {@link ChannelHandlerContext} which this {@link MessageToMessageDecoder}
+   *            belongs to
+   * @param in  the {@link ByteBuf} frame from which to read data
    * @param out the {@link List} to which decoded messages should be added
    * @throws Exception if the exception occurred during message parsing
    */
@@ -54,10 +82,9 @@ public class NettyMessageDecoder extends ByteToMessageDecoder {
     if (!in.isReadable()) {
       return;
     }
-    final byte[] bytes = new byte[in.readableBytes()];
-    in.readBytes(bytes);
-    final ISOMessage msg = packagerFactory.unpack(bytes);
+    final ISOMessage msg = packagerFactory.readFrom(in);
     if (msg != null) {
+      msg.setTpdu(replyTpdu);
       out.add(msg);
     } else {
       throw new ISOPackageException("Couldn't parse the incoming bytes into ISOMessage!");
@@ -15,6 +15,8 @@
  */
 package com.dharbuzov.iso8583.channel.netty.handler;
 
+import com.dharbuzov.iso8583.channel.FrameLengthType;
+import com.dharbuzov.iso8583.config.ISOConnProperties;
 import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
 import com.dharbuzov.iso8583.model.ISOMessage;
 
@@ -25,15 +27,29 @@ import io.netty.handler.codec.MessageToByteEncoder;
 /**
  * The byte encoder class, the main responsibility of this class is to encode of outgoing message
  * into the bytes and write them to the out {@link ByteBuf} buffer for future delivery via network.
+ * The message is packed straight into the (pooled) out buffer, without intermediate byte arrays.
+ * The frame length header and the optional TPDU header defined in {@link ISOConnProperties} are
+ * written in front of the message, the length is filled in once the message is packed. The TPDU of
+ * the message, see {@link ISOMessage#getTpdu()}, is written instead of the configured one.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 public class NettyMessageEncoder extends MessageToByteEncoder<ISOMessage> {
 
   private final ISOPackagerFactory packagerFactory;
+  private final FrameLengthType frameLengthType;
+  private final byte[] tpdu;
 
-  public NettyMessageEncoder(ISOPackagerFactory packagerFactory) {
+  /**
+   * Constructor based on packager factory and connection properties.
+   *
+   * @param packagerFactory packager factory
+   * @param connProperties  connection properties
+   */
+  public NettyMessageEncoder(ISOPackagerFactory packagerFactory, ISOConnProperties connProperties) {
     this.packagerFactory = packagerFactory;
+    this.frameLengthType = connProperties.getFrameLengthTypeOrDefault();
+    this.tpdu = connProperties.getTpdu();
   }
 
   /**
@@ -47,7 +63,16 @@ public class NettyMessageEncoder extends MessageToByteEncoder<ISOMessage> {
    */
   @Override
   protected void encode(ChannelHandlerContext ctx, ISOMessage msg, ByteBuf out) throws Exception {
-    final byte[] bytes = packagerFactory.pack(msg);
-    out.writeBytes(bytes);
+    final int headerIndex = out.writerIndex();
+    final int headerLength = frameLengthType.getHeaderLength();
+    out.writeZero(headerLength);
+    if (tpdu != null) {
+      out.writeBytes(msg.getTpdu() != null ? msg.getTpdu() : tpdu);
+    }
+    packagerFactory.writeTo(msg, out);
+    if (headerLength > 0) {
+      NettyFrameLengths.setLength(frameLengthType, out, headerIndex,
+          out.writerIndex() - headerIndex - headerLength);
+    }
   }
 }
@@ -15,7 +15,9 @@
  */
 package com.dharbuzov.iso8583.channel.netty.handler;
 
+import com.dharbuzov.iso8583.channel.ISOOrderedExecutor;
 import com.dharbuzov.iso8583.channel.ISOReplyChannel;
+import com.dharbuzov.iso8583.channel.ISOWorkerPool;
 import com.dharbuzov.iso8583.channel.netty.ISONettyReplyChannel;
 import com.dharbuzov.iso8583.factory.ISOMessageListenerFactory;
 import com.dharbuzov.iso8583.model.ISOMessage;
@@ -30,6 +32,12 @@ import io.netty.channel.SimpleChannelInboundHandler;
  * the library. This message handler is working in multi thread environment,
  * {@link io.netty.channel.ChannelHandler.Sharable} identifies that Netty will use the handler
  * across different channels and threads.
+ * <p>
+ * If the worker pool is present, the listeners are invoked by the worker threads, see
+ * {@link ISOWorkerPool}, so the I/O threads only frame, decode and write the messages. If the
+ * ordered executor is present, the messages of the same connection or key are handled in the order
+ * they were received, see {@link ISOOrderedExecutor}. The exceptions of the listeners as well as
+ * the rejected messages are passed to the next handlers in the pipeline.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
@@ -37,9 +45,46 @@ import io.netty.channel.SimpleChannelInboundHandler;
 public class NettyMessageHandler extends SimpleChannelInboundHandler<ISOMessage> {
 
   protected final ISOMessageListenerFactory listenerFactory;
+  /* Worker pool of the listeners, null if the listeners are invoked by the I/O threads */
+  protected final ISOWorkerPool workerPool;
+  /* Ordered executor of the listeners, null if the messages aren't ordered */
+  protected final ISOOrderedExecutor orderedExecutor;
 
+  /**
+   * Constructor based on listener factory, the listeners are invoked by the I/O threads.
+   *
+   * @param listenerFactory listener factory
+   */
   public NettyMessageHandler(ISOMessageListenerFactory listenerFactory) {
+    this(listenerFactory, null, null);
+  }
+
+  /**
+   * Constructor based on listener factory and worker pool.
+   *
+   * @param listenerFactory listener factory
+   * @param workerPool      worker pool of the listeners, could be {@code null} to invoke the
+   *                        listeners by the I/O threads
+   */
+  public NettyMessageHandler(ISOMessageListenerFactory listenerFactory,
+      ISOWorkerPool workerPool) {
+    this(listenerFactory, workerPool, null);
+  }
+
+  /**
+   * Constructor based on listener factory, worker pool and ordered executor.
+   *
+   * @param listenerFactory listener factory
+   * @param workerPool      worker pool of the listeners, could be {@code null} to invoke the
+   *                        listeners by the I/O threads
+   * @param orderedExecutor ordered executor of the listeners, could be {@code null} if the
+   *                        messages aren't ordered
+   */
+  public NettyMessageHandler(ISOMessageListenerFactory listenerFactory, ISOWorkerPool workerPool,
+      ISOOrderedExecutor orderedExecutor) {
     this.listenerFactory = listenerFactory;
+    this.workerPool = workerPool;
+    this.orderedExecutor = orderedExecutor;
   }
 
   /**
@@ -48,21 +93,39 @@ public class NettyMessageHandler extends SimpleChannelInboundHandler<ISOMessage>
    * @param ctx the {@link ChannelHandlerContext} which this {@link SimpleChannelInboundHandler}
    *            belongs to
    * @param msg the message to handle
-   * @throws Exception if listener factory is not able to handle the message
+   * @throws Exception if listener factory is not able to handle the message or the worker pool
+   *                   has rejected the message
    */
   @Override
   protected void channelRead0(ChannelHandlerContext ctx, ISOMessage msg) throws Exception {
-    final ISOReplyChannel replyChannel = createReplyChannel(ctx);
-    listenerFactory.onMessage(replyChannel, msg);
+    final ISOReplyChannel replyChannel = createReplyChannel(ctx, msg);
+    if (orderedExecutor == null && workerPool == null) {
+      listenerFactory.onMessage(replyChannel, msg);
+      return;
+    }
+    final Runnable task = () -> {
+      try {
+        listenerFactory.onMessage(replyChannel, msg);
+      } catch (Throwable e) {
+        ctx.fireExceptionCaught(e);
+      }
+    };
+    if (orderedExecutor != null) {
+      orderedExecutor.execute(orderedExecutor.getKey(ctx.channel(), msg), task);
+    } else {
+      workerPool.execute(task);
+    }
   }
 
   /**
-   * Creates the reply channel which could be used to reply the response for incoming message.
+   * Creates the reply channel which could be used to reply the response for incoming message. The
+   * reply channel keeps the reply TPDU of the incoming message.
    *
    * @param ctx netty channel handler context
+   * @param msg incoming message
    * @return created reply channel
    */
-  protected ISOReplyChannel createReplyChannel(ChannelHandlerContext ctx) {
-    return new ISONettyReplyChannel(ctx);
+  protected ISOReplyChannel createReplyChannel(ChannelHandlerContext ctx, ISOMessage msg) {
+    return new ISONettyReplyChannel(ctx, msg.getTpdu());
   }
 }
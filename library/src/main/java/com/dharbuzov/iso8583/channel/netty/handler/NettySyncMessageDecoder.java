@@ -0,0 +1,104 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.handler;
+
+import java.util.List;
+
+import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
+import com.dharbuzov.iso8583.channel.netty.observer.ISONettyMessageObservable;
+import com.dharbuzov.iso8583.channel.netty.observer.ISONettyMessageObserver;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
+import com.dharbuzov.iso8583.model.ISOMessage;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+
+/**
+ * The byte decoder of the client channels, which binds the incoming message to the waiting request
+ * before the message is unpacked completely. Only the message type indicator, the bitmaps and the
+ * key fields defined by {@link MessageKeyGenerator#getKeyFields} are decoded to find the observer
+ * of the message in {@link ISONettyMessageObservable}. The message claimed by the observer is
+ * unpacked completely and completes its future, the rest of the messages is unpacked and passed
+ * to the next handlers.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class NettySyncMessageDecoder extends NettyMessageDecoder {
+
+  private final ISONettyMessageObservable messageObservable;
+  private final MessageKeyGenerator messageKeyGenerator;
+
+  /**
+   * Constructor.
+   *
+   * @param packagerFactory     message packager factory
+   * @param messageObservable   message observable of the waiting requests
+   * @param messageKeyGenerator message key generator
+   */
+  public NettySyncMessageDecoder(ISOPackagerFactory packagerFactory,
+      ISONettyMessageObservable messageObservable, MessageKeyGenerator messageKeyGenerator) {
+    super(packagerFactory);
+    this.messageObservable = messageObservable;
+    this.messageKeyGenerator = messageKeyGenerator;
+  }
+
+  /**
+   * Binds the incoming bytes to the waiting request and decodes them into the {@link ISOMessage}
+   * message.
+   *
+   * @param ctx the {@link ChannelHandlerContext} which this decoder belongs to
+   * @param in  the {@link ByteBuf} frame from which to read data
+   * @param out the {@link List} to which decoded messages should be added
+   * @throws Exception if the exception occurred during message parsing
+   */
+  @Override
+  protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+    if (!in.isReadable()) {
+      return;
+    }
+    final ISONettyMessageObserver observer = messageObservable.claim(
+        packagerFactory.readKeyFields(in, messageKeyGenerator::getKeyFields));
+    if (observer == null) {
+      super.decode(ctx, in, out);
+      return;
+    }
+    try {
+      observer.complete(packagerFactory.readFrom(in));
+    } catch (ISOException ex) {
+      observer.completeExceptionally(ex);
+      throw ex;
+    }
+  }
+
+  /**
+   * Fails all the requests waiting for the response from the lost connection. This decoder keeps
+   * no bytes of its own, the frames completed by {@link NettyFrameDecoder} from the bytes left in
+   * its cumulation buffer are passed down before the connection inactive event, so the response
+   * read together with the close is bound to its request first.
+   *
+   * @param ctx the {@link ChannelHandlerContext} which this decoder belongs to
+   * @throws Exception if the exception occurred during message parsing or in the next handlers
+   */
+  @Override
+  public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+    try {
+      super.channelInactive(ctx);
+    } finally {
+      messageObservable.onChannelInactive(ctx.channel());
+    }
+  }
+}
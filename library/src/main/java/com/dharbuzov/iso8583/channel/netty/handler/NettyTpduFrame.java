@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.handler;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.DefaultByteBufHolder;
+
+/**
+ * The frame of the incoming message with the TPDU header, see {@link NettyFrameDecoder}. The frame
+ * carries the TPDU which should be used to reply to the message, so the reply keeps the TPDU of its
+ * own request even if it's written after the later frames of the channel are decoded.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class NettyTpduFrame extends DefaultByteBufHolder {
+
+  private final byte[] replyTpdu;
+
+  /**
+   * Constructor based on the frame bytes and the reply TPDU.
+   *
+   * @param content   bytes of the message without the TPDU header
+   * @param replyTpdu TPDU which should be used to reply to the message
+   */
+  public NettyTpduFrame(ByteBuf content, byte[] replyTpdu) {
+    super(content);
+    this.replyTpdu = replyTpdu;
+  }
+
+  /**
+   * Returns the TPDU which should be used to reply to the message.
+   *
+   * @return reply TPDU
+   */
+  public byte[] getReplyTpdu() {
+    return replyTpdu;
+  }
+}
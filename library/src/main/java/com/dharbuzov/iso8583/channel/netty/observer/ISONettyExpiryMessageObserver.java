@@ -15,35 +15,87 @@
  */
 package com.dharbuzov.iso8583.channel.netty.observer;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import com.dharbuzov.iso8583.model.ISOMessage;
-import com.dharbuzov.iso8583.order.ISOOrdered;
 
+import io.netty.channel.Channel;
+import io.netty.util.Timeout;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 /**
- * Represents the message observer which expires based on request timeout.
+ * Represents the message observer which expires based on request timeout. The expiry is scheduled
+ * in the timer of {@link ISONettyMessageObservable}, so the observer is either claimed by the
+ * incoming message or expired, whatever happens first.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 @Getter
-public class ISONettyExpiryMessageObserver implements ISOMessageObserver, ISOOrdered {
+public class ISONettyExpiryMessageObserver implements ISOMessageObserver {
 
+  private final Channel channel;
   private final ISONettyMessageObserver observer;
-  private final long expiredAtMs;
+  private final long requestTimeoutMs;
+  @Getter(AccessLevel.NONE)
+  private final AtomicBoolean done = new AtomicBoolean();
+  @Getter(AccessLevel.NONE)
+  private volatile Timeout timeout;
 
   /**
-   * Constructor based on message observer and request timeout.
+   * Constructor based on the connection, message observer and request timeout.
    *
-   * @param observer       observer which waits the proper incoming message
-   * @param requestTimeout message request timeout
+   * @param channel          connection which the request is sent to
+   * @param observer         observer which waits the proper incoming message
+   * @param requestTimeoutMs message request timeout
    */
-  public ISONettyExpiryMessageObserver(ISONettyMessageObserver observer, long requestTimeout) {
+  public ISONettyExpiryMessageObserver(Channel channel, ISONettyMessageObserver observer,
+      long requestTimeoutMs) {
+    this.channel = channel;
     this.observer = observer;
-    this.expiredAtMs = System.currentTimeMillis() + requestTimeout;
+    this.requestTimeoutMs = requestTimeoutMs;
   }
 
   @Override
   public boolean onMessage(ISOMessage inMsg) {
     return observer.onMessage(inMsg);
   }
+
+  /**
+   * Marks the observer as done, so it's not bound to any other message. Only the first call
+   * succeeds, so the observer is claimed either by a single incoming message or by the expiry.
+   *
+   * @return {@code true} if observer is marked as done by this call, otherwise {@code false}
+   */
+  public boolean markDone() {
+    return done.compareAndSet(false, true);
+  }
+
+  /**
+   * Returns flag which indicates that the observer is claimed or expired already.
+   *
+   * @return {@code true} if observer is done, otherwise {@code false}
+   */
+  public boolean isDone() {
+    return done.get();
+  }
+
+  /**
+   * Sets the scheduled expiry of the observer.
+   *
+   * @param timeout scheduled expiry
+   */
+  public void setTimeout(Timeout timeout) {
+    this.timeout = timeout;
+  }
+
+  /**
+   * Cancels the scheduled expiry if the observer is claimed before the request timeout.
+   */
+  public void cancelTimeout() {
+    final Timeout scheduled = this.timeout;
+    if (scheduled != null) {
+      scheduled.cancel();
+    }
+  }
 }
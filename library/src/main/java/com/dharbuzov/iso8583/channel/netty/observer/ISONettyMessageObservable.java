@@ -15,21 +15,75 @@
  */
 package com.dharbuzov.iso8583.channel.netty.observer;
 
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import com.dharbuzov.iso8583.binder.ISOMessageKey;
+import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
+import com.dharbuzov.iso8583.exception.ISOConnectionException;
+import com.dharbuzov.iso8583.exception.ISOTimeoutException;
+import com.dharbuzov.iso8583.factory.ISOEventFactory;
 import com.dharbuzov.iso8583.model.ISOMessage;
-import com.dharbuzov.iso8583.order.ISOOrderedContainer;
+import com.dharbuzov.iso8583.model.event.RequestTimeoutEvent;
+
+import io.netty.channel.Channel;
+import io.netty.util.Timer;
 
 /**
  * Class represents the netty message observable which works as an interceptor in
- * {@link com.dharbuzov.iso8583.channel.netty.handler.NettySyncMessageHandler} to catch messages
+ * {@link com.dharbuzov.iso8583.channel.netty.handler.NettySyncMessageDecoder} to catch messages
  * that should be returned by {@link java.util.concurrent.Future} in
  * {@link com.dharbuzov.iso8583.client.ISOSyncClient#send(ISOMessage, long)},
  * {@link com.dharbuzov.iso8583.client.ISOSyncClient#sendFuture(ISOMessage)} or
  * {@link com.dharbuzov.iso8583.client.ISOSyncClient#send(ISOMessage)}
+ * <p>
+ * Observers of the key based binders are indexed by the request message key in the concurrent
+ * hash map, so the incoming message is bound by a single lookup with its own key, regardless of
+ * the number of requests in flight. Only the observers of the binders which can't rely on the
+ * keys are scanned one by one.
+ * <p>
+ * Each observer is expired by the {@link Timer} (normally {@link io.netty.util.HashedWheelTimer}),
+ * so scheduling and cancelling the expiry costs O(1). The expired observer completes its future
+ * exceptionally with {@link ISOTimeoutException} and notifies {@link RequestTimeoutEvent} event.
+ * <p>
+ * Observers are tracked per connection as well, so all the requests sent to the lost connection
+ * complete their futures with {@link ISOConnectionException} at once, see
+ * {@link #onChannelInactive(Channel)}.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
-public class ISONettyMessageObservable extends ISOOrderedContainer<ISONettyExpiryMessageObserver>
-    implements ISOMessageObserver {
+public class ISONettyMessageObservable implements ISOMessageObserver {
+
+  private final MessageKeyGenerator keyGenerator;
+  private final ISOEventFactory eventFactory;
+  private final Timer timer;
+  /* Observers of the key based binders indexed by the request message key */
+  private final Map<ISOMessageKey, Queue<ISONettyExpiryMessageObserver>> keyedObservers =
+      new ConcurrentHashMap<>();
+  /* Observers of the binders which are not key based */
+  private final Queue<ISONettyExpiryMessageObserver> scannedObservers =
+      new ConcurrentLinkedQueue<>();
+  /* Observers indexed by the connection which the request is sent to */
+  private final Map<Channel, Set<ISONettyExpiryMessageObserver>> channelObservers =
+      new ConcurrentHashMap<>();
+
+  /**
+   * Constructor based on the key generator of the request messages and the expiry timer.
+   *
+   * @param keyGenerator key generator of the request and incoming messages
+   * @param eventFactory event factory to notify the request timeouts
+   * @param timer        timer which expires the observers
+   */
+  public ISONettyMessageObservable(MessageKeyGenerator keyGenerator, ISOEventFactory eventFactory,
+      Timer timer) {
+    this.keyGenerator = keyGenerator;
+    this.eventFactory = eventFactory;
+    this.timer = timer;
+  }
 
   /**
    * Handles the message and returns flag which indicates that message is applicable for particular
@@ -42,33 +96,192 @@ public class ISONettyMessageObservable extends ISOOrderedContainer<ISONettyExpir
    */
   @Override
   public boolean onMessage(ISOMessage inMsg) {
-    removeExpiredObservers();
-    for (ISONettyExpiryMessageObserver messageObserver : this.queue) {
-      if (messageObserver.onMessage(inMsg)) {
-        removeFromQueue(messageObserver);
-        return true;
-      }
+    final ISONettyMessageObserver observer = claim(inMsg);
+    if (observer != null) {
+      observer.complete(inMsg);
+      return true;
     }
     return false;
   }
 
   /**
-   * Adds observer to the queue.
+   * Finds the observer bound to the incoming message and removes it, so the message could be fully
+   * unpacked after the observer is found.
    *
+   * @param keyMsg incoming message with the message type and the key fields only
+   * @return observer which waits the message or {@code null} if there is no such observer
+   */
+  public ISONettyMessageObserver claim(ISOMessage keyMsg) {
+    ISONettyExpiryMessageObserver observer = null;
+    if (!keyedObservers.isEmpty()) {
+      observer = claim(keyedObservers.get(keyGenerator.generate(keyMsg)), keyMsg);
+    }
+    if (observer == null && !scannedObservers.isEmpty()) {
+      observer = claim(scannedObservers, keyMsg);
+    }
+    if (observer == null) {
+      return null;
+    }
+    observer.cancelTimeout();
+    remove(observer);
+    return observer.getObserver();
+  }
+
+  /**
+   * Adds observer of the request.
+   *
+   * @param channel          connection which the request is sent to
    * @param observer         observer which waits proper incoming message
    * @param requestTimeoutMs message request timeout
+   * @return registered observer which could be removed by
+   * {@link #removeObserver(ISONettyExpiryMessageObserver, Throwable)}
    */
-  public void addObserver(ISONettyMessageObserver observer, long requestTimeoutMs) {
-    removeExpiredObservers();
-    addToQueue(new ISONettyExpiryMessageObserver(observer, requestTimeoutMs));
+  public ISONettyExpiryMessageObserver addObserver(Channel channel,
+      ISONettyMessageObserver observer, long requestTimeoutMs) {
+    final ISONettyExpiryMessageObserver expiryObserver =
+        new ISONettyExpiryMessageObserver(channel, observer, requestTimeoutMs);
+    if (observer.isKeyBased()) {
+      keyedObservers.compute(observer.getReqMsgKey(), (key, observers) -> {
+        final Queue<ISONettyExpiryMessageObserver> bucket =
+            observers == null ? new ConcurrentLinkedQueue<>() : observers;
+        bucket.add(expiryObserver);
+        return bucket;
+      });
+    } else {
+      scannedObservers.add(expiryObserver);
+    }
+    if (channel.isActive()) {
+      channelObservers.compute(channel, (key, observers) -> {
+        final Set<ISONettyExpiryMessageObserver> channelSet =
+            observers == null ? ConcurrentHashMap.newKeySet() : observers;
+        channelSet.add(expiryObserver);
+        return channelSet;
+      });
+    }
+    if (!channel.isActive()) {
+      // Connection could be lost before the observer is tracked, failing removes the tracking
+      fail(expiryObserver, connectionLost(channel));
+      return expiryObserver;
+    }
+    // Observer could be claimed before the expiry is set, then the expiry does nothing
+    expiryObserver.setTimeout(timer.newTimeout((timeout) -> expire(expiryObserver),
+        requestTimeoutMs, TimeUnit.MILLISECONDS));
+    return expiryObserver;
   }
 
   /**
-   * Removes the observers which are already expired.
+   * Removes the observer of the request which can't be sent and completes its future
+   * exceptionally, unless the observer is claimed or expired already.
+   *
+   * @param expiryObserver observer returned by
+   *                       {@link #addObserver(Channel, ISONettyMessageObserver, long)}
+   * @param cause          error cause
+   * @return {@code true} if observer is removed by this call, otherwise {@code false}
    */
-  protected void removeExpiredObservers() {
-    final long currentTimeMillis = System.currentTimeMillis();
-    removeAllFromQueue(
-        (expiryMsgObserver) -> expiryMsgObserver.getExpiredAtMs() < currentTimeMillis);
+  public boolean removeObserver(ISONettyExpiryMessageObserver expiryObserver, Throwable cause) {
+    return fail(expiryObserver, cause);
+  }
+
+  /**
+   * Returns the number of the observers waiting for the incoming messages.
+   *
+   * @return number of the observers
+   */
+  public int size() {
+    int size = scannedObservers.size();
+    for (Queue<ISONettyExpiryMessageObserver> observers : keyedObservers.values()) {
+      size += observers.size();
+    }
+    return size;
+  }
+
+  /**
+   * Returns the number of the connections which have the observers waiting for the incoming
+   * messages.
+   *
+   * @return number of the connections
+   */
+  public int getChannelCount() {
+    return channelObservers.size();
+  }
+
+  /**
+   * Fails all the observers of the requests sent to the lost connection with
+   * {@link ISOConnectionException}.
+   *
+   * @param channel connection which became inactive
+   */
+  public void onChannelInactive(Channel channel) {
+    final Set<ISONettyExpiryMessageObserver> observers = channelObservers.remove(channel);
+    if (observers == null || observers.isEmpty()) {
+      return;
+    }
+    final ISOConnectionException cause = connectionLost(channel);
+    for (ISONettyExpiryMessageObserver observer : observers) {
+      fail(observer, cause);
+    }
+  }
+
+  /**
+   * Expires the observer if it's not claimed yet, completes its future with
+   * {@link ISOTimeoutException} and notifies {@link RequestTimeoutEvent} event.
+   *
+   * @param expiryObserver observer which request timeout is elapsed
+   */
+  protected void expire(ISONettyExpiryMessageObserver expiryObserver) {
+    final ISONettyMessageObserver observer = expiryObserver.getObserver();
+    if (fail(expiryObserver,
+        new ISOTimeoutException("Response for the message '%s' isn't received within %d ms",
+            observer.getReqMsgType().toMTIString(), expiryObserver.getRequestTimeoutMs()))) {
+      eventFactory.notifyEvent(new RequestTimeoutEvent(observer.getReqMsg()));
+    }
+  }
+
+  /**
+   * Completes the future of the observer exceptionally if it's not claimed yet.
+   *
+   * @param expiryObserver observer to fail
+   * @param cause          error cause
+   * @return {@code true} if observer is failed by this call, otherwise {@code false}
+   */
+  protected boolean fail(ISONettyExpiryMessageObserver expiryObserver, Throwable cause) {
+    if (!expiryObserver.markDone()) {
+      return false;
+    }
+    expiryObserver.cancelTimeout();
+    remove(expiryObserver);
+    expiryObserver.getObserver().completeExceptionally(cause);
+    return true;
+  }
+
+  private static ISOConnectionException connectionLost(Channel channel) {
+    return new ISOConnectionException("Connection '%s' is lost", channel.remoteAddress());
+  }
+
+  private static ISONettyExpiryMessageObserver claim(
+      Queue<ISONettyExpiryMessageObserver> observers, ISOMessage keyMsg) {
+    if (observers == null) {
+      return null;
+    }
+    for (ISONettyExpiryMessageObserver observer : observers) {
+      if (!observer.isDone() && observer.getObserver().isBind(keyMsg) && observer.markDone()) {
+        return observer;
+      }
+    }
+    return null;
+  }
+
+  private void remove(ISONettyExpiryMessageObserver observer) {
+    if (observer.getObserver().isKeyBased()) {
+      keyedObservers.computeIfPresent(observer.getObserver().getReqMsgKey(),
+          (key, observers) -> observers.remove(observer) && observers.isEmpty() ? null
+              : observers);
+    } else {
+      scannedObservers.remove(observer);
+    }
+    channelObservers.computeIfPresent(observer.getChannel(), (channel, observers) -> {
+      observers.remove(observer);
+      return observers.isEmpty() ? null : observers;
+    });
   }
 }
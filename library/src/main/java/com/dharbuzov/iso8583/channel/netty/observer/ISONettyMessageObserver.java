@@ -18,6 +18,7 @@ package com.dharbuzov.iso8583.channel.netty.observer;
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
 
+import com.dharbuzov.iso8583.binder.ISOMessageKey;
 import com.dharbuzov.iso8583.binder.MessageBinder;
 import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
 import com.dharbuzov.iso8583.model.ISOMessage;
@@ -33,8 +34,9 @@ import lombok.Builder;
  */
 public class ISONettyMessageObserver implements ISOMessageObserver {
 
+  private final ISOMessage reqMsg;
   private final MessageType reqMsgType;
-  private final String reqMsgKey;
+  private final ISOMessageKey reqMsgKey;
   private final MessageBinder messageBinder;
   private final CompletableFuture<ISOMessage> awaitFuture;
 
@@ -53,22 +55,90 @@ public class ISONettyMessageObserver implements ISOMessageObserver {
     Objects.requireNonNull(keyGenerator);
     Objects.requireNonNull(reqMsg);
     Objects.requireNonNull(awaitFuture);
+    this.reqMsg = reqMsg;
     this.reqMsgType = reqMsg.getType();
     this.reqMsgKey = keyGenerator.generate(reqMsg);
     this.messageBinder = messageBinder;
     this.awaitFuture = awaitFuture;
   }
 
+  /**
+   * Returns the request message.
+   *
+   * @return request message
+   */
+  public ISOMessage getReqMsg() {
+    return reqMsg;
+  }
+
+  /**
+   * Returns the type of the request message.
+   *
+   * @return request message type
+   */
+  public MessageType getReqMsgType() {
+    return reqMsgType;
+  }
+
+  /**
+   * Returns the key of the request message.
+   *
+   * @return request message key
+   */
+  public ISOMessageKey getReqMsgKey() {
+    return reqMsgKey;
+  }
+
+  /**
+   * Returns flag which indicates that only the incoming messages with the same key as the request
+   * one could be bound to the request, see {@link MessageBinder#isKeyBased()}.
+   *
+   * @return {@code true} if observer could be looked up by the message key, otherwise
+   *         {@code false}
+   */
+  public boolean isKeyBased() {
+    return messageBinder.isKeyBased();
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public boolean onMessage(ISOMessage inMsg) {
-    if (messageBinder.isBind(reqMsgType, reqMsgKey, inMsg)) {
-      // Completes the future with a response message.
-      awaitFuture.complete(inMsg);
+    if (isBind(inMsg)) {
+      complete(inMsg);
       return true;
     }
     return false;
   }
+
+  /**
+   * Returns flag which indicates that incoming message is the response for the request. Only the
+   * message type and the key fields of the incoming message are used, so it could be partially
+   * unpacked one.
+   *
+   * @param inMsg incoming message
+   * @return {@code true} if incoming message is bind to the request, otherwise {@code false}
+   */
+  public boolean isBind(ISOMessage inMsg) {
+    return messageBinder.isBind(reqMsgType, reqMsgKey, inMsg);
+  }
+
+  /**
+   * Completes the future with a response message.
+   *
+   * @param inMsg incoming message bind to the request
+   */
+  public void complete(ISOMessage inMsg) {
+    awaitFuture.complete(inMsg);
+  }
+
+  /**
+   * Completes the future with an error, e.g. if the bind response message can't be unpacked.
+   *
+   * @param cause error cause
+   */
+  public void completeExceptionally(Throwable cause) {
+    awaitFuture.completeExceptionally(cause);
+  }
 }
@@ -82,7 +82,7 @@ public class ISOClientConfiguration
     switch (channelType) {
       case NETTY:
         return new ISOClientNettyChannel(properties, packagerFactory, listenerFactory,
-            messageBinder, messageKeyGenerator);
+            messageBinder, messageKeyGenerator, eventFactory);
       default:
         throw new ISOException("Can't create a channel for type: '%s'", channelType);
     }
@@ -37,6 +37,8 @@ public class ISOClientProperties extends ISOBaseProperties {
 
   private ISOReconnectProperties reconnect;
 
+  private ISOInFlightProperties inFlight;
+
   private long requestTimeoutMs;
 
   /**
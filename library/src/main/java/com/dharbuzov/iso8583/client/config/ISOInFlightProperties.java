@@ -0,0 +1,122 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.client.config;
+
+import java.util.Optional;
+
+import com.dharbuzov.iso8583.channel.InFlightPolicy;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Client in-flight properties. Limits the number of the requests which are sent and still wait
+ * for the response on the channel.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Data
+@Builder
+public class ISOInFlightProperties {
+
+  public static long DEFAULT_WAIT_TIMEOUT = 5000L;
+  public static int DEFAULT_MIN_IN_FLIGHT = 1;
+
+  /**
+   * The maximum number of the requests waiting for the response, {@code 0} means unlimited.
+   */
+  private int maxInFlight;
+
+  /**
+   * Enables the adaptive limit of the requests between {@link #minInFlight} and
+   * {@link #maxInFlight} based on the request round-trip time, see
+   * {@link com.dharbuzov.iso8583.channel.ISOGradientLimit}.
+   */
+  private boolean adaptive;
+
+  /**
+   * The minimum number of the requests allowed by the adaptive limit.
+   */
+  private int minInFlight;
+
+  /**
+   * The initial number of the requests allowed by the adaptive limit.
+   */
+  private int initialInFlight;
+
+  /**
+   * The behaviour of the channel when the maximum number of the requests is reached.
+   */
+  private InFlightPolicy policy;
+
+  /**
+   * The maximum time to wait for a free slot by {@link InFlightPolicy#WAIT} policy.
+   */
+  private long waitTimeoutMs;
+
+  /**
+   * The maximum number of the requests queued by {@link InFlightPolicy#QUEUE} policy.
+   */
+  private int maxQueued;
+
+  /**
+   * Returns the 'policy' property or default.
+   *
+   * @return in-flight policy or default {@link InFlightPolicy#defaultInFlightPolicy()}
+   */
+  public InFlightPolicy getPolicyOrDefault() {
+    return Optional.ofNullable(policy).orElse(InFlightPolicy.defaultInFlightPolicy());
+  }
+
+  /**
+   * Gets wait timeout or default {@link ISOInFlightProperties#DEFAULT_WAIT_TIMEOUT}.
+   *
+   * @return wait timeout or default
+   */
+  public long getWaitTimeoutMsOrDefault() {
+    return waitTimeoutMs == 0L ? DEFAULT_WAIT_TIMEOUT : waitTimeoutMs;
+  }
+
+  /**
+   * Gets minimum number of the requests allowed by the adaptive limit or default
+   * {@link ISOInFlightProperties#DEFAULT_MIN_IN_FLIGHT}.
+   *
+   * @return minimum number of the requests
+   */
+  public int getMinInFlightOrDefault() {
+    return minInFlight == 0 ? DEFAULT_MIN_IN_FLIGHT : minInFlight;
+  }
+
+  /**
+   * Gets initial number of the requests allowed by the adaptive limit or a half of the maximum
+   * number of the requests in flight.
+   *
+   * @return initial number of the requests
+   */
+  public int getInitialInFlightOrDefault() {
+    return initialInFlight == 0 ? Math.max(getMinInFlightOrDefault(), maxInFlight / 2)
+        : initialInFlight;
+  }
+
+  /**
+   * Gets maximum number of the queued requests or the maximum number of the requests in flight.
+   *
+   * @return maximum number of the queued requests
+   */
+  public int getMaxQueuedOrDefault() {
+    return maxQueued == 0 ? maxInFlight : maxQueued;
+  }
+}
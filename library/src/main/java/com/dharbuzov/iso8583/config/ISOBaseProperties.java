@@ -54,4 +54,16 @@ public abstract class ISOBaseProperties {
     }
     return this.channelType;
   }
+
+  /**
+   * Gets the number of the worker threads, see {@link ISOThreadProperties}.
+   *
+   * @return number of threads of default {@link ISOThreadProperties#DEFAULT_NUMBER_OF_THREADS}
+   */
+  public int getNumberOfThreadsOrDefault() {
+    if (this.thread == null) {
+      return ISOThreadProperties.DEFAULT_NUMBER_OF_THREADS;
+    }
+    return this.thread.getNumberOfThreadsOrDefault();
+  }
 }
@@ -18,6 +18,7 @@ package com.dharbuzov.iso8583.config;
 import java.net.InetSocketAddress;
 import java.util.Optional;
 
+import com.dharbuzov.iso8583.channel.FrameLengthType;
 import com.dharbuzov.iso8583.util.StringUtils;
 
 import lombok.Builder;
@@ -44,6 +45,18 @@ public class ISOConnProperties {
 
   private Boolean keepAlive;
 
+  /**
+   * The length header which precedes every message on the link.
+   */
+  private FrameLengthType frameLengthType;
+
+  /**
+   * The optional TPDU header which follows the length header. Outgoing messages are sent with this
+   * header, incoming messages are expected to have the header of the same length. Replies are sent
+   * with the destination and source addresses of the incoming TPDU swapped.
+   */
+  private byte[] tpdu;
+
   /**
    * Gets the inet socket address based on provided host and port.
    *
@@ -70,4 +83,22 @@ public class ISOConnProperties {
   public boolean isKeepAliveOrDefault() {
     return Optional.ofNullable(keepAlive).orElse(DEFAULT_KEEP_ALIVE);
   }
+
+  /**
+   * Returns the 'frameLengthType' property or default.
+   *
+   * @return frame length type or default {@link FrameLengthType#defaultFrameLengthType()}
+   */
+  public FrameLengthType getFrameLengthTypeOrDefault() {
+    return Optional.ofNullable(frameLengthType).orElse(FrameLengthType.defaultFrameLengthType());
+  }
+
+  /**
+   * Returns the length of the TPDU header.
+   *
+   * @return TPDU header length or {@code 0} if TPDU header is not used
+   */
+  public int getTpduLength() {
+    return tpdu == null ? 0 : tpdu.length;
+  }
 }
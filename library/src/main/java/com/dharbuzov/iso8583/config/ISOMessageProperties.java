@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Map;
 
 import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.packager.codec.ISOSpecializedMessageCodec;
 
 import lombok.Builder;
 import lombok.Data;
@@ -34,6 +35,22 @@ public class ISOMessageProperties {
 
   private Map<MessageType, List<Integer>> fieldKeys;
 
+  /**
+   * Flag which indicates that received messages are unpacked lazily: only the field offsets are
+   * indexed on arrival and each field is decoded on the first access. Such message could be
+   * forwarded through any channel with the same schema: fields which are not modified are copied
+   * byte-for-byte in contiguous runs, fields with the same encoded length are patched in place and
+   * only the rest is encoded.
+   */
+  private boolean lazyUnpack;
+
+  /**
+   * Flag which indicates that message schemas are compiled into the codecs specialized for the
+   * bitmaps of the messages, see {@link ISOSpecializedMessageCodec}. If specialization is not
+   * available in the current JVM, the interpreted codecs are used.
+   */
+  private boolean specializedCodecs;
+
   public static class ISOMessagePropertiesBuilder {
 
     private Map<MessageType, List<Integer>> fieldKeys = new HashMap<>();
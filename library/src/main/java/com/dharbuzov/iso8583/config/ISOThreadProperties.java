@@ -15,10 +15,18 @@
  */
 package com.dharbuzov.iso8583.config;
 
+import java.util.Optional;
+
+import com.dharbuzov.iso8583.channel.DispatchMode;
+import com.dharbuzov.iso8583.channel.RejectionPolicy;
+
 import lombok.Builder;
 import lombok.Data;
 
 /**
+ * Thread properties. Defines the threads which invoke the message listeners for the incoming
+ * messages, see {@link com.dharbuzov.iso8583.channel.ISOWorkerPool}.
+ *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 @Data
@@ -27,6 +35,71 @@ public class ISOThreadProperties {
 
   // At least 1 thead to handle incoming messages
   public static final int DEFAULT_NUMBER_OF_THREADS = 1;
+  public static final int DEFAULT_QUEUE_CAPACITY = 1024;
 
+  /**
+   * The number of the worker threads.
+   */
   private int numberOfThreads;
+
+  /**
+   * The threads which invoke the message listeners.
+   */
+  private DispatchMode dispatchMode;
+
+  /**
+   * The maximum number of the messages waiting for a free worker thread.
+   */
+  private int queueCapacity;
+
+  /**
+   * The behaviour of the worker pool when the queue of the messages is full.
+   */
+  private RejectionPolicy rejectionPolicy;
+
+  /**
+   * The positions of the fields which define the key of the messages handled in order by the
+   * {@link DispatchMode#ORDERED} mode, e.g. terminal id. The messages are ordered per connection
+   * if the fields aren't set or the message doesn't have them.
+   */
+  private int[] orderingFields;
+
+  /**
+   * Gets configured number of threads or default.
+   *
+   * @return number of threads or default {@link ISOThreadProperties#DEFAULT_NUMBER_OF_THREADS}
+   */
+  public int getNumberOfThreadsOrDefault() {
+    if (numberOfThreads < 1) {
+      return DEFAULT_NUMBER_OF_THREADS;
+    }
+    return numberOfThreads;
+  }
+
+  /**
+   * Returns the 'dispatchMode' property or default.
+   *
+   * @return dispatch mode or default {@link DispatchMode#defaultDispatchMode()}
+   */
+  public DispatchMode getDispatchModeOrDefault() {
+    return Optional.ofNullable(dispatchMode).orElse(DispatchMode.defaultDispatchMode());
+  }
+
+  /**
+   * Gets queue capacity or default {@link ISOThreadProperties#DEFAULT_QUEUE_CAPACITY}.
+   *
+   * @return queue capacity or default
+   */
+  public int getQueueCapacityOrDefault() {
+    return queueCapacity < 1 ? DEFAULT_QUEUE_CAPACITY : queueCapacity;
+  }
+
+  /**
+   * Returns the 'rejectionPolicy' property or default.
+   *
+   * @return rejection policy or default {@link RejectionPolicy#defaultRejectionPolicy()}
+   */
+  public RejectionPolicy getRejectionPolicyOrDefault() {
+    return Optional.ofNullable(rejectionPolicy).orElse(RejectionPolicy.defaultRejectionPolicy());
+  }
 }
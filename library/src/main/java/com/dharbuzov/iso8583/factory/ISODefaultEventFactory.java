@@ -28,12 +28,19 @@ import com.dharbuzov.iso8583.order.ISOOrderedContainer;
 public class ISODefaultEventFactory extends ISOOrderedContainer<ISOEventListener>
     implements ISOEventFactory {
 
+  /**
+   * Default constructor.
+   */
+  public ISODefaultEventFactory() {
+    super(ISOEventListener[]::new);
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void notifyEvent(Event event) {
-    for (ISOEventListener listener : this.queue) {
+    for (ISOEventListener listener : getElements()) {
       if (listener.isApplicable(event)) {
         try {
           listener.onEvent(event);
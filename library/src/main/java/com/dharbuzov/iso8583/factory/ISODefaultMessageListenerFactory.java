@@ -15,28 +15,68 @@
  */
 package com.dharbuzov.iso8583.factory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import com.dharbuzov.iso8583.channel.ISOReplyChannel;
 import com.dharbuzov.iso8583.listener.ISOMessageListener;
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageFunction;
+import com.dharbuzov.iso8583.model.MessageOrigin;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.MessageVersion;
 import com.dharbuzov.iso8583.order.ISOOrderedContainer;
 
 /**
  * Default implementation of {@link ISOMessageListenerFactory} listener factory. This class could be
  * easily extended based on specific needs.
+ * <p>
+ * The listeners are dispatched by the table indexed by MTI, which is rebuilt only when the
+ * listeners are changed. Every entry of the table keeps the ordered listeners which declare the
+ * message type in {@link ISOMessageListener#getMessageTypes()} together with the listeners which
+ * don't declare any type, so only the latter ones (and the ones which implement
+ * {@link ISOMessageListener#isApplicable(ISOMessage)} by themselves) are checked for every
+ * message. Messages without a complete type are checked by all the listeners.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 public class ISODefaultMessageListenerFactory extends ISOOrderedContainer<ISOMessageListener>
     implements ISOMessageListenerFactory {
 
+  private static final Dispatch EMPTY_DISPATCH =
+      new Dispatch(new ISOMessageListener[0], new boolean[0]);
+
+  /* Listeners of the message types indexed by MTI */
+  private volatile Dispatch[] dispatchTable = newDispatchTable();
+
+  /**
+   * Default constructor.
+   */
+  public ISODefaultMessageListenerFactory() {
+    super(ISOMessageListener[]::new);
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void onMessage(ISOReplyChannel replyChannel, ISOMessage message) {
-    for (ISOMessageListener messageListener : this.queue) {
-      if (messageListener.isApplicable(message)) {
-        messageListener.onMessage(replyChannel, message);
+    final MessageType type = message == null ? null : message.getType();
+    if (type == null || type.isGeneric()) {
+      for (ISOMessageListener messageListener : getElements()) {
+        if (messageListener.isApplicable(message)) {
+          messageListener.onMessage(replyChannel, message);
+        }
+      }
+      return;
+    }
+    final Dispatch dispatch = dispatchTable[type.getIndex()];
+    final ISOMessageListener[] listeners = dispatch.listeners;
+    for (int i = 0; i < listeners.length; i++) {
+      if (!dispatch.checked[i] || listeners[i].isApplicable(message)) {
+        listeners[i].onMessage(replyChannel, message);
       }
     }
   }
@@ -45,23 +85,117 @@ public class ISODefaultMessageListenerFactory extends ISOOrderedContainer<ISOMes
    * {@inheritDoc}
    */
   @Override
-  public void addMessageListener(ISOMessageListener messageListener) {
+  public synchronized void addMessageListener(ISOMessageListener messageListener) {
     addToQueue(messageListener);
+    rebuildDispatchTable();
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void removeMessageListener(ISOMessageListener messageListener) {
+  public synchronized void removeMessageListener(ISOMessageListener messageListener) {
     removeFromQueue(messageListener);
+    rebuildDispatchTable();
   }
 
   /**
    * {@inheritDoc}
    */
   @Override
-  public void removeMessageListeners() {
+  public synchronized void removeMessageListeners() {
     removeAllFromQueue();
+    rebuildDispatchTable();
+  }
+
+  /**
+   * Rebuilds the dispatch table based on the current listeners.
+   */
+  protected synchronized void rebuildDispatchTable() {
+    final ISOMessageListener[] listeners = getElements();
+    final MessageType[][] listenerTypes = new MessageType[listeners.length][];
+    final boolean[] checked = new boolean[listeners.length];
+    for (int i = 0; i < listeners.length; i++) {
+      listenerTypes[i] = listeners[i].getMessageTypes();
+      checked[i] = listenerTypes[i].length == 0 || isApplicableImplemented(listeners[i]);
+    }
+    final Dispatch[] table = newDispatchTable();
+    final List<ISOMessageListener> typeListeners = new ArrayList<>(listeners.length);
+    final List<Boolean> typeChecked = new ArrayList<>(listeners.length);
+    for (MessageVersion version : MessageVersion.values()) {
+      for (MessageClass clazz : MessageClass.values()) {
+        for (MessageFunction function : MessageFunction.values()) {
+          for (MessageOrigin origin : MessageOrigin.values()) {
+            final MessageType type = MessageType.from(version, clazz, function, origin);
+            typeListeners.clear();
+            typeChecked.clear();
+            for (int i = 0; i < listeners.length; i++) {
+              if (listenerTypes[i].length == 0 || matches(listenerTypes[i], type)) {
+                typeListeners.add(listeners[i]);
+                typeChecked.add(checked[i]);
+              }
+            }
+            table[type.getIndex()] = toDispatch(typeListeners, typeChecked);
+          }
+        }
+      }
+    }
+    this.dispatchTable = table;
+  }
+
+  private static boolean matches(MessageType[] listenerTypes, MessageType type) {
+    for (MessageType listenerType : listenerTypes) {
+      if (listenerType.matches(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns flag which indicates that listener implements the applicable check by itself, the
+   * default methods of the listener interfaces only repeat the check of the declared types.
+   *
+   * @param listener message listener
+   * @return {@code true} if listener should be checked for every message, otherwise {@code false}
+   */
+  private static boolean isApplicableImplemented(ISOMessageListener listener) {
+    try {
+      return !listener.getClass().getMethod("isApplicable", ISOMessage.class).isDefault();
+    } catch (NoSuchMethodException ex) {
+      return true;
+    }
+  }
+
+  private static Dispatch toDispatch(List<ISOMessageListener> listeners, List<Boolean> checked) {
+    if (listeners.isEmpty()) {
+      return EMPTY_DISPATCH;
+    }
+    final boolean[] checkedArray = new boolean[checked.size()];
+    for (int i = 0; i < checkedArray.length; i++) {
+      checkedArray[i] = checked.get(i);
+    }
+    return new Dispatch(listeners.toArray(new ISOMessageListener[0]), checkedArray);
+  }
+
+  private static Dispatch[] newDispatchTable() {
+    final Dispatch[] table = new Dispatch[MessageType.MTI_COUNT];
+    Arrays.fill(table, EMPTY_DISPATCH);
+    return table;
+  }
+
+  /**
+   * Ordered listeners of the message type with the flags which indicate that listener should be
+   * checked by {@link ISOMessageListener#isApplicable(ISOMessage)}.
+   */
+  private static final class Dispatch {
+
+    private final ISOMessageListener[] listeners;
+    private final boolean[] checked;
+
+    private Dispatch(ISOMessageListener[] listeners, boolean[] checked) {
+      this.listeners = listeners;
+      this.checked = checked;
+    }
   }
 }
@@ -15,29 +15,62 @@
  */
 package com.dharbuzov.iso8583.factory;
 
-import java.nio.charset.Charset;
-import java.util.HashMap;
+import static com.dharbuzov.iso8583.model.schema.ISOMessageSchema.FIELDS_SIZE;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 import com.dharbuzov.iso8583.config.ISOBaseProperties;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.mapping.ISOMessageMapper;
+import com.dharbuzov.iso8583.model.ISOBitmap;
 import com.dharbuzov.iso8583.model.ISOMessage;
 import com.dharbuzov.iso8583.model.MessageSource;
 import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.schema.ISOFieldSchema;
+import com.dharbuzov.iso8583.model.schema.ISOMessageSchema;
 import com.dharbuzov.iso8583.model.schema.ISOSchema;
+import com.dharbuzov.iso8583.packager.ISOFieldPackager;
 import com.dharbuzov.iso8583.packager.ISOMessagePackager;
+import com.dharbuzov.iso8583.packager.codec.ISOFieldCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOMessageCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOSpecializedMessageCodec;
 import com.dharbuzov.iso8583.util.ValidationUtils;
 
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
 /**
  * Default implementation of packager factory.
+ * <p>
+ * Message schemas are compiled into {@link ISOMessageCodec} plans on the first pack or unpack
+ * after the message packagers are changed. Each possible message type indicator is mapped to the
+ * most specific message schema upfront, so lookup of the plan is a single array access.
+ * <p>
+ * If {@link com.dharbuzov.iso8583.config.ISOMessageProperties#isLazyUnpack()} is enabled, received
+ * messages are only indexed and their fields are decoded on demand, see
+ * {@link ISOMessageCodec#indexFields(ByteBuf, ISOMessage)}.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 public class ISODefaultPackagerFactory implements ISOPackagerFactory {
 
   protected final ISOSchema schema;
+  protected final boolean lazyUnpack;
+  protected final boolean specializedCodecs;
   protected final Map<Class<? extends ISOMessagePackager>, ISOMessagePackager> packagers =
       new ConcurrentHashMap<>();
+  protected final Map<Class<? extends ISOFieldPackager>, ISOFieldPackager> fieldPackagers =
+      new ConcurrentHashMap<>();
+
+  /* Compiled message codecs indexed by message type indicator, null if not compiled yet */
+  private volatile ISOMessageCodec[] messageCodecs;
 
   /**
    * Constructor based on properties.
@@ -48,6 +81,9 @@ public class ISODefaultPackagerFactory implements ISOPackagerFactory {
     final ISOSchema schema = properties.getSchema();
     validateSchema(schema);
     this.schema = schema;
+    this.lazyUnpack = properties.getMessages() != null && properties.getMessages().isLazyUnpack();
+    this.specializedCodecs =
+        properties.getMessages() != null && properties.getMessages().isSpecializedCodecs();
   }
 
   /**
@@ -66,7 +102,13 @@ public class ISODefaultPackagerFactory implements ISOPackagerFactory {
    */
   @Override
   public byte[] pack(ISOMessage msg) {
-    return msg.getType().toMTIString().getBytes(Charset.defaultCharset());
+    final ByteBuf out = Unpooled.buffer();
+    try {
+      writeTo(msg, out);
+      return ByteBufUtil.getBytes(out);
+    } finally {
+      out.release();
+    }
   }
 
   /**
@@ -74,19 +116,222 @@ public class ISODefaultPackagerFactory implements ISOPackagerFactory {
    */
   @Override
   public ISOMessage unpack(byte[] msgBytes) {
-    MessageType messageType = MessageType.fromMTIString(new String(msgBytes));
-    return ISOMessage.builder().source(MessageSource.IN).type(messageType).build();
+    return readFrom(Unpooled.wrappedBuffer(msgBytes));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeTo(ISOMessage msg, ByteBuf out) {
+    getMessagePackager().writeTo(msg, schema.getEncoding(), out);
+    getMessageCodec(msg.getType()).writeFields(msg, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ISOMessage readFrom(ByteBuf in) {
+    final ISOMessage msg = getMessagePackager().readFrom(in, schema.getEncoding());
+    if (lazyUnpack) {
+      getMessageCodec(msg.getType()).indexFields(in, msg);
+    } else {
+      getMessageCodec(msg.getType()).readFields(in, msg);
+    }
+    msg.setSource(MessageSource.IN);
+    return msg;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ISOMessage readKeyFields(ByteBuf in, Function<MessageType, int[]> keyFields) {
+    final int readerIndex = in.readerIndex();
+    try {
+      final ISOMessage msg = getMessagePackager().readFrom(in, schema.getEncoding());
+      final long[] requested = new long[ISOBitmap.WORDS];
+      for (int position : keyFields.apply(msg.getType())) {
+        if (position > ISOBitmap.SECONDARY_BITMAP && position <= ISOBitmap.MAX_POSITION) {
+          requested[(position - 1) >>> 6] |= 1L << (position - 1);
+        }
+      }
+      getMessageCodec(msg.getType()).readFields(in, msg, requested);
+      msg.setSource(MessageSource.IN);
+      return msg;
+    } finally {
+      in.readerIndex(readerIndex);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * @throws ISOPackageException if the message type of the mapper is missing
+   */
+  @Override
+  public <T> void writeTo(T source, ISOMessageMapper<T> mapper, ByteBuf out) {
+    final MessageType type = mapper.getType();
+    if (type == null) {
+      throw new ISOPackageException("Message type of the mapper '%s' is missing!",
+          mapper.getClass().getName());
+    }
+    getMessagePackager().writeType(type, schema.getEncoding(), out);
+    getMessageCodec(type).writeFields(source, mapper, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public <T> T readFrom(ByteBuf in, ISOMessageMapper<T> mapper) {
+    return getMessageCodec(getMessagePackager().readType(in, schema.getEncoding()))
+        .readFields(in, mapper);
+  }
+
+  /**
+   * Returns the general message packager defined by the {@link ISOSchema#getPackager()}.
+   *
+   * @return general message packager
+   * @throws ISOException if the packager is not added to the factory
+   */
+  protected ISOMessagePackager getMessagePackager() throws ISOException {
+    final ISOMessagePackager messagePackager = this.packagers.get(schema.getPackager());
+    if (messagePackager == null) {
+      throw new ISOException("ISOMessagePackager '%s' is not added to the factory!",
+          schema.getPackager().getName());
+    }
+    return messagePackager;
+  }
+
+  /**
+   * Returns the compiled codec of the message schema applicable for the message type.
+   *
+   * @param type message type
+   * @return compiled message codec
+   * @throws ISOPackageException if there is no message schema for the message type
+   */
+  protected ISOMessageCodec getMessageCodec(MessageType type) throws ISOPackageException {
+    ISOMessageCodec[] messageCodecs = this.messageCodecs;
+    if (messageCodecs == null) {
+      messageCodecs = compile();
+    }
+    final ISOMessageCodec messageCodec = type.isGeneric() ? null : messageCodecs[type.getIndex()];
+    if (messageCodec == null) {
+      throw new ISOPackageException("ISOMessageSchema is missing for message type '%s'!",
+          type.toMTIString());
+    }
+    return messageCodec;
+  }
+
+  /**
+   * Compiles all the message schemas and maps every message type indicator to the codec of the
+   * most specific message schema, e.g. '0200' schema wins over '02**' and '0***' ones.
+   *
+   * @return compiled message codecs indexed by message type indicator
+   */
+  protected synchronized ISOMessageCodec[] compile() {
+    if (this.messageCodecs != null) {
+      return this.messageCodecs;
+    }
+    final ISOMessagePackager messagePackager = getMessagePackager();
+    final List<String> types = new ArrayList<>(schema.getSchemas().keySet());
+    types.sort(Comparator.comparingLong((String type) -> type.chars().filter(ch -> ch == '*')
+        .count()).reversed().thenComparing(Comparator.reverseOrder()));
+    final ISOMessageCodec[] messageCodecs = new ISOMessageCodec[MessageType.MTI_COUNT];
+    for (String type : types) {
+      final ISOMessageCodec messageCodec =
+          compile(messagePackager, type, schema.getSchema(type));
+      for (int index = 0; index < messageCodecs.length; index++) {
+        if (matches(type, index)) {
+          messageCodecs[index] = messageCodec;
+        }
+      }
+    }
+    this.messageCodecs = messageCodecs;
+    return messageCodecs;
+  }
+
+  /**
+   * Compiles the message schema into the codec.
+   *
+   * @param messagePackager general message packager
+   * @param type            generic message type of the schema
+   * @param messageSchema   message schema to compile
+   * @return compiled message codec
+   */
+  protected ISOMessageCodec compile(ISOMessagePackager messagePackager, String type,
+      ISOMessageSchema messageSchema) {
+    final ISOFieldSchema[] fieldSchemas = messageSchema.getFields();
+    final ISOFieldCodec[] codecs = new ISOFieldCodec[FIELDS_SIZE];
+    final Object[] defaults = new Object[FIELDS_SIZE];
+    for (int position = 2; position < Math.min(fieldSchemas.length, FIELDS_SIZE); position++) {
+      final ISOFieldSchema fieldSchema = fieldSchemas[position];
+      if (fieldSchema == null) {
+        continue;
+      }
+      codecs[position] = getFieldPackager(messagePackager, type, position, fieldSchema)
+          .createFieldCodec(position, fieldSchema, schema.getEncoding());
+      defaults[position] = fieldSchema.getDefaultValue();
+    }
+    if (specializedCodecs && ISOSpecializedMessageCodec.isAvailable()) {
+      return new ISOSpecializedMessageCodec(codecs, defaults, messagePackager.getBinaryEncoding());
+    }
+    return new ISOMessageCodec(codecs, defaults, messagePackager.getBinaryEncoding());
+  }
+
+  /**
+   * Returns the field packager defined by the {@link ISOFieldSchema#getPackager()} or the general
+   * message packager if the field packager is not defined.
+   *
+   * @param messagePackager general message packager
+   * @param type            generic message type of the schema
+   * @param position        field position
+   * @param fieldSchema     field schema
+   * @return field packager
+   * @throws ISOException if the field packager can't be created
+   */
+  protected ISOFieldPackager getFieldPackager(ISOMessagePackager messagePackager, String type,
+      int position, ISOFieldSchema fieldSchema) throws ISOException {
+    final Class<? extends ISOFieldPackager> packagerClass = fieldSchema.getPackager();
+    if (packagerClass == null || packagerClass == messagePackager.getClass()) {
+      if (!(messagePackager instanceof ISOFieldPackager)) {
+        throw new ISOException("Type '%s', position '%s'. ISOFieldPackager is missing!", type,
+            position);
+      }
+      return (ISOFieldPackager) messagePackager;
+    }
+    return this.fieldPackagers.computeIfAbsent(packagerClass, clazz -> {
+      try {
+        return clazz.getDeclaredConstructor().newInstance();
+      } catch (ReflectiveOperationException ex) {
+        throw new ISOException(ex);
+      }
+    });
+  }
+
+  private static boolean matches(String type, int index) {
+    for (int i = 3; i >= 0; i--, index /= 10) {
+      final char ch = type.charAt(i);
+      if (ch != '*' && ch - '0' != index % 10) {
+        return false;
+      }
+    }
+    return true;
   }
 
   @Override
-  public void addMessagePackager(ISOMessagePackager messagePackager) {
+  public synchronized void addMessagePackager(ISOMessagePackager messagePackager) {
     ValidationUtils.validateNotNull(messagePackager, "ISOMessagePackager is missing!");
     this.packagers.put(messagePackager.getClass(), messagePackager);
+    this.messageCodecs = null;
   }
 
   @Override
-  public void removeMessagePackager(ISOMessagePackager messagePackager) {
+  public synchronized void removeMessagePackager(ISOMessagePackager messagePackager) {
     ValidationUtils.validateNotNull(messagePackager, "ISOMessagePackager is missing!");
     this.packagers.remove(messagePackager.getClass());
+    this.messageCodecs = null;
   }
 }
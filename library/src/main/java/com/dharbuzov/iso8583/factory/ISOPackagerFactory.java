@@ -15,9 +15,15 @@
  */
 package com.dharbuzov.iso8583.factory;
 
+import java.util.function.Function;
+
+import com.dharbuzov.iso8583.mapping.ISOMessageMapper;
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
 import com.dharbuzov.iso8583.packager.ISOMessagePackager;
 
+import io.netty.buffer.ByteBuf;
+
 /**
  * A Packager factory responsible for orchestrating the {@link ISOMessage} message packaging into
  * the protocol level representation and vice versa.
@@ -43,6 +49,57 @@ public interface ISOPackagerFactory {
    */
   ISOMessage unpack(byte[] msgBytes);
 
+  /**
+   * Packs the message into ISO-8583 byte representation straight into the provided buffer.
+   *
+   * @param msg message to pack
+   * @param out buffer to write the packed message into
+   */
+  void writeTo(ISOMessage msg, ByteBuf out);
+
+  /**
+   * Un packs the message from the readable bytes of the provided buffer into message object
+   * representation.
+   *
+   * @param in buffer to read the message from
+   * @return unpacked message object
+   */
+  ISOMessage readFrom(ByteBuf in);
+
+  /**
+   * Partially un packs the message from the readable bytes of the provided buffer: only the message
+   * type indicator, the bitmaps and the requested fields are decoded, the rest of the fields is
+   * skipped. It's meant to correlate or route the message before the full un pack, so the reader
+   * index of the buffer is not moved.
+   *
+   * @param in        buffer to read the message from
+   * @param keyFields function which returns positions of the fields to decode for the message type
+   * @return partially unpacked message, only the decoded fields are present in it
+   */
+  ISOMessage readKeyFields(ByteBuf in, Function<MessageType, int[]> keyFields);
+
+  /**
+   * Packs the object mapped by the mapper straight into the provided buffer, without the
+   * intermediate {@link ISOMessage}.
+   *
+   * @param source object to pack
+   * @param mapper mapper of the object
+   * @param out    buffer to write the packed message into
+   * @param <T>    type of the object
+   */
+  <T> void writeTo(T source, ISOMessageMapper<T> mapper, ByteBuf out);
+
+  /**
+   * Un packs the message from the readable bytes of the provided buffer straight into the object
+   * created by the mapper, without the intermediate {@link ISOMessage}.
+   *
+   * @param in     buffer to read the message from
+   * @param mapper mapper of the object
+   * @param <T>    type of the object
+   * @return unpacked object
+   */
+  <T> T readFrom(ByteBuf in, ISOMessageMapper<T> mapper);
+
   /**
    * Adds message packager to factory.
    *
@@ -17,6 +17,7 @@ package com.dharbuzov.iso8583.listener;
 
 import com.dharbuzov.iso8583.model.ISOMessage;
 import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageType;
 
 /**
  * Interface to listen for administrative type of messages.
@@ -33,4 +34,12 @@ public interface ISOAdministrativeMessageListener extends ISOMessageListener {
     return message != null && message.getType() != null
            && MessageClass.ADMINISTRATIVE == message.getType().getClazz();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  default MessageType[] getMessageTypes() {
+    return new MessageType[] {MessageType.builder().clazz(MessageClass.ADMINISTRATIVE).build()};
+  }
 }
@@ -17,6 +17,7 @@ package com.dharbuzov.iso8583.listener;
 
 import com.dharbuzov.iso8583.model.ISOMessage;
 import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageType;
 
 /**
  * Interface to listen for financial type of messages.
@@ -32,4 +33,12 @@ public interface ISOFinancialMessageListener extends ISOMessageListener {
     return message != null && message.getType() != null
            && MessageClass.FINANCIAL == message.getType().getClazz();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  default MessageType[] getMessageTypes() {
+    return new MessageType[] {MessageType.builder().clazz(MessageClass.FINANCIAL).build()};
+  }
 }
@@ -17,6 +17,7 @@ package com.dharbuzov.iso8583.listener;
 
 import com.dharbuzov.iso8583.channel.ISOReplyChannel;
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
 import com.dharbuzov.iso8583.order.ISOOrdered;
 
 /**
@@ -43,4 +44,19 @@ public interface ISOMessageListener extends ISOOrdered {
    */
   boolean isApplicable(ISOMessage message);
 
+  /**
+   * Returns the types of the messages handled by this listener, the parts missing in the generic
+   * type match any value, e.g. the type with the authorization class only matches all the
+   * authorization messages. The listener which declares the types is called only for the messages
+   * of these types. If the listener implements {@link #isApplicable(ISOMessage)} by itself (not
+   * inherited as a default method), it's checked additionally to the declared types.
+   * <p>
+   * The types are taken once when the listener is added to the
+   * {@link com.dharbuzov.iso8583.factory.ISOMessageListenerFactory}.
+   *
+   * @return types of the handled messages, empty if only {@link #isApplicable(ISOMessage)} is used
+   */
+  default MessageType[] getMessageTypes() {
+    return new MessageType[0];
+  }
 }
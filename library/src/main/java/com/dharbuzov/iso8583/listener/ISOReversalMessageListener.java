@@ -17,6 +17,7 @@ package com.dharbuzov.iso8583.listener;
 
 import com.dharbuzov.iso8583.model.ISOMessage;
 import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageType;
 
 /**
  * Interface to listen for reversal type of messages.
@@ -33,4 +34,13 @@ public interface ISOReversalMessageListener extends ISOMessageListener {
     return message != null && message.getType() != null
            && MessageClass.REVERSAL_CHARGEBACK == message.getType().getClazz();
   }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  default MessageType[] getMessageTypes() {
+    return new MessageType[] {
+        MessageType.builder().clazz(MessageClass.REVERSAL_CHARGEBACK).build()};
+  }
 }
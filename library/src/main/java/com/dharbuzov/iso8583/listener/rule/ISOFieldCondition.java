@@ -0,0 +1,226 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.listener.rule;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.util.ValidationUtils;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The condition on the value of the message field, which is used by {@link ISORoutingRule} rules.
+ * The conditions are applied to the string value of the field, the binary value is represented as
+ * upper case hex string, see {@link com.dharbuzov.iso8583.util.HexUtils}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Getter
+@ToString
+public final class ISOFieldCondition {
+
+  /**
+   * The type of the condition.
+   */
+  public enum Type {
+    /**
+     * Field value equals to the value.
+     */
+    EQUALS,
+    /**
+     * Field value starts with the prefix, e.g. the BIN of the PAN.
+     */
+    PREFIX,
+    /**
+     * Field value is between the lower and the upper bounds inclusive. The digit values are
+     * compared as the numbers, the rest ones are compared lexicographically.
+     */
+    RANGE,
+    /**
+     * Field value is one of the values.
+     */
+    IN
+  }
+
+  private final int position;
+  private final Type type;
+  /* Values of EQUALS and IN conditions or the prefix of PREFIX condition */
+  private final Set<String> values;
+  /* Bounds of RANGE condition */
+  private final String from;
+  private final String to;
+
+  private ISOFieldCondition(int position, Type type, Set<String> values, String from,
+      String to) {
+    ValidationUtils.validateFieldPosition(position);
+    this.position = position;
+    this.type = type;
+    this.values = values;
+    this.from = from;
+    this.to = to;
+  }
+
+  /**
+   * Creates the condition which is met if the field value equals to the value.
+   *
+   * @param position field position
+   * @param value    expected value
+   * @return field condition
+   */
+  public static ISOFieldCondition equalTo(int position, String value) {
+    return new ISOFieldCondition(position, Type.EQUALS,
+        Collections.singleton(requireValue(value)), null, null);
+  }
+
+  /**
+   * Creates the condition which is met if the field value starts with the prefix.
+   *
+   * @param position field position
+   * @param prefix   expected prefix
+   * @return field condition
+   */
+  public static ISOFieldCondition prefix(int position, String prefix) {
+    return new ISOFieldCondition(position, Type.PREFIX,
+        Collections.singleton(requireValue(prefix)), null, null);
+  }
+
+  /**
+   * Creates the condition which is met if the field value is between the bounds inclusive.
+   *
+   * @param position field position
+   * @param from     lower bound
+   * @param to       upper bound
+   * @return field condition
+   */
+  public static ISOFieldCondition range(int position, String from, String to) {
+    if (compare(requireValue(from), requireValue(to)) > 0) {
+      throw new ISOException("Lower bound '%s' is greater than upper bound '%s'", from, to);
+    }
+    return new ISOFieldCondition(position, Type.RANGE, Collections.emptySet(), from, to);
+  }
+
+  /**
+   * Creates the condition which is met if the field value is one of the values.
+   *
+   * @param position field position
+   * @param values   expected values
+   * @return field condition
+   */
+  public static ISOFieldCondition in(int position, String... values) {
+    return in(position, Arrays.asList(values));
+  }
+
+  /**
+   * Creates the condition which is met if the field value is one of the values.
+   *
+   * @param position field position
+   * @param values   expected values
+   * @return field condition
+   */
+  public static ISOFieldCondition in(int position, Collection<String> values) {
+    final Set<String> valueSet = new LinkedHashSet<>();
+    for (String value : values) {
+      valueSet.add(requireValue(value));
+    }
+    if (valueSet.isEmpty()) {
+      throw new ISOException("Values of the field '%d' condition are missing", position);
+    }
+    return new ISOFieldCondition(position, Type.IN, Collections.unmodifiableSet(valueSet), null,
+        null);
+  }
+
+  /**
+   * Checks the condition against the field value.
+   *
+   * @param value field value
+   * @return {@code true} if the condition is met, otherwise {@code false}
+   */
+  public boolean test(String value) {
+    if (value == null) {
+      return false;
+    }
+    switch (type) {
+      case PREFIX:
+        return value.startsWith(values.iterator().next());
+      case RANGE:
+        return compare(from, value) <= 0 && compare(value, to) <= 0;
+      default:
+        return values.contains(value);
+    }
+  }
+
+  /**
+   * Compares the values, the digit values are compared as the numbers of any length, the rest ones
+   * are compared lexicographically.
+   *
+   * @param value the first value
+   * @param other the second value
+   * @return negative number, zero or positive number if the first value is less, equal or greater
+   *         than the second one
+   */
+  static int compare(String value, String other) {
+    if (!isDigits(value) || !isDigits(other)) {
+      return value.compareTo(other);
+    }
+    final int valueStart = significantStart(value);
+    final int otherStart = significantStart(other);
+    final int lengthDiff = (value.length() - valueStart) - (other.length() - otherStart);
+    if (lengthDiff != 0) {
+      return lengthDiff;
+    }
+    for (int i = valueStart, j = otherStart; i < value.length(); i++, j++) {
+      final int diff = value.charAt(i) - other.charAt(j);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return 0;
+  }
+
+  private static boolean isDigits(String value) {
+    if (value.isEmpty()) {
+      return false;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      final char ch = value.charAt(i);
+      if (ch < '0' || ch > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int significantStart(String digits) {
+    int start = 0;
+    while (start < digits.length() - 1 && digits.charAt(start) == '0') {
+      start++;
+    }
+    return start;
+  }
+
+  private static String requireValue(String value) {
+    if (value == null) {
+      throw new ISOException("Value of the field condition is missing");
+    }
+    return value;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.listener.rule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The compiled conditions of the single field. Equality and set membership conditions are indexed
+ * by the value, prefix conditions are kept in the trie, so the field value is matched against all
+ * the conditions by a single lookup and a single walk of the value chars. Every condition is
+ * identified by the bit in the mask of the matched conditions.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+class ISOFieldIndex {
+
+  private final int position;
+  private final int words;
+  private final Map<String, long[]> values = new HashMap<>();
+  private final PrefixNode prefixes = new PrefixNode();
+  private final List<ISOFieldCondition> ranges = new ArrayList<>();
+  private final List<Integer> rangeIds = new ArrayList<>();
+  private boolean hasPrefixes;
+
+  /**
+   * Constructor based on the field position and the size of the mask of the matched conditions.
+   *
+   * @param position field position
+   * @param words    number of the words in the mask of the matched conditions
+   */
+  ISOFieldIndex(int position, int words) {
+    this.position = position;
+    this.words = words;
+  }
+
+  /**
+   * Returns the field position.
+   *
+   * @return field position
+   */
+  int getPosition() {
+    return position;
+  }
+
+  /**
+   * Adds the condition of the field.
+   *
+   * @param condition condition of the field
+   * @param id        identifier of the condition, the bit in the mask of the matched conditions
+   */
+  void add(ISOFieldCondition condition, int id) {
+    switch (condition.getType()) {
+      case PREFIX:
+        PrefixNode node = prefixes;
+        for (char ch : condition.getValues().iterator().next().toCharArray()) {
+          node = node.children.computeIfAbsent(ch, (key) -> new PrefixNode());
+        }
+        node.ids = set(node.ids, id);
+        hasPrefixes = true;
+        break;
+      case RANGE:
+        ranges.add(condition);
+        rangeIds.add(id);
+        break;
+      default:
+        for (String value : condition.getValues()) {
+          values.put(value, set(values.get(value), id));
+        }
+    }
+  }
+
+  /**
+   * Marks the conditions met by the field value in the mask of the matched conditions.
+   *
+   * @param value   field value
+   * @param matched mask of the matched conditions
+   */
+  void match(String value, long[] matched) {
+    or(matched, values.get(value));
+    if (hasPrefixes) {
+      PrefixNode node = prefixes;
+      or(matched, node.ids);
+      for (int i = 0; i < value.length() && node != null; i++) {
+        node = node.children.get(value.charAt(i));
+        if (node != null) {
+          or(matched, node.ids);
+        }
+      }
+    }
+    for (int i = 0; i < ranges.size(); i++) {
+      if (ranges.get(i).test(value)) {
+        final int id = rangeIds.get(i);
+        matched[id >>> 6] |= 1L << id;
+      }
+    }
+  }
+
+  private long[] set(long[] ids, int id) {
+    final long[] result = ids == null ? new long[words] : ids;
+    result[id >>> 6] |= 1L << id;
+    return result;
+  }
+
+  private static void or(long[] matched, long[] ids) {
+    if (ids != null) {
+      for (int i = 0; i < ids.length; i++) {
+        matched[i] |= ids[i];
+      }
+    }
+  }
+
+  /**
+   * The node of the prefix trie.
+   */
+  private static final class PrefixNode {
+    private final Map<Character, PrefixNode> children = new HashMap<>();
+    /* Prefix conditions which end in this node */
+    private long[] ids;
+  }
+}
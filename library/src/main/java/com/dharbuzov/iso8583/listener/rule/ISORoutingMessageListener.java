@@ -0,0 +1,189 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.listener.rule;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.dharbuzov.iso8583.channel.ISOReplyChannel;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.listener.ISOMessageListener;
+import com.dharbuzov.iso8583.model.ISOField;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.util.HexUtils;
+
+import lombok.Builder;
+import lombok.Singular;
+
+/**
+ * The message listener which routes the messages to the listeners of the {@link ISORoutingRule}
+ * rules. The rules are compiled into the indexes per field, see {@link ISOFieldIndex}, so every
+ * field is read and matched once per message regardless of the number of the rules, then every
+ * rule is checked by the mask of the matched conditions. All the matched rules are invoked in the
+ * order of their listeners, see {@link ISOMessageListener#getOrder()}, the rules with the same
+ * order are invoked in the order they were added. The message types of the rule listeners, see
+ * {@link ISOMessageListener#getMessageTypes()}, are taken into account as well, other than that
+ * the conditions of the rule replace {@link ISOMessageListener#isApplicable(ISOMessage)} of its
+ * listener.
+ * <p>
+ * The routing listener is added to the
+ * {@link com.dharbuzov.iso8583.factory.ISOMessageListenerFactory} as any other listener.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISORoutingMessageListener implements ISOMessageListener {
+
+  private final int order;
+  private final ISORoutingRule[] rules;
+  /* Message types of the rules, empty if the rule matches any message type */
+  private final MessageType[][] ruleTypes;
+  /* Conditions of the rules as the masks of the condition identifiers */
+  private final long[][] ruleMasks;
+  private final ISOFieldIndex[] fieldIndexes;
+  private final int words;
+
+  /**
+   * Constructor based on the rules.
+   *
+   * @param order order of the routing listener among the other listeners
+   * @param rules routing rules
+   */
+  @Builder
+  public ISORoutingMessageListener(int order, @Singular List<ISORoutingRule> rules) {
+    this.order = order;
+    final List<ISORoutingRule> sortedRules = new ArrayList<>(rules);
+    sortedRules.sort(Comparator.comparingInt((rule) -> rule.getListener().getOrder()));
+    this.rules = sortedRules.toArray(new ISORoutingRule[0]);
+    int conditionCount = 0;
+    for (ISORoutingRule rule : this.rules) {
+      conditionCount += rule.getConditions().size();
+    }
+    this.words = (conditionCount + 63) >>> 6;
+    this.ruleTypes = new MessageType[this.rules.length][];
+    this.ruleMasks = new long[this.rules.length][words];
+    final Map<Integer, ISOFieldIndex> indexes = new LinkedHashMap<>();
+    int id = 0;
+    for (int i = 0; i < this.rules.length; i++) {
+      ruleTypes[i] = this.rules[i].getListener().getMessageTypes();
+      for (ISOFieldCondition condition : this.rules[i].getConditions()) {
+        final int nextId = id++;
+        indexes.computeIfAbsent(condition.getPosition(),
+            (position) -> new ISOFieldIndex(position, words)).add(condition, nextId);
+        ruleMasks[i][nextId >>> 6] |= 1L << nextId;
+      }
+    }
+    this.fieldIndexes = indexes.values().toArray(new ISOFieldIndex[0]);
+  }
+
+  /**
+   * Invokes the listeners of all the rules matched by the message.
+   *
+   * @param replyChannel channel is used to reply the response for request messages
+   * @param message      incoming message
+   */
+  @Override
+  public void onMessage(ISOReplyChannel replyChannel, ISOMessage message) {
+    final long[] matched = new long[words];
+    for (ISOFieldIndex fieldIndex : fieldIndexes) {
+      final String value = getValue(message, fieldIndex.getPosition());
+      if (value != null) {
+        fieldIndex.match(value, matched);
+      }
+    }
+    for (int i = 0; i < rules.length; i++) {
+      if (isMatched(ruleMasks[i], matched) && isMatched(ruleTypes[i], message.getType())) {
+        rules[i].getListener().onMessage(replyChannel, message);
+      }
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isApplicable(ISOMessage message) {
+    return message != null;
+  }
+
+  /**
+   * Returns the message types of the rules, if every rule declares the message types.
+   *
+   * @return message types of the rules or empty if any rule matches all the message types
+   */
+  @Override
+  public MessageType[] getMessageTypes() {
+    final Set<MessageType> types = new LinkedHashSet<>();
+    for (MessageType[] typesOfRule : ruleTypes) {
+      if (typesOfRule.length == 0) {
+        return new MessageType[0];
+      }
+      for (MessageType type : typesOfRule) {
+        types.add(type);
+      }
+    }
+    return types.toArray(new MessageType[0]);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getOrder() {
+    return order;
+  }
+
+  private static boolean isMatched(long[] mask, long[] matched) {
+    for (int i = 0; i < mask.length; i++) {
+      if ((mask[i] & ~matched[i]) != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isMatched(MessageType[] types, MessageType type) {
+    if (types.length == 0) {
+      return true;
+    }
+    if (type == null) {
+      return false;
+    }
+    for (MessageType ruleType : types) {
+      if (ruleType.matches(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static String getValue(ISOMessage message, int position) throws ISOException {
+    final ISOField field = message.getField(position);
+    final Object value = field == null ? null : field.getValue();
+    if (value == null || value instanceof String) {
+      return (String) value;
+    }
+    if (value instanceof byte[]) {
+      return HexUtils.toHexString((byte[]) value);
+    }
+    return value.toString();
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.listener.rule;
+
+import java.util.List;
+import java.util.Objects;
+
+import com.dharbuzov.iso8583.listener.ISOMessageListener;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+import lombok.ToString;
+
+/**
+ * The routing rule which passes the message to the listener if all the field conditions are met
+ * and the message type is one of the types declared by the listener, see
+ * {@link ISOMessageListener#getMessageTypes()}. The rule doesn't call
+ * {@link ISOMessageListener#isApplicable} of the listener, the conditions replace it.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Getter
+@ToString
+public class ISORoutingRule {
+
+  private final ISOMessageListener listener;
+  private final List<ISOFieldCondition> conditions;
+
+  /**
+   * Constructor of the routing rule.
+   *
+   * @param listener   listener which handles the messages matched by the rule
+   * @param conditions field conditions which all should be met
+   */
+  @Builder
+  public ISORoutingRule(ISOMessageListener listener, @Singular List<ISOFieldCondition> conditions) {
+    Objects.requireNonNull(listener);
+    this.listener = listener;
+    this.conditions = conditions;
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the class which is mapped to the ISO-8583 message. The annotation processor of the
+ * {@code processor} module generates the {@link ISOMessageMapper} implementation named
+ * {@code <ClassName>ISOMapper} in the same package, which decodes the fields straight into the
+ * instance of the class and encodes the instance straight into the buffer.
+ * <p>
+ * The class must have the no-args constructor accessible from its package. Fields are mapped with
+ * {@link ISOMappedField}, private fields are accessed via the getters and setters.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface ISOMapped {
+
+  /**
+   * Message type indicator of the messages encoded from the class, e.g. {@code 0200}. Could be
+   * omitted if the class is used only to decode messages.
+   *
+   * @return message type indicator
+   */
+  String type() default "";
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.dharbuzov.iso8583.model.ISOValueType;
+
+/**
+ * Maps the field of the class annotated with {@link ISOMapped} to the field of the message. The
+ * value type is checked against the java type of the field at compile time:
+ * <ul>
+ *   <li>binary types are mapped to {@code byte[]}</li>
+ *   <li>{@code ALPHA} is mapped to {@link String}</li>
+ *   <li>{@code NUMERIC} and variable length types are mapped to {@link String}, {@code long},
+ *   {@link Long}, {@code int} or {@link Integer}</li>
+ * </ul>
+ * Primitive fields are always present in the encoded message, the others only if not
+ * {@code null}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.FIELD)
+public @interface ISOMappedField {
+
+  /**
+   * Position of the field in the message.
+   *
+   * @return field position
+   */
+  int position();
+
+  /**
+   * Value type of the field defined in the message schema.
+   *
+   * @return value type
+   */
+  ISOValueType type();
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.mapping;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.packager.codec.ISOFieldCodec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Mapper of the plain java objects to the message fields and vice versa, which bypasses the
+ * {@link com.dharbuzov.iso8583.model.ISOMessage} model. Implementations are generated at compile
+ * time for the classes annotated with {@link ISOMapped}, so there is no reflection involved.
+ * <p>
+ * The bitmaps are handled by the {@link com.dharbuzov.iso8583.packager.codec.ISOMessageCodec},
+ * mapper is only asked to encode or decode the particular fields with the codecs of the message
+ * schema.
+ *
+ * @param <T> type of the mapped objects
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public interface ISOMessageMapper<T> {
+
+  /**
+   * Returns the message type of the messages encoded by the mapper.
+   *
+   * @return message type or {@code null} if mapper is used only to decode messages
+   */
+  MessageType getType();
+
+  /**
+   * Creates the new object to decode the fields into.
+   *
+   * @return new object
+   */
+  T newInstance();
+
+  /**
+   * Marks the fields of the object which are present in the message in the bitmap words.
+   *
+   * @param source object to encode
+   * @param words  bitmap words to set the bits of the present fields in
+   */
+  void present(T source, long[] words);
+
+  /**
+   * Encodes the field of the object.
+   *
+   * @param source   object to encode
+   * @param position field position
+   * @param codec    codec of the field
+   * @param out      buffer to write into
+   * @return {@code true} if the field is encoded, {@code false} if the field is not mapped or its
+   *         value is {@code null}
+   * @throws ISOPackageException if the field value doesn't fit to the field schema
+   */
+  boolean encodeField(T source, int position, ISOFieldCodec codec, ByteBuf out)
+      throws ISOPackageException;
+
+  /**
+   * Decodes the field into the object.
+   *
+   * @param target   object to decode into
+   * @param position field position
+   * @param codec    codec of the field
+   * @param in       buffer to read from
+   * @return {@code true} if the field is decoded, {@code false} if the field is not mapped and has
+   *         to be skipped
+   * @throws ISOPackageException if the field is malformed or doesn't fit to the java type
+   */
+  boolean decodeField(T target, int position, ISOFieldCodec codec, ByteBuf in)
+      throws ISOPackageException;
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.model;
+
+import java.util.Arrays;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+
+/**
+ * The bitmap of the fields present in ISO-8583 message, backed by 3 {@code long} words which
+ * cover primary (fields 1-64), secondary (fields 65-128) and tertiary (fields 129-192) bitmaps.
+ * <p>
+ * Field at position {@code p} is represented by the bit {@code (p - 1) % 64} of the word
+ * {@code (p - 1) / 64}, so the iteration over the present fields jumps from one set bit to another
+ * with {@link Long#numberOfTrailingZeros(long)}. On the wire the first field is the most
+ * significant bit of the bitmap, use {@link #toWire(long)} and {@link #fromWire(long)} to convert
+ * the words from and to the wire order.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public final class ISOBitmap {
+
+  /* Number of words in the bitmap */
+  public static final int WORDS = 3;
+
+  /* Maximum field position covered by the bitmap */
+  public static final int MAX_POSITION = WORDS * Long.SIZE;
+
+  /* Position of the field which indicates presence of the secondary bitmap */
+  public static final int SECONDARY_BITMAP = 1;
+
+  /* Position of the field which indicates presence of the tertiary bitmap */
+  public static final int TERTIARY_BITMAP = 65;
+
+  private final long[] words = new long[WORDS];
+
+  /**
+   * Returns flag which indicates that field is present.
+   *
+   * @param position field position
+   * @return {@code true} if field is present, otherwise {@code false}
+   */
+  public boolean get(int position) {
+    validatePosition(position);
+    return (words[(position - 1) >>> 6] & 1L << (position - 1)) != 0;
+  }
+
+  /**
+   * Marks the field as present.
+   *
+   * @param position field position
+   */
+  public void set(int position) {
+    validatePosition(position);
+    words[(position - 1) >>> 6] |= 1L << (position - 1);
+  }
+
+  /**
+   * Marks the field as absent.
+   *
+   * @param position field position
+   */
+  public void clear(int position) {
+    validatePosition(position);
+    words[(position - 1) >>> 6] &= ~(1L << (position - 1));
+  }
+
+  /**
+   * Marks all the fields as absent.
+   */
+  public void clear() {
+    Arrays.fill(words, 0);
+  }
+
+  /**
+   * Returns the word of the bitmap.
+   *
+   * @param index word index from 0 to 2
+   * @return word, where field {@code index * 64 + 1} is the least significant bit
+   */
+  public long getWord(int index) {
+    return words[index];
+  }
+
+  /**
+   * Sets the word of the bitmap.
+   *
+   * @param index word index from 0 to 2
+   * @param word  word, where field {@code index * 64 + 1} is the least significant bit
+   */
+  public void setWord(int index, long word) {
+    words[index] = word;
+  }
+
+  /**
+   * Returns the position of the first present field starting from the given position.
+   *
+   * @param fromPosition position to start from, inclusive
+   * @return position of the present field or {@code -1} if there is no such field
+   */
+  public int nextSetBit(int fromPosition) {
+    if (fromPosition < 1) {
+      fromPosition = 1;
+    }
+    int index = (fromPosition - 1) >>> 6;
+    if (index >= WORDS) {
+      return -1;
+    }
+    long word = words[index] & -1L << (fromPosition - 1);
+    while (word == 0) {
+      if (++index == WORDS) {
+        return -1;
+      }
+      word = words[index];
+    }
+    return (index << 6) + Long.numberOfTrailingZeros(word) + 1;
+  }
+
+  /**
+   * Returns the number of present fields.
+   *
+   * @return number of present fields
+   */
+  public int cardinality() {
+    int cardinality = 0;
+    for (long word : words) {
+      cardinality += Long.bitCount(word);
+    }
+    return cardinality;
+  }
+
+  /**
+   * Returns flag which indicates that there are no present fields.
+   *
+   * @return {@code true} if there are no present fields, otherwise {@code false}
+   */
+  public boolean isEmpty() {
+    for (long word : words) {
+      if (word != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Converts the bitmap word into the wire order, where the first field of the word is the most
+   * significant bit.
+   *
+   * @param word bitmap word
+   * @return word in the wire order
+   */
+  public static long toWire(long word) {
+    return Long.reverse(word);
+  }
+
+  /**
+   * Converts the word in the wire order into the bitmap word.
+   *
+   * @param wire word in the wire order
+   * @return bitmap word
+   */
+  public static long fromWire(long wire) {
+    return Long.reverse(wire);
+  }
+
+  /**
+   * Returns the bitmap as a hex string of the words in the wire order.
+   *
+   * @return hex string
+   */
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder(WORDS * 16);
+    for (long word : words) {
+      final String hex = Long.toHexString(toWire(word)).toUpperCase();
+      for (int i = hex.length(); i < 16; i++) {
+        sb.append('0');
+      }
+      sb.append(hex);
+    }
+    return sb.toString();
+  }
+
+  private static void validatePosition(int position) {
+    if (position < 1 || position > MAX_POSITION) {
+      throw new ISOException(
+          "Wrong bitmap position, '%s', should be more than '%s' and not more than '%s'",
+          position, 0, MAX_POSITION);
+    }
+  }
+}
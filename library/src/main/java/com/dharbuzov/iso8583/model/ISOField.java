@@ -16,10 +16,12 @@
 package com.dharbuzov.iso8583.model;
 
 import lombok.Builder;
+import lombok.Getter;
 
 /**
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
+@Getter
 @Builder
 public class ISOField {
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.model;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+
+/**
+ * Index of the raw encoded fields of the received message. It's used by the lazily unpacked
+ * messages: fields are kept encoded and decoded only on the first access through
+ * {@link ISOMessage#getField(int)}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public interface ISOFieldIndex {
+
+  /**
+   * Returns flag which indicates that the index holds the raw encoded field.
+   *
+   * @param position field position
+   * @return {@code true} if raw field is present, otherwise {@code false}
+   */
+  boolean contains(int position);
+
+  /**
+   * Decodes the value of the raw encoded field.
+   *
+   * @param position field position
+   * @return decoded field value
+   * @throws ISOException if the field is not present in the index or malformed
+   */
+  Object decode(int position) throws ISOException;
+
+  /**
+   * Decodes the value of the raw encoded field as long value, numeric fields are decoded without
+   * any intermediate objects.
+   *
+   * @param position field position
+   * @return decoded field value
+   * @throws ISOException if the field is not present in the index, malformed or not numeric
+   */
+  long decodeLong(int position) throws ISOException;
+
+  /**
+   * Updates the raw encoded field with the new value of the message field, or removes it from the
+   * index if the raw field can't be updated.
+   *
+   * @param position field position
+   * @param value    new field value
+   */
+  void update(int position, Object value);
+
+  /**
+   * Updates the raw encoded field with the new long value of the message field, or removes it from
+   * the index if the raw field can't be updated.
+   *
+   * @param position field position
+   * @param value    new field value
+   */
+  void updateLong(int position, long value);
+
+  /**
+   * Removes the raw encoded field from the index, it's called once the field of the message is
+   * replaced or removed, so the raw field is not valid anymore.
+   *
+   * @param position field position
+   */
+  void remove(int position);
+}
@@ -18,6 +18,7 @@ package com.dharbuzov.iso8583.model;
 import static com.dharbuzov.iso8583.model.schema.ISOMessageSchema.FIELDS_SIZE;
 
 import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.util.NumberUtils;
 import com.dharbuzov.iso8583.util.ValidationUtils;
 
 import lombok.Builder;
@@ -51,9 +52,54 @@ public class ISOMessage {
   @Setter
   private String header;
 
+  /**
+   * The TPDU header of the message frame. For the incoming message it's the TPDU to reply with,
+   * i.e. with the swapped addresses, for the outgoing message it's written instead of the
+   * configured TPDU.
+   */
   @Getter
+  @Setter
+  @ToString.Exclude
+  private byte[] tpdu;
+
   private final ISOField[] fields = new ISOField[FIELDS_SIZE];
 
+  /**
+   * The bitmap of the present fields, kept in sync with the fields set through this class.
+   */
+  @Getter
+  private final ISOBitmap bitmap = new ISOBitmap();
+
+  /**
+   * The bitmap of the fields removed through this class, so their default values of the schema
+   * aren't written either. The field set again is not removed anymore.
+   */
+  @Getter
+  @ToString.Exclude
+  private final ISOBitmap removedFields = new ISOBitmap();
+
+  /**
+   * The primitive values of the fields set through {@link #setLong(int, long)}, valid only for the
+   * positions set in {@link #longFields}.
+   */
+  @ToString.Exclude
+  private final long[] longValues = new long[FIELDS_SIZE];
+
+  /**
+   * The bitmap of the fields which values are held in {@link #longValues}.
+   */
+  @ToString.Exclude
+  private final ISOBitmap longFields = new ISOBitmap();
+
+  /**
+   * The index of raw encoded fields, present only if the message was unpacked lazily. Fields held
+   * by the index are decoded on the first {@link #getField(int)} call.
+   */
+  @Getter
+  @Setter
+  @ToString.Exclude
+  private ISOFieldIndex fieldIndex;
+
   /**
    * Returns flag which indicates that the message is request.
    *
@@ -75,22 +121,113 @@ public class ISOMessage {
   }
 
   /**
-   * Sets the current message as a response message.
+   * Sets the current message as a response message, the message type is replaced with the
+   * canonical response type, see {@link MessageType#responseType()}.
    */
   public void setResponseType() {
-    this.type.setResponseType();
+    this.type = this.type.responseType();
   }
 
   /**
-   * Gets field by the position.
+   * Gets field by the position. Field of the lazily unpacked message is decoded on the first call
+   * and cached in the message. Field set through {@link #setLong(int, long)} has {@link Long}
+   * value.
    *
    * @param position position of the field in message
    * @return field
-   * @throws ISOException if position is less than 0 or more than 129
+   * @throws ISOException if position is less than 0 or more than 192
    */
   public ISOField getField(int position) throws ISOException {
     ValidationUtils.validateFieldPosition(position);
-    return fields[position];
+    ISOField field = fields[position];
+    if (field == null && fieldIndex != null && fieldIndex.contains(position)) {
+      field = new ISOField(position, fieldIndex.decode(position));
+      fields[position] = field;
+    } else if (field == null && isLongField(position)) {
+      field = new ISOField(position, longValues[position]);
+      fields[position] = field;
+    }
+    return field;
+  }
+
+  /**
+   * Returns the copy of the message fields indexed by the position. Fields of the lazily unpacked
+   * message are decoded, so the copy holds all the present fields. Changes of the copy don't
+   * affect the message, the fields are set through {@link #setField(int, ISOField)}.
+   *
+   * @return fields indexed by the position, {@code null} for the missing ones
+   * @deprecated decodes all the fields of the lazily unpacked message, use {@link #getField(int)}
+   * and {@link #hasField(int)} instead
+   */
+  @Deprecated
+  public ISOField[] getFields() {
+    final ISOField[] copy = new ISOField[FIELDS_SIZE];
+    for (int position = bitmap.nextSetBit(1); position > 0;
+        position = bitmap.nextSetBit(position + 1)) {
+      copy[position] = getField(position);
+    }
+    return copy;
+  }
+
+  /**
+   * Gets the field value as long. Values set through {@link #setLong(int, long)} and numeric fields
+   * of the lazily unpacked message are returned without any intermediate objects, other values are
+   * converted from the integral number or decimal digits.
+   *
+   * @param position position of the field in message
+   * @return long value of the field
+   * @throws ISOException if position is less than 0 or more than 192, field is missing or its
+   *                      value is not numeric
+   */
+  public long getLong(int position) throws ISOException {
+    ValidationUtils.validateFieldPosition(position);
+    if (isLongField(position)) {
+      return longValues[position];
+    }
+    final ISOField field = fields[position];
+    if (field != null && field.getValue() != null) {
+      return NumberUtils.toLong(position, field.getValue());
+    }
+    if (field == null && fieldIndex != null && fieldIndex.contains(position)) {
+      final long value = fieldIndex.decodeLong(position);
+      longValues[position] = value;
+      longFields.set(position);
+      return value;
+    }
+    throw new ISOException("Position '%s'. Field is missing!", position);
+  }
+
+  /**
+   * Sets the long value of the field to the specific position. The value is held as primitive, so
+   * it's written by the numeric field codecs without any intermediate objects.
+   *
+   * @param position position of the field in message
+   * @param value    long value to set
+   * @throws ISOException if the position is less than 1 or more than 192
+   */
+  public void setLong(int position, long value) throws ISOException {
+    ValidationUtils.validateFieldPosition(position);
+    if (position == 0) {
+      throw new ISOException("Position '0'. Message type can't be set as long value!");
+    }
+    fields[position] = null;
+    longValues[position] = value;
+    longFields.set(position);
+    if (fieldIndex != null) {
+      fieldIndex.updateLong(position, value);
+    }
+    updateBitmap(position, true);
+  }
+
+  /**
+   * Returns flag which indicates that the field value is held as primitive long, see
+   * {@link #setLong(int, long)}.
+   *
+   * @param position position of the field in message
+   * @return {@code true} if field value is held as long, otherwise {@code false}
+   */
+  public boolean isLongField(int position) {
+    return position > 0 && position < FIELDS_SIZE && longFields.get(position);
   }
 
   /**
@@ -98,11 +235,22 @@ public class ISOMessage {
    *
    * @param position position of the field in message
    * @param field    field to set
-   * @throws ISOException if the position is less than 0 or more than 129
+   * @throws ISOException if the position is less than 0 or more than 192
    */
   public void setField(int position, ISOField field) throws ISOException {
     ValidationUtils.validateFieldPosition(position);
     fields[position] = field;
+    if (position > 0) {
+      longFields.clear(position);
+    }
+    if (fieldIndex != null) {
+      if (field != null && field.getValue() != null) {
+        fieldIndex.update(position, field.getValue());
+      } else {
+        fieldIndex.remove(position);
+      }
+    }
+    updateBitmap(position, field != null && field.getValue() != null);
   }
 
   /**
@@ -110,12 +258,10 @@ public class ISOMessage {
    *
    * @param position position of the field in message
    * @param value    string value to set
-   * @throws ISOException if the position is less than 0 or more than 129
+   * @throws ISOException if the position is less than 0 or more than 192
    */
   public void setField(int position, String value) throws ISOException {
-    ValidationUtils.validateFieldPosition(position);
-    final ISOField field = new ISOField(position, value);
-    fields[position] = field;
+    setField(position, new ISOField(position, value));
   }
 
   /**
@@ -123,11 +269,45 @@ public class ISOMessage {
    *
    * @param position position of the field in message
    * @param value    byte array value to set
-   * @throws ISOException if the position is less than 0 or more than 129
+   * @throws ISOException if the position is less than 0 or more than 192
    */
   public void setField(int position, byte[] value) throws ISOException {
+    setField(position, new ISOField(position, value));
+  }
+
+  /**
+   * Returns flag which indicates that the field is present in the message.
+   *
+   * @param position position of the field in message
+   * @return {@code true} if field is present, otherwise {@code false}
+   * @throws ISOException if the position is less than 0 or more than 192
+   */
+  public boolean hasField(int position) throws ISOException {
     ValidationUtils.validateFieldPosition(position);
-    final ISOField field = new ISOField(position, value);
-    fields[position] = field;
+    return position > 0 && bitmap.get(position);
+  }
+
+  /**
+   * Removes the field from the message. The removed field isn't written even if it has the default
+   * value in the schema.
+   *
+   * @param position position of the field in message
+   * @throws ISOException if the position is less than 0 or more than 192
+   */
+  public void removeField(int position) throws ISOException {
+    setField(position, (ISOField) null);
+  }
+
+  private void updateBitmap(int position, boolean present) {
+    if (position == 0) {
+      return;
+    }
+    if (present) {
+      bitmap.set(position);
+      removedFields.clear(position);
+    } else {
+      bitmap.clear(position);
+      removedFields.set(position);
+    }
   }
 }
@@ -31,6 +31,12 @@ public enum ISOValueType {
   LLLVAR,
   /** variable length byte array with 4-digit header length. */
   LLLLVAR,
+  /** Similar to LLVAR but holds digits only, e.g. packed as BCD by the BCD packagers. */
+  LLNUM,
+  /** Similar to LLLVAR but holds digits only, e.g. packed as BCD by the BCD packagers. */
+  LLLNUM,
+  /** Similar to LLLLVAR but holds digits only, e.g. packed as BCD by the BCD packagers. */
+  LLLLNUM,
   /** Holds the binary data. */
   BINARY,
   /** Similar to LLVAR but holds byte arrays instead of strings. */
@@ -15,8 +15,6 @@
  */
 package com.dharbuzov.iso8583.model;
 
-import java.util.Arrays;
-
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -76,7 +74,16 @@ public enum MessageClass {
    */
   NETWORK_MANAGEMENT(8);
 
-  private int value;
+  /* Lookup table of enum values indexed by int value */
+  private static final MessageClass[] BY_VALUE = new MessageClass[10];
+
+  static {
+    for (MessageClass enumVal : values()) {
+      BY_VALUE[enumVal.value] = enumVal;
+    }
+  }
+
+  private final int value;
 
   /**
    * Returns class based on char value.
@@ -85,9 +92,21 @@ public enum MessageClass {
    * @return iso 8583 version value
    */
   public static MessageClass fromChar(char ch) {
-    final int value = Character.getNumericValue(ch);
-    return Arrays.stream(MessageClass.values()).filter(enumVal -> enumVal.getValue() == value)
-        .findFirst().orElseThrow(() -> new RuntimeException(
-            String.format("Could not detect iso8583 message class from char '%s'", ch)));
+    final MessageClass enumVal = fromValue(ch - '0');
+    if (enumVal == null) {
+      throw new RuntimeException(
+          String.format("Could not detect iso8583 message class from char '%s'", ch));
+    }
+    return enumVal;
+  }
+
+  /**
+   * Returns the enum value based on int value.
+   *
+   * @param value int value from 0 to 9
+   * @return enum value or {@code null} if there is no enum value for int value
+   */
+  public static MessageClass fromValue(int value) {
+    return value >= 0 && value < BY_VALUE.length ? BY_VALUE[value] : null;
   }
 }
@@ -15,8 +15,6 @@
  */
 package com.dharbuzov.iso8583.model;
 
-import java.util.Arrays;
-
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -95,7 +93,16 @@ public enum MessageFunction {
    */
   RESERVED_9(9);
 
-  private int value;
+  /* Lookup table of enum values indexed by int value */
+  private static final MessageFunction[] BY_VALUE = new MessageFunction[10];
+
+  static {
+    for (MessageFunction enumVal : values()) {
+      BY_VALUE[enumVal.value] = enumVal;
+    }
+  }
+
+  private final int value;
 
   /**
    * Returns function based on char value.
@@ -104,9 +111,21 @@ public enum MessageFunction {
    * @return iso 8583 version value
    */
   public static MessageFunction fromChar(char ch) {
-    final int value = Character.getNumericValue(ch);
-    return Arrays.stream(MessageFunction.values()).filter(enumVal -> enumVal.getValue() == value)
-        .findFirst().orElseThrow(() -> new RuntimeException(
-            String.format("Could not detect iso8583 message function from char '%s'", ch)));
+    final MessageFunction enumVal = fromValue(ch - '0');
+    if (enumVal == null) {
+      throw new RuntimeException(
+          String.format("Could not detect iso8583 message function from char '%s'", ch));
+    }
+    return enumVal;
+  }
+
+  /**
+   * Returns the enum value based on int value.
+   *
+   * @param value int value from 0 to 9
+   * @return enum value or {@code null} if there is no enum value for int value
+   */
+  public static MessageFunction fromValue(int value) {
+    return value >= 0 && value < BY_VALUE.length ? BY_VALUE[value] : null;
   }
 }
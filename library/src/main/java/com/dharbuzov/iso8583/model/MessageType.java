@@ -19,56 +19,135 @@ import com.dharbuzov.iso8583.exception.ISOException;
 import com.dharbuzov.iso8583.exception.ISOPackageException;
 import com.dharbuzov.iso8583.util.StringUtils;
 
-import lombok.Builder;
-import lombok.Data;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.ToString;
 
 /**
  * The class wrapper for Message Type Indicator (MTI). The message type indicator is a four-digit
  * numeric field which indicates the overall function of the message. A message type indicator
  * includes the ISO 8583 version, the Message Class, the Message Function and the Message Origin.
+ * <p>
+ * Message types are immutable. Every complete message type (all 4 parts are defined) is a
+ * canonical instance taken from the precomputed table indexed by MTI, so complete types could be
+ * compared by identity. Types with missing parts are generic ones, used e.g. to match a group of
+ * message types, such types are created on demand and compared by value.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
-@Data
-@Builder
-@ToString
-@EqualsAndHashCode
-public class MessageType {
+@Getter
+@ToString(of = {"version", "clazz", "function", "origin"})
+@EqualsAndHashCode(of = {"version", "clazz", "function", "origin"})
+public final class MessageType {
+
+  /* Number of all possible MTI values, from '0000' to '9999' */
+  public static final int MTI_COUNT = 10000;
+
+  /* Canonical message types indexed by MTI, null for MTI values which aren't valid */
+  private static final MessageType[] TYPES = new MessageType[MTI_COUNT];
+
+  static {
+    for (MessageVersion version : MessageVersion.values()) {
+      for (MessageClass clazz : MessageClass.values()) {
+        for (MessageFunction function : MessageFunction.values()) {
+          for (MessageOrigin origin : MessageOrigin.values()) {
+            final MessageType type = new MessageType(version, clazz, function, origin);
+            TYPES[type.index] = type;
+          }
+        }
+      }
+    }
+  }
 
   /**
    * ISO 8583 version. First digit.
    */
-  private MessageVersion version;
+  private final MessageVersion version;
 
   /**
    * ISO 8583 message class. Second digit.
    */
-  private MessageClass clazz;
+  private final MessageClass clazz;
 
   /**
    * ISO 8583 message function. Third digit.
    */
-  private MessageFunction function;
+  private final MessageFunction function;
 
   /**
    * ISO 8583 message origin. Fourth digit.
    */
-  private MessageOrigin origin;
+  private final MessageOrigin origin;
+
+  /**
+   * MTI as int value from 0 to 9999, or -1 if message type is generic.
+   */
+  private final int index;
 
   /**
-   * Converts current type to response.
+   * 4 ASCII chars of the MTI packed into int in big-endian order, generic parts are '*' chars.
    */
-  public void setResponseType() {
+  private final int mtiAscii;
+
+  @Getter(AccessLevel.NONE)
+  private final String mti;
+
+  private MessageType(MessageVersion version, MessageClass clazz, MessageFunction function,
+      MessageOrigin origin) {
+    this.version = version;
+    this.clazz = clazz;
+    this.function = function;
+    this.origin = origin;
+    final boolean generic = version == null || clazz == null || function == null || origin == null;
+    this.index = generic ? -1 : version.getValue() * 1000 + clazz.getValue() * 100
+        + function.getValue() * 10 + origin.getValue();
+    final char[] chars = new char[] {toChar(version == null ? -1 : version.getValue()),
+        toChar(clazz == null ? -1 : clazz.getValue()),
+        toChar(function == null ? -1 : function.getValue()),
+        toChar(origin == null ? -1 : origin.getValue())};
+    this.mti = new String(chars);
+    this.mtiAscii = chars[0] << 24 | chars[1] << 16 | chars[2] << 8 | chars[3];
+  }
+
+  /**
+   * Returns flag which indicates that some parts of the message type are not defined.
+   *
+   * @return {@code true} if message type is generic, otherwise {@code false}
+   */
+  public boolean isGeneric() {
+    return index < 0;
+  }
+
+  /**
+   * Returns flag which indicates that the message type matches this one. The parts missing in this
+   * type match any value of the message type.
+   *
+   * @param type message type to match
+   * @return {@code true} if message type matches, otherwise {@code false}
+   */
+  public boolean matches(MessageType type) {
+    return (version == null || version == type.version) && (clazz == null || clazz == type.clazz)
+           && (function == null || function == type.function)
+           && (origin == null || origin == type.origin);
+  }
+
+  /**
+   * Returns the response type for current type, e.g. '0110' for '0100' or '0230' for '0220'.
+   *
+   * @return canonical response message type
+   * @throws ISOException if message function doesn't have the response one
+   */
+  public MessageType responseType() throws ISOException {
     final MessageFunction function = this.function;
+    if (function == null) {
+      throw new ISOException("Can't set the proper response type, message function is missing");
+    }
     switch (function) {
       case REQUEST:
-        this.function = MessageFunction.REQUEST_RESPONSE;
-        break;
+        return from(version, clazz, MessageFunction.REQUEST_RESPONSE, origin);
       case ADVICE:
-        this.function = MessageFunction.ADVICE_RESPONSE;
-        break;
+        return from(version, clazz, MessageFunction.ADVICE_RESPONSE, origin);
       default:
         throw new ISOException("Can't set the proper response type, for message function: '%s'",
             function);
@@ -82,42 +161,158 @@ public class MessageType {
    * @param clazz    message class
    * @param function message function
    * @param origin   message origin
-   * @return created message type
+   * @return canonical message type, or the new generic one if any of the parts is missing
    */
   public static MessageType from(MessageVersion version, MessageClass clazz,
       MessageFunction function, MessageOrigin origin) {
-    return MessageType.builder().version(version).clazz(clazz).function(function).origin(origin)
-        .build();
+    if (version == null || clazz == null || function == null || origin == null) {
+      return new MessageType(version, clazz, function, origin);
+    }
+    return TYPES[version.getValue() * 1000 + clazz.getValue() * 100 + function.getValue() * 10
+        + origin.getValue()];
+  }
+
+  /**
+   * Returns canonical message type by MTI int value.
+   *
+   * @param index MTI int value from 0 to 9999
+   * @return canonical message type
+   * @throws ISOPackageException if MTI value is not valid
+   */
+  public static MessageType fromIndex(int index) throws ISOPackageException {
+    final MessageType type = index >= 0 && index < MTI_COUNT ? TYPES[index] : null;
+    if (type == null) {
+      throw new ISOPackageException("MTI '%s' is not valid!", index);
+    }
+    return type;
   }
 
   /**
-   * Returns message type as a MTI string like 'xxxx'.
+   * Returns message type as a MTI string like 'xxxx', generic parts are represented as '*'.
    *
    * @return mti string
    */
   public String toMTIString() {
-    //TODO: remove later, this logic should be a part of ISOMessagePackager
-    return String.format("%s%s%s%s", version.getValue(), clazz.getValue(), function.getValue(),
-        origin.getValue());
+    return mti;
   }
 
   /**
    * Returns message type constructed from mti string.
    *
    * @param mtiStr mti string to get message type from
-   * @return message type instance
+   * @return canonical message type instance
+   * @throws ISOPackageException if MTI string is not valid
    */
-  public static MessageType fromMTIString(String mtiStr) {
-    //TODO: remove later, this logic should be a part of ISOMessagePackager
+  public static MessageType fromMTIString(String mtiStr) throws ISOPackageException {
     if (StringUtils.isEmpty(mtiStr)) {
       throw new ISOPackageException("MTI header is missing!");
     }
     if (mtiStr.length() != 4) {
       throw new ISOPackageException("MTI header should have length equals to 4!");
     }
-    final char[] mtiChars = mtiStr.toCharArray();
-    return MessageType.builder().version(MessageVersion.fromChar(mtiChars[0]))
-        .clazz(MessageClass.fromChar(mtiChars[1])).function(MessageFunction.fromChar(mtiChars[2]))
-        .origin(MessageOrigin.fromChar(mtiChars[3])).build();
+    return fromChars(mtiStr.charAt(0), mtiStr.charAt(1), mtiStr.charAt(2), mtiStr.charAt(3));
+  }
+
+  /**
+   * Returns message type constructed from 4 ASCII chars of MTI packed into int in big-endian
+   * order, which is exactly the int read from the MTI bytes on the wire.
+   *
+   * @param mtiAscii 4 ASCII chars of MTI packed into int
+   * @return canonical message type instance
+   * @throws ISOPackageException if MTI chars are not valid
+   */
+  public static MessageType fromMTIAscii(int mtiAscii) throws ISOPackageException {
+    return fromChars((char) (mtiAscii >>> 24 & 0xFF), (char) (mtiAscii >>> 16 & 0xFF),
+        (char) (mtiAscii >>> 8 & 0xFF), (char) (mtiAscii & 0xFF));
+  }
+
+  /**
+   * Returns a builder class.
+   *
+   * @return builder class
+   */
+  public static MessageTypeBuilder builder() {
+    return new MessageTypeBuilder();
+  }
+
+  private static MessageType fromChars(char ch0, char ch1, char ch2, char ch3) {
+    final int d0 = ch0 - '0';
+    final int d1 = ch1 - '0';
+    final int d2 = ch2 - '0';
+    final int d3 = ch3 - '0';
+    final MessageType type = (d0 | d1 | d2 | d3) >= 0 && d0 <= 9 && d1 <= 9 && d2 <= 9 && d3 <= 9
+        ? TYPES[d0 * 1000 + d1 * 100 + d2 * 10 + d3] : null;
+    if (type == null) {
+      throw new ISOPackageException("MTI header '%s' is not valid!",
+          new String(new char[] {ch0, ch1, ch2, ch3}));
+    }
+    return type;
+  }
+
+  private static char toChar(int value) {
+    return value < 0 ? '*' : (char) ('0' + value);
+  }
+
+  /**
+   * Builder class.
+   */
+  public static class MessageTypeBuilder {
+    private MessageVersion version;
+    private MessageClass clazz;
+    private MessageFunction function;
+    private MessageOrigin origin;
+
+    /**
+     * Sets the message version.
+     *
+     * @param version message version to set
+     * @return reference to this object {@link MessageTypeBuilder}
+     */
+    public MessageTypeBuilder version(MessageVersion version) {
+      this.version = version;
+      return this;
+    }
+
+    /**
+     * Sets the message class.
+     *
+     * @param clazz message class to set
+     * @return reference to this object {@link MessageTypeBuilder}
+     */
+    public MessageTypeBuilder clazz(MessageClass clazz) {
+      this.clazz = clazz;
+      return this;
+    }
+
+    /**
+     * Sets the message function.
+     *
+     * @param function message function to set
+     * @return reference to this object {@link MessageTypeBuilder}
+     */
+    public MessageTypeBuilder function(MessageFunction function) {
+      this.function = function;
+      return this;
+    }
+
+    /**
+     * Sets the message origin.
+     *
+     * @param origin message origin to set
+     * @return reference to this object {@link MessageTypeBuilder}
+     */
+    public MessageTypeBuilder origin(MessageOrigin origin) {
+      this.origin = origin;
+      return this;
+    }
+
+    /**
+     * Builds the message type.
+     *
+     * @return canonical message type, or the new generic one if any of the parts is missing
+     */
+    public MessageType build() {
+      return from(version, clazz, function, origin);
+    }
   }
 }
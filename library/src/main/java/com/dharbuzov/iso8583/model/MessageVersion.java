@@ -15,8 +15,6 @@
  */
 package com.dharbuzov.iso8583.model;
 
-import java.util.Arrays;
-
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 
@@ -82,7 +80,16 @@ public enum MessageVersion {
    */
   RESERVED_9(9);
 
-  private int value;
+  /* Lookup table of enum values indexed by int value */
+  private static final MessageVersion[] BY_VALUE = new MessageVersion[10];
+
+  static {
+    for (MessageVersion enumVal : values()) {
+      BY_VALUE[enumVal.value] = enumVal;
+    }
+  }
+
+  private final int value;
 
   /**
    * Returns version based on char value.
@@ -91,9 +98,21 @@ public enum MessageVersion {
    * @return iso 8583 version value
    */
   public static MessageVersion fromChar(char ch) {
-    final int value = Character.getNumericValue(ch);
-    return Arrays.stream(MessageVersion.values()).filter(enumVal -> enumVal.getValue() == value)
-        .findFirst().orElseThrow(() -> new RuntimeException(
-            String.format("Could not detect iso8583 version from char '%s'", ch)));
+    final MessageVersion enumVal = fromValue(ch - '0');
+    if (enumVal == null) {
+      throw new RuntimeException(
+          String.format("Could not detect iso8583 version from char '%s'", ch));
+    }
+    return enumVal;
+  }
+
+  /**
+   * Returns the enum value based on int value.
+   *
+   * @param value int value from 0 to 9
+   * @return enum value or {@code null} if there is no enum value for int value
+   */
+  public static MessageVersion fromValue(int value) {
+    return value >= 0 && value < BY_VALUE.length ? BY_VALUE[value] : null;
   }
 }
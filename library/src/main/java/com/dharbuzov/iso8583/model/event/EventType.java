@@ -19,4 +19,8 @@ package com.dharbuzov.iso8583.model.event;
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 public enum EventType {
+  /**
+   * The response message wasn't received within the request timeout.
+   */
+  REQUEST_TIMEOUT
 }
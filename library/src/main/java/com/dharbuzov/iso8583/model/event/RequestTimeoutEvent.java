@@ -0,0 +1,36 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.model.event;
+
+import com.dharbuzov.iso8583.model.ISOMessage;
+
+/**
+ * Event occurred when the response message wasn't received within the request timeout, the value
+ * of the event is the request message.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class RequestTimeoutEvent extends AbstractEvent {
+
+  /**
+   * Constructor based on the request message.
+   *
+   * @param reqMsg request message which wasn't responded in time
+   */
+  public RequestTimeoutEvent(ISOMessage reqMsg) {
+    super(EventType.REQUEST_TIMEOUT, reqMsg);
+  }
+}
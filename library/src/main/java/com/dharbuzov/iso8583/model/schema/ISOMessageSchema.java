@@ -5,6 +5,7 @@
 package com.dharbuzov.iso8583.model.schema;
 
 import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.model.ISOBitmap;
 import com.dharbuzov.iso8583.util.ValidationUtils;
 
 import lombok.AllArgsConstructor;
@@ -26,7 +27,7 @@ import lombok.ToString;
 @AllArgsConstructor
 public class ISOMessageSchema {
 
-  public static final int FIELDS_SIZE = 129;
+  public static final int FIELDS_SIZE = ISOBitmap.MAX_POSITION + 1;
 
   private ISOFieldSchema[] fields = new ISOFieldSchema[FIELDS_SIZE];
 
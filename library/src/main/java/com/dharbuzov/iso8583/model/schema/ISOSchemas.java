@@ -15,7 +15,16 @@
  */
 package com.dharbuzov.iso8583.model.schema;
 
+import static com.dharbuzov.iso8583.model.ISOValueType.ALPHA;
+import static com.dharbuzov.iso8583.model.ISOValueType.BINARY;
+import static com.dharbuzov.iso8583.model.ISOValueType.LLLVAR;
+import static com.dharbuzov.iso8583.model.ISOValueType.LLNUM;
+import static com.dharbuzov.iso8583.model.ISOValueType.LLVAR;
+import static com.dharbuzov.iso8583.model.ISOValueType.NUMERIC;
+
 import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.model.ISOFieldType;
+import com.dharbuzov.iso8583.model.ISOValueType;
 import com.dharbuzov.iso8583.packager.ASCIIMessagePackager;
 import com.dharbuzov.iso8583.packager.HEXMessagePackager;
 
@@ -55,16 +64,14 @@ public final class ISOSchemas {
   private static ISOSchema ascii87() {
     return ISOSchema.builder()
         .packager(ASCIIMessagePackager.class)
-        .schema("0***", ISOMessageSchema.builder()
-            .build())
+        .schema("0***", iso87())
         .build();
   }
 
   private static ISOSchema hex87() {
     return ISOSchema.builder()
         .packager(HEXMessagePackager.class)
-        .schema("0***", ISOMessageSchema.builder()
-            .build())
+        .schema("0***", iso87())
         .build();
   }
 
@@ -83,4 +90,140 @@ public final class ISOSchemas {
             .build())
         .build();
   }
+
+  private static ISOMessageSchema iso87() {
+    return ISOMessageSchema.builder()
+        .field(2, field(LLNUM, 19, "Primary account number"))
+        .field(3, field(NUMERIC, 6, "Processing code"))
+        .field(4, field(NUMERIC, 12, "Amount, transaction"))
+        .field(5, field(NUMERIC, 12, "Amount, settlement"))
+        .field(6, field(NUMERIC, 12, "Amount, cardholder billing"))
+        .field(7, field(NUMERIC, 10, "Transmission date & time"))
+        .field(8, field(NUMERIC, 8, "Amount, cardholder billing fee"))
+        .field(9, field(NUMERIC, 8, "Conversion rate, settlement"))
+        .field(10, field(NUMERIC, 8, "Conversion rate, cardholder billing"))
+        .field(11, field(NUMERIC, 6, "System trace audit number"))
+        .field(12, field(NUMERIC, 6, "Local transaction time"))
+        .field(13, field(NUMERIC, 4, "Local transaction date"))
+        .field(14, field(NUMERIC, 4, "Expiration date"))
+        .field(15, field(NUMERIC, 4, "Settlement date"))
+        .field(16, field(NUMERIC, 4, "Currency conversion date"))
+        .field(17, field(NUMERIC, 4, "Capture date"))
+        .field(18, field(NUMERIC, 4, "Merchant type"))
+        .field(19, field(NUMERIC, 3, "Acquiring institution country code"))
+        .field(20, field(NUMERIC, 3, "PAN extended, country code"))
+        .field(21, field(NUMERIC, 3, "Forwarding institution country code"))
+        .field(22, field(NUMERIC, 3, "Point of service entry mode"))
+        .field(23, field(NUMERIC, 3, "Application PAN sequence number"))
+        .field(24, field(NUMERIC, 3, "Network international identifier"))
+        .field(25, field(NUMERIC, 2, "Point of service condition code"))
+        .field(26, field(NUMERIC, 2, "Point of service capture code"))
+        .field(27, field(NUMERIC, 1, "Authorizing identification response length"))
+        .field(28, field(ALPHA, 9, "Amount, transaction fee"))
+        .field(29, field(ALPHA, 9, "Amount, settlement fee"))
+        .field(30, field(ALPHA, 9, "Amount, transaction processing fee"))
+        .field(31, field(ALPHA, 9, "Amount, settlement processing fee"))
+        .field(32, field(LLNUM, 11, "Acquiring institution identification code"))
+        .field(33, field(LLNUM, 11, "Forwarding institution identification code"))
+        .field(34, field(LLVAR, 28, "Primary account number, extended"))
+        .field(35, field(LLVAR, 37, "Track 2 data"))
+        .field(36, field(LLLVAR, 104, "Track 3 data"))
+        .field(37, field(ALPHA, 12, "Retrieval reference number"))
+        .field(38, field(ALPHA, 6, "Authorization identification response"))
+        .field(39, field(ALPHA, 2, "Response code"))
+        .field(40, field(ALPHA, 3, "Service restriction code"))
+        .field(41, field(ALPHA, 8, "Card acceptor terminal identification"))
+        .field(42, field(ALPHA, 15, "Card acceptor identification code"))
+        .field(43, field(ALPHA, 40, "Card acceptor name/location"))
+        .field(44, field(LLVAR, 25, "Additional response data"))
+        .field(45, field(LLVAR, 76, "Track 1 data"))
+        .field(46, field(LLLVAR, 999, "Additional data - ISO"))
+        .field(47, field(LLLVAR, 999, "Additional data - national"))
+        .field(48, field(LLLVAR, 999, "Additional data - private"))
+        .field(49, field(ALPHA, 3, "Currency code, transaction"))
+        .field(50, field(ALPHA, 3, "Currency code, settlement"))
+        .field(51, field(ALPHA, 3, "Currency code, cardholder billing"))
+        .field(52, field(BINARY, 8, "Personal identification number data"))
+        .field(53, field(NUMERIC, 16, "Security related control information"))
+        .field(54, field(LLLVAR, 120, "Additional amounts"))
+        .field(55, field(LLLVAR, 999, "ICC data - EMV having multiple tags"))
+        .field(56, field(LLLVAR, 999, "Reserved ISO"))
+        .field(57, field(LLLVAR, 999, "Reserved national"))
+        .field(58, field(LLLVAR, 999, "Reserved national"))
+        .field(59, field(LLLVAR, 999, "Reserved national"))
+        .field(60, field(LLLVAR, 999, "Reserved national"))
+        .field(61, field(LLLVAR, 999, "Reserved private"))
+        .field(62, field(LLLVAR, 999, "Reserved private"))
+        .field(63, field(LLLVAR, 999, "Reserved private"))
+        .field(64, field(BINARY, 8, "Message authentication code"))
+        .field(66, field(NUMERIC, 1, "Settlement code"))
+        .field(67, field(NUMERIC, 2, "Extended payment code"))
+        .field(68, field(NUMERIC, 3, "Receiving institution country code"))
+        .field(69, field(NUMERIC, 3, "Settlement institution country code"))
+        .field(70, field(NUMERIC, 3, "Network management information code"))
+        .field(71, field(NUMERIC, 4, "Message number"))
+        .field(72, field(NUMERIC, 4, "Last message's number"))
+        .field(73, field(NUMERIC, 6, "Action date"))
+        .field(74, field(NUMERIC, 10, "Number of credits"))
+        .field(75, field(NUMERIC, 10, "Credits, reversal number"))
+        .field(76, field(NUMERIC, 10, "Number of debits"))
+        .field(77, field(NUMERIC, 10, "Debits, reversal number"))
+        .field(78, field(NUMERIC, 10, "Transfer number"))
+        .field(79, field(NUMERIC, 10, "Transfer, reversal number"))
+        .field(80, field(NUMERIC, 10, "Number of inquiries"))
+        .field(81, field(NUMERIC, 10, "Number of authorizations"))
+        .field(82, field(NUMERIC, 12, "Credits, processing fee amount"))
+        .field(83, field(NUMERIC, 12, "Credits, transaction fee amount"))
+        .field(84, field(NUMERIC, 12, "Debits, processing fee amount"))
+        .field(85, field(NUMERIC, 12, "Debits, transaction fee amount"))
+        .field(86, field(NUMERIC, 16, "Total amount of credits"))
+        .field(87, field(NUMERIC, 16, "Credits, reversal amount"))
+        .field(88, field(NUMERIC, 16, "Total amount of debits"))
+        .field(89, field(NUMERIC, 16, "Debits, reversal amount"))
+        .field(90, field(NUMERIC, 42, "Original data elements"))
+        .field(91, field(ALPHA, 1, "File update code"))
+        .field(92, field(ALPHA, 2, "File security code"))
+        .field(93, field(ALPHA, 5, "Response indicator"))
+        .field(94, field(ALPHA, 7, "Service indicator"))
+        .field(95, field(ALPHA, 42, "Replacement amounts"))
+        .field(96, field(BINARY, 8, "Message security code"))
+        .field(97, field(ALPHA, 17, "Net settlement amount"))
+        .field(98, field(ALPHA, 25, "Payee"))
+        .field(99, field(LLNUM, 11, "Settlement institution identification code"))
+        .field(100, field(LLNUM, 11, "Receiving institution identification code"))
+        .field(101, field(LLVAR, 17, "File name"))
+        .field(102, field(LLVAR, 28, "Account identification 1"))
+        .field(103, field(LLVAR, 28, "Account identification 2"))
+        .field(104, field(LLLVAR, 100, "Transaction description"))
+        .field(105, field(LLLVAR, 999, "Reserved for ISO use"))
+        .field(106, field(LLLVAR, 999, "Reserved for ISO use"))
+        .field(107, field(LLLVAR, 999, "Reserved for ISO use"))
+        .field(108, field(LLLVAR, 999, "Reserved for ISO use"))
+        .field(109, field(LLLVAR, 999, "Reserved for ISO use"))
+        .field(110, field(LLLVAR, 999, "Reserved for ISO use"))
+        .field(111, field(LLLVAR, 999, "Reserved for ISO use"))
+        .field(112, field(LLLVAR, 999, "Reserved for national use"))
+        .field(113, field(LLLVAR, 999, "Reserved for national use"))
+        .field(114, field(LLLVAR, 999, "Reserved for national use"))
+        .field(115, field(LLLVAR, 999, "Reserved for national use"))
+        .field(116, field(LLLVAR, 999, "Reserved for national use"))
+        .field(117, field(LLLVAR, 999, "Reserved for national use"))
+        .field(118, field(LLLVAR, 999, "Reserved for national use"))
+        .field(119, field(LLLVAR, 999, "Reserved for national use"))
+        .field(120, field(LLLVAR, 999, "Reserved for private use"))
+        .field(121, field(LLLVAR, 999, "Reserved for private use"))
+        .field(122, field(LLLVAR, 999, "Reserved for private use"))
+        .field(123, field(LLLVAR, 999, "Reserved for private use"))
+        .field(124, field(LLLVAR, 999, "Reserved for private use"))
+        .field(125, field(LLLVAR, 999, "Reserved for private use"))
+        .field(126, field(LLLVAR, 999, "Reserved for private use"))
+        .field(127, field(LLLVAR, 999, "Reserved for private use"))
+        .field(128, field(BINARY, 8, "Message authentication code"))
+        .build();
+  }
+
+  private static ISOFieldSchema field(ISOValueType valueType, int length, String name) {
+    return ISOFieldSchema.builder().fieldType(ISOFieldType.PRIMITIVE).valueType(valueType)
+        .length(length).name(name).build();
+  }
 }
@@ -15,63 +15,108 @@
  */
 package com.dharbuzov.iso8583.order;
 
-import java.util.concurrent.PriorityBlockingQueue;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntFunction;
 import java.util.function.Predicate;
 
 /**
  * Base class which represents the container which might keep elements in ordered manner.
+ * <p>
+ * The elements are published as an immutable array sorted by {@link ISOOrdered#getOrder()}, the
+ * elements with the same order keep the order they were added in. Every update copies the array
+ * and publishes the new one, so reading the elements is a single volatile read without any lock or
+ * allocation. The container is designed for the elements which are rarely changed and frequently
+ * iterated, e.g. listeners.
  *
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  * @see ISOOrdered
  */
 public abstract class ISOOrderedContainer<T extends ISOOrdered> {
 
-  public static final int DEFAULT_QUEUE_CAPACITY = 100;
+  private static final Comparator<ISOOrdered> COMPARATOR = new ISOOrdered.ISOOrderedComparator();
 
-  /* Ordered priority queue */
-  protected final PriorityBlockingQueue<T> queue =
-      new PriorityBlockingQueue<>(getQueueCapacity(), new ISOOrdered.ISOOrderedComparator());
+  private final IntFunction<T[]> arrayFactory;
+  /* Ordered snapshot of the elements, never modified after it's published */
+  private volatile T[] elements;
 
   /**
-   * Adds element to the ordered queue.
+   * Constructor based on array factory of the elements.
    *
-   * @param element element to add
+   * @param arrayFactory factory which creates the array of the elements with the given length
    */
-  protected void addToQueue(T element) {
-    this.queue.add(element);
+  protected ISOOrderedContainer(IntFunction<T[]> arrayFactory) {
+    this.arrayFactory = arrayFactory;
+    this.elements = arrayFactory.apply(0);
   }
 
   /**
-   * Removes element from the ordered queue.
+   * Returns the ordered snapshot of the elements. The returned array must not be modified.
    *
-   * @param element element to remove
+   * @return ordered elements
    */
-  protected void removeFromQueue(T element) {
-    this.queue.remove(element);
+  protected T[] getElements() {
+    return elements;
   }
 
   /**
-   * Removes all elements from the queue.
+   * Adds element to the ordered elements after the elements with the same or higher precedence.
+   *
+   * @param element element to add
    */
-  protected void removeAllFromQueue() {
-    this.queue.clear();
+  protected synchronized void addToQueue(T element) {
+    final T[] current = this.elements;
+    final T[] updated = Arrays.copyOf(current, current.length + 1);
+    int index = current.length;
+    while (index > 0 && COMPARATOR.compare(current[index - 1], element) > 0) {
+      updated[index] = current[index - 1];
+      index--;
+    }
+    updated[index] = element;
+    this.elements = updated;
   }
 
   /**
-   * Removes all elements based on predicate.
+   * Removes element from the ordered elements.
    *
-   * @param removePredicate predicate which indicates that element should be removed
+   * @param element element to remove
    */
-  protected void removeAllFromQueue(Predicate<T> removePredicate) {
-    this.queue.removeIf(removePredicate);
+  protected synchronized void removeFromQueue(T element) {
+    final T[] current = this.elements;
+    for (int i = 0; i < current.length; i++) {
+      if (current[i].equals(element)) {
+        final T[] updated = arrayFactory.apply(current.length - 1);
+        System.arraycopy(current, 0, updated, 0, i);
+        System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+        this.elements = updated;
+        return;
+      }
+    }
   }
 
   /**
-   * Returns queue capacity.
+   * Removes all elements.
+   */
+  protected synchronized void removeAllFromQueue() {
+    this.elements = arrayFactory.apply(0);
+  }
+
+  /**
+   * Removes all elements based on predicate.
    *
-   * @return queue capacity of default {@link  ISOOrderedContainer#DEFAULT_QUEUE_CAPACITY}
+   * @param removePredicate predicate which indicates that element should be removed
    */
-  protected int getQueueCapacity() {
-    return DEFAULT_QUEUE_CAPACITY;
+  protected synchronized void removeAllFromQueue(Predicate<T> removePredicate) {
+    final T[] current = this.elements;
+    final T[] updated = arrayFactory.apply(current.length);
+    int length = 0;
+    for (T element : current) {
+      if (!removePredicate.test(element)) {
+        updated[length++] = element;
+      }
+    }
+    if (length != current.length) {
+      this.elements = Arrays.copyOf(updated, length);
+    }
   }
 }
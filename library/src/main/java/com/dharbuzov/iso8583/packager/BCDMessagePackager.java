@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager;
+
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.schema.ISOFieldSchema;
+import com.dharbuzov.iso8583.packager.codec.ISOBcd;
+import com.dharbuzov.iso8583.packager.codec.ISOBinaryEncoding;
+import com.dharbuzov.iso8583.packager.codec.ISOFieldCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOFixedBcdCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOLengthPrefix;
+import com.dharbuzov.iso8583.packager.codec.ISOVarBcdCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOVarBinaryCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOVarCharsCodec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Packager of the messages and fields packed as BCD. It could be used as the message packager, or
+ * as the field packager of the particular fields (see {@link ISOFieldSchema#getPackager()}), so
+ * BCD, ASCII and binary fields are mixed in the single message schema.
+ * <p>
+ * Numeric fields ({@code NUMERIC}, {@code LLNUM}, {@code LLLNUM}, {@code LLLLNUM}) are packed as
+ * BCD digits, the length prefixes of all the variable length fields are BCD. Odd number of digits
+ * is left padded with the zero nibble, see {@link BCDRightPaddedMessagePackager} for the right
+ * padded ones. Alphanumeric fields ({@code ALPHA}, {@code LLVAR}, {@code LLLVAR},
+ * {@code LLLLVAR}) are encoded with the message encoding and binary fields are written as raw
+ * bytes.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class BCDMessagePackager extends ISOBasePackager {
+
+  /* Length of the message type indicator packed as BCD */
+  public static final int BCD_MTI_LENGTH = 2;
+
+  private final boolean leftPadding;
+
+  /**
+   * Constructor of the packager which left pads odd number of digits.
+   */
+  public BCDMessagePackager() {
+    this(true);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param leftPadding {@code true} if padding nibble of odd number of digits is the first one,
+   *                    otherwise it's the last one
+   */
+  protected BCDMessagePackager(boolean leftPadding) {
+    this.leftPadding = leftPadding;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeTo(ISOMessage message, ByteBuf out) {
+    writeType(message.getType(), out);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ISOMessage readFrom(ByteBuf in) {
+    return ISOMessage.builder().type(readType(in)).build();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Bitmaps and binary fields are written as raw bytes.
+   */
+  @Override
+  public ISOBinaryEncoding getBinaryEncoding() {
+    return ISOBinaryEncoding.RAW;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Numeric fields are packed as BCD digits, variable length fields have BCD length prefixes, other
+   * fields are created as by {@link ISOBasePackager}.
+   */
+  @Override
+  public ISOFieldCodec createFieldCodec(int position, ISOFieldSchema schema, Charset encoding)
+      throws ISOPackageException {
+    final int length = schema.getLength();
+    switch (schema.getValueType()) {
+      case NUMERIC:
+        return new ISOFixedBcdCodec(position, length, leftPadding);
+      case LLNUM:
+        return new ISOVarBcdCodec(position, length, ISOLengthPrefix.BCD_LL, leftPadding);
+      case LLLNUM:
+        return new ISOVarBcdCodec(position, length, ISOLengthPrefix.BCD_LLL, leftPadding);
+      case LLLLNUM:
+        return new ISOVarBcdCodec(position, length, ISOLengthPrefix.BCD_LLLL, leftPadding);
+      case LLVAR:
+        return new ISOVarCharsCodec(position, length, encoding, ISOLengthPrefix.BCD_LL);
+      case LLLVAR:
+        return new ISOVarCharsCodec(position, length, encoding, ISOLengthPrefix.BCD_LLL);
+      case LLLLVAR:
+        return new ISOVarCharsCodec(position, length, encoding, ISOLengthPrefix.BCD_LLLL);
+      case LLBIN:
+        return new ISOVarBinaryCodec(position, length, ISOLengthPrefix.BCD_LL,
+            getBinaryEncoding());
+      case LLLBIN:
+        return new ISOVarBinaryCodec(position, length, ISOLengthPrefix.BCD_LLL,
+            getBinaryEncoding());
+      case LLLLBIN:
+        return new ISOVarBinaryCodec(position, length, ISOLengthPrefix.BCD_LLLL,
+            getBinaryEncoding());
+      default:
+        return super.createFieldCodec(position, schema, encoding);
+    }
+  }
+
+  /**
+   * Writes the message type indicator as 4 BCD digits.
+   *
+   * @param type message type to write
+   * @param out  buffer to write into
+   * @throws ISOPackageException if message type is generic
+   */
+  @Override
+  public void writeType(MessageType type, ByteBuf out) throws ISOPackageException {
+    if (type.isGeneric()) {
+      throw new ISOPackageException("Message type '%s' is not complete!", type.toMTIString());
+    }
+    out.writeByte(ISOBcd.toByte(type.getIndex() / 100));
+    out.writeByte(ISOBcd.toByte(type.getIndex() % 100));
+  }
+
+  /**
+   * Writes the message type indicator as 4 BCD digits, the charset isn't used.
+   *
+   * @param type     message type to write
+   * @param encoding charset of the message schema
+   * @param out      buffer to write into
+   * @throws ISOPackageException if message type is generic
+   */
+  @Override
+  public void writeType(MessageType type, Charset encoding, ByteBuf out)
+      throws ISOPackageException {
+    writeType(type, out);
+  }
+
+  /**
+   * Reads the message type indicator from 4 BCD digits, the charset isn't used.
+   *
+   * @param in       buffer to read from
+   * @param encoding charset of the message schema
+   * @return read message type
+   * @throws ISOPackageException if the buffer doesn't contain the whole message type indicator
+   */
+  @Override
+  public MessageType readType(ByteBuf in, Charset encoding) throws ISOPackageException {
+    return readType(in);
+  }
+
+  /**
+   * Reads the message type indicator from 4 BCD digits.
+   *
+   * @param in buffer to read from
+   * @return read message type
+   * @throws ISOPackageException if the buffer doesn't contain the whole message type indicator
+   */
+  @Override
+  public MessageType readType(ByteBuf in) throws ISOPackageException {
+    if (in.readableBytes() < BCD_MTI_LENGTH) {
+      throw new ISOPackageException("MTI header is missing!");
+    }
+    final int high = ISOBcd.toValue(in.readByte());
+    final int low = ISOBcd.toValue(in.readByte());
+    if (high < 0 || low < 0) {
+      throw new ISOPackageException("MTI header contains non decimal nibble!");
+    }
+    return MessageType.fromIndex(high * 100 + low);
+  }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager;
+
+/**
+ * Packager of the messages and fields packed as BCD, which right pads odd number of digits with the
+ * zero nibble (e.g. PAN and track data on some host links). See {@link BCDMessagePackager}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class BCDRightPaddedMessagePackager extends BCDMessagePackager {
+
+  /**
+   * Constructor.
+   */
+  public BCDRightPaddedMessagePackager() {
+    super(false);
+  }
+}
@@ -16,19 +16,38 @@
 package com.dharbuzov.iso8583.packager;
 
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.packager.codec.ISOBinaryEncoding;
+
+import io.netty.buffer.ByteBuf;
 
 /**
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
-public class HEXMessagePackager implements ISOMessagePackager, ISOFieldPackager {
+public class HEXMessagePackager extends ISOBasePackager {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeTo(ISOMessage message, ByteBuf out) {
+    writeType(message.getType(), out);
+  }
 
+  /**
+   * {@inheritDoc}
+   */
   @Override
-  public byte[] pack(ISOMessage message) {
-    return new byte[0];
+  public ISOMessage readFrom(ByteBuf in) {
+    return ISOMessage.builder().type(readType(in)).build();
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Bitmaps and binary fields are written as hex strings.
+   */
   @Override
-  public ISOMessage unpack(byte[] msgBytes) {
-    return null;
+  public ISOBinaryEncoding getBinaryEncoding() {
+    return ISOBinaryEncoding.HEX;
   }
 }
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.schema.ISOFieldSchema;
+import com.dharbuzov.iso8583.packager.codec.ISODigits;
+import com.dharbuzov.iso8583.packager.codec.ISOFieldCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOFixedBinaryCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOFixedCharsCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOFixedNumericCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOLengthPrefix;
+import com.dharbuzov.iso8583.packager.codec.ISOVarBinaryCodec;
+import com.dharbuzov.iso8583.packager.codec.ISOVarCharsCodec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * Base implementation of message and field packagers. The byte array based methods are adapters
+ * over the {@link ByteBuf} based ones, so the subclasses have to implement only
+ * {@link #writeTo(ISOMessage, ByteBuf)} and {@link #readFrom(ByteBuf)}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public abstract class ISOBasePackager implements ISOMessagePackager, ISOFieldPackager {
+
+  /* Length of the message type indicator */
+  public static final int MTI_LENGTH = 4;
+
+  /* Int with 1 in every byte, adds the same value to every byte of the message type indicator */
+  private static final int DIGIT_BYTES = 0x01010101;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public byte[] pack(ISOMessage message) {
+    final ByteBuf out = Unpooled.buffer();
+    try {
+      writeTo(message, out);
+      return ByteBufUtil.getBytes(out);
+    } finally {
+      out.release();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ISOMessage unpack(byte[] msgBytes) {
+    return readFrom(Unpooled.wrappedBuffer(msgBytes));
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Character fields and length prefixes are encoded with the message encoding and binary fields
+   * are encoded with {@link #getBinaryEncoding()}.
+   */
+  @Override
+  public ISOFieldCodec createFieldCodec(int position, ISOFieldSchema schema, Charset encoding)
+      throws ISOPackageException {
+    final int length = schema.getLength();
+    switch (schema.getValueType()) {
+      case ALPHA:
+        return new ISOFixedCharsCodec(position, length, encoding, ' ', false);
+      case NUMERIC:
+        return new ISOFixedNumericCodec(position, length, encoding);
+      case LLVAR:
+      case LLNUM:
+        return new ISOVarCharsCodec(position, length, encoding, ISOLengthPrefix.LL);
+      case LLLVAR:
+      case LLLNUM:
+        return new ISOVarCharsCodec(position, length, encoding, ISOLengthPrefix.LLL);
+      case LLLLVAR:
+      case LLLLNUM:
+        return new ISOVarCharsCodec(position, length, encoding, ISOLengthPrefix.LLLL);
+      case BINARY:
+        return new ISOFixedBinaryCodec(position, length, getBinaryEncoding());
+      case LLBIN:
+        return new ISOVarBinaryCodec(position, length, ISOLengthPrefix.LL, getBinaryEncoding(),
+            encoding);
+      case LLLBIN:
+        return new ISOVarBinaryCodec(position, length, ISOLengthPrefix.LLL, getBinaryEncoding(),
+            encoding);
+      case LLLLBIN:
+        return new ISOVarBinaryCodec(position, length, ISOLengthPrefix.LLLL, getBinaryEncoding(),
+            encoding);
+      default:
+        throw new ISOPackageException("Position '%s'. Value type '%s' is not supported!", position,
+            schema.getValueType());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Writes the message type indicator only, the packagers with the additional headers override
+   * this method as well.
+   */
+  @Override
+  public void writeTo(ISOMessage message, Charset encoding, ByteBuf out) {
+    writeType(message.getType(), encoding, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Reads the message type indicator only, the packagers with the additional headers override
+   * this method as well.
+   */
+  @Override
+  public ISOMessage readFrom(ByteBuf in, Charset encoding) {
+    return ISOMessage.builder().type(readType(in, encoding)).build();
+  }
+
+  /**
+   * Writes the message type indicator as 4 ASCII digits.
+   *
+   * @param type message type to write
+   * @param out  buffer to write into
+   * @throws ISOPackageException if message type is generic
+   */
+  public void writeType(MessageType type, ByteBuf out) throws ISOPackageException {
+    writeType(type, US_ASCII, out);
+  }
+
+  /**
+   * Writes the message type indicator as 4 digits of the charset, e.g. EBCDIC digits for
+   * {@code IBM037}.
+   *
+   * @param type     message type to write
+   * @param encoding charset of the message schema
+   * @param out      buffer to write into
+   * @throws ISOPackageException if message type is generic
+   */
+  @Override
+  public void writeType(MessageType type, Charset encoding, ByteBuf out)
+      throws ISOPackageException {
+    if (type.isGeneric()) {
+      throw new ISOPackageException("Message type '%s' is not complete!", type.toMTIString());
+    }
+    // Digits of the charset are consecutive, so every ASCII digit is shifted by the same offset
+    out.writeInt(type.getMtiAscii() + (ISODigits.zeroOf(encoding) - ISODigits.ASCII_ZERO)
+        * DIGIT_BYTES);
+  }
+
+  /**
+   * Reads the message type indicator from 4 ASCII digits.
+   *
+   * @param in buffer to read from
+   * @return read message type
+   * @throws ISOPackageException if the buffer doesn't contain the whole message type indicator
+   */
+  public MessageType readType(ByteBuf in) throws ISOPackageException {
+    return readType(in, US_ASCII);
+  }
+
+  /**
+   * Reads the message type indicator from 4 digits of the charset, e.g. EBCDIC digits for
+   * {@code IBM037}.
+   *
+   * @param in       buffer to read from
+   * @param encoding charset of the message schema
+   * @return read message type
+   * @throws ISOPackageException if the buffer doesn't contain the whole message type indicator
+   */
+  @Override
+  public MessageType readType(ByteBuf in, Charset encoding) throws ISOPackageException {
+    if (in.readableBytes() < MTI_LENGTH) {
+      throw new ISOPackageException("MTI header is missing!");
+    }
+    final int offset = ISODigits.zeroOf(encoding) - ISODigits.ASCII_ZERO;
+    final int mti = in.readInt();
+    if (offset == 0) {
+      return MessageType.fromMTIAscii(mti);
+    }
+    int mtiAscii = 0;
+    for (int shift = 24; shift >= 0; shift -= 8) {
+      // The byte out of the charset digits is shifted out of the ASCII digits as well
+      mtiAscii = mtiAscii << 8 | ((mti >>> shift) - offset) & 0xFF;
+    }
+    return MessageType.fromMTIAscii(mtiAscii);
+  }
+}
@@ -15,7 +15,14 @@
  */
 package com.dharbuzov.iso8583.packager;
 
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.schema.ISOFieldSchema;
+import com.dharbuzov.iso8583.packager.codec.ISOFieldCodec;
+
+import io.netty.buffer.ByteBuf;
 
 /**
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
@@ -25,4 +32,34 @@ public interface ISOFieldPackager {
   byte[] pack(ISOMessage message);
 
   ISOMessage unpack(byte[] msgBytes);
+
+  /**
+   * Packs the message straight into the provided buffer, without any intermediate byte arrays.
+   *
+   * @param message message to pack
+   * @param out     buffer to write the packed message into
+   */
+  void writeTo(ISOMessage message, ByteBuf out);
+
+  /**
+   * Unpacks the message straight from the readable bytes of the provided buffer, without any
+   * intermediate byte arrays. The reader index of the buffer is moved by the number of bytes read.
+   *
+   * @param in buffer to read the message from
+   * @return unpacked message
+   */
+  ISOMessage readFrom(ByteBuf in);
+
+  /**
+   * Creates the codec of the field, with all the field schema properties resolved. It's called
+   * once per field when the message schema is compiled, not on every pack or unpack.
+   *
+   * @param position field position
+   * @param schema   field schema
+   * @param encoding encoding of the messages
+   * @return field codec
+   * @throws ISOPackageException if the field schema is not supported by the packager
+   */
+  ISOFieldCodec createFieldCodec(int position, ISOFieldSchema schema, Charset encoding)
+      throws ISOPackageException;
 }
@@ -15,7 +15,14 @@
  */
 package com.dharbuzov.iso8583.packager;
 
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.packager.codec.ISOBinaryEncoding;
+
+import io.netty.buffer.ByteBuf;
 
 /**
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
@@ -25,4 +32,98 @@ public interface ISOMessagePackager {
   byte[] pack(ISOMessage message);
 
   ISOMessage unpack(byte[] msgBytes);
+
+  /**
+   * Packs the message straight into the provided buffer, without any intermediate byte arrays.
+   *
+   * @param message message to pack
+   * @param out     buffer to write the packed message into
+   */
+  void writeTo(ISOMessage message, ByteBuf out);
+
+  /**
+   * Unpacks the message straight from the readable bytes of the provided buffer, without any
+   * intermediate byte arrays. The reader index of the buffer is moved by the number of bytes read.
+   *
+   * @param in buffer to read the message from
+   * @return unpacked message
+   */
+  ISOMessage readFrom(ByteBuf in);
+
+  /**
+   * Writes the message type indicator into the buffer.
+   *
+   * @param type message type to write
+   * @param out  buffer to write into
+   * @throws ISOPackageException if message type is generic
+   */
+  void writeType(MessageType type, ByteBuf out) throws ISOPackageException;
+
+  /**
+   * Reads the message type indicator from the buffer. The reader index of the buffer is moved by
+   * the number of bytes read.
+   *
+   * @param in buffer to read from
+   * @return read message type
+   * @throws ISOPackageException if the buffer doesn't contain the whole message type indicator
+   */
+  MessageType readType(ByteBuf in) throws ISOPackageException;
+
+  /**
+   * Packs the message header into the provided buffer, the digits are encoded with the charset of
+   * the message schema. By default, the charset is ignored.
+   *
+   * @param message  message to pack
+   * @param encoding charset of the message schema
+   * @param out      buffer to write the packed message into
+   */
+  default void writeTo(ISOMessage message, Charset encoding, ByteBuf out) {
+    writeTo(message, out);
+  }
+
+  /**
+   * Unpacks the message header from the provided buffer, the digits are decoded with the charset
+   * of the message schema. By default, the charset is ignored.
+   *
+   * @param in       buffer to read the message from
+   * @param encoding charset of the message schema
+   * @return unpacked message
+   */
+  default ISOMessage readFrom(ByteBuf in, Charset encoding) {
+    return readFrom(in);
+  }
+
+  /**
+   * Writes the message type indicator into the buffer, the digits are encoded with the charset of
+   * the message schema. By default, the charset is ignored.
+   *
+   * @param type     message type to write
+   * @param encoding charset of the message schema
+   * @param out      buffer to write into
+   * @throws ISOPackageException if message type is generic
+   */
+  default void writeType(MessageType type, Charset encoding, ByteBuf out)
+      throws ISOPackageException {
+    writeType(type, out);
+  }
+
+  /**
+   * Reads the message type indicator from the buffer, the digits are decoded with the charset of
+   * the message schema. By default, the charset is ignored.
+   *
+   * @param in       buffer to read from
+   * @param encoding charset of the message schema
+   * @return read message type
+   * @throws ISOPackageException if the buffer doesn't contain the whole message type indicator
+   */
+  default MessageType readType(ByteBuf in, Charset encoding) throws ISOPackageException {
+    return readType(in);
+  }
+
+  /**
+   * Returns the encoding of the binary data written by this packager, like bitmaps.
+   *
+   * @return binary encoding
+   */
+  ISOBinaryEncoding getBinaryEncoding();
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import java.nio.charset.Charset;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Base class of the character field codecs, which writes and reads the field chars with the
+ * charset of the message schema. The EBCDIC charsets are translated by {@link ISOEbcdic} tables
+ * instead of the charset encoders.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public abstract class ISOBaseCharsCodec extends ISOBaseFieldCodec {
+
+  /* Charset of the field value */
+  protected final Charset charset;
+
+  /* Translation tables of the EBCDIC charset, null for the other charsets */
+  @EqualsAndHashCode.Exclude
+  private final ISOEbcdic ebcdic;
+
+  /**
+   * Constructor.
+   *
+   * @param position field position
+   * @param length   field length
+   * @param charset  charset of the field value
+   */
+  protected ISOBaseCharsCodec(int position, int length, Charset charset) {
+    super(position, length);
+    this.charset = charset;
+    this.ebcdic = ISOEbcdic.forCharset(charset);
+  }
+
+  /**
+   * Writes the chars into the buffer.
+   *
+   * @param value chars to write
+   * @param out   buffer to write into
+   * @return number of written bytes
+   */
+  protected int writeChars(CharSequence value, ByteBuf out) {
+    return ebcdic != null ? ebcdic.write(value, out) : out.writeCharSequence(value, charset);
+  }
+
+  /**
+   * Reads the chars from the buffer.
+   *
+   * @param in     buffer to read from
+   * @param length number of bytes to read
+   * @return read string
+   */
+  protected String readChars(ByteBuf in, int length) {
+    if (ebcdic != null) {
+      return ebcdic.read(in, length);
+    }
+    return in.readCharSequence(length, charset).toString();
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Base class of the field codecs, which holds the resolved position and length of the field.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Getter
+@EqualsAndHashCode
+@AllArgsConstructor
+public abstract class ISOBaseFieldCodec implements ISOFieldCodec {
+
+  /* Position of the field in the message */
+  protected final int position;
+
+  /* Fixed length of the field or maximum length for the variable length fields */
+  protected final int length;
+
+  /**
+   * Validates that the buffer has enough readable bytes to decode the field.
+   *
+   * @param in     buffer to validate
+   * @param length required number of bytes
+   * @throws ISOPackageException if buffer has fewer readable bytes than required
+   */
+  protected void checkReadable(ByteBuf in, int length) throws ISOPackageException {
+    if (in.readableBytes() < length) {
+      throw new ISOPackageException(
+          "Position '%s'. Field requires '%s' bytes, but only '%s' bytes are available!", position,
+          length, in.readableBytes());
+    }
+  }
+
+  /**
+   * Validates that the encoded length of the value is not bigger than the field length.
+   *
+   * @param valueLength encoded length of the value
+   * @throws ISOPackageException if value is longer than the field
+   */
+  protected void checkLength(int valueLength) throws ISOPackageException {
+    if (valueLength > length) {
+      throw new ISOPackageException(
+          "Position '%s'. Value length '%s' is bigger than field length '%s'!", position,
+          valueLength, length);
+    }
+  }
+
+  /**
+   * Returns the binary value of the field.
+   *
+   * @param value field value
+   * @return binary value
+   * @throws ISOPackageException if the value is not a byte array
+   */
+  protected byte[] toBytes(Object value) throws ISOPackageException {
+    if (!(value instanceof byte[])) {
+      throw new ISOPackageException("Position '%s'. Binary field value should be a byte array!",
+          position);
+    }
+    return (byte[]) value;
+  }
+}
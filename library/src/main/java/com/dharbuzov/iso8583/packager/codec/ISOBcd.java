@@ -0,0 +1,253 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Table driven conversion between packed BCD bytes, two decimal digits per byte, and numeric values
+ * or ASCII digits. Values are written to and read from the buffers directly without any
+ * intermediate {@link String}.
+ * <p>
+ * Odd number of digits takes the whole number of bytes, the remaining nibble is the padding one. It
+ * is written as zero and ignored while reading, so hosts which pad with {@code F} are supported.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ISOBcd {
+
+  /* BCD byte of every two digits value */
+  private static final byte[] BYTES = new byte[100];
+
+  /* Two digits value of every BCD byte, -1 if byte contains non decimal nibble */
+  private static final byte[] VALUES = new byte[256];
+
+  /* Both ASCII digits of every BCD byte packed into a short, zero if byte is not valid BCD */
+  private static final short[] CHARS = new short[256];
+
+  static {
+    for (int i = 0; i < VALUES.length; i++) {
+      VALUES[i] = -1;
+    }
+    for (int i = 0; i < BYTES.length; i++) {
+      final int bcd = (i / 10) << 4 | i % 10;
+      BYTES[i] = (byte) bcd;
+      VALUES[bcd] = (byte) i;
+      CHARS[bcd] = (short) (('0' + i / 10) << 8 | '0' + i % 10);
+    }
+  }
+
+  /**
+   * Returns the number of bytes taken by the digits.
+   *
+   * @param digits number of digits
+   * @return number of BCD bytes
+   */
+  public static int size(int digits) {
+    return (digits + 1) >>> 1;
+  }
+
+  /**
+   * Returns the BCD byte of the two digits value.
+   *
+   * @param value value in range {@code 0..99}
+   * @return BCD byte
+   */
+  public static byte toByte(int value) {
+    return BYTES[value];
+  }
+
+  /**
+   * Returns the two digits value of the BCD byte.
+   *
+   * @param bcd BCD byte
+   * @return value in range {@code 0..99} or {@code -1} if byte contains non decimal nibble
+   */
+  public static int toValue(byte bcd) {
+    return VALUES[bcd & 0xFF];
+  }
+
+  /**
+   * Writes the long value as the given number of BCD digits, value is left padded with zeros.
+   *
+   * @param value       not negative value
+   * @param digits      number of digits
+   * @param leftPadding {@code true} if padding nibble of odd number of digits is the first one,
+   *                    otherwise it's the last one
+   * @param out         buffer to write into
+   * @return {@code true} if value is written, {@code false} if value doesn't fit to the digits
+   */
+  static boolean writeLong(long value, int digits, boolean leftPadding, ByteBuf out) {
+    final int size = size(digits);
+    final boolean shift = (digits & 1) != 0 && !leftPadding;
+    if (shift && value > Long.MAX_VALUE / 10) {
+      return false;
+    }
+    out.ensureWritable(size);
+    final int index = out.writerIndex();
+    long remainder = shift ? value * 10 : value;
+    int pair = 0;
+    for (int i = index + size - 1; i >= index; i--) {
+      pair = (int) (remainder % 100);
+      out.setByte(i, BYTES[pair]);
+      remainder /= 100;
+    }
+    if (remainder != 0 || ((digits & 1) != 0 && leftPadding && pair > 9)) {
+      return false;
+    }
+    out.writerIndex(index + size);
+    return true;
+  }
+
+  /**
+   * Reads the long value from the given number of BCD digits.
+   *
+   * @param in          buffer to read from, it's expected to have enough readable bytes
+   * @param digits      number of digits
+   * @param leftPadding {@code true} if padding nibble of odd number of digits is the first one,
+   *                    otherwise it's the last one
+   * @return read value
+   * @throws ISOPackageException if digits are not valid BCD or value doesn't fit into the long
+   */
+  static long readLong(ByteBuf in, int digits, boolean leftPadding) throws ISOPackageException {
+    final boolean odd = (digits & 1) != 0;
+    final int index = in.readerIndex();
+    int from = index;
+    int to = index + size(digits);
+    long value = 0;
+    if (odd && leftPadding) {
+      value = lowNibble(in, from++);
+    } else if (odd) {
+      to--;
+    }
+    final boolean overflow = digits > 18;
+    for (int i = from; i < to; i++) {
+      final int pair = VALUES[in.getByte(i) & 0xFF];
+      if (pair < 0) {
+        throw new ISOPackageException("BCD digits contain non decimal nibble at byte '%s'!",
+            i - index);
+      }
+      if (overflow && value > (Long.MAX_VALUE - pair) / 100) {
+        throw new ISOPackageException("BCD digits don't fit into the long!");
+      }
+      value = value * 100 + pair;
+    }
+    if (odd && !leftPadding) {
+      final int digit = highNibble(in, to);
+      if (overflow && value > (Long.MAX_VALUE - digit) / 10) {
+        throw new ISOPackageException("BCD digits don't fit into the long!");
+      }
+      value = value * 10 + digit;
+    }
+    in.readerIndex(index + size(digits));
+    return value;
+  }
+
+  /**
+   * Writes the ASCII digits as BCD, the digits are validated and packed in the same pass.
+   *
+   * @param value       ASCII digits
+   * @param digits      number of digits to write, value is left padded with zeros up to it
+   * @param leftPadding {@code true} if padding nibble of odd number of digits is the first one,
+   *                    otherwise it's the last one
+   * @param out         buffer to write into
+   * @return {@code true} if value is written, {@code false} if value contains non digit chars
+   */
+  static boolean writeDigits(CharSequence value, int digits, boolean leftPadding, ByteBuf out) {
+    final int size = size(digits);
+    final int lead = (leftPadding ? size << 1 : digits) - value.length();
+    out.ensureWritable(size);
+    final int index = out.writerIndex();
+    for (int i = 0; i < size; i++) {
+      final int high = digitAt(value, (i << 1) - lead);
+      final int low = digitAt(value, (i << 1) + 1 - lead);
+      if (high < 0 || low < 0) {
+        return false;
+      }
+      out.setByte(index + i, BYTES[high * 10 + low]);
+    }
+    out.writerIndex(index + size);
+    return true;
+  }
+
+  /**
+   * Reads the given number of BCD digits as ASCII digits.
+   *
+   * @param in          buffer to read from, it's expected to have enough readable bytes
+   * @param digits      number of digits
+   * @param leftPadding {@code true} if padding nibble of odd number of digits is the first one,
+   *                    otherwise it's the last one
+   * @return ASCII digits
+   * @throws ISOPackageException if digits are not valid BCD
+   */
+  static byte[] readDigits(ByteBuf in, int digits, boolean leftPadding)
+      throws ISOPackageException {
+    final boolean odd = (digits & 1) != 0;
+    final byte[] chars = new byte[digits];
+    final int index = in.readerIndex();
+    int from = index;
+    int to = index + size(digits);
+    int offset = 0;
+    if (odd && leftPadding) {
+      chars[offset++] = (byte) ('0' + lowNibble(in, from++));
+    } else if (odd) {
+      to--;
+    }
+    for (int i = from; i < to; i++, offset += 2) {
+      final short pair = CHARS[in.getByte(i) & 0xFF];
+      if (pair == 0) {
+        throw new ISOPackageException("BCD digits contain non decimal nibble at byte '%s'!",
+            i - index);
+      }
+      chars[offset] = (byte) (pair >>> 8);
+      chars[offset + 1] = (byte) pair;
+    }
+    if (odd && !leftPadding) {
+      chars[offset] = (byte) ('0' + highNibble(in, to));
+    }
+    in.readerIndex(index + size(digits));
+    return chars;
+  }
+
+  private static int digitAt(CharSequence value, int index) {
+    if (index < 0 || index >= value.length()) {
+      return 0;
+    }
+    final int digit = value.charAt(index) - '0';
+    return digit >= 0 && digit <= 9 ? digit : -1;
+  }
+
+  private static int lowNibble(ByteBuf in, int index) throws ISOPackageException {
+    return checkNibble(in.getByte(index) & 0x0F, in, index);
+  }
+
+  private static int highNibble(ByteBuf in, int index) throws ISOPackageException {
+    return checkNibble(in.getByte(index) >>> 4 & 0x0F, in, index);
+  }
+
+  private static int checkNibble(int nibble, ByteBuf in, int index) throws ISOPackageException {
+    if (nibble > 9) {
+      throw new ISOPackageException("BCD digits contain non decimal nibble at byte '%s'!",
+          index - in.readerIndex());
+    }
+    return nibble;
+  }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Enum which represents the way how binary data (bitmaps and binary fields) is represented on the
+ * wire.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public enum ISOBinaryEncoding {
+  /**
+   * Binary data is written as is.
+   */
+  RAW {
+    @Override
+    public int encodedLength(int length) {
+      return length;
+    }
+
+    @Override
+    public void write(byte[] value, ByteBuf out) {
+      out.writeBytes(value);
+    }
+
+    @Override
+    public byte[] read(ByteBuf in, int length) {
+      final byte[] value = new byte[length];
+      in.readBytes(value);
+      return value;
+    }
+
+    @Override
+    public void writeLong(long value, ByteBuf out) {
+      out.writeLong(value);
+    }
+
+    @Override
+    public long readLong(ByteBuf in) {
+      return in.readLong();
+    }
+  },
+
+  /**
+   * Binary data is written as upper case hex string, each byte takes 2 chars.
+   */
+  HEX {
+    @Override
+    public int encodedLength(int length) {
+      return length << 1;
+    }
+
+    @Override
+    public void write(byte[] value, ByteBuf out) {
+      ISOHex.write(value, out);
+    }
+
+    @Override
+    public byte[] read(ByteBuf in, int length) {
+      return ISOHex.read(in, length);
+    }
+
+    @Override
+    public void writeLong(long value, ByteBuf out) {
+      ISOHex.writeLong(value, out);
+    }
+
+    @Override
+    public long readLong(ByteBuf in) {
+      return ISOHex.readLong(in);
+    }
+  };
+
+  /**
+   * Returns the number of bytes which are required on the wire to represent the binary data.
+   *
+   * @param length length of the binary data
+   * @return encoded length
+   */
+  public abstract int encodedLength(int length);
+
+  /**
+   * Writes the binary data into the buffer.
+   *
+   * @param value binary data
+   * @param out   buffer to write into
+   */
+  public abstract void write(byte[] value, ByteBuf out);
+
+  /**
+   * Reads the binary data from the buffer.
+   *
+   * @param in     buffer to read from
+   * @param length length of the binary data (not the encoded one)
+   * @return read binary data
+   */
+  public abstract byte[] read(ByteBuf in, int length);
+
+  /**
+   * Writes 8 bytes of binary data represented by long value in big-endian order.
+   *
+   * @param value binary data
+   * @param out   buffer to write into
+   */
+  public abstract void writeLong(long value, ByteBuf out);
+
+  /**
+   * Reads 8 bytes of binary data as long value in big-endian order.
+   *
+   * @param in buffer to read from
+   * @return read binary data
+   */
+  public abstract long readLong(ByteBuf in);
+}
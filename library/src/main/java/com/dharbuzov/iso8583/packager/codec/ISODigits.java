@@ -0,0 +1,70 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Encoded decimal digits of the charsets, which are used to write the length prefixes and the
+ * message type indicator in the charset of the message, e.g. {@code 0xF0..0xF9} for EBCDIC and
+ * {@code 0x30..0x39} for ASCII compatible charsets. The digits are written and read by adding the
+ * encoded {@code '0'} digit, so no {@link Charset} encoder is involved.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ISODigits {
+
+  /** Encoded {@code '0'} digit of the ASCII compatible charsets. */
+  public static final int ASCII_ZERO = '0';
+
+  /* Encoded '0' digit of the charsets */
+  private static final Map<Charset, Integer> ZEROS = new ConcurrentHashMap<>();
+
+  /**
+   * Returns the encoded {@code '0'} digit of the charset. The charsets which don't encode the
+   * digits as consecutive single bytes are treated as ASCII compatible ones.
+   *
+   * @param charset charset of the message
+   * @return encoded {@code '0'} digit
+   */
+  public static int zeroOf(Charset charset) {
+    if (charset == null || US_ASCII.equals(charset)) {
+      return ASCII_ZERO;
+    }
+    return ZEROS.computeIfAbsent(charset, ISODigits::encodeZero);
+  }
+
+  private static int encodeZero(Charset charset) {
+    final byte[] digits = "0123456789".getBytes(charset);
+    if (digits.length != 10) {
+      return ASCII_ZERO;
+    }
+    for (int i = 1; i < digits.length; i++) {
+      if ((digits[i] & 0xFF) != (digits[0] & 0xFF) + i) {
+        return ASCII_ZERO;
+      }
+    }
+    return digits[0] & 0xFF;
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Table driven translation between the single byte EBCDIC charset (e.g. {@code IBM037},
+ * {@code IBM1047}) and ISO 8859-1 chars. Values are written as ISO 8859-1 bytes and translated in
+ * place in the output buffer, so the field codecs don't go through {@link Charset} encoders.
+ * <p>
+ * Tables are built once per charset from the charset itself, so the translation is the same as
+ * the charset one. Only the charsets which map every byte to the ISO 8859-1 char and every
+ * ISO 8859-1 char to the single byte are supported, others are encoded by the {@link Charset} as
+ * usual.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public final class ISOEbcdic {
+
+  /* Tables of the charsets, the ones without translation are cached as well */
+  private static final Map<Charset, ISOEbcdic> TABLES = new ConcurrentHashMap<>();
+
+  /* Encoded '0' digit of the EBCDIC charsets */
+  private static final int EBCDIC_ZERO = 0xF0;
+
+  /* EBCDIC byte of every ISO 8859-1 char */
+  private final byte[] encode = new byte[256];
+
+  /* ISO 8859-1 char of every EBCDIC byte */
+  private final byte[] decode = new byte[256];
+
+  /* Flag which indicates that the charset is EBCDIC and could be translated by the tables */
+  private final boolean supported;
+
+  private ISOEbcdic(Charset charset) {
+    final byte[] bytes = new byte[256];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    final String chars = new String(bytes, charset);
+    final byte[] encoded = new String(bytes, ISO_8859_1).getBytes(charset);
+    boolean supported = chars.length() == bytes.length && encoded.length == bytes.length
+        && chars.charAt(EBCDIC_ZERO) == '0';
+    for (int i = 0; supported && i < bytes.length; i++) {
+      supported = chars.charAt(i) < decode.length;
+      decode[i] = (byte) chars.charAt(i);
+      encode[i] = encoded[i];
+    }
+    this.supported = supported;
+  }
+
+  /**
+   * Returns the translation tables of the charset.
+   *
+   * @param charset charset of the field values
+   * @return translation tables or {@code null} if the charset is not the supported EBCDIC one
+   */
+  public static ISOEbcdic forCharset(Charset charset) {
+    final ISOEbcdic ebcdic = TABLES.computeIfAbsent(charset, ISOEbcdic::new);
+    return ebcdic.supported ? ebcdic : null;
+  }
+
+  /**
+   * Writes the chars into the buffer as EBCDIC bytes. Chars which are out of ISO 8859-1 are
+   * written as {@code '?'}.
+   *
+   * @param value chars to write
+   * @param out   buffer to write into
+   * @return number of written bytes
+   */
+  public int write(CharSequence value, ByteBuf out) {
+    final int index = out.writerIndex();
+    final int length = out.writeCharSequence(value, ISO_8859_1);
+    if (out.hasArray()) {
+      final byte[] array = out.array();
+      final int offset = out.arrayOffset() + index;
+      for (int i = offset; i < offset + length; i++) {
+        array[i] = encode[array[i] & 0xFF];
+      }
+    } else {
+      for (int i = index; i < index + length; i++) {
+        out.setByte(i, encode[out.getByte(i) & 0xFF]);
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Reads the EBCDIC bytes from the buffer as string.
+   *
+   * @param in     buffer to read from
+   * @param length number of bytes to read
+   * @return read string
+   */
+  public String read(ByteBuf in, int length) {
+    final byte[] bytes = new byte[length];
+    in.readBytes(bytes);
+    for (int i = 0; i < length; i++) {
+      bytes[i] = decode[bytes[i] & 0xFF];
+    }
+    return new String(bytes, ISO_8859_1);
+  }
+}
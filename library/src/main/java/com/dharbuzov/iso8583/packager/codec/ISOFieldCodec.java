@@ -0,0 +1,66 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Pre-compiled encoder and decoder of the single field. Codecs are created once per field of the
+ * message schema with all the schema properties (length, length prefix, padding, charset)
+ * resolved upfront, so encoding and decoding don't have to interpret the schema anymore.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public interface ISOFieldCodec {
+
+  /**
+   * Returns the position of the field in the message, which current codec is compiled for.
+   *
+   * @return field position
+   */
+  int getPosition();
+
+  /**
+   * Encodes the field value into the buffer.
+   *
+   * @param value value to encode
+   * @param out   buffer to write the encoded value into
+   * @throws ISOPackageException if the value doesn't fit to the field schema
+   */
+  void encode(Object value, ByteBuf out) throws ISOPackageException;
+
+  /**
+   * Decodes the field value from the buffer. The reader index of the buffer is moved by the number
+   * of bytes read.
+   *
+   * @param in buffer to read the value from
+   * @return decoded value
+   * @throws ISOPackageException if the buffer doesn't contain the valid field value
+   */
+  Object decode(ByteBuf in) throws ISOPackageException;
+
+  /**
+   * Skips the encoded field in the buffer without decoding its value. Only the length prefix is
+   * read if the field has variable length. The reader index of the buffer is moved by the number of
+   * bytes of the encoded field.
+   *
+   * @param in buffer to skip the field in
+   * @throws ISOPackageException if the buffer doesn't contain the whole field
+   */
+  void skip(ByteBuf in) throws ISOPackageException;
+}
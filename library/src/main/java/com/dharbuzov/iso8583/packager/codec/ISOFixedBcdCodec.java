@@ -0,0 +1,113 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Codec of the fixed length numeric fields packed as BCD, two digits per byte. The field length is
+ * measured in digits, values shorter than the field length are left padded with zeros. Odd number
+ * of digits is aligned to the whole bytes with the padding nibble, which is either the first or the
+ * last one.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public class ISOFixedBcdCodec extends ISOBaseFieldCodec implements ISONumericFieldCodec {
+
+  private final boolean leftPadding;
+
+  /**
+   * Constructor.
+   *
+   * @param position    field position
+   * @param length      field length in digits
+   * @param leftPadding {@code true} if padding nibble of odd length is the first one, otherwise
+   *                    it's the last one
+   */
+  public ISOFixedBcdCodec(int position, int length, boolean leftPadding) {
+    super(position, length);
+    this.leftPadding = leftPadding;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Integral number values are encoded the same way as {@link #encodeLong(long, ByteBuf)} does,
+   * other values are encoded from their decimal digits.
+   */
+  @Override
+  public void encode(Object value, ByteBuf out) throws ISOPackageException {
+    if (value instanceof Long || value instanceof Integer) {
+      encodeLong(((Number) value).longValue(), out);
+      return;
+    }
+    final CharSequence digits =
+        value instanceof CharSequence ? (CharSequence) value : value.toString();
+    checkLength(digits.length());
+    if (!ISOBcd.writeDigits(digits, length, leftPadding, out)) {
+      throw new ISOPackageException("Position '%s'. Numeric value contains non digit chars!",
+          position);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void encodeLong(long value, ByteBuf out) throws ISOPackageException {
+    if (value < 0) {
+      throw new ISOPackageException("Position '%s'. Numeric value '%s' is negative!", position,
+          value);
+    }
+    if (!ISOBcd.writeLong(value, length, leftPadding, out)) {
+      throw new ISOPackageException("Position '%s'. Numeric value '%s' exceeds field length '%s'!",
+          position, value, length);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object decode(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, ISOBcd.size(length));
+    return new String(ISOBcd.readDigits(in, length, leftPadding), US_ASCII);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long decodeLong(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, ISOBcd.size(length));
+    return ISOBcd.readLong(in, length, leftPadding);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void skip(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, ISOBcd.size(length));
+    in.skipBytes(ISOBcd.size(length));
+  }
+}
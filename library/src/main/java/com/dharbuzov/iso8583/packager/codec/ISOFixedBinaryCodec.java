@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Codec of the fixed length binary fields. The field length is measured in bytes of the binary
+ * value, the number of bytes on the wire depends on the {@link ISOBinaryEncoding}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public class ISOFixedBinaryCodec extends ISOBaseFieldCodec {
+
+  private final ISOBinaryEncoding encoding;
+
+  /**
+   * Constructor.
+   *
+   * @param position field position
+   * @param length   field length in bytes
+   * @param encoding binary encoding of the field value
+   */
+  public ISOFixedBinaryCodec(int position, int length, ISOBinaryEncoding encoding) {
+    super(position, length);
+    this.encoding = encoding;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void encode(Object value, ByteBuf out) throws ISOPackageException {
+    final byte[] bytes = toBytes(value);
+    if (bytes.length != length) {
+      throw new ISOPackageException("Position '%s'. Value length '%s' is not equal to '%s'!",
+          position, bytes.length, length);
+    }
+    encoding.write(bytes, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object decode(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, encoding.encodedLength(length));
+    return encoding.read(in, length);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void skip(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, encoding.encodedLength(length));
+    in.skipBytes(encoding.encodedLength(length));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Codec of the fixed length character fields (e.g. {@code ALPHA}, {@code NUMERIC}). Values shorter
+ * than the field length are padded with the padding char resolved from the value type: numeric
+ * values are left padded with zeros, alphanumeric values are right padded with spaces.
+ * <p>
+ * The field length is measured in chars, so the charset is expected to be a single byte one.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public class ISOFixedCharsCodec extends ISOBaseCharsCodec {
+
+  private final byte padding;
+  private final boolean leftPadding;
+
+  /**
+   * Constructor.
+   *
+   * @param position    field position
+   * @param length      field length
+   * @param charset     charset of the field value
+   * @param padding     char to pad the value with
+   * @param leftPadding {@code true} if value is left padded, otherwise it's right padded
+   */
+  public ISOFixedCharsCodec(int position, int length, Charset charset, char padding,
+      boolean leftPadding) {
+    super(position, length, charset);
+    this.padding = String.valueOf(padding).getBytes(charset)[0];
+    this.leftPadding = leftPadding;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void encode(Object value, ByteBuf out) throws ISOPackageException {
+    final String str = value.toString();
+    checkLength(str.length());
+    final int paddingLength = length - str.length();
+    if (leftPadding) {
+      writePadding(out, paddingLength);
+      writeChars(str, out);
+    } else {
+      writeChars(str, out);
+      writePadding(out, paddingLength);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object decode(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, length);
+    return readChars(in, length);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void skip(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, length);
+    in.skipBytes(length);
+  }
+
+  private void writePadding(ByteBuf out, int paddingLength) {
+    for (int i = 0; i < paddingLength; i++) {
+      out.writeByte(padding);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.util.NumberUtils;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Codec of the fixed length {@code NUMERIC} fields. Values are left padded with zeros, long values
+ * are formatted into the digits directly in the output buffer and parsed back from it, so the
+ * field never passes through {@link String}.
+ * <p>
+ * Digits of the charset are expected to be contiguous single bytes, as they are in ASCII and
+ * EBCDIC, so EBCDIC digits are converted to and from long values without any translation.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public class ISOFixedNumericCodec extends ISOFixedCharsCodec implements ISONumericFieldCodec {
+
+  /* Encoded '0' digit */
+  private final byte zero;
+
+  /**
+   * Constructor.
+   *
+   * @param position field position
+   * @param length   field length
+   * @param charset  charset of the field value
+   */
+  public ISOFixedNumericCodec(int position, int length, Charset charset) {
+    super(position, length, charset, '0', true);
+    this.zero = "0".getBytes(charset)[0];
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Integral number values are encoded the same way as {@link #encodeLong(long, ByteBuf)} does,
+   * other values are checked to contain only decimal digits before they are written.
+   */
+  @Override
+  public void encode(Object value, ByteBuf out) throws ISOPackageException {
+    if (value instanceof Long || value instanceof Integer) {
+      encodeLong(((Number) value).longValue(), out);
+    } else {
+      final String digits = value.toString();
+      checkDigits(digits);
+      super.encode(digits, out);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void encodeLong(long value, ByteBuf out) throws ISOPackageException {
+    if (value < 0) {
+      throw new ISOPackageException("Position '%s'. Numeric value '%s' is negative!", position,
+          value);
+    }
+    out.ensureWritable(length);
+    final int index = out.writerIndex();
+    long remainder = value;
+    for (int i = length - 1; i >= 0; i--) {
+      out.setByte(index + i, zero + (int) (remainder % 10));
+      remainder /= 10;
+    }
+    if (remainder != 0) {
+      throw new ISOPackageException("Position '%s'. Numeric value '%s' exceeds field length '%s'!",
+          position, value, length);
+    }
+    out.writerIndex(index + length);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public long decodeLong(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, length);
+    final int index = in.readerIndex();
+    long value = 0;
+    try {
+      for (int i = 0; i < length; i++) {
+        value = NumberUtils.appendDigit(position, value, in.getByte(index + i) - zero);
+      }
+    } catch (ISOException ex) {
+      throw new ISOPackageException(ex.getMessage());
+    }
+    in.readerIndex(index + length);
+    return value;
+  }
+
+  private void checkDigits(String digits) throws ISOPackageException {
+    for (int i = 0; i < digits.length(); i++) {
+      final char digit = digits.charAt(i);
+      if (digit < '0' || digit > '9') {
+        throw new ISOPackageException("Position '%s'. Numeric value contains non digit chars!",
+            position);
+      }
+    }
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Table driven conversion between binary data and upper case hex chars, written to and read from
+ * the buffers directly without any intermediate {@link String} or {@code char[]}. Lower case hex
+ * chars are accepted while reading.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ISOHex {
+
+  /* Hex digits in upper case */
+  private static final byte[] DIGITS = "0123456789ABCDEF".getBytes(US_ASCII);
+
+  /* Both hex chars of every byte value packed into a short, high nibble char first */
+  private static final short[] ENCODE = new short[256];
+
+  /* Nibble value of every ASCII char, -1 if char is not a hex one */
+  private static final byte[] DECODE = new byte[128];
+
+  static {
+    for (int i = 0; i < ENCODE.length; i++) {
+      ENCODE[i] = (short) (DIGITS[i >>> 4] << 8 | DIGITS[i & 0x0F]);
+    }
+    for (int i = 0; i < DECODE.length; i++) {
+      DECODE[i] = -1;
+    }
+    for (int i = 0; i < DIGITS.length; i++) {
+      DECODE[DIGITS[i]] = (byte) i;
+      DECODE[Character.toLowerCase(DIGITS[i])] = (byte) i;
+    }
+  }
+
+  /**
+   * Writes the binary data as hex chars into the buffer.
+   *
+   * @param value binary data
+   * @param out   buffer to write into
+   */
+  static void write(byte[] value, ByteBuf out) {
+    out.ensureWritable(value.length << 1);
+    int index = out.writerIndex();
+    for (byte b : value) {
+      out.setShort(index, ENCODE[b & 0xFF]);
+      index += 2;
+    }
+    out.writerIndex(index);
+  }
+
+  /**
+   * Returns the binary data as the string of hex chars, exactly as it's written into the buffer.
+   *
+   * @param value binary data
+   * @return upper case hex string
+   */
+  public static String toHexString(byte[] value) {
+    final byte[] chars = new byte[value.length << 1];
+    for (int i = 0; i < value.length; i++) {
+      final short encoded = ENCODE[value[i] & 0xFF];
+      chars[i << 1] = (byte) (encoded >>> 8);
+      chars[(i << 1) + 1] = (byte) encoded;
+    }
+    return new String(chars, US_ASCII);
+  }
+
+  /**
+   * Reads the binary data from the hex chars of the buffer.
+   *
+   * @param in     buffer to read from
+   * @param length length of the binary data, half of the hex chars count
+   * @return read binary data
+   * @throws ISOPackageException if the buffer contains non hex chars or is too short
+   */
+  static byte[] read(ByteBuf in, int length) throws ISOPackageException {
+    checkReadable(in, length << 1);
+    final int start = in.readerIndex();
+    final byte[] value = new byte[length];
+    int index = start;
+    for (int i = 0; i < length; i++, index += 2) {
+      final int chars = in.getUnsignedShort(index);
+      value[i] = (byte) (nibble(chars >>> 8, index - start) << 4
+                         | nibble(chars & 0xFF, index - start + 1));
+    }
+    in.readerIndex(index);
+    return value;
+  }
+
+  /**
+   * Writes 8 bytes of binary data represented by long value as 16 hex chars into the buffer.
+   *
+   * @param value binary data
+   * @param out   buffer to write into
+   */
+  static void writeLong(long value, ByteBuf out) {
+    out.ensureWritable(16);
+    final int index = out.writerIndex();
+    for (int i = 0; i < 8; i++) {
+      out.setShort(index + (i << 1), ENCODE[(int) (value >>> (56 - (i << 3))) & 0xFF]);
+    }
+    out.writerIndex(index + 16);
+  }
+
+  /**
+   * Reads 8 bytes of binary data as long value from 16 hex chars of the buffer.
+   *
+   * @param in buffer to read from
+   * @return read binary data
+   * @throws ISOPackageException if the buffer contains non hex chars or is too short
+   */
+  static long readLong(ByteBuf in) throws ISOPackageException {
+    checkReadable(in, 16);
+    final int start = in.readerIndex();
+    final long high = in.getLong(start);
+    final long low = in.getLong(start + 8);
+    long value = 0;
+    for (int i = 0; i < 8; i++) {
+      value = value << 4 | nibble((int) (high >>> (56 - (i << 3))) & 0xFF, i);
+    }
+    for (int i = 0; i < 8; i++) {
+      value = value << 4 | nibble((int) (low >>> (56 - (i << 3))) & 0xFF, i + 8);
+    }
+    in.readerIndex(start + 16);
+    return value;
+  }
+
+  private static void checkReadable(ByteBuf in, int length) throws ISOPackageException {
+    if (in.readableBytes() < length) {
+      throw new ISOPackageException("Expected '%s' hex chars, but only '%s' bytes are readable",
+          length, in.readableBytes());
+    }
+  }
+
+  private static int nibble(int ch, int position) throws ISOPackageException {
+    final int nibble = ch < DECODE.length ? DECODE[ch] : -1;
+    if (nibble < 0) {
+      throw new ISOPackageException("Binary data contains non hex char '%s' at position '%s'",
+          (char) ch, position);
+    }
+    return nibble;
+  }
+}
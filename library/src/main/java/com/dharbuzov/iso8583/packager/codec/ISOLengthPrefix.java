@@ -0,0 +1,168 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.Getter;
+
+/**
+ * Enum which represents the length prefix of the variable length fields, written either as the
+ * digits of the message charset or as packed BCD digits. The charset digits are given by the
+ * encoded {@code '0'} digit, see {@link ISODigits#zeroOf(java.nio.charset.Charset)}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Getter
+public enum ISOLengthPrefix {
+  /** 2-digit length prefix. */
+  LL(2, false),
+  /** 3-digit length prefix. */
+  LLL(3, false),
+  /** 4-digit length prefix. */
+  LLLL(4, false),
+  /** 2-digit length prefix packed into 1 BCD byte. */
+  BCD_LL(2, true),
+  /** 3-digit length prefix packed into 2 BCD bytes. */
+  BCD_LLL(3, true),
+  /** 4-digit length prefix packed into 2 BCD bytes. */
+  BCD_LLLL(4, true);
+
+  /* Number of digits in the prefix */
+  private final int digits;
+
+  /* Number of bytes taken by the prefix */
+  private final int size;
+
+  /* Flag which indicates that digits are packed BCD */
+  private final boolean bcd;
+
+  /* Maximum length which could be represented by the prefix */
+  private final int maxLength;
+
+  ISOLengthPrefix(int digits, boolean bcd) {
+    this.digits = digits;
+    this.size = bcd ? ISOBcd.size(digits) : digits;
+    this.bcd = bcd;
+    int maxLength = 1;
+    for (int i = 0; i < digits; i++) {
+      maxLength *= 10;
+    }
+    this.maxLength = maxLength - 1;
+  }
+
+  /**
+   * Writes the length prefix into the buffer as ASCII or BCD digits.
+   *
+   * @param out    buffer to write into
+   * @param length length to write
+   */
+  public void write(ByteBuf out, int length) {
+    write(out, length, ISODigits.ASCII_ZERO);
+  }
+
+  /**
+   * Writes the length prefix into the buffer.
+   *
+   * @param out    buffer to write into
+   * @param length length to write
+   * @param zero   encoded {@code '0'} digit of the message charset, ignored by BCD prefixes
+   */
+  public void write(ByteBuf out, int length, int zero) {
+    final int index = out.writerIndex();
+    out.writeZero(size);
+    set(out, index, length, zero);
+  }
+
+  /**
+   * Sets the length prefix at the given index of the buffer as ASCII or BCD digits, the writer
+   * index isn't modified.
+   *
+   * @param out    buffer to write into
+   * @param index  index of the first prefix byte
+   * @param length length to write
+   */
+  public void set(ByteBuf out, int index, int length) {
+    set(out, index, length, ISODigits.ASCII_ZERO);
+  }
+
+  /**
+   * Sets the length prefix at the given index of the buffer, the writer index isn't modified.
+   *
+   * @param out    buffer to write into
+   * @param index  index of the first prefix byte
+   * @param length length to write
+   * @param zero   encoded {@code '0'} digit of the message charset, ignored by BCD prefixes
+   */
+  public void set(ByteBuf out, int index, int length, int zero) {
+    if (bcd) {
+      for (int i = index + size - 1; i >= index; i--) {
+        out.setByte(i, ISOBcd.toByte(length % 100));
+        length /= 100;
+      }
+      return;
+    }
+    for (int i = index + digits - 1; i >= index; i--) {
+      out.setByte(i, zero + length % 10);
+      length /= 10;
+    }
+  }
+
+  /**
+   * Reads the length prefix from the buffer as ASCII or BCD digits.
+   *
+   * @param in buffer to read from
+   * @return read length
+   * @throws ISOPackageException if the buffer doesn't contain the valid length prefix
+   */
+  public int read(ByteBuf in) throws ISOPackageException {
+    return read(in, ISODigits.ASCII_ZERO);
+  }
+
+  /**
+   * Reads the length prefix from the buffer.
+   *
+   * @param in   buffer to read from
+   * @param zero encoded {@code '0'} digit of the message charset, ignored by BCD prefixes
+   * @return read length
+   * @throws ISOPackageException if the buffer doesn't contain the valid length prefix
+   */
+  public int read(ByteBuf in, int zero) throws ISOPackageException {
+    if (in.readableBytes() < size) {
+      throw new ISOPackageException("Length prefix '%s' is missing!", name());
+    }
+    int length = 0;
+    if (bcd) {
+      for (int i = 0; i < size; i++) {
+        final int pair = ISOBcd.toValue(in.readByte());
+        if (pair < 0) {
+          throw new ISOPackageException("Length prefix '%s' contains non decimal nibble!", name());
+        }
+        length = length * 100 + pair;
+      }
+      return length;
+    }
+    for (int i = 0; i < digits; i++) {
+      final int digit = (in.readByte() & 0xFF) - zero;
+      if (digit < 0 || digit > 9) {
+        throw new ISOPackageException("Length prefix '%s' contains non digit char!", name());
+      }
+      length = length * 10 + digit;
+    }
+    return length;
+  }
+}
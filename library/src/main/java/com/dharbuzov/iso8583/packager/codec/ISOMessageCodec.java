@@ -0,0 +1,454 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static com.dharbuzov.iso8583.model.schema.ISOMessageSchema.FIELDS_SIZE;
+
+import java.util.Arrays;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.mapping.ISOMessageMapper;
+import com.dharbuzov.iso8583.model.ISOBitmap;
+import com.dharbuzov.iso8583.model.ISOField;
+import com.dharbuzov.iso8583.model.ISOFieldIndex;
+import com.dharbuzov.iso8583.model.ISOMessage;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+
+/**
+ * Compiled plan of the single {@link com.dharbuzov.iso8583.model.schema.ISOMessageSchema}. Holds
+ * the flat array of field codecs indexed by field position, so packing and unpacking of the fields
+ * is a loop over the bits set in the {@link ISOBitmap} words, without any schema lookups. The cost
+ * depends on the number of present fields, not on the number of possible positions.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOMessageCodec {
+
+  /* Number of bytes in the primary or secondary bitmap */
+  public static final int BITMAP_LENGTH = 8;
+
+  /* Bit of the bitmap word which indicates presence of the next bitmap */
+  private static final long INDICATOR_BIT = 1L;
+
+  private final ISOFieldCodec[] codecs;
+  private final Object[] defaults;
+  private final ISOBinaryEncoding bitmapEncoding;
+  /* Bitmap words of the fields defined in the schema */
+  private final long[] definedWords = new long[ISOBitmap.WORDS];
+  /* Bitmap words of the fields which have default values */
+  private final long[] defaultWords = new long[ISOBitmap.WORDS];
+  /* The last codec found compatible with the current one, caches the comparison of field codecs */
+  private volatile ISOMessageCodec compatibleCodec;
+
+  /**
+   * Constructor.
+   *
+   * @param codecs         field codecs indexed by field position
+   * @param defaults       default field values indexed by field position
+   * @param bitmapEncoding encoding of the bitmaps
+   */
+  public ISOMessageCodec(ISOFieldCodec[] codecs, Object[] defaults,
+      ISOBinaryEncoding bitmapEncoding) {
+    this.codecs = new ISOFieldCodec[FIELDS_SIZE];
+    this.defaults = new Object[FIELDS_SIZE];
+    System.arraycopy(codecs, 0, this.codecs, 0, Math.min(codecs.length, FIELDS_SIZE));
+    System.arraycopy(defaults, 0, this.defaults, 0, Math.min(defaults.length, FIELDS_SIZE));
+    this.bitmapEncoding = bitmapEncoding;
+    for (int position = 2; position < FIELDS_SIZE; position++) {
+      if (position == ISOBitmap.TERTIARY_BITMAP || this.codecs[position] == null) {
+        continue;
+      }
+      definedWords[(position - 1) >>> 6] |= 1L << (position - 1);
+      if (this.defaults[position] != null) {
+        defaultWords[(position - 1) >>> 6] |= 1L << (position - 1);
+      }
+    }
+  }
+
+  /**
+   * Returns the codec of the field.
+   *
+   * @param position field position
+   * @return field codec or {@code null} if field is not defined in the message schema
+   */
+  public ISOFieldCodec getFieldCodec(int position) {
+    return codecs[position];
+  }
+
+  /**
+   * Writes the bitmaps and all the present fields of the message into the buffer. Fields which are
+   * not set in the message but have the default value in the schema are written as well, unless
+   * they are removed from the message, see {@link ISOMessage#removeField(int)}. The secondary and
+   * tertiary bitmaps are written only if there are fields present in them.
+   *
+   * @param message message to write
+   * @param out     buffer to write into
+   * @throws ISOPackageException if message has field which is not defined in the schema
+   */
+  public void writeFields(ISOMessage message, ByteBuf out) throws ISOPackageException {
+    final ISOBitmap bitmap = message.getBitmap();
+    final ISOBitmap removed = message.getRemovedFields();
+    final long primary =
+        (bitmap.getWord(0) | defaultWords[0] & ~removed.getWord(0)) & ~INDICATOR_BIT;
+    final long secondary =
+        (bitmap.getWord(1) | defaultWords[1] & ~removed.getWord(1)) & ~INDICATOR_BIT;
+    final long tertiary = bitmap.getWord(2) | defaultWords[2] & ~removed.getWord(2);
+    writeBitmaps(primary, secondary, tertiary, out);
+    final ISORawFieldIndex rawIndex = rawIndexOf(message);
+    if (rawIndex == null) {
+      encodeFields(primary, secondary, tertiary, message, out);
+    } else {
+      spliceFields(new long[] {primary, secondary, tertiary}, message, rawIndex, out);
+    }
+  }
+
+  /**
+   * Writes the bitmaps and all the present fields of the object mapped by the mapper into the
+   * buffer, without the intermediate {@link ISOMessage}. Fields which are not present in the object
+   * but have the default value in the schema are written as well.
+   *
+   * @param source object to write
+   * @param mapper mapper of the object
+   * @param out    buffer to write into
+   * @param <T>    type of the object
+   * @throws ISOPackageException if object has field which is not defined in the schema or the
+   *                             field value doesn't fit to the field schema
+   */
+  public <T> void writeFields(T source, ISOMessageMapper<T> mapper, ByteBuf out)
+      throws ISOPackageException {
+    final long[] words = new long[ISOBitmap.WORDS];
+    mapper.present(source, words);
+    for (int i = 0; i < words.length; i++) {
+      words[i] |= defaultWords[i];
+    }
+    words[0] &= ~INDICATOR_BIT;
+    words[1] &= ~INDICATOR_BIT;
+    writeBitmaps(words[0], words[1], words[2], out);
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      while (word != 0) {
+        final int position = i * Long.SIZE + Long.numberOfTrailingZeros(word) + 1;
+        word &= word - 1;
+        if (!mapper.encodeField(source, position, codecs[position], out)) {
+          codecs[position].encode(defaults[position], out);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the bitmaps and all the fields present in them from the buffer straight into the new
+   * object created by the mapper, without the intermediate {@link ISOMessage}. Fields which are not
+   * mapped are skipped without decoding.
+   *
+   * @param in     buffer to read from
+   * @param mapper mapper of the object
+   * @param <T>    type of the object
+   * @return object with the decoded fields
+   * @throws ISOPackageException if the buffer contains field which is not defined in the schema or
+   *                             field is malformed
+   */
+  public <T> T readFields(ByteBuf in, ISOMessageMapper<T> mapper) throws ISOPackageException {
+    final long[] words = readBitmaps(in);
+    final T target = mapper.newInstance();
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      while (word != 0) {
+        final int position = i * Long.SIZE + Long.numberOfTrailingZeros(word) + 1;
+        word &= word - 1;
+        if (!mapper.decodeField(target, position, codecs[position], in)) {
+          codecs[position].skip(in);
+        }
+      }
+    }
+    return target;
+  }
+
+  /**
+   * Returns flag which indicates that the fields encoded by the other codec are encoded exactly in
+   * the same way by the current one, so the raw fields could be copied from one message to another.
+   * Codecs of different packager factories are compatible if they are compiled from the same
+   * schemas.
+   *
+   * @param other codec to check
+   * @return {@code true} if codecs are compatible, otherwise {@code false}
+   */
+  public boolean isCompatible(ISOMessageCodec other) {
+    if (other == this || other == compatibleCodec) {
+      return true;
+    }
+    if (other == null || bitmapEncoding != other.bitmapEncoding
+        || !Arrays.equals(codecs, other.codecs)) {
+      return false;
+    }
+    compatibleCodec = other;
+    return true;
+  }
+
+  /**
+   * Reads the bitmaps and all the fields present in them from the buffer into the message.
+   *
+   * @param in      buffer to read from
+   * @param message message to read fields into
+   * @throws ISOPackageException if the buffer contains field which is not defined in the schema or
+   *                             field is malformed
+   */
+  public void readFields(ByteBuf in, ISOMessage message) throws ISOPackageException {
+    final long[] words = readBitmaps(in);
+    decodeFields(words[0], words[1], words[2], in, message);
+  }
+
+  /**
+   * Reads the bitmaps from the buffer and decodes only the requested fields into the message, the
+   * rest of the fields is skipped without decoding. Reading stops right after the last requested
+   * field present in the message, so the reader index of the buffer is not defined afterwards. Only
+   * the decoded fields are present in the bitmap of the message.
+   *
+   * @param in        buffer to read from
+   * @param message   message to read fields into
+   * @param requested bitmap words of the requested fields
+   * @throws ISOPackageException if the buffer contains field which is not defined in the schema or
+   *                             field is malformed
+   */
+  public void readFields(ByteBuf in, ISOMessage message, long[] requested)
+      throws ISOPackageException {
+    final long[] words = readBitmaps(in);
+    int last = words.length - 1;
+    while (last >= 0 && (words[last] & requested[last]) == 0) {
+      last--;
+    }
+    for (int i = 0; i <= last; i++) {
+      long word = words[i];
+      if (i == last) {
+        // Fields after the last requested one are not read at all
+        word &= -1L >>> Long.numberOfLeadingZeros(words[i] & requested[i]);
+      }
+      while (word != 0) {
+        final int position = i * Long.SIZE + Long.numberOfTrailingZeros(word) + 1;
+        final boolean decode = (requested[i] & word & -word) != 0;
+        word &= word - 1;
+        if (decode) {
+          message.setField(position,
+              ISOField.builder().position(position).value(codecs[position].decode(in)).build());
+        } else {
+          codecs[position].skip(in);
+        }
+      }
+    }
+  }
+
+  /**
+   * Reads the bitmaps from the buffer and indexes the fields present in them without decoding the
+   * values. The encoded fields are copied from the buffer and the message gets the
+   * {@link ISORawFieldIndex}, so fields are decoded on the first access and the ones which are not
+   * modified are written back byte-for-byte.
+   *
+   * @param in      buffer to read from
+   * @param message message to index fields into
+   * @throws ISOPackageException if the buffer contains field which is not defined in the schema or
+   *                             length of the field is malformed
+   */
+  public void indexFields(ByteBuf in, ISOMessage message) throws ISOPackageException {
+    final long[] words = readBitmaps(in);
+    final int start = in.readerIndex();
+    final int[] offsets = new int[Long.bitCount(words[0]) + Long.bitCount(words[1])
+        + Long.bitCount(words[2]) + 1];
+    int slot = 0;
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      while (word != 0) {
+        final int position = i * Long.SIZE + Long.numberOfTrailingZeros(word) + 1;
+        word &= word - 1;
+        offsets[slot++] = in.readerIndex() - start;
+        codecs[position].skip(in);
+      }
+      message.getBitmap().setWord(i, words[i]);
+    }
+    offsets[slot] = in.readerIndex() - start;
+    final byte[] raw = ByteBufUtil.getBytes(in, start, offsets[slot]);
+    message.setFieldIndex(new ISORawFieldIndex(this, raw, words, offsets));
+  }
+
+  /**
+   * Encodes the fields present in the bitmap words, in the order of their positions.
+   *
+   * @param primary   primary bitmap word without the indicator bit
+   * @param secondary secondary bitmap word without the indicator bit
+   * @param tertiary  tertiary bitmap word
+   * @param message   message to encode fields of
+   * @param out       buffer to write into
+   * @throws ISOPackageException if the field value doesn't fit to the field schema
+   */
+  protected void encodeFields(long primary, long secondary, long tertiary, ISOMessage message,
+      ByteBuf out) throws ISOPackageException {
+    writeFields(primary, 0, message, out);
+    writeFields(secondary, Long.SIZE, message, out);
+    writeFields(tertiary, 2 * Long.SIZE, message, out);
+  }
+
+  /**
+   * Decodes the fields present in the bitmap words into the message, in the order of their
+   * positions.
+   *
+   * @param primary   primary bitmap word without the indicator bit
+   * @param secondary secondary bitmap word without the indicator bit
+   * @param tertiary  tertiary bitmap word
+   * @param in        buffer to read from
+   * @param message   message to decode fields into
+   * @throws ISOPackageException if the field is malformed
+   */
+  protected void decodeFields(long primary, long secondary, long tertiary, ByteBuf in,
+      ISOMessage message) throws ISOPackageException {
+    readFields(primary, 0, in, message);
+    readFields(secondary, Long.SIZE, in, message);
+    readFields(tertiary, 2 * Long.SIZE, in, message);
+  }
+
+  /**
+   * Encodes the field of the message, long values of the numeric fields are encoded without boxing.
+   *
+   * @param message  message to encode field of
+   * @param position field position
+   * @param out      buffer to write into
+   * @throws ISOPackageException if the field value doesn't fit to the field schema
+   */
+  protected void encodeField(ISOMessage message, int position, ByteBuf out)
+      throws ISOPackageException {
+    final ISOFieldCodec codec = codecs[position];
+    if (codec instanceof ISONumericFieldCodec && message.isLongField(position)) {
+      ((ISONumericFieldCodec) codec).encodeLong(message.getLong(position), out);
+    } else {
+      codec.encode(valueOf(message, position), out);
+    }
+  }
+
+  /**
+   * Returns the value of the message field or the default value from the schema if the field is
+   * not set.
+   *
+   * @param message  message to get field value of
+   * @param position field position
+   * @return field value
+   */
+  protected Object valueOf(ISOMessage message, int position) {
+    final ISOField field = message.getField(position);
+    if (field != null && field.getValue() != null) {
+      return field.getValue();
+    }
+    return defaults[position];
+  }
+
+  private void readFields(long word, int offset, ByteBuf in, ISOMessage message) {
+    while (word != 0) {
+      final int position = offset + Long.numberOfTrailingZeros(word) + 1;
+      word &= word - 1;
+      message.setField(position,
+          ISOField.builder().position(position).value(codecs[position].decode(in)).build());
+    }
+  }
+
+  private void writeFields(long word, int offset, ISOMessage message, ByteBuf out) {
+    while (word != 0) {
+      final int position = offset + Long.numberOfTrailingZeros(word) + 1;
+      word &= word - 1;
+      encodeField(message, position, out);
+    }
+  }
+
+  /**
+   * Writes the fields of the message which has the raw fields. The longest runs of the raw fields,
+   * which are adjacent in the raw bytes, are copied at once, only new or modified fields between
+   * them are encoded.
+   */
+  private void spliceFields(long[] words, ISOMessage message, ISORawFieldIndex rawIndex,
+      ByteBuf out) {
+    int runStart = -1;
+    int runEnd = -1;
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      while (word != 0) {
+        final int position = i * Long.SIZE + Long.numberOfTrailingZeros(word) + 1;
+        word &= word - 1;
+        if (rawIndex.contains(position)) {
+          final int slot = rawIndex.slotOf(position);
+          if (slot != runEnd) {
+            rawIndex.writeRaw(runStart, runEnd, out);
+            runStart = slot;
+          }
+          runEnd = slot + 1;
+        } else {
+          rawIndex.writeRaw(runStart, runEnd, out);
+          runStart = runEnd = -1;
+          encodeField(message, position, out);
+        }
+      }
+    }
+    rawIndex.writeRaw(runStart, runEnd, out);
+  }
+
+  private ISORawFieldIndex rawIndexOf(ISOMessage message) {
+    final ISOFieldIndex fieldIndex = message.getFieldIndex();
+    if (fieldIndex instanceof ISORawFieldIndex
+        && isCompatible(((ISORawFieldIndex) fieldIndex).getMessageCodec())) {
+      return (ISORawFieldIndex) fieldIndex;
+    }
+    return null;
+  }
+
+  private void checkDefined(long word, int index) {
+    final long undefined = word & ~definedWords[index];
+    if (undefined != 0) {
+      throw new ISOPackageException("Position '%s'. Field is not defined in the message schema!",
+          index * Long.SIZE + Long.numberOfTrailingZeros(undefined) + 1);
+    }
+  }
+
+  private void writeBitmaps(long primary, long secondary, long tertiary, ByteBuf out) {
+    final long secondaryWord = tertiary != 0 ? secondary | INDICATOR_BIT : secondary;
+    final long primaryWord = secondaryWord != 0 ? primary | INDICATOR_BIT : primary;
+    checkDefined(primary, 0);
+    checkDefined(secondary, 1);
+    checkDefined(tertiary, 2);
+    bitmapEncoding.writeLong(ISOBitmap.toWire(primaryWord), out);
+    if (secondaryWord != 0) {
+      bitmapEncoding.writeLong(ISOBitmap.toWire(secondaryWord), out);
+    }
+    if (tertiary != 0) {
+      bitmapEncoding.writeLong(ISOBitmap.toWire(tertiary), out);
+    }
+  }
+
+  private long[] readBitmaps(ByteBuf in) {
+    final long primaryWord = readBitmap(in);
+    final long secondaryWord = (primaryWord & INDICATOR_BIT) != 0 ? readBitmap(in) : 0;
+    final long tertiary = (secondaryWord & INDICATOR_BIT) != 0 ? readBitmap(in) : 0;
+    final long[] words = new long[] {primaryWord & ~INDICATOR_BIT, secondaryWord & ~INDICATOR_BIT,
+        tertiary};
+    for (int i = 0; i < words.length; i++) {
+      checkDefined(words[i], i);
+    }
+    return words;
+  }
+
+  private long readBitmap(ByteBuf in) {
+    if (in.readableBytes() < bitmapEncoding.encodedLength(BITMAP_LENGTH)) {
+      throw new ISOPackageException("Bitmap is missing!");
+    }
+    return ISOBitmap.fromWire(bitmapEncoding.readLong(in));
+  }
+}
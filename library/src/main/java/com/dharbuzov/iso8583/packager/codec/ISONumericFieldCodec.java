@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Field codec which is able to encode and decode the field value as primitive {@code long}, so the
+ * numeric fields (amounts, STAN, dates, processing codes) are written and read without the
+ * intermediate {@link String} or boxed values.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public interface ISONumericFieldCodec extends ISOFieldCodec {
+
+  /**
+   * Encodes the long value of the field and writes it into the buffer.
+   *
+   * @param value field value, not negative
+   * @param out   buffer to write into
+   * @throws ISOPackageException if the value is negative or doesn't fit to the field length
+   */
+  void encodeLong(long value, ByteBuf out) throws ISOPackageException;
+
+  /**
+   * Reads the field from the buffer and decodes it as long value.
+   *
+   * @param in buffer to read from
+   * @return decoded field value
+   * @throws ISOPackageException if the buffer doesn't contain the valid numeric field value
+   */
+  long decodeLong(ByteBuf in) throws ISOPackageException;
+}
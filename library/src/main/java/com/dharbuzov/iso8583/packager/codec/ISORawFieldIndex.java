@@ -0,0 +1,211 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.model.ISOBitmap;
+import com.dharbuzov.iso8583.model.ISOFieldIndex;
+import com.dharbuzov.iso8583.util.NumberUtils;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import lombok.Getter;
+
+/**
+ * Field index over the raw field bytes of the received message. It holds the copy of the encoded
+ * fields area and the offsets of each present field, which are built from the bitmap and length
+ * prefixes without decoding any field values.
+ * <p>
+ * Offsets are stored only for the present fields, in the order of their positions, so the slot of
+ * the field is the number of present fields before it in the bitmap.
+ * <p>
+ * The fields area is copied out of the frame with {@code ByteBufUtil.getBytes} rather than the
+ * frame itself being retained: the frame is released to the pool once the message is decoded,
+ * while the lazily unpacked message could be kept much longer.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISORawFieldIndex implements ISOFieldIndex {
+
+  /* Message codec which built the index and is able to decode the fields */
+  @Getter
+  private final ISOMessageCodec messageCodec;
+
+  /* Encoded fields area of the message */
+  private final byte[] raw;
+
+  /* Bitmap words of the indexed fields */
+  private final long[] indexedWords;
+
+  /* Bitmap words of the indexed fields which are still valid */
+  private final long[] words;
+
+  /* Start offsets of the indexed fields in the raw bytes, the last one is the end of the raw */
+  private final int[] offsets;
+
+  /**
+   * Constructor.
+   *
+   * @param messageCodec message codec which built the index
+   * @param raw          encoded fields area of the message
+   * @param words        bitmap words of the indexed fields
+   * @param offsets      start offsets of the indexed fields followed by the end offset
+   */
+  public ISORawFieldIndex(ISOMessageCodec messageCodec, byte[] raw, long[] words, int[] offsets) {
+    this.messageCodec = messageCodec;
+    this.raw = raw;
+    this.indexedWords = words.clone();
+    this.words = words.clone();
+    this.offsets = offsets;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean contains(int position) {
+    return position > 0 && position <= ISOBitmap.MAX_POSITION
+        && (words[(position - 1) >>> 6] & 1L << (position - 1)) != 0;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object decode(int position) throws ISOPackageException {
+    return messageCodec.getFieldCodec(position).decode(rawField(position));
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Fields with the {@link ISONumericFieldCodec} are decoded right from the raw bytes, others are
+   * decoded as usual and converted.
+   */
+  @Override
+  public long decodeLong(int position) throws ISOPackageException {
+    final ISOFieldCodec codec = messageCodec.getFieldCodec(position);
+    if (codec instanceof ISONumericFieldCodec) {
+      return ((ISONumericFieldCodec) codec).decodeLong(rawField(position));
+    }
+    return NumberUtils.toLong(position, codec.decode(rawField(position)));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void remove(int position) {
+    if (contains(position)) {
+      words[(position - 1) >>> 6] &= ~(1L << (position - 1));
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The new value is encoded and patched in place if its encoded length is equal to the raw one,
+   * so the raw bytes stay one contiguous run, otherwise the raw field is removed and the value is
+   * spliced in when the message is written.
+   */
+  @Override
+  public void update(int position, Object value) {
+    if (!contains(position)) {
+      return;
+    }
+    final ByteBuf patch = rawField(position);
+    try {
+      final int length = patch.readableBytes();
+      patch.writerIndex(0);
+      messageCodec.getFieldCodec(position).encode(value, patch);
+      if (patch.writerIndex() == length) {
+        return;
+      }
+    } catch (ISOPackageException | IndexOutOfBoundsException ex) {
+      // Value doesn't fit into the raw field, so it's spliced in when the message is written
+    }
+    // Bytes of the removed field are never written or decoded, so partial patch is harmless
+    remove(position);
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Fields with the {@link ISONumericFieldCodec} are patched without boxing the value, see
+   * {@link #update(int, Object)}.
+   */
+  @Override
+  public void updateLong(int position, long value) {
+    final ISOFieldCodec codec = messageCodec.getFieldCodec(position);
+    if (!(codec instanceof ISONumericFieldCodec)) {
+      update(position, value);
+      return;
+    }
+    if (!contains(position)) {
+      return;
+    }
+    final ByteBuf patch = rawField(position);
+    try {
+      final int length = patch.readableBytes();
+      patch.writerIndex(0);
+      ((ISONumericFieldCodec) codec).encodeLong(value, patch);
+      if (patch.writerIndex() == length) {
+        return;
+      }
+    } catch (ISOPackageException | IndexOutOfBoundsException ex) {
+      // Value doesn't fit into the raw field, so it's spliced in when the message is written
+    }
+    remove(position);
+  }
+
+  /**
+   * Writes the raw encoded fields from the given slots range into the buffer byte-for-byte as they
+   * were received. Slots are the indexes of the fields in the order of their positions, adjacent
+   * slots are adjacent in the raw bytes.
+   *
+   * @param fromSlot first slot, inclusive, nothing is written if it's negative
+   * @param toSlot   last slot, exclusive
+   * @param out      buffer to write into
+   */
+  public void writeRaw(int fromSlot, int toSlot, ByteBuf out) {
+    if (fromSlot >= 0 && fromSlot < toSlot) {
+      out.writeBytes(raw, offsets[fromSlot], offsets[toSlot] - offsets[fromSlot]);
+    }
+  }
+
+  /**
+   * Returns the slot of the raw field.
+   *
+   * @param position field position, it's expected to be present in the index
+   * @return index of the field among the indexed ones
+   */
+  public int slotOf(int position) {
+    final int index = (position - 1) >>> 6;
+    int slot = Long.bitCount(indexedWords[index] & ((1L << (position - 1)) - 1));
+    for (int i = 0; i < index; i++) {
+      slot += Long.bitCount(indexedWords[i]);
+    }
+    return slot;
+  }
+
+  private ByteBuf rawField(int position) throws ISOPackageException {
+    if (!contains(position)) {
+      throw new ISOPackageException("Position '%s'. Raw field is missing!", position);
+    }
+    final int slot = slotOf(position);
+    return Unpooled.wrappedBuffer(raw, offsets[slot], offsets[slot + 1] - offsets[slot]);
+  }
+}
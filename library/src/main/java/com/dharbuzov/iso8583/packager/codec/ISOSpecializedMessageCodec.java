@@ -0,0 +1,284 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.model.ISOField;
+import com.dharbuzov.iso8583.model.ISOMessage;
+
+import io.netty.buffer.ByteBuf;
+
+/**
+ * Message codec specialized for the bitmaps of the packed and unpacked messages. For every distinct
+ * bitmap it composes the {@link MethodHandle} which encodes or decodes exactly the present fields
+ * one after another: the loop over bitmap bits is unrolled, field codecs and positions are bound as
+ * constants and the per-field branches are resolved once, when the handle is composed. Once the
+ * handle is invoked often enough the JVM compiles it as the dedicated code of the bitmap.
+ * <p>
+ * The last composed handles are cached per codec, messages of the same type usually have the same
+ * bitmap, so the handles are reused. The cache is set-associative and keyed by all the bitmap
+ * words, so the request and response bitmaps or the bitmaps which differ only in the high fields
+ * don't evict each other. The encoder and the decoder of the bitmap are composed separately, on the
+ * first use. If the handles can't be composed, the codec works as the interpreted
+ * {@link ISOMessageCodec}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOSpecializedMessageCodec extends ISOMessageCodec {
+
+  /* Number of the cache sets and the plans per set, should be powers of 2 */
+  private static final int PLAN_SETS = 16;
+  private static final int PLAN_WAYS = 4;
+
+  private static final MethodHandle ENCODE_FIELD;
+  private static final MethodHandle ENCODE_NUMERIC_FIELD;
+  private static final MethodHandle DECODE_FIELD;
+  private static final MethodHandle ENCODE_NONE;
+  private static final MethodHandle DECODE_NONE;
+
+  static {
+    final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle encodeField = null;
+    MethodHandle encodeNumericField = null;
+    MethodHandle decodeField = null;
+    MethodHandle encodeNone = null;
+    MethodHandle decodeNone = null;
+    try {
+      encodeField = lookup.findStatic(ISOSpecializedMessageCodec.class, "encodeField",
+          MethodType.methodType(void.class, ISOFieldCodec.class, Object.class, int.class,
+              ISOMessage.class, ByteBuf.class));
+      encodeNumericField = lookup.findStatic(ISOSpecializedMessageCodec.class,
+          "encodeNumericField", MethodType.methodType(void.class, ISONumericFieldCodec.class,
+              Object.class, int.class, ISOMessage.class, ByteBuf.class));
+      decodeField = lookup.findStatic(ISOSpecializedMessageCodec.class, "decodeField",
+          MethodType.methodType(void.class, ISOFieldCodec.class, int.class, ByteBuf.class,
+              ISOMessage.class));
+      final MethodHandle none = MethodHandles.constant(Object.class, null)
+          .asType(MethodType.methodType(void.class));
+      encodeNone = MethodHandles.dropArguments(none, 0, ISOMessage.class, ByteBuf.class);
+      decodeNone = MethodHandles.dropArguments(none, 0, ByteBuf.class, ISOMessage.class);
+    } catch (ReflectiveOperationException | RuntimeException ex) {
+      // Handles can't be composed, so the codec works as the interpreted one
+      encodeField = null;
+    }
+    ENCODE_FIELD = encodeField;
+    ENCODE_NUMERIC_FIELD = encodeNumericField;
+    DECODE_FIELD = decodeField;
+    ENCODE_NONE = encodeNone;
+    DECODE_NONE = decodeNone;
+  }
+
+  private final ISOFieldCodec[] codecs;
+  private final Object[] defaults;
+
+  /* Plans of the recent bitmaps by sets, races are harmless as plan bitmaps are immutable */
+  private final Plan[] plans = new Plan[PLAN_SETS * PLAN_WAYS];
+
+  /**
+   * Constructor.
+   *
+   * @param codecs         field codecs indexed by field position
+   * @param defaults       default field values indexed by field position
+   * @param bitmapEncoding encoding of the bitmaps
+   */
+  public ISOSpecializedMessageCodec(ISOFieldCodec[] codecs, Object[] defaults,
+      ISOBinaryEncoding bitmapEncoding) {
+    super(codecs, defaults, bitmapEncoding);
+    this.codecs = codecs.clone();
+    this.defaults = defaults.clone();
+  }
+
+  /**
+   * Returns flag which indicates that the handles could be composed in the current JVM.
+   *
+   * @return {@code true} if the codec is specialized, otherwise it works as interpreted one
+   */
+  public static boolean isAvailable() {
+    return ENCODE_FIELD != null;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void encodeFields(long primary, long secondary, long tertiary, ISOMessage message,
+      ByteBuf out) throws ISOPackageException {
+    final Plan plan = isAvailable() ? planOf(primary, secondary, tertiary) : null;
+    if (plan == null) {
+      super.encodeFields(primary, secondary, tertiary, message, out);
+      return;
+    }
+    try {
+      plan.getEncoder().invokeExact(message, out);
+    } catch (RuntimeException | Error ex) {
+      throw ex;
+    } catch (Throwable ex) {
+      throw new ISOPackageException(ex.toString());
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void decodeFields(long primary, long secondary, long tertiary, ByteBuf in,
+      ISOMessage message) throws ISOPackageException {
+    final Plan plan = isAvailable() ? planOf(primary, secondary, tertiary) : null;
+    if (plan == null) {
+      super.decodeFields(primary, secondary, tertiary, in, message);
+      return;
+    }
+    try {
+      plan.getDecoder().invokeExact(in, message);
+    } catch (RuntimeException | Error ex) {
+      throw ex;
+    } catch (Throwable ex) {
+      throw new ISOPackageException(ex.toString());
+    }
+  }
+
+  /**
+   * Returns the plan of the bitmap from the set of the bitmap hash, the missing plan replaces the
+   * least recently added plan of the set.
+   */
+  private Plan planOf(long primary, long secondary, long tertiary) {
+    final int set = (int) hash(primary, secondary, tertiary) & (PLAN_SETS - 1);
+    final int first = set * PLAN_WAYS;
+    for (int i = first; i < first + PLAN_WAYS; i++) {
+      final Plan plan = plans[i];
+      if (plan != null && plan.primary == primary && plan.secondary == secondary
+          && plan.tertiary == tertiary) {
+        return plan;
+      }
+    }
+    final Plan plan = new Plan(primary, secondary, tertiary);
+    System.arraycopy(plans, first, plans, first + 1, PLAN_WAYS - 1);
+    plans[first] = plan;
+    return plan;
+  }
+
+  private static long hash(long primary, long secondary, long tertiary) {
+    long hash = (primary * 0x9E3779B97F4A7C15L + secondary) * 0x9E3779B97F4A7C15L + tertiary;
+    // Finalizer of MurmurHash3, every bit of the words affects the low bits of the hash
+    hash = (hash ^ hash >>> 33) * 0xFF51AFD7ED558CCDL;
+    hash = (hash ^ hash >>> 33) * 0xC4CEB9FE1A85EC53L;
+    return hash ^ hash >>> 33;
+  }
+
+  /**
+   * Composes the handle which encodes or decodes the fields present in the bitmap words. Steps are
+   * invoked in the order of positions, they are folded into the balanced tree, so the depth of the
+   * composed handle stays logarithmic to the number of fields.
+   */
+  private MethodHandle compose(long primary, long secondary, long tertiary, boolean encoder) {
+    final long[] words = new long[] {primary, secondary, tertiary};
+    final MethodHandle[] steps = new MethodHandle[Long.bitCount(primary)
+        + Long.bitCount(secondary) + Long.bitCount(tertiary)];
+    int step = 0;
+    for (int i = 0; i < words.length; i++) {
+      long word = words[i];
+      while (word != 0) {
+        final int position = i * Long.SIZE + Long.numberOfTrailingZeros(word) + 1;
+        word &= word - 1;
+        steps[step++] = encoder ? encodeStep(position) : decodeStep(position);
+      }
+    }
+    return steps.length == 0 ? (encoder ? ENCODE_NONE : DECODE_NONE)
+        : sequence(steps, 0, steps.length);
+  }
+
+  private static MethodHandle sequence(MethodHandle[] steps, int from, int to) {
+    if (to - from == 1) {
+      return steps[from];
+    }
+    final int middle = (from + to) >>> 1;
+    return MethodHandles.foldArguments(sequence(steps, middle, to),
+        sequence(steps, from, middle));
+  }
+
+  private MethodHandle encodeStep(int position) {
+    final ISOFieldCodec codec = codecs[position];
+    if (codec instanceof ISONumericFieldCodec) {
+      return MethodHandles.insertArguments(ENCODE_NUMERIC_FIELD, 0, codec, defaults[position],
+          position);
+    }
+    return MethodHandles.insertArguments(ENCODE_FIELD, 0, codec, defaults[position], position);
+  }
+
+  private MethodHandle decodeStep(int position) {
+    return MethodHandles.insertArguments(DECODE_FIELD, 0, codecs[position], position);
+  }
+
+  private static void encodeField(ISOFieldCodec codec, Object defaultValue, int position,
+      ISOMessage message, ByteBuf out) {
+    final ISOField field = message.getField(position);
+    codec.encode(field != null && field.getValue() != null ? field.getValue() : defaultValue, out);
+  }
+
+  private static void encodeNumericField(ISONumericFieldCodec codec, Object defaultValue,
+      int position, ISOMessage message, ByteBuf out) {
+    if (message.isLongField(position)) {
+      codec.encodeLong(message.getLong(position), out);
+    } else {
+      encodeField(codec, defaultValue, position, message, out);
+    }
+  }
+
+  private static void decodeField(ISOFieldCodec codec, int position, ByteBuf in,
+      ISOMessage message) {
+    message.setField(position,
+        ISOField.builder().position(position).value(codec.decode(in)).build());
+  }
+
+  /**
+   * Composed handles of the single bitmap, each of them is composed on the first use.
+   */
+  private final class Plan {
+    private final long primary;
+    private final long secondary;
+    private final long tertiary;
+    private volatile MethodHandle encoder;
+    private volatile MethodHandle decoder;
+
+    private Plan(long primary, long secondary, long tertiary) {
+      this.primary = primary;
+      this.secondary = secondary;
+      this.tertiary = tertiary;
+    }
+
+    private MethodHandle getEncoder() {
+      MethodHandle handle = encoder;
+      if (handle == null) {
+        handle = compose(primary, secondary, tertiary, true);
+        encoder = handle;
+      }
+      return handle;
+    }
+
+    private MethodHandle getDecoder() {
+      MethodHandle handle = decoder;
+      if (handle == null) {
+        handle = compose(primary, secondary, tertiary, false);
+        decoder = handle;
+      }
+      return handle;
+    }
+  }
+}
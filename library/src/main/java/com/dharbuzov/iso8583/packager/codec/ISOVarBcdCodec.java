@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Codec of the variable length numeric fields packed as BCD, two digits per byte (e.g. PAN). The
+ * value is preceded by the length prefix, which holds the number of digits of the value. Odd number
+ * of digits is aligned to the whole bytes with the padding nibble, which is either the first or the
+ * last one.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public class ISOVarBcdCodec extends ISOBaseFieldCodec {
+
+  private final ISOLengthPrefix prefix;
+  private final boolean leftPadding;
+
+  /**
+   * Constructor.
+   *
+   * @param position    field position
+   * @param length      maximum field length in digits
+   * @param prefix      length prefix of the field
+   * @param leftPadding {@code true} if padding nibble of odd length is the first one, otherwise
+   *                    it's the last one
+   */
+  public ISOVarBcdCodec(int position, int length, ISOLengthPrefix prefix, boolean leftPadding) {
+    super(position, Math.min(length, prefix.getMaxLength()));
+    this.prefix = prefix;
+    this.leftPadding = leftPadding;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void encode(Object value, ByteBuf out) throws ISOPackageException {
+    final CharSequence digits =
+        value instanceof CharSequence ? (CharSequence) value : value.toString();
+    checkLength(digits.length());
+    final int prefixIndex = out.writerIndex();
+    prefix.write(out, digits.length());
+    if (!ISOBcd.writeDigits(digits, digits.length(), leftPadding, out)) {
+      out.writerIndex(prefixIndex);
+      throw new ISOPackageException("Position '%s'. Numeric value contains non digit chars!",
+          position);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object decode(ByteBuf in) throws ISOPackageException {
+    final int valueLength = prefix.read(in);
+    checkLength(valueLength);
+    checkReadable(in, ISOBcd.size(valueLength));
+    return new String(ISOBcd.readDigits(in, valueLength, leftPadding), US_ASCII);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void skip(ByteBuf in) throws ISOPackageException {
+    final int valueLength = prefix.read(in);
+    checkLength(valueLength);
+    checkReadable(in, ISOBcd.size(valueLength));
+    in.skipBytes(ISOBcd.size(valueLength));
+  }
+}
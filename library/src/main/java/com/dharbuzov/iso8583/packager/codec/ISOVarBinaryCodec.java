@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Codec of the variable length binary fields (e.g. {@code LLBIN}, {@code LLLBIN}). The value is
+ * preceded by the length prefix, which holds the number of bytes of the binary value.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public class ISOVarBinaryCodec extends ISOBaseFieldCodec {
+
+  private final ISOLengthPrefix prefix;
+  private final ISOBinaryEncoding encoding;
+  /* Encoded '0' digit of the message charset */
+  private final int zero;
+
+  /**
+   * Constructor.
+   *
+   * @param position field position
+   * @param length   maximum field length in bytes
+   * @param prefix   length prefix of the field
+   * @param encoding binary encoding of the field value
+   */
+  public ISOVarBinaryCodec(int position, int length, ISOLengthPrefix prefix,
+      ISOBinaryEncoding encoding) {
+    this(position, length, prefix, encoding, null);
+  }
+
+  /**
+   * Constructor with the charset of the length prefix digits.
+   *
+   * @param position field position
+   * @param length   maximum field length in bytes
+   * @param prefix   length prefix of the field
+   * @param encoding binary encoding of the field value
+   * @param charset  charset of the message, which the prefix digits are encoded with, ASCII
+   *                 digits are used if it's {@code null}
+   */
+  public ISOVarBinaryCodec(int position, int length, ISOLengthPrefix prefix,
+      ISOBinaryEncoding encoding, Charset charset) {
+    super(position, Math.min(length, prefix.getMaxLength()));
+    this.prefix = prefix;
+    this.encoding = encoding;
+    this.zero = ISODigits.zeroOf(charset);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void encode(Object value, ByteBuf out) throws ISOPackageException {
+    final byte[] bytes = toBytes(value);
+    checkLength(bytes.length);
+    prefix.write(out, bytes.length, zero);
+    encoding.write(bytes, out);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object decode(ByteBuf in) throws ISOPackageException {
+    final int valueLength = prefix.read(in, zero);
+    checkLength(valueLength);
+    checkReadable(in, encoding.encodedLength(valueLength));
+    return encoding.read(in, valueLength);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void skip(ByteBuf in) throws ISOPackageException {
+    final int valueLength = prefix.read(in, zero);
+    checkLength(valueLength);
+    checkReadable(in, encoding.encodedLength(valueLength));
+    in.skipBytes(encoding.encodedLength(valueLength));
+  }
+}
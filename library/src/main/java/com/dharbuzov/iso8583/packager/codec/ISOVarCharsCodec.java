@@ -0,0 +1,89 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import java.nio.charset.Charset;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Codec of the variable length character fields (e.g. {@code LLVAR}, {@code LLLVAR}). The value is
+ * preceded by the length prefix, which holds the number of encoded bytes of the value. The prefix
+ * digits are encoded with the charset of the value, e.g. EBCDIC digits for {@code IBM037}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@EqualsAndHashCode(callSuper = true)
+public class ISOVarCharsCodec extends ISOBaseCharsCodec {
+
+  private final ISOLengthPrefix prefix;
+  /* Encoded '0' digit of the charset, the prefix digits are written in the charset of the value */
+  private final int zero;
+
+  /**
+   * Constructor.
+   *
+   * @param position field position
+   * @param length   maximum field length
+   * @param charset  charset of the field value
+   * @param prefix   length prefix of the field
+   */
+  public ISOVarCharsCodec(int position, int length, Charset charset, ISOLengthPrefix prefix) {
+    super(position, Math.min(length, prefix.getMaxLength()), charset);
+    this.prefix = prefix;
+    this.zero = ISODigits.zeroOf(charset);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void encode(Object value, ByteBuf out) throws ISOPackageException {
+    final int prefixIndex = out.writerIndex();
+    out.writeZero(prefix.getSize());
+    final int valueLength = writeChars(value.toString(), out);
+    if (valueLength > length) {
+      out.writerIndex(prefixIndex);
+      checkLength(valueLength);
+    }
+    prefix.set(out, prefixIndex, valueLength, zero);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Object decode(ByteBuf in) throws ISOPackageException {
+    final int valueLength = prefix.read(in, zero);
+    checkLength(valueLength);
+    checkReadable(in, valueLength);
+    return readChars(in, valueLength);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void skip(ByteBuf in) throws ISOPackageException {
+    final int valueLength = prefix.read(in, zero);
+    checkLength(valueLength);
+    checkReadable(in, valueLength);
+    in.skipBytes(valueLength);
+  }
+}
@@ -44,13 +44,14 @@ public class ISOServerProperties extends ISOBaseProperties {
   private int numberOfThreads;
 
   /**
-   * Gets configured number of threads or default.
+   * Gets configured number of threads or the number of threads of the thread properties.
    *
    * @return number of threads of default {@link ISOServerProperties#DEFAULT_NUMBER_OF_THREADS}
    */
+  @Override
   public int getNumberOfThreadsOrDefault() {
     if (numberOfThreads < 1) {
-      return DEFAULT_NUMBER_OF_THREADS;
+      return super.getNumberOfThreadsOrDefault();
     }
     return numberOfThreads;
   }
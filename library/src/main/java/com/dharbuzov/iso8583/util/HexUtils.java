@@ -0,0 +1,41 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.util;
+
+import com.dharbuzov.iso8583.packager.codec.ISOHex;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hex representation of the binary data, the same one which is used for the bitmaps and the
+ * binary fields with {@link com.dharbuzov.iso8583.packager.codec.ISOBinaryEncoding#HEX} encoding.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class HexUtils {
+
+  /**
+   * Returns the binary data as the upper case hex string, each byte takes 2 chars.
+   *
+   * @param value binary data
+   * @return hex string or {@code null} if the binary data is null
+   */
+  public static String toHexString(byte[] value) {
+    return value == null ? null : ISOHex.toHexString(value);
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.util;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.packager.codec.ISOFieldCodec;
+import com.dharbuzov.iso8583.packager.codec.ISONumericFieldCodec;
+
+import io.netty.buffer.ByteBuf;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Miscellaneous methods to encode and decode the field values of the java types supported by the
+ * generated {@link com.dharbuzov.iso8583.mapping.ISOMessageMapper} implementations. Mainly for
+ * internal use within the library.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class MappingUtils {
+
+  /**
+   * Encodes the long value of the field, without boxing if the codec is numeric.
+   *
+   * @param codec field codec
+   * @param value field value
+   * @param out   buffer to write into
+   * @throws ISOPackageException if the value doesn't fit to the field schema
+   */
+  public static void encodeLong(ISOFieldCodec codec, long value, ByteBuf out)
+      throws ISOPackageException {
+    if (codec instanceof ISONumericFieldCodec) {
+      ((ISONumericFieldCodec) codec).encodeLong(value, out);
+    } else {
+      codec.encode(Long.toString(value), out);
+    }
+  }
+
+  /**
+   * Decodes the field value as long, without intermediate objects if the codec is numeric.
+   *
+   * @param codec field codec
+   * @param in    buffer to read from
+   * @return field value
+   * @throws ISOPackageException if the field value is not numeric or doesn't fit into the long
+   */
+  public static long decodeLong(ISOFieldCodec codec, ByteBuf in) throws ISOPackageException {
+    if (codec instanceof ISONumericFieldCodec) {
+      return ((ISONumericFieldCodec) codec).decodeLong(in);
+    }
+    try {
+      return NumberUtils.parseLong(codec.getPosition(), decodeString(codec, in));
+    } catch (ISOPackageException ex) {
+      throw ex;
+    } catch (ISOException ex) {
+      throw new ISOPackageException(ex.getMessage());
+    }
+  }
+
+  /**
+   * Decodes the field value as int.
+   *
+   * @param codec field codec
+   * @param in    buffer to read from
+   * @return field value
+   * @throws ISOPackageException if the field value is not numeric or doesn't fit into the int
+   */
+  public static int decodeInt(ISOFieldCodec codec, ByteBuf in) throws ISOPackageException {
+    final long value = decodeLong(codec, in);
+    if (value > Integer.MAX_VALUE) {
+      throw new ISOPackageException("Position '%s'. Field value doesn't fit into the int!",
+          codec.getPosition());
+    }
+    return (int) value;
+  }
+
+  /**
+   * Decodes the field value as string.
+   *
+   * @param codec field codec
+   * @param in    buffer to read from
+   * @return field value
+   * @throws ISOPackageException if the field is malformed or is not a character one
+   */
+  public static String decodeString(ISOFieldCodec codec, ByteBuf in) throws ISOPackageException {
+    final Object value = codec.decode(in);
+    if (!(value instanceof CharSequence)) {
+      throw new ISOPackageException("Position '%s'. Field value is not a string!",
+          codec.getPosition());
+    }
+    return value.toString();
+  }
+
+  /**
+   * Decodes the field value as byte array.
+   *
+   * @param codec field codec
+   * @param in    buffer to read from
+   * @return field value
+   * @throws ISOPackageException if the field is malformed or is not a binary one
+   */
+  public static byte[] decodeBytes(ISOFieldCodec codec, ByteBuf in) throws ISOPackageException {
+    final Object value = codec.decode(in);
+    if (!(value instanceof byte[])) {
+      throw new ISOPackageException("Position '%s'. Field value is not a byte array!",
+          codec.getPosition());
+    }
+    return (byte[]) value;
+  }
+}
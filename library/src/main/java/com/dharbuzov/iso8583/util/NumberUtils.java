@@ -0,0 +1,91 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.util;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Miscellaneous methods to convert field values to primitive numbers without intermediate objects.
+ * Mainly for internal use within the library.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class NumberUtils {
+
+  /**
+   * Converts the field value to the long value. Integral numbers are taken as is, char sequences
+   * are parsed as unsigned decimal digits.
+   *
+   * @param position position of the field in message
+   * @param value    field value
+   * @return long value
+   * @throws ISOException if the value is not numeric or doesn't fit into the long
+   */
+  public static long toLong(int position, Object value) throws ISOException {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short
+        || value instanceof Byte) {
+      return ((Number) value).longValue();
+    }
+    if (value instanceof CharSequence) {
+      return parseLong(position, (CharSequence) value);
+    }
+    throw new ISOException("Position '%s'. Field value is not numeric!", position);
+  }
+
+  /**
+   * Parses the unsigned decimal digits to the long value.
+   *
+   * @param position position of the field in message
+   * @param digits   decimal digits, leading zeros are allowed
+   * @return long value
+   * @throws ISOException if the sequence is empty, contains non digit chars or the value doesn't
+   *                      fit into the long
+   */
+  public static long parseLong(int position, CharSequence digits) throws ISOException {
+    if (digits.length() == 0) {
+      throw new ISOException("Position '%s'. Field value is empty!", position);
+    }
+    long value = 0;
+    for (int i = 0; i < digits.length(); i++) {
+      value = appendDigit(position, value, digits.charAt(i) - '0');
+    }
+    return value;
+  }
+
+  /**
+   * Appends the decimal digit to the long value.
+   *
+   * @param position position of the field in message
+   * @param value    current long value
+   * @param digit    digit to append
+   * @return long value with the appended digit
+   * @throws ISOException if digit is not in range {@code 0..9} or the value doesn't fit into the
+   *                      long
+   */
+  public static long appendDigit(int position, long value, int digit) throws ISOException {
+    if (digit < 0 || digit > 9) {
+      throw new ISOException("Position '%s'. Field value contains non digit chars!", position);
+    }
+    if (value > (Long.MAX_VALUE - digit) / 10) {
+      throw new ISOException("Position '%s'. Field value doesn't fit into the long!", position);
+    }
+    return value * 10 + digit;
+  }
+}
@@ -74,10 +74,10 @@ public class ValidationUtils {
   }
 
   /**
-   * Validates that field's position is applicable by ISO 8583 specification.
+   * Validates that subfield's position is applicable by ISO 8583 specification.
    *
-   * @param fieldPosition position of the field in message
-   * @throws ISOException if position is less than 0 or more than 129
+   * @param fieldPosition position of the subfield in field
+   * @throws ISOException if position is less than 1 or more than 999
    */
   public static void validateSubFieldPosition(int fieldPosition) throws ISOException {
     if (fieldPosition <= 0 || fieldPosition > 999) {
@@ -91,10 +91,10 @@ public class ValidationUtils {
    * Validates that field's position is applicable by ISO 8583 specification.
    *
    * @param fieldPosition position of the field in message
-   * @throws ISOException if position is less than 0 or more than 129
+   * @throws ISOException if position is less than 0 or more than 192
    */
   public static void validateFieldPosition(int fieldPosition) throws ISOException {
-    if (fieldPosition < 0 || fieldPosition > FIELDS_SIZE) {
+    if (fieldPosition < 0 || fieldPosition >= FIELDS_SIZE) {
       throw new ISOException(
           "Wrong field position, '%s', should be more than '%s' and less than '%s'", fieldPosition,
           0, FIELDS_SIZE);
@@ -119,8 +119,7 @@ public class ValidationUtils {
       if (chars[i] == '*') {
         continue;
       }
-      int digit = chars[i];
-      if (digit > 9) {
+      if (chars[i] < '0' || chars[i] > '9') {
         throw new ISOException(
             "Position '%s'. Char '%s' is not valid for Message Type, valid are '1..9' or '*'", i,
             chars[i]);
@@ -142,8 +141,7 @@ public class ValidationUtils {
     }
     final char[] chars = messageTypeStr.toCharArray();
     for (int i = 0; i < chars.length; i++) {
-      int digit = chars[i];
-      if (digit > 9) {
+      if (chars[i] < '0' || chars[i] > '9') {
         throw new ISOException(
             "Position '%s'. Char '%s' is not valid for Message Type, valid are '1..9' or '*'", i,
             chars[i]);
@@ -15,8 +15,41 @@
  */
 package com.dharbuzov.iso8583.binder;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.config.ISOMessageProperties;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+
 /**
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 public class MessageBinderTest {
+
+  @Test
+  void bindTest() {
+    final ISOMessageProperties messageProperties = ISOMessageProperties.builder()
+        .messageTypeFieldKeys(MessageType.fromMTIString("0200"), 11).build();
+    final MessageKeyGenerator keyGenerator = new DefaultMessageKeyGenerator(messageProperties);
+    final MessageBinder messageBinder =
+        new DefaultMessageBinder(messageProperties, keyGenerator);
+    final ISOMessage request = createMessage("0200", "000001");
+    final ISOMessageKey requestKey = keyGenerator.generate(request);
+
+    Assertions.assertTrue(
+        messageBinder.isBind(request.getType(), requestKey, createMessage("0210", "000001")));
+    Assertions.assertFalse(
+        messageBinder.isBind(request.getType(), requestKey, createMessage("0210", "000002")));
+    Assertions.assertFalse(
+        messageBinder.isBind(request.getType(), requestKey, createMessage("0230", "000001")));
+    Assertions.assertFalse(
+        messageBinder.isBind(request.getType(), requestKey, createMessage("0110", "000001")));
+  }
+
+  private static ISOMessage createMessage(String mti, String stan) {
+    final ISOMessage message = ISOMessage.builder().type(MessageType.fromMTIString(mti)).build();
+    message.setField(11, stan);
+    return message;
+  }
 }
@@ -15,8 +15,103 @@
  */
 package com.dharbuzov.iso8583.binder;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.config.ISOMessageProperties;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageFunction;
+import com.dharbuzov.iso8583.model.MessageType;
+
 /**
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 public class MessageKeyGeneratorTest {
+
+  @Test
+  void keyFieldsTest() {
+    final MessageKeyGenerator keyGenerator = new DefaultMessageKeyGenerator(
+        ISOMessageProperties.builder()
+            .messageTypeFieldKeys(MessageType.fromMTIString("0200"), 11, 37, 41)
+            .messageTypeFieldKeys(MessageType.builder().clazz(MessageClass.FINANCIAL)
+                .function(MessageFunction.REQUEST).build(), 11, 41)
+            .messageTypeFieldKeys(MessageType.builder().clazz(MessageClass.NETWORK_MANAGEMENT)
+                .build(), 7, 11).build());
+
+    Assertions.assertArrayEquals(new int[] {11, 37, 41},
+        keyGenerator.getKeyFields(MessageType.fromMTIString("0200")));
+    Assertions.assertArrayEquals(new int[] {11, 37, 41},
+        keyGenerator.getKeyFields(MessageType.fromMTIString("0210")));
+    Assertions.assertArrayEquals(new int[] {11, 41},
+        keyGenerator.getKeyFields(MessageType.fromMTIString("1200")));
+    Assertions.assertArrayEquals(new int[] {11, 41},
+        keyGenerator.getKeyFields(MessageType.fromMTIString("0201")));
+    Assertions.assertArrayEquals(new int[] {7, 11},
+        keyGenerator.getKeyFields(MessageType.fromMTIString("0810")));
+    Assertions.assertArrayEquals(new int[0],
+        keyGenerator.getKeyFields(MessageType.fromMTIString("0100")));
+    Assertions.assertArrayEquals(new int[0], new DefaultMessageKeyGenerator(null)
+        .getKeyFields(MessageType.fromMTIString("0200")));
+  }
+
+  @Test
+  void generateTest() {
+    final MessageKeyGenerator keyGenerator = new DefaultMessageKeyGenerator(
+        ISOMessageProperties.builder()
+            .messageTypeFieldKeys(MessageType.fromMTIString("0200"), 11, 37, 41, 52).build());
+    final ISOMessage request = createMessage("0200");
+    request.setLong(11, 1);
+    request.setField(41, "TERM01");
+    request.setField(52, new byte[] {1, 2, 3});
+    final ISOMessage response = createMessage("0210");
+    response.setField(11, "000001");
+    response.setField(41, "TERM01  ");
+    response.setField(52, new byte[] {1, 2, 3});
+    final ISOMessage otherResponse = createMessage("0210");
+    otherResponse.setField(11, "000002");
+    otherResponse.setField(41, "TERM01");
+    otherResponse.setField(52, new byte[] {1, 2, 3});
+
+    final ISOMessageKey requestKey = keyGenerator.generate(request);
+    final ISOMessageKey responseKey = keyGenerator.generate(response);
+
+    Assertions.assertFalse(requestKey.isEmpty());
+    Assertions.assertEquals(requestKey, responseKey);
+    Assertions.assertEquals(requestKey.getHigh(), responseKey.getHigh());
+    Assertions.assertEquals(requestKey.getLow(), responseKey.getLow());
+    Assertions.assertEquals(requestKey.hashCode(), responseKey.hashCode());
+    Assertions.assertNotEquals(requestKey, keyGenerator.generate(otherResponse));
+    response.setField(37, "123456789012");
+    Assertions.assertNotEquals(requestKey, keyGenerator.generate(response));
+    Assertions.assertSame(ISOMessageKey.EMPTY, keyGenerator.generate(createMessage("0800")));
+  }
+
+  @Test
+  void canonicalValuesTest() {
+    final MessageKeyGenerator keyGenerator = new DefaultMessageKeyGenerator(
+        ISOMessageProperties.builder()
+            .messageTypeFieldKeys(MessageType.fromMTIString("0200"), 11, 41).build());
+
+    Assertions.assertEquals(generate(keyGenerator, "0", "A"), generate(keyGenerator, "000", "A "));
+    Assertions.assertNotEquals(generate(keyGenerator, "1", "A"), generate(keyGenerator, "1A", ""));
+    Assertions.assertNotEquals(generate(keyGenerator, "1", "0A"),
+        generate(keyGenerator, "10", "A"));
+    Assertions.assertNotEquals(generate(keyGenerator, "12", null),
+        generate(keyGenerator, "12", ""));
+  }
+
+  private static ISOMessageKey generate(MessageKeyGenerator keyGenerator, String stan,
+      String terminal) {
+    final ISOMessage message = createMessage("0200");
+    message.setField(11, stan);
+    if (terminal != null) {
+      message.setField(41, terminal);
+    }
+    return keyGenerator.generate(message);
+  }
+
+  private static ISOMessage createMessage(String mti) {
+    return ISOMessage.builder().type(MessageType.fromMTIString(mti)).build();
+  }
 }
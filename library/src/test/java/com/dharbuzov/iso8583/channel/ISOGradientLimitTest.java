@@ -0,0 +1,73 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOGradientLimitTest {
+
+  private static final long RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+  @Test
+  void steadyLatencyTest() {
+    final ISOGradientLimit limit = new ISOGradientLimit(1, 100, 10);
+    for (int i = 0; i < 200; i++) {
+      limit.onSample(RTT_NANOS, limit.getLimit());
+    }
+    Assertions.assertEquals(100, limit.getLimit());
+    Assertions.assertEquals(10.0, limit.getRttMs(), 0.001);
+    Assertions.assertEquals(10.0, limit.getRttNoLoadMs(), 0.001);
+  }
+
+  @Test
+  void degradedLatencyTest() {
+    final ISOGradientLimit limit = new ISOGradientLimit(1, 100, 50);
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(RTT_NANOS, limit.getLimit());
+    }
+    final int steadyLimit = limit.getLimit();
+    for (int i = 0; i < 20; i++) {
+      limit.onSample(RTT_NANOS * 5, limit.getLimit());
+    }
+    Assertions.assertTrue(limit.getLimit() < steadyLimit / 2);
+    Assertions.assertTrue(limit.getRttMs() > limit.getRttNoLoadMs());
+  }
+
+  @Test
+  void notUtilizedLimitTest() {
+    final ISOGradientLimit limit = new ISOGradientLimit(1, 100, 20);
+    for (int i = 0; i < 100; i++) {
+      limit.onSample(RTT_NANOS, 1);
+    }
+    Assertions.assertEquals(20, limit.getLimit());
+  }
+
+  @Test
+  void timeoutTest() {
+    final ISOGradientLimit limit = new ISOGradientLimit(5, 100, 20);
+    Assertions.assertEquals(18, limit.onTimeout());
+    for (int i = 0; i < 100; i++) {
+      limit.onTimeout();
+    }
+    Assertions.assertEquals(5, limit.getLimit());
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.client.config.ISOInFlightProperties;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISORejectedException;
+import com.dharbuzov.iso8583.exception.ISOTimeoutException;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOInFlightWindowTest {
+
+  @Test
+  void unlimitedWindowTest() {
+    final ISOInFlightWindow window = new ISOInFlightWindow(null);
+    final AtomicInteger sent = new AtomicInteger();
+    for (int i = 0; i < 100; i++) {
+      window.execute(new CompletableFuture<>(), sent::incrementAndGet);
+    }
+    Assertions.assertFalse(window.isLimited());
+    Assertions.assertEquals(100, sent.get());
+    Assertions.assertEquals(0, window.getInFlight());
+  }
+
+  @Test
+  void rejectPolicyTest() {
+    final ISOInFlightWindow window = new ISOInFlightWindow(
+        ISOInFlightProperties.builder().maxInFlight(2).policy(InFlightPolicy.REJECT).build());
+    final CompletableFuture<Object> first = new CompletableFuture<>();
+    window.execute(first, () -> {
+    });
+    window.execute(new CompletableFuture<>(), () -> {
+    });
+    Assertions.assertEquals(2, window.getInFlight());
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> window.execute(new CompletableFuture<>(), () -> {
+        }));
+
+    first.complete(null);
+    Assertions.assertEquals(1, window.getInFlight());
+    window.execute(new CompletableFuture<>(), () -> {
+    });
+    Assertions.assertEquals(2, window.getInFlight());
+  }
+
+  @Test
+  void waitPolicyTest() {
+    final ISOInFlightWindow window = new ISOInFlightWindow(ISOInFlightProperties.builder()
+        .maxInFlight(1).policy(InFlightPolicy.WAIT).waitTimeoutMs(50).build());
+    final CompletableFuture<Object> first = new CompletableFuture<>();
+    window.execute(first, () -> {
+    });
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> window.execute(new CompletableFuture<>(), () -> {
+        }));
+
+    CompletableFuture.runAsync(() -> {
+      try {
+        Thread.sleep(10);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      first.complete(null);
+    });
+    final AtomicInteger sent = new AtomicInteger();
+    window.execute(new CompletableFuture<>(), sent::incrementAndGet);
+    Assertions.assertEquals(1, sent.get());
+    Assertions.assertEquals(1, window.getInFlight());
+  }
+
+  @Test
+  void queuePolicyTest() {
+    final ISOInFlightWindow window = new ISOInFlightWindow(ISOInFlightProperties.builder()
+        .maxInFlight(1).policy(InFlightPolicy.QUEUE).maxQueued(2).build());
+    final AtomicInteger sent = new AtomicInteger();
+    final CompletableFuture<Object> first = new CompletableFuture<>();
+    final CompletableFuture<Object> cancelled = new CompletableFuture<>();
+    final CompletableFuture<Object> failed = new CompletableFuture<>();
+    window.execute(first, sent::incrementAndGet);
+    window.execute(cancelled, sent::incrementAndGet);
+    window.execute(failed, () -> {
+      throw new ISOException("Channel is not connected!");
+    });
+    Assertions.assertEquals(2, window.getQueued());
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> window.execute(new CompletableFuture<>(), sent::incrementAndGet));
+
+    cancelled.cancel(false);
+    first.complete(null);
+    Assertions.assertEquals(1, sent.get());
+    Assertions.assertTrue(failed.isCompletedExceptionally());
+    Assertions.assertEquals(0, window.getQueued());
+    Assertions.assertEquals(0, window.getInFlight());
+  }
+
+  @Test
+  void queueTimeoutTest() throws Exception {
+    final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+    try {
+      final ISOInFlightWindow window = new ISOInFlightWindow(ISOInFlightProperties.builder()
+          .maxInFlight(1).policy(InFlightPolicy.QUEUE).maxQueued(2).build(), Runnable::run, timer);
+      final AtomicInteger sent = new AtomicInteger();
+      final CompletableFuture<Object> first = new CompletableFuture<>();
+      final CompletableFuture<Object> expired = new CompletableFuture<>();
+      final CompletableFuture<Object> queued = new CompletableFuture<>();
+      window.execute(first, sent::incrementAndGet, 10_000);
+      window.execute(expired, sent::incrementAndGet, 30);
+      window.execute(queued, sent::incrementAndGet, 10_000);
+
+      final ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+          () -> expired.get(5, TimeUnit.SECONDS));
+      Assertions.assertInstanceOf(ISOTimeoutException.class, exception.getCause());
+      Assertions.assertEquals(1, window.getQueued());
+
+      first.complete(null);
+      Assertions.assertEquals(2, sent.get());
+      Assertions.assertEquals(0, window.getQueued());
+      Assertions.assertEquals(1, window.getInFlight());
+    } finally {
+      timer.stop();
+    }
+  }
+
+  @Test
+  void queueExecutorTest() throws Exception {
+    final ExecutorService executor =
+        Executors.newSingleThreadExecutor(new DefaultThreadFactory("iso-queue-test"));
+    try {
+      final ISOInFlightWindow window = new ISOInFlightWindow(ISOInFlightProperties.builder()
+          .maxInFlight(1).policy(InFlightPolicy.QUEUE).maxQueued(2).build(), executor, null);
+      final CompletableFuture<Object> first = new CompletableFuture<>();
+      final CompletableFuture<String> sendThread = new CompletableFuture<>();
+      window.execute(first, () -> {
+      });
+      window.execute(new CompletableFuture<>(),
+          () -> sendThread.complete(Thread.currentThread().getName()));
+      Assertions.assertFalse(sendThread.isDone());
+
+      first.complete(null);
+      Assertions.assertTrue(sendThread.get(5, TimeUnit.SECONDS).startsWith("iso-queue-test"));
+      Assertions.assertEquals(0, window.getQueued());
+      Assertions.assertEquals(1, window.getInFlight());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void adaptiveLimitTest() {
+    final ISOInFlightWindow window = new ISOInFlightWindow(ISOInFlightProperties.builder()
+        .maxInFlight(100).adaptive(true).minInFlight(2).initialInFlight(10).build());
+    Assertions.assertEquals(10, window.getLimit());
+    Assertions.assertTrue(window.getAdaptiveLimit().isPresent());
+
+    final CompletableFuture<?>[] futures = new CompletableFuture<?>[10];
+    for (int i = 0; i < futures.length; i++) {
+      futures[i] = new CompletableFuture<>();
+      window.execute(futures[i], () -> {
+      });
+    }
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> window.execute(new CompletableFuture<>(), () -> {
+        }));
+    for (CompletableFuture<?> future : futures) {
+      future.complete(null);
+    }
+    Assertions.assertTrue(window.getLimit() > 10);
+    Assertions.assertEquals(0, window.getInFlight());
+
+    final int limit = window.getLimit();
+    final CompletableFuture<Object> timedOut = new CompletableFuture<>();
+    window.execute(timedOut, () -> {
+    });
+    timedOut.completeExceptionally(new ISOTimeoutException("Timeout"));
+    Assertions.assertTrue(window.getLimit() < limit);
+    Assertions.assertEquals(0, window.getInFlight());
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.exception.ISORejectedException;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOOrderedExecutorTest {
+
+  private final ISOWorkerPool workerPool =
+      new ISOWorkerPool("test-worker", 4, 10_000, RejectionPolicy.REJECT);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    workerPool.shutdown();
+  }
+
+  @Test
+  void orderPerKeyTest() throws Exception {
+    final ISOOrderedExecutor executor = new ISOOrderedExecutor(workerPool, 10_000);
+    final int keys = 50;
+    final int tasksPerKey = 100;
+    final List<List<Integer>> executed = new ArrayList<>();
+    final List<AtomicInteger> running = new ArrayList<>();
+    final AtomicBoolean overlapped = new AtomicBoolean();
+    final CountDownLatch done = new CountDownLatch(keys * tasksPerKey);
+    for (int key = 0; key < keys; key++) {
+      executed.add(Collections.synchronizedList(new ArrayList<>()));
+      running.add(new AtomicInteger());
+    }
+    for (int i = 0; i < tasksPerKey; i++) {
+      for (int key = 0; key < keys; key++) {
+        final int task = i;
+        final List<Integer> keyExecuted = executed.get(key);
+        final AtomicInteger keyRunning = running.get(key);
+        executor.execute("key-" + key, () -> {
+          if (keyRunning.incrementAndGet() > 1) {
+            overlapped.set(true);
+          }
+          keyExecuted.add(task);
+          keyRunning.decrementAndGet();
+          done.countDown();
+        });
+      }
+    }
+    Assertions.assertTrue(done.await(10, TimeUnit.SECONDS));
+
+    final List<Integer> expected =
+        IntStream.range(0, tasksPerKey).boxed().collect(Collectors.toList());
+    for (List<Integer> keyExecuted : executed) {
+      Assertions.assertEquals(expected, keyExecuted);
+    }
+    Assertions.assertFalse(overlapped.get());
+    Assertions.assertEquals(0, executor.getPending());
+  }
+
+  @Test
+  void parallelKeysTest() throws Exception {
+    final ISOOrderedExecutor executor = new ISOOrderedExecutor(workerPool, 10);
+    final CountDownLatch blocked = new CountDownLatch(1);
+    final CountDownLatch other = new CountDownLatch(1);
+    executor.execute("blocked", () -> {
+      blocked.countDown();
+      awaitRelease();
+    });
+    executor.execute("blocked", other::countDown);
+    Assertions.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+
+    final CountDownLatch parallel = new CountDownLatch(1);
+    executor.execute("parallel", parallel::countDown);
+    Assertions.assertTrue(parallel.await(5, TimeUnit.SECONDS));
+    Assertions.assertEquals(1, other.getCount());
+    Assertions.assertEquals(1, executor.getPending());
+
+    release.countDown();
+    Assertions.assertTrue(other.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void rejectTest() throws Exception {
+    final ISOOrderedExecutor executor = new ISOOrderedExecutor(workerPool, 2);
+    final CountDownLatch started = new CountDownLatch(1);
+    executor.execute("key", () -> {
+      started.countDown();
+      awaitRelease();
+    });
+    Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+    // Both tasks wait behind the running one, so they stay pending
+    executor.execute("key", () -> {
+    });
+    executor.execute("key", () -> {
+    });
+
+    Assertions.assertThrows(ISORejectedException.class, () -> executor.execute("key", () -> {
+    }));
+    Assertions.assertEquals(1, executor.getRejected());
+    Assertions.assertEquals(2, executor.getPending());
+  }
+
+  @Test
+  void rejectKeepsOtherTasksTest() {
+    final List<String> executed = Collections.synchronizedList(new ArrayList<>());
+    final AtomicReference<ISOOrderedExecutor> executor = new AtomicReference<>();
+    final AtomicBoolean raced = new AtomicBoolean();
+    final ISOWorkerPool rejectingPool =
+        new ISOWorkerPool("rejecting-worker", 1, 1, RejectionPolicy.REJECT) {
+          @Override
+          public void execute(Runnable task) {
+            if (raced.compareAndSet(false, true)) {
+              // Another task of the key is added while the key is being scheduled
+              executor.get().execute("key", () -> executed.add("other"));
+            }
+            shutdown();
+            throw new ISORejectedException("Worker pool is shut down");
+          }
+        };
+    executor.set(new ISOOrderedExecutor(rejectingPool, 10));
+
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> executor.get().execute("key", () -> executed.add("rejected")));
+    Assertions.assertEquals(Collections.singletonList("other"), executed);
+    Assertions.assertEquals(1, executor.get().getRejected());
+    Assertions.assertEquals(0, executor.get().getPending());
+    Assertions.assertEquals(0, executor.get().getKeys());
+
+    // The key isn't left running, so its next task is scheduled again
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> executor.get().execute("key", () -> executed.add("next")));
+    Assertions.assertEquals(Collections.singletonList("other"), executed);
+    Assertions.assertEquals(2, executor.get().getRejected());
+    Assertions.assertEquals(0, executor.get().getPending());
+    Assertions.assertEquals(0, executor.get().getKeys());
+  }
+
+  @Test
+  void keyTest() {
+    final ISOOrderedExecutor executor = new ISOOrderedExecutor(workerPool, 10, 41);
+    final Object connection = new Object();
+    final Object otherConnection = new Object();
+    final ISOMessage message = createMessage();
+    message.setField(41, "TERM0001");
+    final ISOMessage sameTerminal = createMessage();
+    sameTerminal.setField(41, "TERM0001");
+
+    Assertions.assertEquals(executor.getKey(connection, message),
+        executor.getKey(otherConnection, sameTerminal));
+    Assertions.assertSame(connection, executor.getKey(connection, createMessage()));
+    Assertions.assertSame(connection,
+        new ISOOrderedExecutor(workerPool, 10).getKey(connection, message));
+  }
+
+  private static ISOMessage createMessage() {
+    return ISOMessage.builder().type(MessageType.fromMTIString("0200")).build();
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISORejectedException;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOWorkerPoolTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+  private ISOWorkerPool workerPool;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    workerPool.shutdown();
+  }
+
+  @Test
+  void rejectPolicyTest() throws Exception {
+    workerPool = new ISOWorkerPool("test-worker", 1, 2, RejectionPolicy.REJECT);
+    final CountDownLatch started = new CountDownLatch(1);
+    workerPool.execute(() -> {
+      started.countDown();
+      awaitRelease();
+    });
+    Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+    workerPool.execute(this::awaitRelease);
+    workerPool.execute(this::awaitRelease);
+
+    Assertions.assertEquals(1, workerPool.getActive());
+    Assertions.assertEquals(2, workerPool.getQueued());
+    Assertions.assertEquals(2, workerPool.getQueueCapacity());
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> workerPool.execute(this::awaitRelease));
+    Assertions.assertEquals(1, workerPool.getRejected());
+
+    release.countDown();
+    final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (workerPool.getCompleted() < 3 && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    Assertions.assertEquals(3, workerPool.getCompleted());
+    Assertions.assertEquals(0, workerPool.getQueued());
+  }
+
+  @Test
+  void callerRunsPolicyTest() throws Exception {
+    workerPool = new ISOWorkerPool("test-worker", 1, 1, RejectionPolicy.CALLER_RUNS);
+    final CountDownLatch started = new CountDownLatch(1);
+    final AtomicReference<Thread> workerThread = new AtomicReference<>();
+    workerPool.execute(() -> {
+      workerThread.set(Thread.currentThread());
+      started.countDown();
+      awaitRelease();
+    });
+    Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+    workerPool.execute(this::awaitRelease);
+
+    final AtomicReference<Thread> callerThread = new AtomicReference<>();
+    workerPool.execute(() -> callerThread.set(Thread.currentThread()));
+    Assertions.assertEquals(Thread.currentThread(), callerThread.get());
+    Assertions.assertEquals(1, workerPool.getRejected());
+    Assertions.assertTrue(workerThread.get().getName().startsWith("test-worker-"));
+    Assertions.assertTrue(workerThread.get().isDaemon());
+  }
+
+  @Test
+  void notValidPoolTest() {
+    workerPool = new ISOWorkerPool("test-worker", 1, 1, RejectionPolicy.REJECT);
+    Assertions.assertThrows(ISOException.class,
+        () -> new ISOWorkerPool("test-worker", 0, 1, RejectionPolicy.REJECT));
+    Assertions.assertThrows(ISOException.class,
+        () -> new ISOWorkerPool("test-worker", 1, 0, RejectionPolicy.REJECT));
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
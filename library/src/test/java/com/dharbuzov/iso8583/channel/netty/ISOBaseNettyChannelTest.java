@@ -0,0 +1,102 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.dharbuzov.iso8583.binder.MessageBinder;
+import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
+import com.dharbuzov.iso8583.channel.DispatchMode;
+import com.dharbuzov.iso8583.channel.ISOWorkerPool;
+import com.dharbuzov.iso8583.client.config.ISOClientProperties;
+import com.dharbuzov.iso8583.config.ISOConnProperties;
+import com.dharbuzov.iso8583.config.ISOThreadProperties;
+import com.dharbuzov.iso8583.factory.ISODefaultEventFactory;
+import com.dharbuzov.iso8583.factory.ISODefaultMessageListenerFactory;
+import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
+import com.dharbuzov.iso8583.server.config.ISOServerProperties;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOBaseNettyChannelTest {
+
+  private final ISOThreadProperties threadProperties =
+      ISOThreadProperties.builder().dispatchMode(DispatchMode.WORKER).build();
+  private ISOServerNettyChannel serverChannel;
+  private Thread serverThread;
+  private int port;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    try (ServerSocket socket = new ServerSocket(0)) {
+      port = socket.getLocalPort();
+    }
+    serverChannel = new ISOServerNettyChannel(ISOServerProperties.builder()
+        .connection(ISOConnProperties.builder().port(port).build())
+        .thread(threadProperties).build(), Mockito.mock(ISOPackagerFactory.class),
+        new ISODefaultMessageListenerFactory());
+    serverThread = new Thread(serverChannel::start);
+    serverThread.start();
+    Awaitility.await("Server is running!").atMost(10, TimeUnit.SECONDS)
+        .until(serverChannel::isRunning);
+  }
+
+  @AfterEach
+  void stopServer() throws InterruptedException {
+    serverChannel.shutdown();
+    serverThread.join(TimeUnit.SECONDS.toMillis(10));
+  }
+
+  @Test
+  void serverWorkerPoolShutdownTest() throws InterruptedException {
+    final ISOWorkerPool workerPool = serverChannel.getWorkerPool().get();
+    Assertions.assertFalse(workerPool.isShutdown());
+
+    serverChannel.shutdown();
+    serverThread.join(TimeUnit.SECONDS.toMillis(10));
+    Assertions.assertFalse(serverThread.isAlive());
+    Assertions.assertTrue(workerPool.isShutdown());
+  }
+
+  @Test
+  void clientWorkerPoolShutdownTest() {
+    final ISOClientNettyChannel clientChannel = new ISOClientNettyChannel(
+        ISOClientProperties.builder()
+            .connection(ISOConnProperties.builder().host("localhost").port(port).build())
+            .thread(threadProperties).build(), Mockito.mock(ISOPackagerFactory.class),
+        new ISODefaultMessageListenerFactory(), Mockito.mock(MessageBinder.class),
+        Mockito.mock(MessageKeyGenerator.class), new ISODefaultEventFactory());
+    final ISOWorkerPool workerPool = clientChannel.getWorkerPool().get();
+
+    clientChannel.connect();
+    Assertions.assertTrue(clientChannel.isConnected());
+    Assertions.assertFalse(workerPool.isShutdown());
+
+    clientChannel.disconnect();
+    Assertions.assertFalse(clientChannel.isConnected());
+    Assertions.assertTrue(workerPool.isShutdown());
+  }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.handler;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.dharbuzov.iso8583.channel.FrameLengthType;
+import com.dharbuzov.iso8583.config.ISOConnProperties;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.DecoderException;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class NettyFrameDecoderTest {
+
+  @ParameterizedTest
+  @EnumSource(value = FrameLengthType.class, names = {"BINARY_2", "ASCII_4", "BCD_2"})
+  void multipleFramesInOneReadTest(FrameLengthType frameLengthType) {
+    final EmbeddedChannel channel = new EmbeddedChannel(new NettyFrameDecoder(
+        ISOConnProperties.builder().frameLengthType(frameLengthType).build()));
+    final ByteBuf in = Unpooled.buffer();
+    writeFrame(frameLengthType, in, "0800");
+    writeFrame(frameLengthType, in, "0810ABCDEFGHIJKL");
+    writeFrame(frameLengthType, in, "0200");
+
+    Assertions.assertTrue(channel.writeInbound(in));
+
+    assertFrame(channel, "0800");
+    assertFrame(channel, "0810ABCDEFGHIJKL");
+    assertFrame(channel, "0200");
+    Assertions.assertNull(channel.readInbound());
+    Assertions.assertFalse(channel.finish());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = FrameLengthType.class, names = {"BINARY_2", "ASCII_4", "BCD_2"})
+  void partialFramesTest(FrameLengthType frameLengthType) {
+    final EmbeddedChannel channel = new EmbeddedChannel(new NettyFrameDecoder(
+        ISOConnProperties.builder().frameLengthType(frameLengthType).build()));
+    final ByteBuf in = Unpooled.buffer();
+    writeFrame(frameLengthType, in, "0800ABCDEF");
+    writeFrame(frameLengthType, in, "0810");
+
+    // Splits the length header of first frame and the body of the second one across reads
+    Assertions.assertFalse(channel.writeInbound(in.readRetainedSlice(1)));
+    Assertions.assertFalse(channel.writeInbound(in.readRetainedSlice(4)));
+    Assertions.assertTrue(channel.writeInbound(in.readRetainedSlice(in.readableBytes() - 2)));
+    assertFrame(channel, "0800ABCDEF");
+    Assertions.assertNull(channel.readInbound());
+    Assertions.assertTrue(channel.writeInbound(in.readRetainedSlice(2)));
+    assertFrame(channel, "0810");
+    in.release();
+    Assertions.assertFalse(channel.finish());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = FrameLengthType.class, names = {"BINARY_2", "ASCII_4", "BCD_2"})
+  void emptyFramesTest(FrameLengthType frameLengthType) {
+    final EmbeddedChannel channel = new EmbeddedChannel(new NettyFrameDecoder(
+        ISOConnProperties.builder().frameLengthType(frameLengthType).build()));
+    final ByteBuf in = Unpooled.buffer();
+    writeFrame(frameLengthType, in, "");
+    Assertions.assertFalse(channel.writeInbound(in));
+
+    final ByteBuf next = Unpooled.buffer();
+    writeFrame(frameLengthType, next, "0800");
+    writeFrame(frameLengthType, next, "");
+    writeFrame(frameLengthType, next, "0810");
+    Assertions.assertTrue(channel.writeInbound(next));
+    assertFrame(channel, "0800");
+    assertFrame(channel, "0810");
+    Assertions.assertNull(channel.readInbound());
+    Assertions.assertTrue(channel.isActive());
+    Assertions.assertFalse(channel.finish());
+  }
+
+  @Test
+  void tooShortFrameTest() {
+    final byte[] tpdu = new byte[] {0x60, 0x00, 0x01, 0x00, 0x02};
+    final EmbeddedChannel channel = new EmbeddedChannel(new NettyFrameDecoder(
+        ISOConnProperties.builder().frameLengthType(FrameLengthType.BINARY_2).tpdu(tpdu).build()));
+    final ByteBuf in = Unpooled.buffer();
+    in.writeShort(3);
+    in.writeBytes(tpdu, 0, 3);
+    writeTpduFrame(in, tpdu, "0800");
+
+    Assertions.assertThrows(ISOPackageException.class, () -> channel.writeInbound(in));
+    assertTpduFrame(channel, "0800", new byte[] {0x60, 0x00, 0x02, 0x00, 0x01});
+    Assertions.assertNull(channel.readInbound());
+    Assertions.assertTrue(channel.isActive());
+    Assertions.assertFalse(channel.finish());
+  }
+
+  @Test
+  void malformedHeaderTest() {
+    final EmbeddedChannel channel = new EmbeddedChannel(new NettyFrameDecoder(
+        ISOConnProperties.builder().frameLengthType(FrameLengthType.ASCII_4).build()));
+    final ByteBuf in = Unpooled.buffer();
+    in.writeCharSequence("00A40800", StandardCharsets.US_ASCII);
+
+    Assertions.assertThrows(DecoderException.class, () -> channel.writeInbound(in));
+    Assertions.assertNull(channel.readInbound());
+    Assertions.assertFalse(channel.isActive());
+    Assertions.assertFalse(channel.finish());
+  }
+
+  @Test
+  void tpduTest() {
+    final byte[] tpdu = new byte[] {0x60, 0x00, 0x01, 0x00, 0x02};
+    final byte[] otherTpdu = new byte[] {0x60, 0x00, 0x03, 0x00, 0x04};
+    final ISOConnProperties connProperties =
+        ISOConnProperties.builder().frameLengthType(FrameLengthType.BINARY_2).tpdu(tpdu).build();
+    final EmbeddedChannel channel = new EmbeddedChannel(new NettyFrameDecoder(connProperties));
+    final ByteBuf in = Unpooled.buffer();
+    writeTpduFrame(in, tpdu, "0800");
+    writeTpduFrame(in, otherTpdu, "0200");
+    writeTpduFrame(in, tpdu, "0810");
+
+    Assertions.assertTrue(channel.writeInbound(in));
+
+    // Every frame keeps its own reply TPDU, the later frames don't replace it
+    assertTpduFrame(channel, "0800", new byte[] {0x60, 0x00, 0x02, 0x00, 0x01});
+    assertTpduFrame(channel, "0200", new byte[] {0x60, 0x00, 0x04, 0x00, 0x03});
+    assertTpduFrame(channel, "0810", new byte[] {0x60, 0x00, 0x02, 0x00, 0x01});
+    Assertions.assertFalse(channel.finish());
+  }
+
+  private static void writeTpduFrame(ByteBuf out, byte[] tpdu, String msg) {
+    out.writeShort(tpdu.length + msg.length());
+    out.writeBytes(tpdu);
+    out.writeCharSequence(msg, StandardCharsets.US_ASCII);
+  }
+
+  private static void assertTpduFrame(EmbeddedChannel channel, String expected,
+      byte[] expectedReplyTpdu) {
+    final NettyTpduFrame frame = channel.readInbound();
+    Assertions.assertNotNull(frame);
+    try {
+      Assertions.assertEquals(expected, frame.content().toString(StandardCharsets.US_ASCII));
+      Assertions.assertArrayEquals(expectedReplyTpdu, frame.getReplyTpdu());
+    } finally {
+      frame.release();
+    }
+  }
+
+  private static void writeFrame(FrameLengthType frameLengthType, ByteBuf out, String msg) {
+    final int headerIndex = out.writerIndex();
+    out.writeZero(frameLengthType.getHeaderLength());
+    final int length = out.writeCharSequence(msg, StandardCharsets.US_ASCII);
+    NettyFrameLengths.setLength(frameLengthType, out, headerIndex, length);
+  }
+
+  private static void assertFrame(EmbeddedChannel channel, String expected) {
+    final ByteBuf frame = channel.readInbound();
+    Assertions.assertNotNull(frame);
+    try {
+      Assertions.assertEquals(expected, frame.toString(StandardCharsets.US_ASCII));
+    } finally {
+      frame.release();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.handler;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.channel.ISOWorkerPool;
+import com.dharbuzov.iso8583.channel.RejectionPolicy;
+import com.dharbuzov.iso8583.exception.ISORejectedException;
+import com.dharbuzov.iso8583.factory.ISODefaultMessageListenerFactory;
+import com.dharbuzov.iso8583.factory.ISOMessageListenerFactory;
+import com.dharbuzov.iso8583.listener.ISONetworkMessageListener;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class NettyMessageHandlerTest {
+
+  private final ISOWorkerPool workerPool =
+      new ISOWorkerPool("test-worker", 1, 1, RejectionPolicy.REJECT);
+  private final ISOMessageListenerFactory listenerFactory = new ISODefaultMessageListenerFactory();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    workerPool.shutdown();
+  }
+
+  @Test
+  void workerDispatchTest() throws Exception {
+    final AtomicReference<Thread> listenerThread = new AtomicReference<>();
+    final CountDownLatch handled = new CountDownLatch(1);
+    listenerFactory.addMessageListener((ISONetworkMessageListener) (replyChannel, message) -> {
+      listenerThread.set(Thread.currentThread());
+      handled.countDown();
+    });
+    final EmbeddedChannel channel =
+        new EmbeddedChannel(new NettyMessageHandler(listenerFactory, workerPool));
+
+    channel.writeInbound(createMessage());
+    Assertions.assertTrue(handled.await(5, TimeUnit.SECONDS));
+    Assertions.assertNotEquals(Thread.currentThread(), listenerThread.get());
+    Assertions.assertTrue(listenerThread.get().getName().startsWith("test-worker-"));
+  }
+
+  @Test
+  void rejectedMessageTest() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    listenerFactory.addMessageListener((ISONetworkMessageListener) (replyChannel, message) -> {
+      started.countDown();
+      try {
+        release.await(5, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    final EmbeddedChannel channel =
+        new EmbeddedChannel(new NettyMessageHandler(listenerFactory, workerPool));
+
+    channel.writeInbound(createMessage());
+    Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+    channel.writeInbound(createMessage());
+
+    Assertions.assertThrows(ISORejectedException.class,
+        () -> channel.writeInbound(createMessage()));
+    Assertions.assertEquals(1, workerPool.getRejected());
+    Assertions.assertEquals(1, workerPool.getQueued());
+  }
+
+  @Test
+  void replyTpduTest() {
+    listenerFactory.addMessageListener((ISONetworkMessageListener) (replyChannel, message) ->
+        replyChannel.reply(ISOMessage.builder().type(MessageType.fromMTIString("0810")).build()));
+    final EmbeddedChannel channel = new EmbeddedChannel(new NettyMessageHandler(listenerFactory));
+    final byte[] replyTpdu = new byte[] {0x60, 0x00, 0x02, 0x00, 0x01};
+    final ISOMessage request = createMessage();
+    request.setTpdu(replyTpdu);
+
+    channel.writeInbound(request);
+
+    final ISOMessage response = channel.readOutbound();
+    Assertions.assertSame(replyTpdu, response.getTpdu());
+  }
+
+  private static ISOMessage createMessage() {
+    return ISOMessage.builder().type(MessageType.fromMTIString("0800")).build();
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.handler;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.binder.DefaultMessageBinder;
+import com.dharbuzov.iso8583.binder.DefaultMessageKeyGenerator;
+import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
+import com.dharbuzov.iso8583.channel.FrameLengthType;
+import com.dharbuzov.iso8583.channel.netty.observer.ISONettyMessageObservable;
+import com.dharbuzov.iso8583.channel.netty.observer.ISONettyMessageObserver;
+import com.dharbuzov.iso8583.client.config.ISOClientProperties;
+import com.dharbuzov.iso8583.config.ISOConnProperties;
+import com.dharbuzov.iso8583.config.ISOMessageProperties;
+import com.dharbuzov.iso8583.exception.ISOConnectionException;
+import com.dharbuzov.iso8583.factory.ISODefaultEventFactory;
+import com.dharbuzov.iso8583.factory.ISODefaultPackagerFactory;
+import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.schema.ISOKnownSchema;
+import com.dharbuzov.iso8583.model.schema.ISOSchemas;
+import com.dharbuzov.iso8583.packager.ASCIIMessagePackager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.HashedWheelTimer;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class NettySyncMessageDecoderTest {
+
+  private final ISOMessageProperties messageProperties = ISOMessageProperties.builder()
+      .messageTypeFieldKeys(MessageType.fromMTIString("0200"), 11).build();
+  private final MessageKeyGenerator keyGenerator =
+      new DefaultMessageKeyGenerator(messageProperties);
+  private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+  private final ISONettyMessageObservable messageObservable =
+      new ISONettyMessageObservable(keyGenerator, new ISODefaultEventFactory(), timer);
+
+  @AfterEach
+  void stopTimer() {
+    timer.stop();
+  }
+
+  @Test
+  void claimedMessageTest() {
+    final ISOPackagerFactory packagerFactory = new ISODefaultPackagerFactory(
+        ISOClientProperties.builder().schema(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII))
+            .messages(messageProperties).build());
+    packagerFactory.addMessagePackager(new ASCIIMessagePackager());
+    final EmbeddedChannel channel = new EmbeddedChannel(
+        new NettySyncMessageDecoder(packagerFactory, messageObservable, keyGenerator));
+    final CompletableFuture<ISOMessage> awaitFuture = addObserver(channel, "000001");
+    final ISOMessage response = createMessage("0210");
+    response.setField(11, "000001");
+    response.setField(39, "00");
+    final ISOMessage networkMessage = createMessage("0800");
+    networkMessage.setField(11, "000002");
+
+    Assertions.assertFalse(
+        channel.writeInbound(Unpooled.wrappedBuffer(packagerFactory.pack(response))));
+    Assertions.assertTrue(awaitFuture.isDone());
+    Assertions.assertEquals("00", awaitFuture.join().getField(39).getValue());
+
+    Assertions.assertTrue(
+        channel.writeInbound(Unpooled.wrappedBuffer(packagerFactory.pack(networkMessage))));
+    final ISOMessage inMessage = channel.readInbound();
+    Assertions.assertEquals(MessageType.fromMTIString("0800"), inMessage.getType());
+    Assertions.assertEquals("000002", inMessage.getField(11).getValue());
+    Assertions.assertFalse(channel.finish());
+  }
+
+  @Test
+  void connectionLostTest() {
+    final EmbeddedChannel channel = new EmbeddedChannel(
+        new NettySyncMessageDecoder(new ISODefaultPackagerFactory(ISOClientProperties.builder()
+            .schema(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII)).build()),
+            messageObservable, keyGenerator));
+    final CompletableFuture<ISOMessage> firstFuture = addObserver(channel, "000001");
+    final CompletableFuture<ISOMessage> secondFuture = addObserver(channel, "000002");
+    final EmbeddedChannel otherChannel = new EmbeddedChannel();
+    final CompletableFuture<ISOMessage> otherFuture = addObserver(otherChannel, "000003");
+
+    channel.close();
+    assertConnectionLost(firstFuture);
+    assertConnectionLost(secondFuture);
+    Assertions.assertFalse(otherFuture.isDone());
+    Assertions.assertEquals(1, messageObservable.size());
+
+    assertConnectionLost(addObserver(channel, "000004"));
+    Assertions.assertEquals(1, messageObservable.size());
+  }
+
+  @Test
+  void responseBeforeCloseTest() {
+    final ISOPackagerFactory packagerFactory = new ISODefaultPackagerFactory(
+        ISOClientProperties.builder().schema(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII))
+            .messages(messageProperties).build());
+    packagerFactory.addMessagePackager(new ASCIIMessagePackager());
+    final EmbeddedChannel channel = new EmbeddedChannel(
+        new NettyFrameDecoder(
+            ISOConnProperties.builder().frameLengthType(FrameLengthType.BINARY_2).build()),
+        new NettySyncMessageDecoder(packagerFactory, messageObservable, keyGenerator));
+    final CompletableFuture<ISOMessage> awaitFuture = addObserver(channel, "000001");
+    final CompletableFuture<ISOMessage> otherFuture = addObserver(channel, "000002");
+    final ISOMessage response = createMessage("0210");
+    response.setField(11, "000001");
+    response.setField(39, "00");
+    final byte[] bytes = packagerFactory.pack(response);
+    final ByteBuf frame = Unpooled.buffer().writeShort(bytes.length).writeBytes(bytes);
+
+    channel.writeInbound(frame.readRetainedSlice(5));
+    channel.pipeline().fireChannelRead(frame);
+    channel.close();
+
+    Assertions.assertEquals("00", awaitFuture.join().getField(39).getValue());
+    assertConnectionLost(otherFuture);
+    Assertions.assertEquals(0, messageObservable.size());
+  }
+
+  private CompletableFuture<ISOMessage> addObserver(EmbeddedChannel channel, String stan) {
+    final CompletableFuture<ISOMessage> awaitFuture = new CompletableFuture<>();
+    final ISOMessage request = createMessage("0200");
+    request.setField(11, stan);
+    messageObservable.addObserver(channel, ISONettyMessageObserver.builder()
+        .messageBinder(new DefaultMessageBinder(messageProperties, keyGenerator))
+        .keyGenerator(keyGenerator)
+        .reqMsg(request)
+        .awaitFuture(awaitFuture).build(), 10_000);
+    return awaitFuture;
+  }
+
+  private static void assertConnectionLost(CompletableFuture<ISOMessage> awaitFuture) {
+    final ExecutionException exception =
+        Assertions.assertThrows(ExecutionException.class, awaitFuture::get);
+    Assertions.assertInstanceOf(ISOConnectionException.class, exception.getCause());
+  }
+
+  private static ISOMessage createMessage(String mti) {
+    return ISOMessage.builder().type(MessageType.fromMTIString(mti)).build();
+  }
+}
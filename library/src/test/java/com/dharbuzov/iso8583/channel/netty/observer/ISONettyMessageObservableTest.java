@@ -0,0 +1,209 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.channel.netty.observer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.binder.DefaultMessageBinder;
+import com.dharbuzov.iso8583.binder.DefaultMessageKeyGenerator;
+import com.dharbuzov.iso8583.binder.ISOMessageKey;
+import com.dharbuzov.iso8583.binder.MessageBinder;
+import com.dharbuzov.iso8583.binder.MessageKeyGenerator;
+import com.dharbuzov.iso8583.config.ISOMessageProperties;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISOTimeoutException;
+import com.dharbuzov.iso8583.factory.ISODefaultEventFactory;
+import com.dharbuzov.iso8583.factory.ISOEventFactory;
+import com.dharbuzov.iso8583.listener.ISOEventListener;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.event.Event;
+import com.dharbuzov.iso8583.model.event.EventType;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.HashedWheelTimer;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISONettyMessageObservableTest {
+
+  private final ISOMessageProperties messageProperties = ISOMessageProperties.builder()
+      .messageTypeFieldKeys(MessageType.fromMTIString("0200"), 11).build();
+  private final MessageKeyGenerator keyGenerator =
+      new DefaultMessageKeyGenerator(messageProperties);
+  private final MessageBinder messageBinder =
+      new DefaultMessageBinder(messageProperties, keyGenerator);
+  private final ISOEventFactory eventFactory = new ISODefaultEventFactory();
+  private final HashedWheelTimer timer = new HashedWheelTimer(10, TimeUnit.MILLISECONDS);
+  private final EmbeddedChannel channel = new EmbeddedChannel();
+
+  @AfterEach
+  void stopTimer() {
+    timer.stop();
+  }
+
+  @Test
+  void keyBasedObserversTest() {
+    final ISONettyMessageObservable messageObservable =
+        new ISONettyMessageObservable(keyGenerator, eventFactory, timer);
+    final CompletableFuture<ISOMessage> firstFuture = new CompletableFuture<>();
+    final CompletableFuture<ISOMessage> secondFuture = new CompletableFuture<>();
+    messageObservable.addObserver(channel,
+        createObserver(messageBinder, "000001", firstFuture), 10_000);
+    messageObservable.addObserver(channel,
+        createObserver(messageBinder, "000002", secondFuture), 10_000);
+    Assertions.assertEquals(2, messageObservable.size());
+
+    Assertions.assertFalse(messageObservable.onMessage(createMessage("0210", "000003")));
+    Assertions.assertTrue(messageObservable.onMessage(createMessage("0210", "000002")));
+    Assertions.assertFalse(firstFuture.isDone());
+    Assertions.assertEquals("000002", secondFuture.join().getField(11).getValue());
+    Assertions.assertEquals(1, messageObservable.size());
+
+    Assertions.assertFalse(messageObservable.onMessage(createMessage("0210", "000002")));
+    Assertions.assertNotNull(messageObservable.claim(createMessage("0210", "000001")));
+    Assertions.assertNull(messageObservable.claim(createMessage("0210", "000001")));
+    Assertions.assertEquals(0, messageObservable.size());
+    Assertions.assertEquals(0, messageObservable.getChannelCount());
+  }
+
+  @Test
+  void scannedObserversTest() {
+    final MessageBinder typeBinder = new MessageBinder() {
+      @Override
+      public boolean isBind(MessageType reqMsgType, ISOMessageKey reqMsgKey, ISOMessage inMsg) {
+        return reqMsgType.responseType().equals(inMsg.getType());
+      }
+
+      @Override
+      public boolean isKeyBased() {
+        return false;
+      }
+    };
+    final ISONettyMessageObservable messageObservable =
+        new ISONettyMessageObservable(keyGenerator, eventFactory, timer);
+    final CompletableFuture<ISOMessage> awaitFuture = new CompletableFuture<>();
+    messageObservable.addObserver(channel,
+        createObserver(typeBinder, "000001", awaitFuture), 10_000);
+
+    Assertions.assertTrue(messageObservable.onMessage(createMessage("0210", "000005")));
+    Assertions.assertEquals("000005", awaitFuture.join().getField(11).getValue());
+    Assertions.assertEquals(0, messageObservable.size());
+  }
+
+  @Test
+  void expiredObserversTest() throws InterruptedException {
+    final CountDownLatch eventLatch = new CountDownLatch(1);
+    final AtomicReference<ISOMessage> timedOutMessage = new AtomicReference<>();
+    eventFactory.addEventListener(new ISOEventListener() {
+      @Override
+      public void onEvent(Event event) {
+        timedOutMessage.set(event.getValue());
+        eventLatch.countDown();
+      }
+
+      @Override
+      public boolean isApplicable(Event event) {
+        return EventType.REQUEST_TIMEOUT == event.getEventType();
+      }
+    });
+    final ISONettyMessageObservable messageObservable =
+        new ISONettyMessageObservable(keyGenerator, eventFactory, timer);
+    final CompletableFuture<ISOMessage> awaitFuture = new CompletableFuture<>();
+    messageObservable.addObserver(channel,
+        createObserver(messageBinder, "000001", awaitFuture), 20);
+
+    final ExecutionException exception = Assertions.assertThrows(ExecutionException.class,
+        () -> awaitFuture.get(5, TimeUnit.SECONDS));
+    Assertions.assertInstanceOf(ISOTimeoutException.class, exception.getCause());
+    Assertions.assertTrue(eventLatch.await(5, TimeUnit.SECONDS));
+    Assertions.assertEquals("000001", timedOutMessage.get().getField(11).getValue());
+    Assertions.assertEquals(0, messageObservable.size());
+    Assertions.assertEquals(0, messageObservable.getChannelCount());
+    Assertions.assertFalse(messageObservable.onMessage(createMessage("0210", "000001")));
+  }
+
+  @Test
+  void inactiveChannelNotTrackedTest() throws Exception {
+    final ISONettyMessageObservable messageObservable =
+        new ISONettyMessageObservable(keyGenerator, eventFactory, timer);
+    final CompletableFuture<ISOMessage> awaitFuture = new CompletableFuture<>();
+    channel.close().sync();
+    messageObservable.onChannelInactive(channel);
+
+    messageObservable.addObserver(channel,
+        createObserver(messageBinder, "000001", awaitFuture), 10_000);
+
+    Assertions.assertTrue(awaitFuture.isCompletedExceptionally());
+    Assertions.assertEquals(0, messageObservable.size());
+    Assertions.assertEquals(0, messageObservable.getChannelCount());
+  }
+
+  @Test
+  void removeObserverTest() {
+    final ISONettyMessageObservable messageObservable =
+        new ISONettyMessageObservable(keyGenerator, eventFactory, timer);
+    final CompletableFuture<ISOMessage> awaitFuture = new CompletableFuture<>();
+    final ISONettyExpiryMessageObserver expiryObserver = messageObservable.addObserver(channel,
+        createObserver(messageBinder, "000001", awaitFuture), 10_000);
+    Assertions.assertEquals(1, messageObservable.size());
+
+    final ISOException cause = new ISOException("Channel is not writable!");
+    Assertions.assertTrue(messageObservable.removeObserver(expiryObserver, cause));
+    Assertions.assertFalse(messageObservable.removeObserver(expiryObserver, cause));
+    final CompletionException exception =
+        Assertions.assertThrows(CompletionException.class, awaitFuture::join);
+    Assertions.assertSame(cause, exception.getCause());
+    Assertions.assertEquals(0, messageObservable.size());
+    Assertions.assertEquals(0, messageObservable.getChannelCount());
+    Assertions.assertFalse(messageObservable.onMessage(createMessage("0210", "000001")));
+  }
+
+  @Test
+  void claimedObserverNotExpiredTest() throws InterruptedException {
+    final ISONettyMessageObservable messageObservable =
+        new ISONettyMessageObservable(keyGenerator, eventFactory, timer);
+    final CompletableFuture<ISOMessage> awaitFuture = new CompletableFuture<>();
+    messageObservable.addObserver(channel,
+        createObserver(messageBinder, "000001", awaitFuture), 20);
+
+    Assertions.assertTrue(messageObservable.onMessage(createMessage("0210", "000001")));
+    Thread.sleep(100);
+    Assertions.assertEquals("000001", awaitFuture.join().getField(11).getValue());
+  }
+
+  private ISONettyMessageObserver createObserver(MessageBinder binder, String stan,
+      CompletableFuture<ISOMessage> awaitFuture) {
+    return ISONettyMessageObserver.builder().messageBinder(binder).keyGenerator(keyGenerator)
+        .reqMsg(createMessage("0200", stan)).awaitFuture(awaitFuture).build();
+  }
+
+  private static ISOMessage createMessage(String mti, String stan) {
+    final ISOMessage message = ISOMessage.builder().type(MessageType.fromMTIString(mti)).build();
+    message.setField(11, stan);
+    return message;
+  }
+}
@@ -0,0 +1,494 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.factory;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.client.config.ISOClientProperties;
+import com.dharbuzov.iso8583.config.ISOMessageProperties;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+import com.dharbuzov.iso8583.model.ISOField;
+import com.dharbuzov.iso8583.model.ISOFieldType;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.ISOValueType;
+import com.dharbuzov.iso8583.model.MessageSource;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.schema.ISOFieldSchema;
+import com.dharbuzov.iso8583.model.schema.ISOKnownSchema;
+import com.dharbuzov.iso8583.model.schema.ISOMessageSchema;
+import com.dharbuzov.iso8583.model.schema.ISOSchema;
+import com.dharbuzov.iso8583.model.schema.ISOSchemas;
+import com.dharbuzov.iso8583.packager.ASCIIMessagePackager;
+import com.dharbuzov.iso8583.packager.BCDMessagePackager;
+import com.dharbuzov.iso8583.packager.BCDRightPaddedMessagePackager;
+import com.dharbuzov.iso8583.packager.HEXMessagePackager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISODefaultPackagerFactoryTest {
+
+  @Test
+  void packUnpackAsciiTest() {
+    final ISOPackagerFactory packagerFactory =
+        createPackagerFactory(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII));
+    final ISOMessage message = createMessage("0200");
+    message.setField(2, "4111111111111111");
+    message.setField(4, "1000");
+    message.setField(41, "TERM01");
+    message.setField(52, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    message.setField(102, "12345");
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    Assertions.assertEquals(4 + 16 + 18 + 12 + 8 + 8 + 7, bytes.length);
+    Assertions.assertEquals("0200", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+    Assertions.assertEquals((byte) 0xD0, bytes[4]);
+    Assertions.assertEquals("164111111111111111000000001000TERM01  ",
+        new String(bytes, 20, 38, StandardCharsets.US_ASCII));
+    Assertions.assertEquals("0512345", new String(bytes, bytes.length - 7, 7,
+        StandardCharsets.US_ASCII));
+
+    final ISOMessage unpacked = packagerFactory.unpack(bytes);
+
+    Assertions.assertEquals(MessageSource.IN, unpacked.getSource());
+    Assertions.assertEquals(message.getType(), unpacked.getType());
+    Assertions.assertEquals("4111111111111111", unpacked.getField(2).getValue());
+    Assertions.assertEquals("000000001000", unpacked.getField(4).getValue());
+    Assertions.assertEquals("TERM01  ", unpacked.getField(41).getValue());
+    Assertions.assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7, 8},
+        (byte[]) unpacked.getField(52).getValue());
+    Assertions.assertEquals("12345", unpacked.getField(102).getValue());
+    Assertions.assertNull(unpacked.getField(3));
+  }
+
+  @Test
+  void packUnpackHexTest() {
+    final ISOPackagerFactory packagerFactory =
+        createPackagerFactory(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_HEX));
+    final ISOMessage message = createMessage("0800");
+    message.setField(11, "123");
+    message.setField(70, "301");
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    Assertions.assertEquals("0800" + "8020000000000000" + "0400000000000000" + "000123" + "301",
+        new String(bytes, StandardCharsets.US_ASCII));
+
+    final ISOMessage unpacked = packagerFactory.unpack(bytes);
+
+    Assertions.assertEquals("000123", unpacked.getField(11).getValue());
+    Assertions.assertEquals("301", unpacked.getField(70).getValue());
+  }
+
+  @Test
+  void readKeyFieldsTest() {
+    final ISOPackagerFactory packagerFactory =
+        createPackagerFactory(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII));
+    final ISOMessage message = createMessage("0210");
+    message.setField(2, "4111111111111111");
+    message.setField(11, "000001");
+    message.setField(39, "00");
+    message.setField(41, "TERM01");
+    message.setField(102, "12345");
+    final ByteBuf in = Unpooled.wrappedBuffer(packagerFactory.pack(message));
+
+    final ISOMessage keyMessage = packagerFactory.readKeyFields(in, type -> new int[] {11, 37, 41});
+
+    Assertions.assertEquals(0, in.readerIndex());
+    Assertions.assertEquals(MessageType.fromMTIString("0210"), keyMessage.getType());
+    Assertions.assertEquals("000001", keyMessage.getField(11).getValue());
+    Assertions.assertEquals("TERM01  ", keyMessage.getField(41).getValue());
+    Assertions.assertFalse(keyMessage.hasField(2));
+    Assertions.assertFalse(keyMessage.hasField(37));
+    Assertions.assertFalse(keyMessage.hasField(39));
+    Assertions.assertFalse(keyMessage.hasField(102));
+
+    final ISOMessage unpacked = packagerFactory.readFrom(in);
+
+    Assertions.assertEquals("00", unpacked.getField(39).getValue());
+    Assertions.assertEquals("12345", unpacked.getField(102).getValue());
+    Assertions.assertFalse(in.isReadable());
+  }
+
+  @Test
+  void lazyUnpackTest() {
+    final ISOSchema schema = ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII);
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(schema);
+    final ISOPackagerFactory lazyPackagerFactory = createPackagerFactory(schema, true);
+    final ISOMessage message = createMessage("0200");
+    message.setField(2, "4111111111111111");
+    message.setField(3, "000000");
+    message.setField(11, "000001");
+    message.setField(41, "TERM01");
+    message.setField(102, "12345");
+    final byte[] bytes = packagerFactory.pack(message);
+
+    final ISOMessage unpacked = lazyPackagerFactory.unpack(bytes);
+
+    Assertions.assertNotNull(unpacked.getFieldIndex());
+    Assertions.assertTrue(unpacked.hasField(41));
+    Assertions.assertEquals("TERM01  ", unpacked.getField(41).getValue());
+    Assertions.assertSame(unpacked.getField(41), unpacked.getField(41));
+    Assertions.assertArrayEquals(bytes, lazyPackagerFactory.pack(unpacked));
+
+    final ISOField[] fields = unpacked.getFields();
+    Assertions.assertEquals("4111111111111111", fields[2].getValue());
+    Assertions.assertSame(unpacked.getField(41), fields[41]);
+    Assertions.assertNull(fields[4]);
+    fields[4] = fields[3];
+    fields[2] = null;
+    Assertions.assertFalse(unpacked.hasField(4));
+    Assertions.assertNotNull(unpacked.getField(2));
+
+    unpacked.setField(11, "000002");
+    unpacked.removeField(3);
+    message.setField(11, "000002");
+    message.removeField(3);
+
+    Assertions.assertArrayEquals(packagerFactory.pack(message), lazyPackagerFactory.pack(unpacked));
+    Assertions.assertEquals("4111111111111111", unpacked.getField(2).getValue());
+    Assertions.assertNull(unpacked.getField(3));
+  }
+
+  @Test
+  void longFieldTest() {
+    final ISOSchema schema = ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII);
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(schema);
+    final ISOPackagerFactory lazyPackagerFactory = createPackagerFactory(schema, true);
+    final ISOMessage message = createMessage("0200");
+    message.setField(3, "000000");
+    message.setLong(4, 12_550L);
+    message.setLong(11, 1L);
+    final byte[] bytes = packagerFactory.pack(message);
+
+    Assertions.assertEquals("0200", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+    Assertions.assertTrue(new String(bytes, StandardCharsets.US_ASCII)
+        .endsWith("000000000000012550000001"));
+    Assertions.assertEquals(12_550L, message.getField(4).getValue());
+
+    final ISOMessage unpacked = packagerFactory.unpack(bytes);
+    final ISOMessage lazyUnpacked = lazyPackagerFactory.unpack(bytes);
+
+    Assertions.assertEquals(12_550L, unpacked.getLong(4));
+    Assertions.assertEquals(12_550L, lazyUnpacked.getLong(4));
+    Assertions.assertEquals(0L, lazyUnpacked.getLong(3));
+    Assertions.assertThrows(ISOException.class, () -> lazyUnpacked.getLong(41));
+
+    lazyUnpacked.setLong(11, 2L);
+    lazyUnpacked.setLong(4, 99L);
+    message.setLong(11, 2L);
+    message.setField(4, "000000000099");
+
+    Assertions.assertArrayEquals(packagerFactory.pack(message),
+        lazyPackagerFactory.pack(lazyUnpacked));
+    Assertions.assertEquals("000002", lazyUnpacked.getField(11).getValue());
+    Assertions.assertEquals(99L, message.getLong(4));
+
+    message.setLong(11, 1_000_000L);
+
+    Assertions.assertThrows(ISOPackageException.class, () -> packagerFactory.pack(message));
+  }
+
+  @Test
+  void specializedCodecsTest() {
+    final ISOSchema schema = ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII);
+    schema.getSchema("0***").getField(25).defaultValue("00");
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(schema);
+    final ISOPackagerFactory specializedPackagerFactory = new ISODefaultPackagerFactory(
+        ISOClientProperties.builder().schema(schema)
+            .messages(ISOMessageProperties.builder().specializedCodecs(true).build()).build());
+    specializedPackagerFactory.addMessagePackager(new ASCIIMessagePackager());
+    final ISOMessage message = createMessage("0200");
+    message.setField(2, "4111111111111111");
+    message.setLong(4, 12_550L);
+    message.setField(41, "TERM01");
+    message.setField(102, "12345");
+
+    for (int i = 0; i < 3; i++) {
+      final byte[] bytes = packagerFactory.pack(message);
+
+      Assertions.assertArrayEquals(bytes, specializedPackagerFactory.pack(message));
+      Assertions.assertArrayEquals(bytes,
+          specializedPackagerFactory.pack(specializedPackagerFactory.unpack(bytes)));
+      Assertions.assertEquals("00", specializedPackagerFactory.unpack(bytes).getField(25)
+          .getValue());
+
+      message.setField(3, "00000" + i);
+      message.removeField(102);
+    }
+    message.setField(11, "1234567");
+
+    Assertions.assertThrows(ISOPackageException.class,
+        () -> specializedPackagerFactory.pack(message));
+  }
+
+  @Test
+  void forwardTest() {
+    final ISOPackagerFactory inPackagerFactory =
+        createPackagerFactory(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_HEX), true);
+    final ISOPackagerFactory outPackagerFactory =
+        createPackagerFactory(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_HEX));
+    final ISOMessage message = createMessage("0200");
+    message.setField(2, "4111111111111111");
+    message.setField(11, "000001");
+    message.setField(32, "123456");
+    message.setField(52, new byte[] {0x0A, 0x0B, 0x0C, 0x0D, 0x0E, 0x0F, 0x1A, 0x1B});
+    // Lower case hex is not produced by the packager, so it's kept only if field is copied as is
+    final String received = new String(outPackagerFactory.pack(message), StandardCharsets.US_ASCII)
+        .replace("0A0B0C0D0E0F1A1B", "0a0b0c0d0e0f1a1b");
+
+    final ISOMessage forwarded =
+        inPackagerFactory.unpack(received.getBytes(StandardCharsets.US_ASCII));
+    forwarded.setField(11, "000777");
+    forwarded.setField(32, "12345678");
+    forwarded.setField(41, "TERM0001");
+    message.setField(11, "000777");
+    message.setField(32, "12345678");
+    message.setField(41, "TERM0001");
+
+    Assertions.assertTrue(forwarded.getFieldIndex().contains(11));
+    Assertions.assertFalse(forwarded.getFieldIndex().contains(32));
+    Assertions.assertEquals(
+        new String(outPackagerFactory.pack(message), StandardCharsets.US_ASCII)
+            .replace("0A0B0C0D0E0F1A1B", "0a0b0c0d0e0f1a1b"),
+        new String(outPackagerFactory.pack(forwarded), StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  void tertiaryBitmapTest() {
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(ISOSchema.builder()
+        .packager(HEXMessagePackager.class)
+        .schema("2***", ISOMessageSchema.builder().field(3, field(ISOValueType.NUMERIC, 6))
+            .field(130, field(ISOValueType.LLVAR, 10)).build())
+        .build());
+    final ISOMessage message = createMessage("2100");
+    message.setField(3, "1");
+    message.setField(130, "ABC");
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    Assertions.assertEquals("2100" + "A000000000000000" + "8000000000000000" + "4000000000000000"
+        + "000001" + "03ABC", new String(bytes, StandardCharsets.US_ASCII));
+
+    final ISOMessage unpacked = packagerFactory.unpack(bytes);
+
+    Assertions.assertEquals(2, unpacked.getBitmap().cardinality());
+    Assertions.assertEquals("000001", unpacked.getField(3).getValue());
+    Assertions.assertEquals("ABC", unpacked.getField(130).getValue());
+  }
+
+  @Test
+  void mixedPackagersTest() {
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(ISOSchema.builder()
+        .packager(ASCIIMessagePackager.class)
+        .schema("0***", ISOMessageSchema.builder()
+            .field(2, field(ISOValueType.LLNUM, 19).packager(BCDRightPaddedMessagePackager.class))
+            .field(3, field(ISOValueType.NUMERIC, 6).packager(BCDMessagePackager.class))
+            .field(4, field(ISOValueType.NUMERIC, 11).packager(BCDMessagePackager.class))
+            .field(41, field(ISOValueType.ALPHA, 8))
+            .field(52, field(ISOValueType.BINARY, 2)).build())
+        .build());
+    final ISOMessage message = createMessage("0200");
+    message.setField(2, "4111111111111111111");
+    message.setField(3, "3000");
+    message.setLong(4, 12_550L);
+    message.setField(41, "TERM01");
+    message.setField(52, new byte[] {0x12, 0x34});
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    Assertions.assertEquals("0200", new String(bytes, 0, 4, StandardCharsets.US_ASCII));
+    Assertions.assertEquals("7000000000801000" + "19" + "41111111111111111110" + "003000"
+            + "000000012550" + "5445524D30312020" + "1234",
+        ByteBufUtil.hexDump(bytes, 4, bytes.length - 4).toUpperCase());
+
+    final ISOMessage unpacked = packagerFactory.unpack(bytes);
+
+    Assertions.assertEquals("4111111111111111111", unpacked.getField(2).getValue());
+    Assertions.assertEquals("003000", unpacked.getField(3).getValue());
+    Assertions.assertEquals(12_550L, unpacked.getLong(4));
+    Assertions.assertEquals("TERM01  ", unpacked.getField(41).getValue());
+  }
+
+  @Test
+  void bcdMessageTest() {
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(ISOSchema.builder()
+        .packager(BCDMessagePackager.class)
+        .schema("0***", ISOMessageSchema.builder().field(3, field(ISOValueType.NUMERIC, 6))
+            .field(32, field(ISOValueType.LLNUM, 11)).build())
+        .build());
+    final ISOMessage message = createMessage("0200");
+    message.setField(3, "1");
+    message.setField(32, "412");
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    Assertions.assertEquals("0200" + "2000000100000000" + "000001" + "030412",
+        ByteBufUtil.hexDump(bytes).toUpperCase());
+    Assertions.assertEquals("412", packagerFactory.unpack(bytes).getField(32).getValue());
+  }
+
+  @Test
+  void bcdAlphanumericVarFieldTest() {
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(ISOSchema.builder()
+        .packager(BCDMessagePackager.class)
+        .schema("0***", ISOMessageSchema.builder().field(35, field(ISOValueType.LLVAR, 37))
+            .field(48, field(ISOValueType.LLLVAR, 999)).build())
+        .build());
+    final ISOMessage message = createMessage("0200");
+    message.setField(35, "4111111111111111=2512");
+    message.setField(48, "AB=12");
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    // BCD length prefixes followed by the characters
+    Assertions.assertEquals("0200" + "0000000020010000" + "21"
+            + ByteBufUtil.hexDump("4111111111111111=2512".getBytes(StandardCharsets.US_ASCII))
+            + "0005" + ByteBufUtil.hexDump("AB=12".getBytes(StandardCharsets.US_ASCII)),
+        ByteBufUtil.hexDump(bytes));
+    final ISOMessage unpacked = packagerFactory.unpack(bytes);
+    Assertions.assertEquals("4111111111111111=2512", unpacked.getField(35).getValue());
+    Assertions.assertEquals("AB=12", unpacked.getField(48).getValue());
+  }
+
+  @Test
+  void ebcdicMessageTest() {
+    final Charset charset = Charset.forName("IBM037");
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(ISOSchema.builder()
+        .packager(ASCIIMessagePackager.class).encoding(charset)
+        .schema("0***", ISOMessageSchema.builder().field(2, field(ISOValueType.LLNUM, 19))
+            .field(3, field(ISOValueType.NUMERIC, 6)).field(41, field(ISOValueType.ALPHA, 8))
+            .field(55, field(ISOValueType.LLLBIN, 255)).build())
+        .build());
+    final ISOMessage message = createMessage("0200");
+    message.setField(2, "4111111111111111");
+    message.setField(3, "3000");
+    message.setField(41, "TERM01");
+    message.setField(55, new byte[] {(byte) 0x9F, 0x26, 0x01});
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    // MTI and length prefixes are EBCDIC digits, the bitmap and binary field are raw bytes
+    Assertions.assertEquals("f0f2f0f0", ByteBufUtil.hexDump(bytes, 0, 4));
+    Assertions.assertEquals(ByteBufUtil.hexDump("0200".getBytes(charset)) + "6000000000800200"
+            + ByteBufUtil.hexDump(("16" + "4111111111111111" + "003000" + "TERM01  " + "003")
+            .getBytes(charset)) + "9f2601",
+        ByteBufUtil.hexDump(bytes));
+    final ISOMessage unpacked = packagerFactory.unpack(bytes);
+    Assertions.assertEquals(MessageType.fromMTIString("0200"), unpacked.getType());
+    Assertions.assertEquals("4111111111111111", unpacked.getField(2).getValue());
+    Assertions.assertEquals("003000", unpacked.getField(3).getValue());
+    Assertions.assertEquals("TERM01  ", unpacked.getField(41).getValue());
+    Assertions.assertArrayEquals(new byte[] {(byte) 0x9F, 0x26, 0x01},
+        (byte[]) unpacked.getField(55).getValue());
+  }
+
+  @Test
+  void mostSpecificSchemaTest() {
+    final ISOSchema schema = ISOSchema.builder().packager(ASCIIMessagePackager.class)
+        .schema("0***", ISOMessageSchema.builder().field(3, field(ISOValueType.NUMERIC, 6)).build())
+        .schema("08**", ISOMessageSchema.builder().field(3, field(ISOValueType.ALPHA, 4))
+            .field(11, ISOFieldSchema.builder().fieldType(ISOFieldType.PRIMITIVE)
+                .valueType(ISOValueType.NUMERIC).length(6).defaultValue("000001").build()).build())
+        .build();
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(schema);
+    final ISOMessage networkMessage = createMessage("0800");
+    networkMessage.setField(3, "99");
+    final ISOMessage financialMessage = createMessage("0200");
+    financialMessage.setField(3, "99");
+
+    Assertions.assertEquals("99  000001",
+        new String(packagerFactory.pack(networkMessage), 12, 10, StandardCharsets.US_ASCII));
+    Assertions.assertEquals("000099",
+        new String(packagerFactory.pack(financialMessage), 12, 6, StandardCharsets.US_ASCII));
+  }
+
+  @Test
+  void removedDefaultFieldTest() {
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(ISOSchema.builder()
+        .packager(ASCIIMessagePackager.class)
+        .schema("08**", ISOMessageSchema.builder().field(3, field(ISOValueType.NUMERIC, 6))
+            .field(11, ISOFieldSchema.builder().fieldType(ISOFieldType.PRIMITIVE)
+                .valueType(ISOValueType.NUMERIC).length(6).defaultValue("000001").build()).build())
+        .build());
+    final ISOMessage message = createMessage("0800");
+    message.setField(3, "99");
+    message.setField(11, "000005");
+    message.removeField(11);
+
+    final byte[] bytes = packagerFactory.pack(message);
+
+    Assertions.assertEquals(4 + 8 + 6, bytes.length);
+    Assertions.assertEquals("000099", new String(bytes, 12, 6, StandardCharsets.US_ASCII));
+    Assertions.assertFalse(packagerFactory.unpack(bytes).hasField(11));
+
+    message.setField(11, "000007");
+    Assertions.assertEquals("000099000007",
+        new String(packagerFactory.pack(message), 12, 12, StandardCharsets.US_ASCII));
+    message.setField(11, (ISOField) null);
+    Assertions.assertEquals(4 + 8 + 6, packagerFactory.pack(message).length);
+  }
+
+  @Test
+  void packFailureTest() {
+    final ISOPackagerFactory packagerFactory = createPackagerFactory(ISOSchema.builder()
+        .packager(ASCIIMessagePackager.class)
+        .schema("0***", ISOMessageSchema.builder().field(3, field(ISOValueType.NUMERIC, 6)).build())
+        .build());
+    final ISOMessage undefinedField = createMessage("0200");
+    undefinedField.setField(4, "1000");
+    final ISOMessage tooLongField = createMessage("0200");
+    tooLongField.setField(3, "1234567");
+
+    Assertions.assertThrows(ISOPackageException.class, () -> packagerFactory.pack(undefinedField));
+    Assertions.assertThrows(ISOPackageException.class, () -> packagerFactory.pack(tooLongField));
+    Assertions.assertThrows(ISOPackageException.class,
+        () -> packagerFactory.pack(createMessage("1200")));
+  }
+
+  private static ISOPackagerFactory createPackagerFactory(ISOSchema schema) {
+    return createPackagerFactory(schema, false);
+  }
+
+  private static ISOPackagerFactory createPackagerFactory(ISOSchema schema, boolean lazyUnpack) {
+    final ISOPackagerFactory packagerFactory = new ISODefaultPackagerFactory(
+        ISOClientProperties.builder().schema(schema)
+            .messages(ISOMessageProperties.builder().lazyUnpack(lazyUnpack).build()).build());
+    packagerFactory.addMessagePackager(new ASCIIMessagePackager());
+    packagerFactory.addMessagePackager(new HEXMessagePackager());
+    packagerFactory.addMessagePackager(new BCDMessagePackager());
+    return packagerFactory;
+  }
+
+  private static ISOMessage createMessage(String mti) {
+    return ISOMessage.builder().type(MessageType.fromMTIString(mti)).build();
+  }
+
+  private static ISOFieldSchema field(ISOValueType valueType, int length) {
+    return ISOFieldSchema.builder().fieldType(ISOFieldType.PRIMITIVE).valueType(valueType)
+        .length(length).build();
+  }
+}
@@ -16,14 +16,23 @@
 package com.dharbuzov.iso8583.factory;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import com.dharbuzov.iso8583.channel.ISOReplyChannel;
+import com.dharbuzov.iso8583.listener.ISOAuthorizationMessageListener;
 import com.dharbuzov.iso8583.listener.ISOMessageListener;
+import com.dharbuzov.iso8583.listener.ISONetworkMessageListener;
 import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageFunction;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.order.ISOOrdered;
 
 import lombok.Getter;
 
@@ -74,6 +83,108 @@ public class ISOMessageListenerFactoryTest {
         .reply(Mockito.any(ISOMessage.class));
   }
 
+  @Test
+  void onMessageOrderTest() {
+    final List<String> executed = new ArrayList<>();
+    messageListenerFactory.addMessageListener(new OrderedMessageListener("third", 10, executed));
+    messageListenerFactory.addMessageListener(new OrderedMessageListener("fourth", 10, executed));
+    final OrderedMessageListener removed = new OrderedMessageListener("removed", 5, executed);
+    messageListenerFactory.addMessageListener(removed);
+    messageListenerFactory.addMessageListener(new OrderedMessageListener("first", -1, executed));
+    messageListenerFactory.addMessageListener(new OrderedMessageListener("second", 0, executed));
+    messageListenerFactory.removeMessageListener(removed);
+
+    messageListenerFactory.onMessage(Mockito.mock(ISOReplyChannel.class),
+        ISOMessage.builder().build());
+
+    Assertions.assertEquals(Arrays.asList("first", "second", "third", "fourth"), executed);
+  }
+
+  @Test
+  void onMessageDispatchTest() {
+    final List<String> executed = new ArrayList<>();
+    final ISOAuthorizationMessageListener authorizationListener =
+        (replyChannel, message) -> executed.add("authorization");
+    final ISONetworkMessageListener networkListener =
+        (replyChannel, message) -> executed.add("network");
+    messageListenerFactory.addMessageListener(authorizationListener);
+    messageListenerFactory.addMessageListener(networkListener);
+    messageListenerFactory.addMessageListener(
+        new OrderedMessageListener("all", ISOOrdered.LOWEST_PRECEDENCE, executed));
+    messageListenerFactory.addMessageListener(new ISOMessageListener() {
+      @Override
+      public void onMessage(ISOReplyChannel replyChannel, ISOMessage message) {
+        executed.add("advice");
+      }
+
+      @Override
+      public boolean isApplicable(ISOMessage message) {
+        return message.hasField(39) && "00".equals(message.getField(39).getValue());
+      }
+
+      @Override
+      public MessageType[] getMessageTypes() {
+        return new MessageType[] {MessageType.builder().function(MessageFunction.ADVICE).build()};
+      }
+    });
+    final ISOReplyChannel replyChannel = Mockito.mock(ISOReplyChannel.class);
+
+    messageListenerFactory.onMessage(replyChannel, createMessage("0100"));
+    Assertions.assertEquals(Arrays.asList("authorization", "all"), executed);
+
+    executed.clear();
+    messageListenerFactory.onMessage(replyChannel, createMessage("0820"));
+    Assertions.assertEquals(Arrays.asList("network", "all"), executed);
+
+    executed.clear();
+    final ISOMessage adviceMessage = createMessage("0120");
+    adviceMessage.setField(39, "00");
+    messageListenerFactory.onMessage(replyChannel, adviceMessage);
+    Assertions.assertEquals(Arrays.asList("authorization", "all", "advice"), executed);
+
+    executed.clear();
+    messageListenerFactory.onMessage(replyChannel, ISOMessage.builder()
+        .type(MessageType.builder().clazz(MessageClass.NETWORK_MANAGEMENT).build()).build());
+    Assertions.assertEquals(Arrays.asList("network", "all"), executed);
+
+    executed.clear();
+    messageListenerFactory.removeMessageListener(authorizationListener);
+    messageListenerFactory.onMessage(replyChannel, createMessage("0100"));
+    Assertions.assertEquals(Arrays.asList("all"), executed);
+  }
+
+  private static ISOMessage createMessage(String mti) {
+    return ISOMessage.builder().type(MessageType.fromMTIString(mti)).build();
+  }
+
+  static class OrderedMessageListener implements ISOMessageListener {
+
+    private final String name;
+    private final int order;
+    private final List<String> executed;
+
+    OrderedMessageListener(String name, int order, List<String> executed) {
+      this.name = name;
+      this.order = order;
+      this.executed = executed;
+    }
+
+    @Override
+    public void onMessage(ISOReplyChannel replyChannel, ISOMessage message) {
+      executed.add(name);
+    }
+
+    @Override
+    public boolean isApplicable(ISOMessage message) {
+      return true;
+    }
+
+    @Override
+    public int getOrder() {
+      return order;
+    }
+  }
+
   @Getter
   static class HigherPriorityMessageListener implements ISOMessageListener {
 
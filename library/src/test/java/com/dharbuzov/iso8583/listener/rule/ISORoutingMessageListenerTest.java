@@ -0,0 +1,164 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.listener.rule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.dharbuzov.iso8583.channel.ISOReplyChannel;
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.listener.ISOAuthorizationMessageListener;
+import com.dharbuzov.iso8583.listener.ISOMessageListener;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISORoutingMessageListenerTest {
+
+  private final ISOReplyChannel replyChannel = Mockito.mock(ISOReplyChannel.class);
+  private final List<String> executed = new ArrayList<>();
+
+  @Test
+  void onMessageRoutingTest() {
+    final ISORoutingMessageListener routingListener = ISORoutingMessageListener.builder()
+        .rule(rule("visa", 0, ISOFieldCondition.prefix(2, "4")))
+        .rule(rule("visa-gold", 0, ISOFieldCondition.prefix(2, "4571"),
+            ISOFieldCondition.prefix(2, "45")))
+        .rule(rule("purchase", 0, ISOFieldCondition.range(3, "000000", "009999")))
+        .rule(rule("chip", 0, ISOFieldCondition.in(22, "051", "071")))
+        .rule(rule("approved", 0, ISOFieldCondition.equalTo(39, "00"),
+            ISOFieldCondition.in(32, "123456")))
+        .rule(rule("any", 0))
+        .build();
+
+    routingListener.onMessage(replyChannel,
+        createMessage("0100", "4571000000000001", "001000", "051", "00", "123456"));
+    Assertions.assertEquals(
+        Arrays.asList("visa", "visa-gold", "purchase", "chip", "approved", "any"), executed);
+
+    executed.clear();
+    routingListener.onMessage(replyChannel,
+        createMessage("0100", "4000000000000002", "200000", "021", "00", "654321"));
+    Assertions.assertEquals(Arrays.asList("visa", "any"), executed);
+
+    executed.clear();
+    routingListener.onMessage(replyChannel,
+        createMessage("0100", "5100000000000003", "9999", null, null, null));
+    Assertions.assertEquals(Arrays.asList("purchase", "any"), executed);
+  }
+
+  @Test
+  void onMessageOrderTest() {
+    final ISORoutingMessageListener routingListener = ISORoutingMessageListener.builder()
+        .rule(rule("second", 10, ISOFieldCondition.equalTo(39, "00")))
+        .rule(rule("first", 1, ISOFieldCondition.equalTo(39, "00")))
+        .rule(rule("third", 10))
+        .build();
+
+    routingListener.onMessage(replyChannel,
+        createMessage("0100", null, null, null, "00", null));
+    Assertions.assertEquals(Arrays.asList("first", "second", "third"), executed);
+  }
+
+  @Test
+  void onMessageTypeTest() {
+    final ISOAuthorizationMessageListener authorizationListener =
+        (replyChannel, message) -> executed.add("authorization");
+    final ISORoutingMessageListener routingListener = ISORoutingMessageListener.builder()
+        .rule(ISORoutingRule.builder().listener(authorizationListener)
+            .condition(ISOFieldCondition.equalTo(39, "00")).build())
+        .build();
+    Assertions.assertEquals(1, routingListener.getMessageTypes().length);
+
+    routingListener.onMessage(replyChannel,
+        createMessage("0800", null, null, null, "00", null));
+    Assertions.assertEquals(Collections.emptyList(), executed);
+
+    routingListener.onMessage(replyChannel,
+        createMessage("0110", null, null, null, "00", null));
+    Assertions.assertEquals(Collections.singletonList("authorization"), executed);
+  }
+
+  @Test
+  void onMessageBinaryTest() {
+    final ISORoutingMessageListener routingListener = ISORoutingMessageListener.builder()
+        .rule(rule("mac", 0, ISOFieldCondition.prefix(64, "0A")))
+        .build();
+    final ISOMessage message = createMessage("0100", null, null, null, null, null);
+    message.setField(64, new byte[] {0x0A, (byte) 0xBC, 0x01, 0x23, 0x45, 0x67, (byte) 0x89,
+        (byte) 0xEF});
+
+    routingListener.onMessage(replyChannel, message);
+    Assertions.assertEquals(Collections.singletonList("mac"), executed);
+  }
+
+  @Test
+  void conditionTest() {
+    Assertions.assertTrue(ISOFieldCondition.range(4, "100", "2000").test("000000000999"));
+    Assertions.assertFalse(ISOFieldCondition.range(4, "100", "2000").test("000000002001"));
+    Assertions.assertTrue(ISOFieldCondition.range(41, "A", "C").test("B1"));
+    Assertions.assertThrows(ISOException.class, () -> ISOFieldCondition.range(4, "20", "3"));
+    Assertions.assertThrows(ISOException.class, () -> ISOFieldCondition.in(22));
+    Assertions.assertThrows(ISOException.class, () -> ISOFieldCondition.equalTo(-1, "1"));
+  }
+
+  private ISORoutingRule rule(String name, int order, ISOFieldCondition... conditions) {
+    final ISOMessageListener listener = new ISOMessageListener() {
+      @Override
+      public void onMessage(ISOReplyChannel replyChannel, ISOMessage message) {
+        executed.add(name);
+      }
+
+      @Override
+      public boolean isApplicable(ISOMessage message) {
+        return true;
+      }
+
+      @Override
+      public int getOrder() {
+        return order;
+      }
+    };
+    return ISORoutingRule.builder().listener(listener).conditions(Arrays.asList(conditions))
+        .build();
+  }
+
+  private static ISOMessage createMessage(String mti, String pan, String processingCode,
+      String posEntryMode, String responseCode, String acquirerId) {
+    final ISOMessage message =
+        ISOMessage.builder().type(MessageType.fromMTIString(mti)).build();
+    setField(message, 2, pan);
+    setField(message, 3, processingCode);
+    setField(message, 22, posEntryMode);
+    setField(message, 32, acquirerId);
+    setField(message, 39, responseCode);
+    return message;
+  }
+
+  private static void setField(ISOMessage message, int position, String value) {
+    if (value != null) {
+      message.setField(position, value);
+    }
+  }
+}
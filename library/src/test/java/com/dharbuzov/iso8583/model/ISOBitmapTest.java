@@ -0,0 +1,101 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.model;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOBitmapTest {
+
+  @Test
+  void setGetClearTest() {
+    final ISOBitmap bitmap = new ISOBitmap();
+    bitmap.set(2);
+    bitmap.set(64);
+    bitmap.set(65);
+    bitmap.set(192);
+
+    Assertions.assertTrue(bitmap.get(2));
+    Assertions.assertTrue(bitmap.get(64));
+    Assertions.assertTrue(bitmap.get(65));
+    Assertions.assertTrue(bitmap.get(192));
+    Assertions.assertFalse(bitmap.get(3));
+    Assertions.assertEquals(4, bitmap.cardinality());
+
+    bitmap.clear(64);
+
+    Assertions.assertFalse(bitmap.get(64));
+    Assertions.assertEquals(3, bitmap.cardinality());
+
+    bitmap.clear();
+
+    Assertions.assertTrue(bitmap.isEmpty());
+    Assertions.assertThrows(ISOException.class, () -> bitmap.set(0));
+    Assertions.assertThrows(ISOException.class, () -> bitmap.set(193));
+  }
+
+  @Test
+  void nextSetBitTest() {
+    final ISOBitmap bitmap = new ISOBitmap();
+    final int[] positions = new int[] {3, 11, 63, 64, 70, 128, 129, 191};
+    for (int position : positions) {
+      bitmap.set(position);
+    }
+
+    int index = 0;
+    for (int position = bitmap.nextSetBit(1); position > 0;
+        position = bitmap.nextSetBit(position + 1)) {
+      Assertions.assertEquals(positions[index++], position);
+    }
+    Assertions.assertEquals(positions.length, index);
+    Assertions.assertEquals(-1, bitmap.nextSetBit(193));
+  }
+
+  @Test
+  void wireOrderTest() {
+    final ISOBitmap bitmap = new ISOBitmap();
+    bitmap.set(2);
+    bitmap.set(11);
+    bitmap.set(70);
+
+    Assertions.assertEquals(0x4020000000000000L, ISOBitmap.toWire(bitmap.getWord(0)));
+    Assertions.assertEquals(0x0400000000000000L, ISOBitmap.toWire(bitmap.getWord(1)));
+    Assertions.assertEquals(bitmap.getWord(0), ISOBitmap.fromWire(0x4020000000000000L));
+    Assertions.assertEquals("4020000000000000" + "0400000000000000" + "0000000000000000",
+        bitmap.toString());
+  }
+
+  @Test
+  void messageBitmapTest() {
+    final ISOMessage message = ISOMessage.builder().build();
+    message.setField(3, "000000");
+    message.setField(102, "12345");
+
+    Assertions.assertTrue(message.hasField(3));
+    Assertions.assertTrue(message.getBitmap().get(102));
+
+    message.removeField(3);
+
+    Assertions.assertFalse(message.hasField(3));
+    Assertions.assertNull(message.getField(3));
+    Assertions.assertEquals(1, message.getBitmap().cardinality());
+  }
+}
@@ -15,8 +15,73 @@
  */
 package com.dharbuzov.iso8583.model;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.dharbuzov.iso8583.exception.ISOException;
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
 /**
  * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
  */
 public class MessageTypeTest {
+
+  @Test
+  void canonicalTypeTest() {
+    final MessageType type = MessageType.from(MessageVersion.V1987, MessageClass.FINANCIAL,
+        MessageFunction.REQUEST, MessageOrigin.ACQUIRER);
+
+    Assertions.assertSame(type, MessageType.fromMTIString("0200"));
+    Assertions.assertSame(type, MessageType.fromIndex(200));
+    Assertions.assertSame(type, MessageType.builder().version(MessageVersion.V1987)
+        .clazz(MessageClass.FINANCIAL).function(MessageFunction.REQUEST)
+        .origin(MessageOrigin.ACQUIRER).build());
+    Assertions.assertEquals(200, type.getIndex());
+    Assertions.assertEquals("0200", type.toMTIString());
+    Assertions.assertFalse(type.isGeneric());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0100", "0810", "1220", "2432", "9804"})
+  void mtiAsciiTest(String mti) {
+    final int mtiAscii = ByteBuffer.wrap(mti.getBytes(StandardCharsets.US_ASCII)).getInt();
+    final MessageType type = MessageType.fromMTIAscii(mtiAscii);
+
+    Assertions.assertEquals(mti, type.toMTIString());
+    Assertions.assertEquals(mtiAscii, type.getMtiAscii());
+    Assertions.assertEquals(Integer.parseInt(mti), type.getIndex());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0000", "0900", "A200", "02 0", "020"})
+  void notValidMtiTest(String mti) {
+    Assertions.assertThrows(ISOPackageException.class, () -> MessageType.fromMTIString(mti));
+  }
+
+  @Test
+  void responseTypeTest() {
+    final MessageType request = MessageType.fromMTIString("0100");
+    final MessageType advice = MessageType.fromMTIString("0220");
+
+    Assertions.assertSame(MessageType.fromMTIString("0110"), request.responseType());
+    Assertions.assertSame(MessageType.fromMTIString("0230"), advice.responseType());
+    Assertions.assertEquals("0100", request.toMTIString());
+    Assertions.assertThrows(ISOException.class, () -> request.responseType().responseType());
+  }
+
+  @Test
+  void genericTypeTest() {
+    final MessageType type = MessageType.builder().clazz(MessageClass.NETWORK_MANAGEMENT).build();
+
+    Assertions.assertTrue(type.isGeneric());
+    Assertions.assertEquals(-1, type.getIndex());
+    Assertions.assertEquals("*8**", type.toMTIString());
+    Assertions.assertEquals(type, MessageType.builder().clazz(MessageClass.NETWORK_MANAGEMENT)
+        .build());
+  }
 }
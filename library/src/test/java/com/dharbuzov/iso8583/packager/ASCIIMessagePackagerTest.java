@@ -0,0 +1,71 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageClass;
+import com.dharbuzov.iso8583.model.MessageFunction;
+import com.dharbuzov.iso8583.model.MessageOrigin;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.MessageVersion;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ASCIIMessagePackagerTest {
+
+  private final ASCIIMessagePackager packager = new ASCIIMessagePackager();
+
+  @Test
+  void writeToReadFromTest() {
+    final ISOMessage message = ISOMessage.builder().type(
+        MessageType.from(MessageVersion.V1987, MessageClass.NETWORK_MANAGEMENT,
+            MessageFunction.REQUEST, MessageOrigin.ACQUIRER)).build();
+    final ByteBuf buf = Unpooled.buffer();
+    try {
+      packager.writeTo(message, buf);
+
+      Assertions.assertEquals("0800", buf.toString(StandardCharsets.US_ASCII));
+
+      final ISOMessage unpacked = packager.readFrom(buf);
+
+      Assertions.assertEquals(message.getType(), unpacked.getType());
+      Assertions.assertFalse(buf.isReadable());
+    } finally {
+      buf.release();
+    }
+  }
+
+  @Test
+  void packUnpackTest() {
+    final ISOMessage message = ISOMessage.builder().type(
+        MessageType.from(MessageVersion.V1993, MessageClass.AUTHORIZATION,
+            MessageFunction.REQUEST_RESPONSE, MessageOrigin.ACQUIRER)).build();
+
+    final byte[] bytes = packager.pack(message);
+
+    Assertions.assertArrayEquals("1110".getBytes(StandardCharsets.US_ASCII), bytes);
+    Assertions.assertEquals(message.getType(), packager.unpack(bytes).getType());
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOBinaryEncodingTest {
+
+  @Test
+  void hexWriteReadTest() {
+    final byte[] value = new byte[256];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+    final ByteBuf buf = Unpooled.buffer(1);
+    ISOBinaryEncoding.HEX.write(value, buf);
+
+    Assertions.assertEquals(512, buf.readableBytes());
+    Assertions.assertEquals("000102", buf.toString(0, 6, US_ASCII));
+    Assertions.assertEquals("FDFEFF", buf.toString(506, 6, US_ASCII));
+    Assertions.assertArrayEquals(value, ISOBinaryEncoding.HEX.read(buf, value.length));
+    Assertions.assertFalse(buf.isReadable());
+  }
+
+  @Test
+  void hexWriteReadLongTest() {
+    final ByteBuf buf = Unpooled.buffer();
+    ISOBinaryEncoding.HEX.writeLong(0x8020_0000_0000_00A1L, buf);
+
+    Assertions.assertEquals("80200000000000A1", buf.toString(US_ASCII));
+    Assertions.assertEquals(0x8020_0000_0000_00A1L, ISOBinaryEncoding.HEX.readLong(buf));
+  }
+
+  @Test
+  void hexLowerCaseReadTest() {
+    final ByteBuf buf = Unpooled.copiedBuffer("abcdef0123456789", US_ASCII);
+
+    Assertions.assertEquals(0xABCDEF0123456789L, ISOBinaryEncoding.HEX.readLong(buf.copy()));
+    Assertions.assertArrayEquals(new byte[] {(byte) 0xAB, (byte) 0xCD},
+        ISOBinaryEncoding.HEX.read(buf, 2));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"0G", "G0", "0 ", "-1", "0x"})
+  void hexNotValidReadTest(String hex) {
+    final ByteBuf buf = Unpooled.copiedBuffer(hex, US_ASCII);
+
+    Assertions.assertThrows(ISOPackageException.class, () -> ISOBinaryEncoding.HEX.read(buf, 1));
+  }
+
+  @Test
+  void hexNonAsciiReadTest() {
+    final ByteBuf buf = Unpooled.wrappedBuffer(new byte[] {'0', (byte) 0xB0});
+
+    Assertions.assertThrows(ISOPackageException.class, () -> ISOBinaryEncoding.HEX.read(buf, 1));
+  }
+
+  @Test
+  void hexNotReadableTest() {
+    final ByteBuf buf = Unpooled.buffer(16).writeBytes("0123456789ABCDE".getBytes(US_ASCII));
+
+    Assertions.assertThrows(ISOPackageException.class, () -> ISOBinaryEncoding.HEX.readLong(buf));
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOEbcdicTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {"IBM037", "IBM1047", "IBM500"})
+  void translationTest(String charsetName) {
+    final Charset charset = Charset.forName(charsetName);
+    final byte[] latin = new byte[256];
+    for (int i = 0; i < latin.length; i++) {
+      latin[i] = (byte) i;
+    }
+    final String chars = new String(latin, ISO_8859_1);
+    final ISOEbcdic ebcdic = ISOEbcdic.forCharset(charset);
+    final ByteBuf heap = Unpooled.buffer(1);
+    final ByteBuf direct = Unpooled.directBuffer(1);
+
+    Assertions.assertEquals(256, ebcdic.write(chars, heap));
+    Assertions.assertEquals(256, ebcdic.write(chars, direct));
+    Assertions.assertArrayEquals(chars.getBytes(charset), ByteBufUtil.getBytes(heap));
+    Assertions.assertArrayEquals(chars.getBytes(charset), ByteBufUtil.getBytes(direct));
+    Assertions.assertEquals(new String(ByteBufUtil.getBytes(heap), charset),
+        ebcdic.read(heap, 256));
+    Assertions.assertEquals(new String(ByteBufUtil.getBytes(direct), charset),
+        ebcdic.read(direct, 256));
+    direct.release();
+  }
+
+  @Test
+  void notSupportedCharsetTest() {
+    Assertions.assertNull(ISOEbcdic.forCharset(StandardCharsets.US_ASCII));
+    Assertions.assertNull(ISOEbcdic.forCharset(StandardCharsets.ISO_8859_1));
+    Assertions.assertNull(ISOEbcdic.forCharset(StandardCharsets.UTF_8));
+    Assertions.assertNull(ISOEbcdic.forCharset(Charset.forName("IBM01140")));
+  }
+
+  @Test
+  void fieldCodecsTest() {
+    final Charset charset = Charset.forName("IBM037");
+    final ISOFixedNumericCodec numericCodec = new ISOFixedNumericCodec(4, 6, charset);
+    final ISOFixedCharsCodec alphaCodec = new ISOFixedCharsCodec(41, 8, charset, ' ', false);
+    final ISOVarCharsCodec varCodec = new ISOVarCharsCodec(44, 25, charset, ISOLengthPrefix.LL);
+    final ByteBuf buf = Unpooled.buffer();
+    numericCodec.encodeLong(1_250L, buf);
+    alphaCodec.encode("Term-01", buf);
+    varCodec.encode("Approved", buf);
+
+    // Length prefix digits are EBCDIC as well
+    Assertions.assertEquals(
+        ByteBufUtil.hexDump(("001250" + "Term-01 " + "08" + "Approved").getBytes(charset)),
+        ByteBufUtil.hexDump(buf));
+    Assertions.assertEquals(1_250L, numericCodec.decodeLong(buf));
+    Assertions.assertEquals("Term-01 ", alphaCodec.decode(buf));
+    Assertions.assertEquals("Approved", varCodec.decode(buf));
+  }
+}
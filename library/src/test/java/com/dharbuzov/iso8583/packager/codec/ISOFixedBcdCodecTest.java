@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOFixedBcdCodecTest {
+
+  @Test
+  void leftPaddingTest() {
+    final ISOFixedBcdCodec codec = new ISOFixedBcdCodec(3, 5, true);
+    final ByteBuf buf = Unpooled.buffer(1);
+    codec.encode("123", buf);
+    codec.encodeLong(98_765L, buf);
+
+    Assertions.assertEquals("000123098765", ByteBufUtil.hexDump(buf));
+    Assertions.assertEquals("00123", codec.decode(buf));
+    Assertions.assertEquals(98_765L, codec.decodeLong(buf));
+  }
+
+  @Test
+  void rightPaddingTest() {
+    final ISOFixedBcdCodec codec = new ISOFixedBcdCodec(3, 5, false);
+    final ByteBuf buf = Unpooled.buffer(1);
+    codec.encode("123", buf);
+    codec.encodeLong(98_765L, buf);
+
+    Assertions.assertEquals("001230987650", ByteBufUtil.hexDump(buf));
+    Assertions.assertEquals("00123", codec.decode(buf));
+    Assertions.assertEquals(98_765L, codec.decodeLong(buf));
+  }
+
+  @Test
+  void paddingNibbleIgnoredTest() {
+    final ISOFixedBcdCodec codec = new ISOFixedBcdCodec(3, 3, false);
+
+    Assertions.assertEquals(123L,
+        codec.decodeLong(Unpooled.wrappedBuffer(new byte[] {0x12, 0x3F})));
+  }
+
+  @Test
+  void decodeLongOverflowTest() {
+    final ISOFixedBcdCodec codec = new ISOFixedBcdCodec(2, 19, true);
+    final ByteBuf buf = Unpooled.buffer();
+    codec.encodeLong(Long.MAX_VALUE, buf);
+
+    Assertions.assertEquals(Long.MAX_VALUE, codec.decodeLong(buf.copy()));
+
+    buf.setByte(buf.readableBytes() - 1, 0x08);
+
+    Assertions.assertThrows(ISOPackageException.class, () -> codec.decodeLong(buf));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"1A3", "-12", "123456"})
+  void encodeNotValidTest(String value) {
+    final ISOFixedBcdCodec codec = new ISOFixedBcdCodec(3, 5, true);
+
+    Assertions.assertThrows(ISOPackageException.class,
+        () -> codec.encode(value, Unpooled.buffer()));
+    Assertions.assertThrows(ISOPackageException.class,
+        () -> codec.encodeLong(100_000L, Unpooled.buffer()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(bytes = {0x1A, (byte) 0xA1, 0x0A})
+  void decodeNotValidTest(byte bcd) {
+    final ISOFixedBcdCodec codec = new ISOFixedBcdCodec(3, 4, true);
+
+    Assertions.assertThrows(ISOPackageException.class,
+        () -> codec.decode(Unpooled.wrappedBuffer(new byte[] {0x12, bcd})));
+    Assertions.assertThrows(ISOPackageException.class,
+        () -> codec.decodeLong(Unpooled.wrappedBuffer(new byte[] {bcd, 0x12})));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.packager.codec;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.dharbuzov.iso8583.exception.ISOPackageException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOFixedNumericCodecTest {
+
+  private final ISOFixedNumericCodec codec = new ISOFixedNumericCodec(4, 12, US_ASCII);
+
+  @Test
+  void encodeDecodeLongTest() {
+    final ByteBuf buf = Unpooled.buffer(1);
+    codec.encodeLong(12_550L, buf);
+    codec.encodeLong(999_999_999_999L, buf);
+    codec.encode(7, buf);
+    codec.encode("42", buf);
+
+    Assertions.assertEquals("000000012550999999999999000000000007000000000042",
+        buf.toString(US_ASCII));
+    Assertions.assertEquals(12_550L, codec.decodeLong(buf));
+    Assertions.assertEquals(999_999_999_999L, codec.decodeLong(buf));
+    Assertions.assertEquals("000000000007", codec.decode(buf));
+    Assertions.assertEquals(42L, codec.decodeLong(buf));
+    Assertions.assertFalse(buf.isReadable());
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {-1L, 1_000_000_000_000L, Long.MAX_VALUE})
+  void encodeNotValidLongTest(long value) {
+    final ByteBuf buf = Unpooled.buffer();
+
+    Assertions.assertThrows(ISOPackageException.class, () -> codec.encodeLong(value, buf));
+    Assertions.assertEquals(0, buf.writerIndex());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"12A", "-1", "1 ", " ", "1.5", "\u0661"})
+  void encodeNotValidStringTest(String value) {
+    final ByteBuf buf = Unpooled.buffer();
+
+    Assertions.assertThrows(ISOPackageException.class, () -> codec.encode(value, buf));
+    Assertions.assertEquals(0, buf.writerIndex());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"00000000012A", "-00000000001", "00000000001 ", "00000000001"})
+  void decodeNotValidLongTest(String digits) {
+    final ByteBuf buf = Unpooled.copiedBuffer(digits, US_ASCII);
+
+    Assertions.assertThrows(ISOPackageException.class, () -> codec.decodeLong(buf));
+    Assertions.assertEquals(0, buf.readerIndex());
+  }
+
+  @Test
+  void decodeLongOverflowTest() {
+    final ISOFixedNumericCodec wideCodec = new ISOFixedNumericCodec(2, 19, US_ASCII);
+
+    Assertions.assertEquals(Long.MAX_VALUE,
+        wideCodec.decodeLong(Unpooled.copiedBuffer("9223372036854775807", US_ASCII)));
+    Assertions.assertThrows(ISOPackageException.class,
+        () -> wideCodec.decodeLong(Unpooled.copiedBuffer("9223372036854775808", US_ASCII)));
+  }
+}
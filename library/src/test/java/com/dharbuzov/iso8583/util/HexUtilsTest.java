@@ -0,0 +1,51 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.util;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.dharbuzov.iso8583.packager.codec.ISOBinaryEncoding;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class HexUtilsTest {
+
+  @Test
+  void toHexStringTest() {
+    Assertions.assertEquals("", HexUtils.toHexString(new byte[0]));
+    Assertions.assertEquals("00017F80ABFF",
+        HexUtils.toHexString(new byte[] {0x00, 0x01, 0x7F, (byte) 0x80, (byte) 0xAB, (byte) 0xFF}));
+    Assertions.assertNull(HexUtils.toHexString(null));
+  }
+
+  @Test
+  void sameAsHexEncodingTest() {
+    final byte[] value = new byte[256];
+    for (int i = 0; i < value.length; i++) {
+      value[i] = (byte) i;
+    }
+    final ByteBuf out = Unpooled.buffer();
+    ISOBinaryEncoding.HEX.write(value, out);
+    Assertions.assertEquals(out.toString(US_ASCII), HexUtils.toHexString(value));
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.processor;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Field of the mapped class resolved by the {@link ISOMapperProcessor}.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+@Getter
+@RequiredArgsConstructor
+class ISOMappedFieldModel {
+
+  /**
+   * Java types of the mapped fields supported by the generated mappers.
+   */
+  enum JavaType {
+    STRING(false),
+    BYTES(false),
+    LONG(true),
+    BOXED_LONG(false),
+    INT(true),
+    BOXED_INT(false);
+
+    private final boolean primitive;
+
+    JavaType(boolean primitive) {
+      this.primitive = primitive;
+    }
+
+    boolean isPrimitive() {
+      return primitive;
+    }
+
+    boolean isNumeric() {
+      return this != STRING && this != BYTES;
+    }
+  }
+
+  private final String name;
+  private final int position;
+  private final JavaType javaType;
+  /* Field is accessed via the getter and setter instead of the direct access */
+  private final boolean accessors;
+
+  /**
+   * Returns the expression which reads the field value of the {@code source} object.
+   *
+   * @return read expression
+   */
+  String readExpression() {
+    return accessors ? "source.get" + capitalizedName() + "()" : "source." + name;
+  }
+
+  /**
+   * Returns the statement which assigns the {@code value} expression to the field of the
+   * {@code target} object.
+   *
+   * @param value expression of the value
+   * @return write statement
+   */
+  String writeStatement(String value) {
+    return accessors ? "target.set" + capitalizedName() + "(" + value + ");"
+        : "target." + name + " = " + value + ";";
+  }
+
+  private String capitalizedName() {
+    return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+
+import com.dharbuzov.iso8583.mapping.ISOMapped;
+import com.dharbuzov.iso8583.mapping.ISOMappedField;
+import com.dharbuzov.iso8583.model.ISOBitmap;
+import com.dharbuzov.iso8583.model.ISOValueType;
+import com.dharbuzov.iso8583.processor.ISOMappedFieldModel.JavaType;
+
+/**
+ * Annotation processor which generates the {@link com.dharbuzov.iso8583.mapping.ISOMessageMapper}
+ * implementations for the classes annotated with {@link ISOMapped}. The mapper of the class
+ * {@code Payment} is generated as {@code PaymentISOMapper} in the same package, mapper of the
+ * nested class {@code Outer.Payment} as {@code Outer_PaymentISOMapper}.
+ * <p>
+ * Mapped fields are validated at compile time: the position has to be the data field one, the java
+ * type has to be compatible with the value type and the field has to be accessible from the
+ * package directly or via the getter and setter.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOMapperProcessor extends AbstractProcessor {
+
+  /* Suffix of the generated mapper names */
+  public static final String MAPPER_SUFFIX = "ISOMapper";
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Set<String> getSupportedAnnotationTypes() {
+    return Collections.singleton(ISOMapped.class.getCanonicalName());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+    return SourceVersion.latestSupported();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+    for (Element element : roundEnv.getElementsAnnotatedWith(ISOMapped.class)) {
+      if (element.getKind() != ElementKind.CLASS) {
+        error(element, "@ISOMapped is applicable only to classes!");
+        continue;
+      }
+      process((TypeElement) element);
+    }
+    return true;
+  }
+
+  private void process(TypeElement type) {
+    if (!validateType(type)) {
+      return;
+    }
+    final String messageType = type.getAnnotation(ISOMapped.class).type();
+    if (!messageType.isEmpty() && !messageType.matches("\\d{4}")) {
+      error(type, "Message type '%s' is not valid, expected 4 digits!", messageType);
+      return;
+    }
+    final List<ISOMappedFieldModel> fields = collectFields(type);
+    if (fields == null) {
+      return;
+    }
+    final String packageName =
+        processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+    final String mapperName = mapperName(type);
+    final String source = new ISOMapperWriter(packageName, mapperName,
+        type.getQualifiedName().toString(), messageType, fields).write();
+    try {
+      final JavaFileObject file = processingEnv.getFiler().createSourceFile(
+          packageName.isEmpty() ? mapperName : packageName + "." + mapperName, type);
+      try (Writer writer = file.openWriter()) {
+        writer.write(source);
+      }
+    } catch (IOException ex) {
+      error(type, "Mapper can't be generated: %s", ex.getMessage());
+    }
+  }
+
+  private boolean validateType(TypeElement type) {
+    final Set<Modifier> modifiers = type.getModifiers();
+    if (modifiers.contains(Modifier.ABSTRACT) || modifiers.contains(Modifier.PRIVATE)
+        || type.getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC)) {
+      error(type, "@ISOMapped class must be concrete, not private and static if nested!");
+      return false;
+    }
+    for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if (constructor.getParameters().isEmpty()
+          && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+        return true;
+      }
+    }
+    error(type, "@ISOMapped class must have not private no-args constructor!");
+    return false;
+  }
+
+  private List<ISOMappedFieldModel> collectFields(TypeElement type) {
+    final List<ISOMappedFieldModel> fields = new ArrayList<>();
+    final boolean[] positions = new boolean[ISOBitmap.MAX_POSITION + 1];
+    boolean valid = true;
+    for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      final ISOMappedField mapping = field.getAnnotation(ISOMappedField.class);
+      if (mapping == null) {
+        continue;
+      }
+      final ISOMappedFieldModel model = toModel(field, mapping, positions);
+      if (model == null) {
+        valid = false;
+      } else {
+        fields.add(model);
+      }
+    }
+    if (!valid) {
+      return null;
+    }
+    fields.sort(Comparator.comparingInt(ISOMappedFieldModel::getPosition));
+    return fields;
+  }
+
+  private ISOMappedFieldModel toModel(VariableElement field, ISOMappedField mapping,
+      boolean[] positions) {
+    final int position = mapping.position();
+    if (position <= ISOBitmap.SECONDARY_BITMAP || position == ISOBitmap.TERTIARY_BITMAP
+        || position > ISOBitmap.MAX_POSITION) {
+      error(field, "Position '%s' is not a data field position!", position);
+      return null;
+    }
+    if (positions[position]) {
+      error(field, "Position '%s' is mapped more than once!", position);
+      return null;
+    }
+    positions[position] = true;
+    final Set<Modifier> modifiers = field.getModifiers();
+    if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL)) {
+      error(field, "Mapped field must not be static or final!");
+      return null;
+    }
+    final JavaType javaType = javaTypeOf(field.asType());
+    if (javaType == null || !isCompatible(mapping.type(), javaType)) {
+      error(field, "Java type '%s' is not compatible with value type '%s'!", field.asType(),
+          mapping.type());
+      return null;
+    }
+    return new ISOMappedFieldModel(field.getSimpleName().toString(), position, javaType,
+        modifiers.contains(Modifier.PRIVATE));
+  }
+
+  private static JavaType javaTypeOf(TypeMirror type) {
+    switch (type.getKind()) {
+      case LONG:
+        return JavaType.LONG;
+      case INT:
+        return JavaType.INT;
+      case ARRAY:
+        return ((ArrayType) type).getComponentType().getKind() == TypeKind.BYTE ? JavaType.BYTES
+            : null;
+      case DECLARED:
+        switch (type.toString()) {
+          case "java.lang.String":
+            return JavaType.STRING;
+          case "java.lang.Long":
+            return JavaType.BOXED_LONG;
+          case "java.lang.Integer":
+            return JavaType.BOXED_INT;
+          default:
+            return null;
+        }
+      default:
+        return null;
+    }
+  }
+
+  private static boolean isCompatible(ISOValueType valueType, JavaType javaType) {
+    switch (valueType) {
+      case BINARY:
+      case LLBIN:
+      case LLLBIN:
+      case LLLLBIN:
+        return javaType == JavaType.BYTES;
+      case ALPHA:
+        return javaType == JavaType.STRING;
+      default:
+        return javaType != JavaType.BYTES;
+    }
+  }
+
+  private static String mapperName(TypeElement type) {
+    final StringBuilder name = new StringBuilder(type.getSimpleName());
+    Element enclosing = type.getEnclosingElement();
+    while (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+      name.insert(0, enclosing.getSimpleName() + "_");
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return name.append(MAPPER_SUFFIX).toString();
+  }
+
+  private void error(Element element, String format, Object... args) {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, String.format(format, args),
+        element);
+  }
+}
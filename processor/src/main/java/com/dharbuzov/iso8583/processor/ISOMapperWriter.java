@@ -0,0 +1,220 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.processor;
+
+import java.util.List;
+
+import com.dharbuzov.iso8583.processor.ISOMappedFieldModel.JavaType;
+
+/**
+ * Writer of the source code of the {@link com.dharbuzov.iso8583.mapping.ISOMessageMapper}
+ * implementation generated for the mapped class. Encoding and decoding of the fields is the switch
+ * over the field positions with the direct calls of the field codecs, so there is neither
+ * reflection nor intermediate objects involved.
+ *
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+class ISOMapperWriter {
+
+  private static final String INDENT = "  ";
+
+  private final StringBuilder source = new StringBuilder();
+  private final String packageName;
+  private final String mapperName;
+  private final String className;
+  private final String messageType;
+  private final List<ISOMappedFieldModel> fields;
+  private int depth;
+
+  /**
+   * Constructor.
+   *
+   * @param packageName package of the mapped class and the mapper
+   * @param mapperName  simple name of the mapper
+   * @param className   canonical name of the mapped class
+   * @param messageType message type indicator or empty string if not defined
+   * @param fields      mapped fields sorted by position
+   */
+  ISOMapperWriter(String packageName, String mapperName, String className, String messageType,
+      List<ISOMappedFieldModel> fields) {
+    this.packageName = packageName;
+    this.mapperName = mapperName;
+    this.className = className;
+    this.messageType = messageType;
+    this.fields = fields;
+  }
+
+  /**
+   * Writes the source code of the mapper.
+   *
+   * @return source code
+   */
+  String write() {
+    if (!packageName.isEmpty()) {
+      line("package " + packageName + ";");
+      line("");
+    }
+    line("import com.dharbuzov.iso8583.mapping.ISOMessageMapper;");
+    line("import com.dharbuzov.iso8583.model.MessageType;");
+    line("import com.dharbuzov.iso8583.packager.codec.ISOFieldCodec;");
+    line("import com.dharbuzov.iso8583.util.MappingUtils;");
+    line("");
+    line("import io.netty.buffer.ByteBuf;");
+    line("");
+    line("/**");
+    line(" * Generated mapper of {@link " + className + "}.");
+    line(" */");
+    open("public final class " + mapperName + " implements ISOMessageMapper<" + className + ">");
+    line("");
+    line("private static final MessageType TYPE = " + (messageType.isEmpty() ? "null"
+        : "MessageType.fromMTIString(\"" + messageType + "\")") + ";");
+    line("");
+    writeGetType();
+    line("");
+    writeNewInstance();
+    line("");
+    writePresent();
+    line("");
+    writeEncodeField();
+    line("");
+    writeDecodeField();
+    close();
+    return source.toString();
+  }
+
+  private void writeGetType() {
+    line("@Override");
+    open("public MessageType getType()");
+    line("return TYPE;");
+    close();
+  }
+
+  private void writeNewInstance() {
+    line("@Override");
+    open("public " + className + " newInstance()");
+    line("return new " + className + "();");
+    close();
+  }
+
+  private void writePresent() {
+    final long[] words = new long[3];
+    for (ISOMappedFieldModel field : fields) {
+      if (field.getJavaType().isPrimitive()) {
+        words[(field.getPosition() - 1) >>> 6] |= 1L << (field.getPosition() - 1);
+      }
+    }
+    line("@Override");
+    open("public void present(" + className + " source, long[] words)");
+    for (int i = 0; i < words.length; i++) {
+      if (words[i] != 0) {
+        line("words[" + i + "] |= 0x" + Long.toHexString(words[i]) + "L;");
+      }
+    }
+    for (ISOMappedFieldModel field : fields) {
+      if (!field.getJavaType().isPrimitive()) {
+        final int position = field.getPosition();
+        open("if (" + field.readExpression() + " != null)");
+        line("words[" + ((position - 1) >>> 6) + "] |= 1L << " + ((position - 1) & 63) + ";");
+        close();
+      }
+    }
+    close();
+  }
+
+  private void writeEncodeField() {
+    line("@Override");
+    open("public boolean encodeField(" + className
+        + " source, int position, ISOFieldCodec codec, ByteBuf out)");
+    open("switch (position)");
+    for (ISOMappedFieldModel field : fields) {
+      line("case " + field.getPosition() + ":");
+      depth++;
+      final String value = field.readExpression();
+      if (!field.getJavaType().isPrimitive()) {
+        open("if (" + value + " == null)");
+        line("return false;");
+        close();
+      }
+      if (field.getJavaType().isNumeric()) {
+        line("MappingUtils.encodeLong(codec, " + value + ", out);");
+      } else {
+        line("codec.encode(" + value + ", out);");
+      }
+      line("return true;");
+      depth--;
+    }
+    line("default:");
+    depth++;
+    line("return false;");
+    depth--;
+    close();
+    close();
+  }
+
+  private void writeDecodeField() {
+    line("@Override");
+    open("public boolean decodeField(" + className
+        + " target, int position, ISOFieldCodec codec, ByteBuf in)");
+    open("switch (position)");
+    for (ISOMappedFieldModel field : fields) {
+      line("case " + field.getPosition() + ":");
+      depth++;
+      line(field.writeStatement(decodeExpression(field.getJavaType())));
+      line("return true;");
+      depth--;
+    }
+    line("default:");
+    depth++;
+    line("return false;");
+    depth--;
+    close();
+    close();
+  }
+
+  private static String decodeExpression(JavaType javaType) {
+    switch (javaType) {
+      case BYTES:
+        return "MappingUtils.decodeBytes(codec, in)";
+      case LONG:
+      case BOXED_LONG:
+        return "MappingUtils.decodeLong(codec, in)";
+      case INT:
+      case BOXED_INT:
+        return "MappingUtils.decodeInt(codec, in)";
+      default:
+        return "MappingUtils.decodeString(codec, in)";
+    }
+  }
+
+  private void open(String statement) {
+    line(statement + " {");
+    depth++;
+  }
+
+  private void close() {
+    depth--;
+    line("}");
+  }
+
+  private void line(String line) {
+    if (!line.isEmpty()) {
+      for (int i = 0; i < depth; i++) {
+        source.append(INDENT);
+      }
+    }
+    source.append(line).append('\n');
+  }
+}
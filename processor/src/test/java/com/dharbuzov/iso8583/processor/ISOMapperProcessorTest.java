@@ -0,0 +1,187 @@
+/*
+ * Copyright 2022.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *          http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.dharbuzov.iso8583.processor;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.dharbuzov.iso8583.client.config.ISOClientProperties;
+import com.dharbuzov.iso8583.factory.ISODefaultPackagerFactory;
+import com.dharbuzov.iso8583.factory.ISOPackagerFactory;
+import com.dharbuzov.iso8583.mapping.ISOMessageMapper;
+import com.dharbuzov.iso8583.model.ISOMessage;
+import com.dharbuzov.iso8583.model.MessageType;
+import com.dharbuzov.iso8583.model.schema.ISOKnownSchema;
+import com.dharbuzov.iso8583.model.schema.ISOSchemas;
+import com.dharbuzov.iso8583.packager.ASCIIMessagePackager;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+
+/**
+ * @author Dmytro Harbuzov (dmytro.harbuzov@gmail.com).
+ */
+public class ISOMapperProcessorTest {
+
+  private static final String PAYMENT = String.join("\n",
+      "package test;",
+      "import com.dharbuzov.iso8583.mapping.ISOMapped;",
+      "import com.dharbuzov.iso8583.mapping.ISOMappedField;",
+      "import com.dharbuzov.iso8583.model.ISOValueType;",
+      "@ISOMapped(type = \"0200\")",
+      "public class Payment {",
+      "  @ISOMappedField(position = 2, type = ISOValueType.LLVAR)",
+      "  public String pan;",
+      "  @ISOMappedField(position = 4, type = ISOValueType.NUMERIC)",
+      "  public long amount;",
+      "  @ISOMappedField(position = 11, type = ISOValueType.NUMERIC)",
+      "  private Integer stan;",
+      "  @ISOMappedField(position = 41, type = ISOValueType.ALPHA)",
+      "  String terminal;",
+      "  @ISOMappedField(position = 52, type = ISOValueType.BINARY)",
+      "  public byte[] pinBlock;",
+      "  public Integer getStan() { return stan; }",
+      "  public void setStan(Integer stan) { this.stan = stan; }",
+      "}");
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void mapperTest() throws Exception {
+    Assertions.assertTrue(compile(PAYMENT));
+    Assertions.assertTrue(Files.exists(tempDir.resolve("test/PaymentISOMapper.java")));
+    final ISOPackagerFactory packagerFactory = new ISODefaultPackagerFactory(
+        ISOClientProperties.builder().schema(ISOSchemas.knownSchema(ISOKnownSchema.ISO_87_ASCII))
+            .build());
+    packagerFactory.addMessagePackager(new ASCIIMessagePackager());
+    final ISOMessage message =
+        ISOMessage.builder().type(MessageType.fromMTIString("0200")).build();
+    message.setField(2, "4111111111111111");
+    message.setLong(4, 1000L);
+    message.setField(41, "TERM01  ");
+    message.setField(52, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    message.setField(102, "12345");
+    final byte[] bytes = packagerFactory.pack(message);
+
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] {tempDir.toUri().toURL()},
+        getClass().getClassLoader())) {
+      final Class<?> paymentClass = classLoader.loadClass("test.Payment");
+      final ISOMessageMapper<Object> mapper = (ISOMessageMapper<Object>) classLoader
+          .loadClass("test.PaymentISOMapper").getDeclaredConstructor().newInstance();
+
+      final Object payment = packagerFactory.readFrom(Unpooled.wrappedBuffer(bytes), mapper);
+
+      Assertions.assertSame(paymentClass, payment.getClass());
+      Assertions.assertEquals("4111111111111111", paymentClass.getField("pan").get(payment));
+      Assertions.assertEquals(1000L, paymentClass.getField("amount").get(payment));
+      Assertions.assertNull(paymentClass.getMethod("getStan").invoke(payment));
+      Assertions.assertArrayEquals(new byte[] {1, 2, 3, 4, 5, 6, 7, 8},
+          (byte[]) paymentClass.getField("pinBlock").get(payment));
+
+      paymentClass.getMethod("setStan", Integer.class).invoke(payment, 123);
+      message.setField(11, "000123");
+      message.removeField(102);
+      final ByteBuf out = Unpooled.buffer();
+      packagerFactory.writeTo(payment, mapper, out);
+
+      Assertions.assertEquals(MessageType.fromMTIString("0200"), mapper.getType());
+      Assertions.assertArrayEquals(packagerFactory.pack(message), ByteBufUtil.getBytes(out));
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "@ISOMappedField(position = 1, type = ISOValueType.ALPHA) String value;",
+      "@ISOMappedField(position = 65, type = ISOValueType.ALPHA) String value;",
+      "@ISOMappedField(position = 193, type = ISOValueType.ALPHA) String value;",
+      "@ISOMappedField(position = 2, type = ISOValueType.ALPHA) long value;",
+      "@ISOMappedField(position = 2, type = ISOValueType.BINARY) String value;",
+      "@ISOMappedField(position = 2, type = ISOValueType.LLVAR) byte[] value;",
+      "@ISOMappedField(position = 2, type = ISOValueType.LLVAR) Object value;",
+      "@ISOMappedField(position = 2, type = ISOValueType.LLVAR) final String value = null;",
+      "@ISOMappedField(position = 2, type = ISOValueType.LLVAR) String a;"
+          + "@ISOMappedField(position = 2, type = ISOValueType.LLVAR) String b;",
+      "private Invalid() {}"})
+  void notValidMappingTest(String body) throws IOException {
+    final String source = String.join("\n",
+        "package test;",
+        "import com.dharbuzov.iso8583.mapping.ISOMapped;",
+        "import com.dharbuzov.iso8583.mapping.ISOMappedField;",
+        "import com.dharbuzov.iso8583.model.ISOValueType;",
+        "@ISOMapped",
+        "public class Invalid {",
+        body,
+        "}");
+
+    Assertions.assertFalse(compile(source));
+    Assertions.assertFalse(Files.exists(tempDir.resolve("test/InvalidISOMapper.java")));
+  }
+
+  private boolean compile(String source) throws IOException {
+    final String className = source.replaceAll("(?s).*public class (\\w+).*", "$1");
+    final Path sourceFile = tempDir.resolve(className + ".java");
+    Files.write(sourceFile, source.getBytes(StandardCharsets.UTF_8));
+    final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+    try (StandardJavaFileManager fileManager =
+        compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+      final JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
+          Arrays.asList("-d", tempDir.toString(), "-s", tempDir.toString(), "-classpath",
+              classPath(ISOMessageMapper.class, ByteBuf.class)),
+          null, fileManager.getJavaFileObjects(sourceFile.toFile()));
+      task.setProcessors(Collections.singletonList(new ISOMapperProcessor()));
+      return task.call() && diagnostics.getDiagnostics().stream()
+          .noneMatch(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR);
+    }
+  }
+
+  private static String classPath(Class<?>... classes) {
+    return Arrays.stream(classes).map(clazz -> {
+      try {
+        return Paths.get(clazz.getProtectionDomain().getCodeSource().getLocation().toURI())
+            .toString();
+      } catch (URISyntaxException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }).collect(Collectors.joining(File.pathSeparator));
+  }
+}